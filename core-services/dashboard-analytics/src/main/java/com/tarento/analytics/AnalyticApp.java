@@ -1,5 +1,8 @@
 package com.tarento.analytics;
 
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.cache2k.extra.spring.SpringCache2kCacheManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
@@ -8,12 +11,14 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
 import com.tarento.analytics.constant.Constants;
+import com.tarento.analytics.service.impl.AggregationBucketCache;
 
 import java.util.concurrent.TimeUnit;
 
@@ -31,9 +36,26 @@ public class AnalyticApp {
 		@Value("${cache.capacity}")
 		private int cacheCapacity;
 
+		@Value("${dashboard.aggregation.cache.expiry.time.in.minutes}")
+		private int aggregationCacheExpiry;
+
+		@Value("${dashboard.aggregation.cache.capacity}")
+		private int aggregationCacheCapacity;
+
+		@Value("${http.client.max.connections}")
+		private int maxConnections;
+
+		@Value("${http.client.max.connections.per.route}")
+		private int maxConnectionsPerRoute;
+
 	    @Bean
 	    public RestTemplate restTemplate() {
-	        return new RestTemplate();
+	        // pooled connections are kept alive across ES and service calls instead of one connection per request
+	        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+	        connectionManager.setMaxTotal(maxConnections);
+	        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+	        CloseableHttpClient httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+	        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
 	    }
 
 	    @Bean
@@ -51,6 +73,8 @@ public class AnalyticApp {
 		@Profile("!test")
 		public CacheManager cacheManager(){
 			return new SpringCache2kCacheManager().addCaches(b->b.name("versions").expireAfterWrite(cacheExpiry, TimeUnit.MINUTES)
-					.entryCapacity(cacheCapacity));
+					.entryCapacity(cacheCapacity),
+					b->b.name(AggregationBucketCache.CACHE_NAME).expireAfterWrite(aggregationCacheExpiry, TimeUnit.MINUTES)
+					.entryCapacity(aggregationCacheCapacity));
 		}
 }
@@ -1,7 +1,10 @@
 package com.tarento.analytics;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tarento.analytics.constant.Constants;
+import com.tarento.analytics.model.ChartDefinition;
 import org.apache.commons.io.IOUtils;
 import org.egov.tracer.config.TracerConfiguration;
 import org.slf4j.Logger;
@@ -20,7 +23,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Import({TracerConfiguration.class})
 @Component("configurationLoader")
@@ -28,6 +33,7 @@ public class ConfigurationLoader {
 
     private static Logger logger = LoggerFactory.getLogger(ConfigurationLoader.class);
     private Map<String, ObjectNode> nameContentMap = new HashMap<>();
+    private Map<String, ChartDefinition> chartDefinitionMap = new ConcurrentHashMap<>();
     @Autowired
     private ResourceLoader resourceLoader;
     @Autowired
@@ -56,8 +62,61 @@ public class ConfigurationLoader {
 		}
 		logger.info("Number of resources loaded " + nameContentMap.size());
 
+		compileChartDefinitions();
 	}
 
+    /**
+     * Compiles every chart of the chart api config. A chart which can not be compiled is
+     * logged and left out, so that it fails on request as it did before compilation
+     */
+    private void compileChartDefinitions() {
+        ObjectNode chartApiConfig = nameContentMap.get(Constants.ConfigurationFiles.CHART_API_CONFIG);
+        if (chartApiConfig == null) {
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> charts = chartApiConfig.fields();
+        while (charts.hasNext()) {
+            Map.Entry<String, JsonNode> chart = charts.next();
+            if (!chart.getValue().isObject()) {
+                continue;
+            }
+            try {
+                ChartDefinition chartDefinition = ChartDefinition.compile(chart.getKey(), (ObjectNode) chart.getValue(), objectMapper);
+                if (chartDefinition.isIncrementalCacheEnabled()
+                        && chartDefinition.getQueries().stream().anyMatch(query -> !query.isAdditive())) {
+                    logger.warn("Chart " + chart.getKey() + " enables the incremental cache but has aggregations which are not additive, those queries are not cached");
+                }
+                chartDefinitionMap.put(chart.getKey(), chartDefinition);
+            } catch (Exception e) {
+                logger.error("Cannot compile chart " + chart.getKey() + " : " + e.getMessage());
+            }
+        }
+        logger.info("Number of charts compiled " + chartDefinitionMap.size());
+    }
+
+    /**
+     * Obtains the compiled definition of a chart in ChartApiConfig.json
+     * @param chartId visualization code of the chart
+     * @return the chart definition, compiled on first use when it could not be compiled on load
+     * @throws RuntimeException when the chart does not exist or can not be compiled
+     */
+    public ChartDefinition getChartDefinition(String chartId) {
+        ChartDefinition chartDefinition = chartDefinitionMap.get(chartId);
+        if (chartDefinition != null) {
+            return chartDefinition;
+        }
+        ObjectNode chartApiConfig = nameContentMap.get(Constants.ConfigurationFiles.CHART_API_CONFIG);
+        ObjectNode chartNode = chartApiConfig == null ? null : (ObjectNode) chartApiConfig.get(chartId);
+        if (chartNode == null) {
+            throw new RuntimeException("Chart " + chartId + " is not configured");
+        }
+        try {
+            return ChartDefinition.compile(chartId, chartNode, objectMapper);
+        } catch (Exception e) {
+            throw new RuntimeException("Chart " + chartId + " can not be compiled : " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Obtains a ObjectNode w.r.t given resource/file name in classpath*:schema
      * @param name
@@ -76,6 +76,7 @@ public class Constants {
 		final static String DATE_REF_FIELD = "dateRefField"; 
 		final static String AGGS = "aggs";
 		final static String AGGREGATIONS = "aggregations" ;
+		final static String ERROR = "error";
 		final static String MODULE = "module";
 		final static String INTERVAL_VAL = "intervalvalue";
 		final static String INTERVAL = "interval";
@@ -83,6 +84,7 @@ public class Constants {
 		final static String INSIGHT = "insight";
 		final static String DAYS = "days";
 		final static String TRANSLATE_CODE = "translateTenantCode";
+		final static String IS_INCREMENTAL_CACHE_ENABLED = "isIncrementalCacheEnabled";
 		final static String FILTER_FOR_CURRENT_DAY = "filterForCurrentDay";
 
 	}
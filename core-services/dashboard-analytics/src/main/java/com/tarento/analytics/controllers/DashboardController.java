@@ -25,14 +25,17 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.tarento.analytics.constant.Constants;
 import com.tarento.analytics.constant.ErrorCode;
+import com.tarento.analytics.dto.AggregateDto;
 import com.tarento.analytics.dto.AggregateRequestDto;
 import com.tarento.analytics.dto.AggregateRequestDtoV3;
 import com.tarento.analytics.dto.RequestDto;
 import com.tarento.analytics.dto.RequestDtoV3;
 import com.tarento.analytics.dto.RoleDto;
 import com.tarento.analytics.dto.UserDto;
+import com.tarento.analytics.dto.Visualization;
 import com.tarento.analytics.exception.AINException;
 import com.tarento.analytics.org.service.ClientService;
+import com.tarento.analytics.org.service.TarentoServiceImpl;
 import com.tarento.analytics.service.MetadataService;
 import com.tarento.analytics.utils.PathRoutes;
 import com.tarento.analytics.utils.ResponseGenerator;
@@ -57,6 +60,9 @@ public class DashboardController {
 	@Autowired
 	private ClientServiceFactory clientServiceFactory;
 
+	@Autowired
+	private TarentoServiceImpl tarentoServiceImpl;
+
 	@RequestMapping(value = PathRoutes.DashboardApi.FILE_PATH, method = RequestMethod.POST)
 	public Map<String, String> uploadFile(@RequestPart(value = "file") MultipartFile file)
 	{
@@ -173,27 +179,19 @@ public class DashboardController {
 		return response;
 	}
 	
-/*
 	@RequestMapping(value = PathRoutes.DashboardApi.GET_CHART_V3, method = RequestMethod.POST)
 	public String getVisualizationChartV3(@RequestBody RequestDtoV3 requestDtoV3, @RequestHeader(value = "x-user-info", required = false) String xUserInfo, ServletWebRequest request)
 			throws IOException {
 
-		*/
-/*logger.info("Request Detail:" + requestDto);
-		Gson gson = new GsonBuilder().setPrettyPrinting().create();
-		UserDto user = gson.fromJson(xUserInfo, UserDto.class);*//*
-
-
 		UserDto user = new UserDto();
 		logger.info("user"+xUserInfo);
 
 		//Getting the request information only from the Full Request
 		AggregateRequestDtoV3 requestInfoV3 = requestDtoV3.getAggregationRequestDto();
 		Map<String, Object> headers = requestDtoV3.getHeaders();
-		//requestInfo.getFilters().putAll(headers);
 		String response = "";
 		try {
-			if (headers.isEmpty()) {
+			if (headers == null || headers.isEmpty()) {
 				logger.error("Please provide header details");
 				throw new AINException(ErrorCode.ERR320, "header is missing");
 			}
@@ -201,30 +199,43 @@ public class DashboardController {
 				logger.error("Please provide tenant ID details");
 				throw new AINException(ErrorCode.ERR320, "tenant is missing");
 			}
+			if(requestInfoV3 == null || requestInfoV3.getVisualizations() == null) {
+				logger.error("Please provide requested Visualization Details");
+				throw new AINException(ErrorCode.ERR320, "Visualization Request is missing");
+			}
 			// To be removed once the development is complete
 			if(StringUtils.isBlank(requestInfoV3.getModuleLevel())) {
 				requestInfoV3.setModuleLevel(Constants.Modules.HOME_REVENUE);
 			}
 
-			List<Object> responseDataList = new ArrayList<>(); 
-			if(requestInfoV3 !=null && requestInfoV3.getVisualizations() != null && requestInfoV3.getVisualizations().size() > 0) {
-				for (int i = 0; i < requestInfoV3.getVisualizations().size(); i++) {
-					AggregateRequestDto requestInfo = new AggregateRequestDto(requestInfoV3,
-							requestInfoV3.getVisualizations().get(i).getType(), requestInfoV3.getVisualizations().get(i).getCode());
-					Object responseData = clientService.getAggregatedData(requestInfo, user.getRoles());
-					responseDataList.add(responseData); 
+			// Charts served by the default client are rendered together so that their ES queries go in one
+			// multi search, the others are rendered one by one
+			List<Object> responseDataList = new ArrayList<>();
+			List<AggregateRequestDto> batchRequests = new ArrayList<>();
+			List<Integer> batchPositions = new ArrayList<>();
+			for (Visualization visualization : requestInfoV3.getVisualizations()) {
+				AggregateRequestDto requestInfo = new AggregateRequestDto(requestInfoV3, visualization.getType(), visualization.getCode());
+				ClientService clientService = clientServiceFactory.get(visualization.getCode());
+				if(clientService instanceof TarentoServiceImpl) {
+					batchPositions.add(responseDataList.size());
+					batchRequests.add(requestInfo);
+					responseDataList.add(null);
+				} else {
+					responseDataList.add(clientService.getAggregatedData(requestInfo, user.getRoles()));
+				}
+			}
+			if(!batchRequests.isEmpty()) {
+				List<AggregateDto> batchResponses = tarentoServiceImpl.getAggregatedData(batchRequests);
+				for (int i = 0; i < batchPositions.size(); i++) {
+					responseDataList.set(batchPositions.get(i), batchResponses.get(i));
 				}
-				
 			}
 			response = ResponseGenerator.successResponse(responseDataList);
 		} catch (AINException e) {
-			logger.error("error while executing api getVisualizationChart");
+			logger.error("error while executing api getVisualizationChartV3");
 			response = ResponseGenerator.failureResponse(e.getErrorCode(), e.getErrorMessage());
 		}
 		return response;
 	}
-*/
-
-
 
 }
@@ -2,8 +2,10 @@ package com.tarento.analytics.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tarento.analytics.model.ChartDefinition;
 import com.tarento.analytics.utils.ResponseRecorder;
 
+import java.util.HashMap;
 import java.util.Map;
 
 public class AggregateRequestDto {
@@ -19,6 +21,8 @@ public class AggregateRequestDto {
 	private RequestDate requestDate; 
 	private String interval;
 	private ObjectNode chartNode;
+	@JsonIgnore
+	private ChartDefinition chartDefinition;
 	private ResponseRecorder responseRecorder;
 
 	@JsonIgnore
@@ -30,10 +34,17 @@ public class AggregateRequestDto {
 		this.visualizationType = visualizationType; 
 		this.moduleLevel = requestDtoV3.getModuleLevel(); 
 		this.queryType = requestDtoV3.getQueryType(); 
-		this.filters = requestDtoV3.getFilters(); 
+		// each visualization resolves its own tenant filters and insight dates, so they are copied per visualization
+		this.filters = requestDtoV3.getFilters() == null ? null : new HashMap<>(requestDtoV3.getFilters()); 
 		this.esFilters = requestDtoV3.getEsFilters(); 
 		this.aggregationFactors = requestDtoV3.getAggregationFactors(); 
-		this.requestDate = requestDtoV3.getRequestDate(); 
+		if(requestDtoV3.getRequestDate() != null) {
+			this.requestDate = new RequestDate();
+			this.requestDate.setTargetDate(requestDtoV3.getRequestDate().getTargetDate());
+			this.requestDate.setStartDate(requestDtoV3.getRequestDate().getStartDate());
+			this.requestDate.setEndDate(requestDtoV3.getRequestDate().getEndDate());
+			this.requestDate.setInterval(requestDtoV3.getRequestDate().getInterval());
+		}
 		this.interval = requestDtoV3.getInterval(); 
 		this.chartNode = requestDtoV3.getChartNode(); 
 		this.requestId= requestDtoV3.getRequestId();
@@ -54,6 +65,14 @@ public class AggregateRequestDto {
 		this.chartNode = chartNode;
 	}
 
+	public ChartDefinition getChartDefinition() {
+		return chartDefinition;
+	}
+
+	public void setChartDefinition(ChartDefinition chartDefinition) {
+		this.chartDefinition = chartDefinition;
+	}
+
 	public String getModuleLevel() {
 		return moduleLevel;
 	}
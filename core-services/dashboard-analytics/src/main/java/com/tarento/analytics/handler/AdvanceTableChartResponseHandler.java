@@ -1,6 +1,5 @@
 package com.tarento.analytics.handler;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -13,6 +12,7 @@ import com.tarento.analytics.dto.Plot;
 import com.tarento.analytics.helper.ComputedFieldFactory;
 import com.tarento.analytics.helper.IComputedField;
 import com.tarento.analytics.helper.SortingHelper;
+import com.tarento.analytics.model.ChartDefinition;
 import com.tarento.analytics.model.ComputedFields;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,10 +47,11 @@ public class AdvanceTableChartResponseHandler implements IResponseHandler {
         JsonNode aggregationNode = aggregations.get(AGGREGATIONS);
         JsonNode chartNode = requestDto.getChartNode();
         String plotLabel = chartNode.get(PLOT_LABEL).asText();
-        JsonNode computedFields = chartNode.get(COMPUTED_FIELDS);
-        JsonNode excludedFields = chartNode.get(EXCLUDED_COLUMNS);
+        ChartDefinition chartDefinition = requestDto.getChartDefinition();
+        List<ComputedFields> computedFields = chartDefinition.getComputedFields();
+        List<String> excludedFields = chartDefinition.getExcludedColumns();
 
-        boolean executeComputedFields = computedFields !=null && computedFields.isArray();
+        boolean executeComputedFields = computedFields !=null;
         List<JsonNode> aggrNodes = aggregationNode.findValues(BUCKETS);
         boolean isPathSpecified = chartNode.get(IResponseHandler.AGGS_PATH)!=null && chartNode.get(IResponseHandler.AGGS_PATH).isArray();
         ArrayNode aggrsPaths = isPathSpecified ? (ArrayNode) chartNode.get(IResponseHandler.AGGS_PATH) : JsonNodeFactory.instance.arrayNode();
@@ -131,8 +132,7 @@ public class AdvanceTableChartResponseHandler implements IResponseHandler {
                 //
                 if(executeComputedFields){
                     try {
-                        List<ComputedFields> computedFieldsList = mapper.readValue(computedFields.toString(), new TypeReference<List<ComputedFields>>(){});
-                        computedFieldsList.forEach(cfs -> {
+                        computedFields.forEach(cfs -> {
                             IComputedField computedFieldObject = computedFieldFactory.getInstance(cfs.getActionName());
                             computedFieldObject.set(requestDto, cfs.getPostAggregationTheory());
                             computedFieldObject.add(data, cfs.getFields(), cfs.getNewField(), chartNode );
@@ -140,8 +140,7 @@ public class AdvanceTableChartResponseHandler implements IResponseHandler {
                         });
                         // exclude the fields no to be displayed
                         if(excludedFields!=null){
-                            List<String> list = mapper.readValue(excludedFields.toString(), new TypeReference<List<String>>(){});
-                            List<Plot> removeplots = data.getPlots().stream().filter(c -> list.contains(c.getName())).collect(Collectors.toList());
+                            List<Plot> removeplots = data.getPlots().stream().filter(c -> excludedFields.contains(c.getName())).collect(Collectors.toList());
                             data.getPlots().removeAll(removeplots);
                         }
 
@@ -6,12 +6,12 @@ import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tarento.analytics.helper.ActionsHelper;
 import com.tarento.analytics.helper.ComputedFieldFactory;
 import com.tarento.analytics.helper.IComputedField;
 import com.tarento.analytics.helper.SortingHelper;
+import com.tarento.analytics.model.ChartDefinition;
 import com.tarento.analytics.model.ComputedFields;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -57,30 +57,30 @@ public class LineChartResponseHandler implements IResponseHandler {
         //String json = "{\"ptindex-v1\":{\"Closed Application\":{\"buckets\":[{\"key_as_string\":\"2018-11-12T00:00:00.000Z\",\"key\":1541980800000,\"doc_count\":1,\"Applications Closed\":{\"buckets\":{\"closed\":{\"doc_count\":0,\"Count\":{\"value\":0}}}}}]},\"Total Application\":{\"buckets\":[{\"key_as_string\":\"2018-11-12T00:00:00.000Z\",\"key\":1541980800000,\"doc_count\":1,\"Count\":{\"value\":1}}]}},\"tlindex-v1\":{\"Closed Application\":{\"buckets\":[{\"key_as_string\":\"2019-04-29T00:00:00.000Z\",\"key\":1556496000000,\"doc_count\":6,\"Applications Closed\":{\"buckets\":{\"closed\":{\"doc_count\":0,\"Count\":{\"value\":0}},\"resolved\":{\"doc_count\":0,\"Count\":{\"value\":0}}}}}]},\"Total Application\":{\"buckets\":[{\"key\":1555891200000,\"doc_count\":1,\"Count\":{\"value\":1}},{\"key\":1556496000000,\"doc_count\":0,\"Count\":{\"value\":0}}]}},\"pgrindex-v1\":{\"Closed Application\":{\"buckets\":[{\"key\":1564963200000,\"doc_count\":438,\"Applications Closed\":{\"buckets\":{\"closed\":{\"doc_count\":5,\"Count\":{\"value\":5}}}}}]},\"Total Application\":{\"buckets\":[{\"key\":1564963200000,\"doc_count\":438,\"Count\":{\"value\":438}},{\"key\":1574035200000,\"doc_count\":3,\"Count\":{\"value\":3}}]}}}";
         JsonNode aggregationNode = aggregations.get(AGGREGATIONS);
         JsonNode chartNode = requestDto.getChartNode();
+        ChartDefinition chartDefinition = requestDto.getChartDefinition();
         boolean isRequestInterval = null == requestDto.getRequestDate() ? false : requestDto.getRequestDate().getInterval()!=null && !requestDto.getRequestDate().getInterval().isEmpty();
-        String interval = isRequestInterval ? requestDto.getRequestDate().getInterval(): chartNode.get(Constants.JsonPaths.INTERVAL).asText();
+        String interval = isRequestInterval ? requestDto.getRequestDate().getInterval(): chartDefinition.getInterval();
         if(interval == null || interval.isEmpty()){
             throw new RuntimeException("Interval must have value from config or request");
         }
 
-        String symbol = chartNode.get(IResponseHandler.VALUE_TYPE).asText();
+        String symbol = chartDefinition.getValueType();
         String symbolFromPathDataTypeMap = symbol;
-        ArrayNode aggrsPaths = (ArrayNode) chartNode.get(IResponseHandler.AGGS_PATH);
-        ArrayNode pathDataTypeMap = (ArrayNode) chartNode.get(TYPE_MAPPING);
+        List<String> aggrsPaths = chartDefinition.getAggregationPaths();
 
         Set<String> plotKeys = new LinkedHashSet<>();
         List<Long> targetEpochKeys = new ArrayList<>();
         List<Long> actualEpochKeys = new ArrayList<>();
-        boolean isCumulative = chartNode.get("isCumulative").asBoolean();
+        boolean isCumulative = chartDefinition.isCumulative();
 
-        JsonNode computedFields = chartNode.get(COMPUTED_FIELDS);
-        JsonNode predictionPath = chartNode.get(PREDICTION_PATH);
-        JsonNode distributionPath = null;
+        List<ComputedFields> computedFields = chartDefinition.getComputedFields();
+        String predictionPath = chartDefinition.getPredictionPath();
+        String distributionPath = null;
         Long startDate = null;
         Long endDate = null;
-        boolean executeComputedFields = computedFields !=null && computedFields.isArray();
+        boolean executeComputedFields = computedFields !=null;
         boolean isPredictionEnabled = predictionPath!=null;
-        String action = chartNode.get(ACTION).asText();
+        String action = chartDefinition.getAction();
         Double divisorValues = 1.0;
 
         if(isPredictionEnabled ){
@@ -91,21 +91,17 @@ public class LineChartResponseHandler implements IResponseHandler {
             addTargetDates(startDate, endDate,targetEpochKeys);
         }
         //aggrsPaths.forEach(headerPath -> {
-        for(JsonNode headerPath : aggrsPaths){
+        for(String headerPath : aggrsPaths){
 
             if(isPredictionEnabled && aggrsPaths.size()==2 && !headerPath.equals(predictionPath)){
                 distributionPath = headerPath;
             }
-            List<JsonNode> aggrNodes = aggregationNode.findValues(headerPath.asText());
+            List<JsonNode> aggrNodes = aggregationNode.findValues(headerPath);
 
-            JsonNode datatype = null;
-            if(pathDataTypeMap!=null) {
-            	datatype = pathDataTypeMap.findValue(headerPath.asText());
-
-            }
+            String datatype = chartDefinition.getPathDataType(headerPath);
 
             if(datatype!=null) {
-            	symbolFromPathDataTypeMap=datatype.asText();
+            	symbolFromPathDataTypeMap=datatype;
             }
             else {
             	symbolFromPathDataTypeMap=symbol;
@@ -139,12 +135,9 @@ public class LineChartResponseHandler implements IResponseHandler {
                             if (executeComputedFields) {
                                 try {
 
-                                    List<ComputedFields> computedFieldsList = mapper.readValue(computedFields.toString(), new TypeReference<List<ComputedFields>>() {
-                                    });
-
-                                for (ComputedFields cfs : computedFieldsList) {
+                                for (ComputedFields cfs : computedFields) {
                                     if (bucket.findValues(cfs.getFields().get(0)).isEmpty()) {
-                                        value = getValueOfPlotMap(bucket, previousVal, chartNode);
+                                        value = getValueOfPlotMap(bucket, previousVal, chartDefinition);
                                         continue;
                                     }
                                     IComputedField computedFieldObject = computedFieldFactory.getInstance(cfs.getActionName());
@@ -168,14 +161,14 @@ public class LineChartResponseHandler implements IResponseHandler {
                                 }
 
                         } else {
-                            value = getValueOfPlotMap(bucket, previousVal, chartNode);
+                            value = getValueOfPlotMap(bucket, previousVal, chartDefinition);
                         }
                         //double value = previousVal + ((bucket.findValue(IResponseHandler.VALUE) != null) ? bucket.findValue(IResponseHandler.VALUE).asDouble():bucket.findValue(IResponseHandler.DOC_COUNT).asDouble());
 
                             plotMap.put(key, new Double("0") + value);
                             totalValues.add(value);
                         }
-                }else if(action.equals(IResponseHandler.DIVISIONBYCONSTANT)){
+                }else if(IResponseHandler.DIVISIONBYCONSTANT.equals(action)){
                     divisorValues = (aggrNode.findValues(IResponseHandler.VALUE) != null && aggrNode.findValues(IResponseHandler.VALUE).size() == 1) ? aggrNode.findValues(IResponseHandler.VALUE).get(0).asDouble() : 1.0;
 
                 }
@@ -190,11 +183,11 @@ public class LineChartResponseHandler implements IResponseHandler {
             String finalSymbolForPlots= symbolFromPathDataTypeMap;
             List<Plot> plots = plotMap.entrySet().stream().map(e -> new Plot(e.getKey(), e.getValue(), finalSymbolForPlots)).collect(Collectors.toList());
             try{
-                Data data = new Data(headerPath.asText(), (totalValues==null || totalValues.isEmpty()) ? 0.0 : totalValues.stream().reduce(0.0, Double::sum),finalSymbolForPlots );
+                Data data = new Data(headerPath, (totalValues==null || totalValues.isEmpty()) ? 0.0 : totalValues.stream().reduce(0.0, Double::sum),finalSymbolForPlots );
                 data.setPlots(plots);
                 dataList.add(data);
             } catch (Exception e) {
-                logger.error(" Legend/Header "+headerPath.asText() +" exception occurred "+e.getMessage());
+                logger.error(" Legend/Header "+headerPath +" exception occurred "+e.getMessage());
             }
             // });
         }
@@ -203,7 +196,7 @@ public class LineChartResponseHandler implements IResponseHandler {
         Long finalStartDate = startDate;
         dataList.forEach(data -> {
             if(isPredictionEnabled){
-                if(data.getHeaderName().equals(predictionPath.asText())) {
+                if(data.getHeaderName().equals(predictionPath)) {
                     appendTargetPlot(targetEpochKeys, data, symbol, isCumulative);
                 }else{
                     appendActualPlot(actualEpochKeys, finalStartDate,data,symbol,isCumulative);
@@ -215,17 +208,15 @@ public class LineChartResponseHandler implements IResponseHandler {
         if(isPredictionEnabled){
             addPredictionPlot(dataList,predictionPath,distributionPath,actualEpochKeys);
         }
-        if (action.equals(IResponseHandler.DIVISIONBYCONSTANT))  {
+        if (IResponseHandler.DIVISIONBYCONSTANT.equals(action))  {
             dataList = actionsHelper.divisionByConstant(action, dataList, chartNode,divisorValues);
         }
 
-        if (action.equals(PERCENTAGE) || action.equals(DIVISION))  {
+        if (PERCENTAGE.equals(action) || DIVISION.equals(action))  {
             dataList = actionsHelper.divide(action, dataList, chartNode);
         }
-        if(chartNode.has(COMPUTE_MULTIPLE_PATHS) && chartNode.get(COMPUTE_MULTIPLE_PATHS).asBoolean()) {
-            List<ComputedFields> computedFieldsList = mapper.readValue(computedFields.toString(), new TypeReference<List<ComputedFields>>() {
-            });
-            for (ComputedFields cfs : computedFieldsList) {
+        if(chartDefinition.isComputeMultiplePaths()) {
+            for (ComputedFields cfs : computedFields) {
 
                 IComputedField computedFieldObject = computedFieldFactory.getInstance(cfs.getActionName());
                 computedFieldObject.set(requestDto, cfs.getPostAggregationTheory());
@@ -233,8 +224,8 @@ public class LineChartResponseHandler implements IResponseHandler {
 
             }
         }
-        if (computedFields != null && computedFields.size()!= 0 && computedFields.get(0).has("sort")) {
-            String sortingKey = computedFields.get(0).get("sort").asText();
+        if (chartDefinition.getComputedFieldsSort() != null) {
+            String sortingKey = chartDefinition.getComputedFieldsSort();
             dataList = sortingHelper.sort(sortingKey, dataList);
         }
         return getAggregatedDto(chartNode, dataList, requestDto.getVisualizationCode());
@@ -249,12 +240,12 @@ public class LineChartResponseHandler implements IResponseHandler {
         }
     }
 
-    public void addPredictionPlot(List<Data> dataList, JsonNode predictionPath, JsonNode distributionPath, List<Long> actualEpochKeys) {
-        Data targetPlot = dataList.stream().filter(ob -> ob.getHeaderName().equals(predictionPath.asText())).findFirst().get();
+    public void addPredictionPlot(List<Data> dataList, String predictionPath, String distributionPath, List<Long> actualEpochKeys) {
+        Data targetPlot = dataList.stream().filter(ob -> ob.getHeaderName().equals(predictionPath)).findFirst().get();
         Double overallTarget = targetPlot.getPlots().stream().reduce((first, second) -> second).get().getValue();
         Double targetPerDay = targetPlot.getPlots().get(0).getValue();
 
-        Data distributionPlot = dataList.stream().filter(ob -> ob.getHeaderName().equals(distributionPath.asText())).findFirst().get();
+        Data distributionPlot = dataList.stream().filter(ob -> ob.getHeaderName().equals(distributionPath)).findFirst().get();
         Double cumulativeValue = distributionPlot.getPlots().stream().reduce((first, second) -> second).get().getValue();
         Long dateToPredictFrom = actualEpochKeys.get(actualEpochKeys.size()-1);
 
@@ -293,7 +284,7 @@ public class LineChartResponseHandler implements IResponseHandler {
             data.setPlots(plots);
         }
     }
-    private double getValueOfPlotMap(JsonNode bucket, double previousVal, JsonNode chartNode) {
+    private double getValueOfPlotMap(JsonNode bucket, double previousVal, ChartDefinition chartDefinition) {
         String jsonStr = bucket.toString();
         JSONObject currObj = new JSONObject(jsonStr);
         double value = 0.0;
@@ -308,7 +299,7 @@ public class LineChartResponseHandler implements IResponseHandler {
 
         //value = previousVal + ((bucket.findValue(IResponseHandler.VALUE) != null) ? bucket.findValue(IResponseHandler.VALUE).asDouble():bucket.findValue(IResponseHandler.DOC_COUNT).asDouble());
 
-        if (chartNode.get(IS_ROUND_OFF) != null && chartNode.get(IS_ROUND_OFF).asBoolean()) {
+        if (chartDefinition.isRoundOff()) {
             value = (double) Math.round(value);
         }
         return value;
@@ -0,0 +1,249 @@
+package com.tarento.analytics.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tarento.analytics.constant.Constants;
+import com.tarento.analytics.enums.ChartType;
+import com.tarento.analytics.handler.IResponseHandler;
+
+/**
+ * A chart of ChartApiConfig.json compiled once when the configuration is loaded, so that the
+ * request path reads typed values instead of walking and parsing the chart json on every response.
+ * The raw chart node is kept for the helpers which still work on json.
+ */
+public class ChartDefinition {
+
+	private static final String TODAYS_DATE = "todaysDate";
+	private static final String LAST_UPDATED_TIME = "lastUpdatedTime";
+
+	private final String chartId;
+	private final ObjectNode chartNode;
+	private final ChartType chartType;
+	private final String interval;
+	private final String valueType;
+	private final String action;
+	private final boolean cumulative;
+	private final boolean roundOff;
+	private final boolean incrementalCacheEnabled;
+	private final List<String> aggregationPaths;
+	private final Set<String> retainedAggregations;
+	private final Map<String, String> pathDataTypes;
+	private final List<ComputedFields> computedFields;
+	private final String computedFieldsSort;
+	private final boolean computeMultiplePaths;
+	private final String predictionPath;
+	private final List<String> excludedColumns;
+	private final InsightsConfiguration insight;
+	private final List<ChartQueryDefinition> queries;
+
+	private ChartDefinition(String chartId, ObjectNode chartNode, ObjectMapper mapper) throws Exception {
+		this.chartId = chartId;
+		this.chartNode = chartNode;
+		this.chartType = chartNode.hasNonNull(Constants.JsonPaths.CHART_TYPE)
+				? ChartType.fromValue(chartNode.get(Constants.JsonPaths.CHART_TYPE).asText()) : null;
+		this.interval = textOrNull(chartNode, Constants.JsonPaths.INTERVAL);
+		this.valueType = textOrNull(chartNode, IResponseHandler.VALUE_TYPE);
+		this.action = textOrNull(chartNode, IResponseHandler.ACTION);
+		this.cumulative = chartNode.path("isCumulative").asBoolean();
+		this.roundOff = chartNode.path(IResponseHandler.IS_ROUND_OFF).asBoolean();
+		this.incrementalCacheEnabled = chartNode.path(Constants.JsonPaths.IS_INCREMENTAL_CACHE_ENABLED).asBoolean();
+		this.computeMultiplePaths = chartNode.path(IResponseHandler.COMPUTE_MULTIPLE_PATHS).asBoolean();
+		this.predictionPath = textOrNull(chartNode, IResponseHandler.PREDICTION_PATH);
+
+		List<String> paths = new ArrayList<>();
+		JsonNode aggrsPaths = chartNode.get(IResponseHandler.AGGS_PATH);
+		if (aggrsPaths != null && aggrsPaths.isArray()) {
+			aggrsPaths.forEach(path -> paths.add(path.asText()));
+		}
+		this.aggregationPaths = Collections.unmodifiableList(paths);
+
+		// the first mapping of a path wins, as with findValue on the mapping array
+		Map<String, String> dataTypes = new LinkedHashMap<>();
+		JsonNode pathDataTypeMap = chartNode.get(IResponseHandler.TYPE_MAPPING);
+		if (pathDataTypeMap != null && pathDataTypeMap.isArray()) {
+			pathDataTypeMap.forEach(mapping -> mapping.fields()
+					.forEachRemaining(entry -> dataTypes.putIfAbsent(entry.getKey(), entry.getValue().asText())));
+		}
+		this.pathDataTypes = Collections.unmodifiableMap(dataTypes);
+
+		JsonNode computedFieldsNode = chartNode.get(IResponseHandler.COMPUTED_FIELDS);
+		if (computedFieldsNode != null && computedFieldsNode.isArray()) {
+			this.computedFields = Collections.unmodifiableList(
+					mapper.convertValue(computedFieldsNode, new TypeReference<List<ComputedFields>>() {}));
+			this.computedFieldsSort = computedFieldsNode.size() != 0 && computedFieldsNode.get(0).has("sort")
+					? computedFieldsNode.get(0).get("sort").asText() : null;
+		} else {
+			this.computedFields = null;
+			this.computedFieldsSort = null;
+		}
+
+		JsonNode excludedColumnsNode = chartNode.get(IResponseHandler.EXCLUDED_COLUMNS);
+		this.excludedColumns = excludedColumnsNode == null ? null : Collections.unmodifiableList(
+				mapper.convertValue(excludedColumnsNode, new TypeReference<List<String>>() {}));
+
+		this.insight = chartNode.get(Constants.JsonPaths.INSIGHT) != null
+				? mapper.treeToValue(chartNode.get(Constants.JsonPaths.INSIGHT), InsightsConfiguration.class) : null;
+
+		List<ChartQueryDefinition> chartQueries = new ArrayList<>();
+		JsonNode queriesNode = chartNode.get(Constants.JsonPaths.QUERIES);
+		if (queriesNode != null && queriesNode.isArray()) {
+			for (JsonNode query : queriesNode) {
+				chartQueries.add(ChartQueryDefinition.compile(query, mapper));
+			}
+		}
+		this.queries = Collections.unmodifiableList(chartQueries);
+		this.retainedAggregations = retainedAggregations(chartNode);
+	}
+
+	/**
+	 * Names the aggregations read by the response handlers of a chart configured with aggregation paths:
+	 * the paths, the chart specific properties, the dates read by metric charts, the campaign period
+	 * capping the value and the fields of computed fields. Charts without aggregation paths read every
+	 * aggregation of the response.
+	 * @return the names, null when the whole aggregations are read
+	 */
+	private Set<String> retainedAggregations(ObjectNode chartNode) {
+		if (aggregationPaths.isEmpty()) {
+			return null;
+		}
+		Set<String> names = new TreeSet<>(aggregationPaths);
+		names.add(IResponseHandler.CHART_SPECIFIC);
+		names.add(TODAYS_DATE);
+		names.add(LAST_UPDATED_TIME);
+		if (predictionPath != null) {
+			names.add(predictionPath);
+		}
+		JsonNode cappedBy = chartNode.get(IResponseHandler.IS_CAPPED_BY_CAMPAIGN_PERIOD);
+		if (cappedBy != null && cappedBy.isArray()) {
+			cappedBy.forEach(path -> names.add(path.asText()));
+		}
+		if (computedFields != null) {
+			for (ComputedFields computedField : computedFields) {
+				if (computedField.getFields() != null) {
+					names.addAll(computedField.getFields());
+				}
+				if (computedField.getNewField() != null) {
+					names.add(computedField.getNewField());
+				}
+			}
+		}
+		return Collections.unmodifiableSet(names);
+	}
+
+	/**
+	 * Compiles a chart node of ChartApiConfig.json
+	 * @param chartId the visualization code of the chart
+	 * @param chartNode the chart config
+	 * @param mapper mapper used to bind the typed parts of the config
+	 * @return the compiled chart
+	 * @throws Exception when a part of the config can not be parsed
+	 */
+	public static ChartDefinition compile(String chartId, ObjectNode chartNode, ObjectMapper mapper) throws Exception {
+		return new ChartDefinition(chartId, chartNode, mapper);
+	}
+
+	private static String textOrNull(JsonNode node, String field) {
+		return node.hasNonNull(field) ? node.get(field).asText() : null;
+	}
+
+	public String getChartId() {
+		return chartId;
+	}
+
+	public ObjectNode getChartNode() {
+		return chartNode;
+	}
+
+	public ChartType getChartType() {
+		return chartType;
+	}
+
+	public String getInterval() {
+		return interval;
+	}
+
+	public String getValueType() {
+		return valueType;
+	}
+
+	public String getAction() {
+		return action;
+	}
+
+	public boolean isCumulative() {
+		return cumulative;
+	}
+
+	public boolean isRoundOff() {
+		return roundOff;
+	}
+
+	/**
+	 * @return the isIncrementalCacheEnabled flag of the chart config, enabling the bucket cache for the
+	 * chart. Queries are only cached by time bucket when they are additive as well, see
+	 * {@link ChartQueryDefinition#isAdditive()}
+	 */
+	public boolean isIncrementalCacheEnabled() {
+		return incrementalCacheEnabled;
+	}
+
+	public List<String> getAggregationPaths() {
+		return aggregationPaths;
+	}
+
+	/**
+	 * @return the names of the aggregations the response of the chart is pruned to, in name order,
+	 * null when the chart reads every aggregation
+	 */
+	public Set<String> getRetainedAggregations() {
+		return retainedAggregations;
+	}
+
+	/**
+	 * @return the value type configured for an aggregation path in pathDataTypeMapping, null when none is configured
+	 */
+	public String getPathDataType(String aggregationPath) {
+		return pathDataTypes.get(aggregationPath);
+	}
+
+	/**
+	 * @return the computed fields of the chart, null when the chart has none
+	 */
+	public List<ComputedFields> getComputedFields() {
+		return computedFields;
+	}
+
+	public String getComputedFieldsSort() {
+		return computedFieldsSort;
+	}
+
+	public boolean isComputeMultiplePaths() {
+		return computeMultiplePaths;
+	}
+
+	public String getPredictionPath() {
+		return predictionPath;
+	}
+
+	public List<String> getExcludedColumns() {
+		return excludedColumns;
+	}
+
+	public InsightsConfiguration getInsight() {
+		return insight;
+	}
+
+	public List<ChartQueryDefinition> getQueries() {
+		return queries;
+	}
+}
@@ -0,0 +1,146 @@
+package com.tarento.analytics.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tarento.analytics.constant.Constants;
+
+/**
+ * A query of a chart in ChartApiConfig.json, with its request query map parsed once when the
+ * configuration is loaded
+ */
+public class ChartQueryDefinition {
+
+	// aggregations whose results over consecutive date ranges add up to their result over the whole range.
+	// terms are not among them: they keep the top buckets of each range, so merged ranges differ from the whole
+	private static final Set<String> ADDITIVE_AGGREGATIONS = new HashSet<>(Arrays.asList("sum", "value_count",
+			"filter", "filters", "range", "date_range", "histogram", "date_histogram", "missing", "nested", "reverse_nested"));
+	private static final Set<String> AGGREGATION_PROPERTIES = new HashSet<>(Arrays.asList(
+			Constants.JsonPaths.AGGS, "aggregations", "meta"));
+
+	private final String module;
+	private final String indexName;
+	private final String aggrQuery;
+	private final boolean intervalDependent;
+	private final JsonNode aggs;
+	private final Map<String, String> requestQueryMap;
+	private final String dateRefField;
+	private final boolean additive;
+
+	private ChartQueryDefinition(String module, String indexName, String aggrQuery, JsonNode aggs,
+								 Map<String, String> requestQueryMap, String dateRefField, boolean additive) {
+		this.module = module;
+		this.indexName = indexName;
+		this.aggrQuery = aggrQuery;
+		this.intervalDependent = aggrQuery.contains(Constants.JsonPaths.INTERVAL_VAL);
+		this.aggs = aggs;
+		this.requestQueryMap = Collections.unmodifiableMap(requestQueryMap);
+		this.dateRefField = dateRefField;
+		this.additive = additive;
+	}
+
+	/**
+	 * Compiles a query node of the chart config
+	 * @param query query node holding module, indexName, aggrQuery, requestQueryMap and dateRefField
+	 * @param mapper mapper used to parse the json strings of the query
+	 * @return the compiled query
+	 * @throws Exception when aggrQuery or requestQueryMap is not valid json
+	 */
+	public static ChartQueryDefinition compile(JsonNode query, ObjectMapper mapper) throws Exception {
+		String aggrQuery = query.get(Constants.JsonPaths.AGGREGATION_QUERY).asText();
+		// aggregations with an interval placeholder can only be parsed once the interval is known
+		JsonNode aggs = aggrQuery.contains(Constants.JsonPaths.INTERVAL_VAL) ? null
+				: mapper.readTree(aggrQuery).get(Constants.JsonPaths.AGGS);
+
+		Map<String, String> requestQueryMap = new LinkedHashMap<>();
+		JsonNode requestQueryMaps = mapper.readTree(query.get(Constants.JsonPaths.REQUEST_QUERY_MAP).asText());
+		requestQueryMaps.fields().forEachRemaining(entry -> requestQueryMap.put(entry.getKey(), entry.getValue().asText()));
+
+		return new ChartQueryDefinition(query.get(Constants.JsonPaths.MODULE).asText(),
+				query.get(Constants.JsonPaths.INDEX_NAME).asText(), aggrQuery, aggs, requestQueryMap,
+				query.get(Constants.JsonPaths.DATE_REF_FIELD).asText(), isAdditive(aggrQuery, aggs, mapper));
+	}
+
+	private static boolean isAdditive(String aggrQuery, JsonNode aggs, ObjectMapper mapper) {
+		if (aggs != null) {
+			return isAdditive(aggs);
+		}
+		// the kinds of aggregations do not depend on the interval, any interval will do to parse them
+		try {
+			return isAdditive(mapper.readTree(aggrQuery.replace(Constants.JsonPaths.INTERVAL_VAL,
+					Constants.Interval.day.toString())).get(Constants.JsonPaths.AGGS));
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @param aggs the aggs of a query, keyed by aggregation name
+	 * @return whether every aggregation, including the nested ones, is additive
+	 */
+	private static boolean isAdditive(JsonNode aggs) {
+		if (aggs == null || !aggs.isObject()) {
+			return false;
+		}
+		for (JsonNode aggregation : aggs) {
+			Iterator<Map.Entry<String, JsonNode>> properties = aggregation.fields();
+			while (properties.hasNext()) {
+				Map.Entry<String, JsonNode> property = properties.next();
+				if (AGGREGATION_PROPERTIES.contains(property.getKey())) {
+					if (!"meta".equals(property.getKey()) && !isAdditive(property.getValue())) {
+						return false;
+					}
+				} else if (!ADDITIVE_AGGREGATIONS.contains(property.getKey())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	public String getModule() {
+		return module;
+	}
+
+	public String getIndexName() {
+		return indexName;
+	}
+
+	public String getAggrQuery() {
+		return aggrQuery;
+	}
+
+	public boolean isIntervalDependent() {
+		return intervalDependent;
+	}
+
+	/**
+	 * @return the parsed aggs of the query, null when they depend on the interval of the request
+	 */
+	public JsonNode getAggs() {
+		return aggs;
+	}
+
+	public Map<String, String> getRequestQueryMap() {
+		return requestQueryMap;
+	}
+
+	public String getDateRefField() {
+		return dateRefField;
+	}
+
+	/**
+	 * @return whether the aggregations of the query may be computed per time bucket and summed, which
+	 * excludes terms, cardinality, averages and any other aggregation that does not add up across ranges
+	 */
+	public boolean isAdditive() {
+		return additive;
+	}
+}
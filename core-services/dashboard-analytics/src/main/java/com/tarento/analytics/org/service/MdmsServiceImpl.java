@@ -69,6 +69,7 @@ public class MdmsServiceImpl implements ClientService {
 
         //replacing default values by
         request.setChartNode(chartNode);
+        request.setChartDefinition(configurationLoader.getChartDefinition(chartId));
         IResponseHandler responseHandler = responseHandlerFactory.getInstance(chartType);
         AggregateDto aggregateDto = new AggregateDto();
         if (reponseNode.fields().hasNext()) {
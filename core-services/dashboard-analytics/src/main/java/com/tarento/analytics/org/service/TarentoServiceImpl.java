@@ -3,11 +3,18 @@ package com.tarento.analytics.org.service;
 import static com.tarento.analytics.handler.IResponseHandler.IS_CAPPED_TILL_TODAY;
 import com.tarento.analytics.constant.Constants.Interval;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import com.tarento.analytics.dto.*;
 import org.apache.commons.lang3.StringUtils;
@@ -19,7 +26,6 @@ import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.tarento.analytics.ConfigurationLoader;
@@ -30,8 +36,11 @@ import com.tarento.analytics.handler.IResponseHandler;
 import com.tarento.analytics.handler.InsightsHandler;
 import com.tarento.analytics.handler.InsightsHandlerFactory;
 import com.tarento.analytics.handler.ResponseHandlerFactory;
+import com.tarento.analytics.model.ChartDefinition;
+import com.tarento.analytics.model.ChartQueryDefinition;
 import com.tarento.analytics.model.InsightsConfiguration;
-import com.tarento.analytics.service.QueryService;
+import com.tarento.analytics.service.impl.AggregationBucketCache;
+import com.tarento.analytics.service.impl.AggregationBucketCache.PlannedQuery;
 import com.tarento.analytics.service.impl.RestService;
 import com.tarento.analytics.utils.ResponseRecorder;
 
@@ -46,10 +55,10 @@ public class TarentoServiceImpl implements ClientService {
 
 
 	@Autowired
-	private QueryService queryService;
+	private RestService restService;
 
 	@Autowired
-	private RestService restService;
+	private AggregationBucketCache aggregationBucketCache;
 
 	@Autowired
 	private ConfigurationLoader configurationLoader;
@@ -67,13 +76,54 @@ public class TarentoServiceImpl implements ClientService {
 	@Override
 	@Cacheable(value="versions", key="#request.hashKey")
 	public AggregateDto getAggregatedData(AggregateRequestDto request, List<RoleDto> roles) throws AINException, IOException {
+		ChartExecution chartExecution = prepareChartExecution(request);
+		executeChartQueries(Collections.singletonList(chartExecution));
+		return translateChartExecution(chartExecution);
+	}
+
+	/**
+	 * Renders several charts together. The queries of all charts are sent to ES in a single multi search,
+	 * in which identical queries of different charts are sent only once
+	 * @param requests The request of each chart, each holding its own filters and RequestDate
+	 * @return The response of each chart in request order, null for a chart which could not be rendered
+	 */
+	public List<AggregateDto> getAggregatedData(List<AggregateRequestDto> requests) {
+		List<ChartExecution> chartExecutions = new ArrayList<>();
+		for(AggregateRequestDto request : requests) {
+			try {
+				chartExecutions.add(prepareChartExecution(request));
+			} catch (Exception e) {
+				logger.error("Encountered an Exception while preparing the chart " + request.getVisualizationCode() + " : " + e.getMessage());
+				chartExecutions.add(null);
+			}
+		}
+
+		executeChartQueries(chartExecutions.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+
+		List<AggregateDto> aggregateDtos = new ArrayList<>();
+		for(ChartExecution chartExecution : chartExecutions) {
+			AggregateDto aggregateDto = null;
+			if(chartExecution != null) {
+				try {
+					aggregateDto = translateChartExecution(chartExecution);
+				} catch (Exception e) {
+					logger.error("Encountered an Exception while translating the chart " + chartExecution.visualizationCode + " : " + e.getMessage());
+				}
+			}
+			aggregateDtos.add(aggregateDto);
+		}
+		return aggregateDtos;
+	}
+
+	/**
+	 * Resolves the chart config and the dates of the request and plans the queries of the chart
+	 * for the requested and the insight interval
+	 * @param request The API request
+	 * @return the chart with its planned queries
+	 */
+	private ChartExecution prepareChartExecution(AggregateRequestDto request) {
 		// Read visualization Code
 		String internalChartId = request.getVisualizationCode();
-		ObjectNode aggrObjectNode = JsonNodeFactory.instance.objectNode();
-		ObjectNode insightAggrObjectNode = JsonNodeFactory.instance.objectNode();
-		ObjectNode nodes = JsonNodeFactory.instance.objectNode();
-		ObjectNode insightNodes = JsonNodeFactory.instance.objectNode();
-		Boolean continueWithInsight = Boolean.FALSE;
 
 		//TODO should be remove temporary fix for national dashboard
 		Map<String, Object> filters = request.getFilters();
@@ -82,17 +132,14 @@ public class TarentoServiceImpl implements ClientService {
 		}
 
 
-		// Load Chart API configuration to Object Node for easy retrieval later
-		ObjectNode node = configurationLoader.get(Constants.ConfigurationFiles.CHART_API_CONFIG);
-		ObjectNode chartNode = (ObjectNode) node.get(internalChartId);
-		InsightsConfiguration insightsConfig = null;
-		if(chartNode.get(Constants.JsonPaths.INSIGHT) != null) {
-			insightsConfig = mapper.treeToValue(chartNode.get(Constants.JsonPaths.INSIGHT), InsightsConfiguration.class);
-		}
-		ChartType chartType = ChartType.fromValue(chartNode.get(Constants.JsonPaths.CHART_TYPE).asText());
-		boolean isDefaultPresent = chartType.equals(ChartType.LINE) && chartNode.get(Constants.JsonPaths.INTERVAL)!=null;
+		// Load the Chart API configuration compiled when the configuration was loaded
+		ChartDefinition chartDefinition = configurationLoader.getChartDefinition(internalChartId);
+		ObjectNode chartNode = chartDefinition.getChartNode();
+		InsightsConfiguration insightsConfig = chartDefinition.getInsight();
+		ChartType chartType = chartDefinition.getChartType();
+		boolean isDefaultPresent = chartType.equals(ChartType.LINE) && chartDefinition.getInterval()!=null;
 		boolean isRequestContainsInterval = null == request.getRequestDate() ? false : (request.getRequestDate().getInterval()!=null && !request.getRequestDate().getInterval().isEmpty()) ;
-		String interval = isRequestContainsInterval? request.getRequestDate().getInterval(): (isDefaultPresent ? chartNode.get(Constants.JsonPaths.INTERVAL).asText():"");
+		String interval = isRequestContainsInterval? request.getRequestDate().getInterval(): (isDefaultPresent ? chartDefinition.getInterval():"");
 
 		if(isFilterForCurrentDayEnabled(chartNode)){
 			setDateRangeFilterForCurrentDay(request);
@@ -106,8 +153,47 @@ public class TarentoServiceImpl implements ClientService {
 			request.getRequestDate().setEndDate(String.valueOf(currentDateTimeInMillis));
 		}
 
-		executeConfiguredQueries(chartNode, aggrObjectNode, nodes, request, interval);
+		ChartExecution chartExecution = new ChartExecution(request, chartDefinition);
+		chartExecution.currentQueries = buildConfiguredQueries(chartDefinition, request, interval);
+		if(insightsConfig != null && StringUtils.isNotBlank(insightsConfig.getInsightInterval())) {
+			String startDate = request.getRequestDate().getStartDate();
+			String endDate = request.getRequestDate().getEndDate();
+			Boolean continueWithInsight = getInsightsDate(request, insightsConfig.getInsightInterval());
+			if(continueWithInsight) {
+				/*
+						Insight queries are built with updated RequestDates (updated in getInsightsDate which subtracted one interval from the dates)
+						and are sent to ES together with the queries of the current interval
+				*
+				* */
+				chartExecution.insightQueries = buildConfiguredQueries(chartDefinition, request, interval);
+				chartExecution.insightStartDate = request.getRequestDate().getStartDate();
+				chartExecution.insightEndDate = request.getRequestDate().getEndDate();
+				// the current interval is translated first, with the requested dates
+				request.getRequestDate().setStartDate(startDate);
+				request.getRequestDate().setEndDate(endDate);
+			}
+		}
+		return chartExecution;
+	}
+
+	/**
+	 * Translates the ES responses of a chart, and of its insight interval when planned, into the chart response
+	 * @param chartExecution The chart whose queries were executed
+	 * @return the chart response
+	 */
+	private AggregateDto translateChartExecution(ChartExecution chartExecution) throws IOException {
+		AggregateRequestDto request = chartExecution.request;
+		ChartDefinition chartDefinition = chartExecution.chartDefinition;
+		ObjectNode chartNode = chartDefinition.getChartNode();
+		ChartType chartType = chartDefinition.getChartType();
+		InsightsConfiguration insightsConfig = chartDefinition.getInsight();
+
+		ObjectNode aggrObjectNode = JsonNodeFactory.instance.objectNode();
+		ObjectNode nodes = JsonNodeFactory.instance.objectNode();
+		enrichResponses(chartExecution.currentQueries.plannedQueries, chartExecution.currentQueries.responses, aggrObjectNode, nodes);
+
 		request.setChartNode(chartNode);
+		request.setChartDefinition(chartDefinition);
 		ResponseRecorder responseRecorder = new ResponseRecorder();
 		request.setResponseRecorder(responseRecorder);
 
@@ -117,25 +203,23 @@ public class TarentoServiceImpl implements ClientService {
 			aggregateDto = responseHandler.translate(request, aggrObjectNode);
 		}
 
-		if(insightsConfig != null && StringUtils.isNotBlank(insightsConfig.getInsightInterval())) {
-			continueWithInsight = getInsightsDate(request, insightsConfig.getInsightInterval());
-			if(continueWithInsight) {
-				String insightVisualizationCode = insightPrefix  + request.getVisualizationCode();
-				request.setVisualizationCode(insightVisualizationCode);
-				/*
-						Data is fetched with updated RequestDates (updated in getInsightsDate which subtracted one interval from the dates)
-				*
-				* */
-				executeConfiguredQueries(chartNode, insightAggrObjectNode, insightNodes, request, interval);
+		if(chartExecution.insightQueries != null) {
+			ObjectNode insightAggrObjectNode = JsonNodeFactory.instance.objectNode();
+			ObjectNode insightNodes = JsonNodeFactory.instance.objectNode();
+			enrichResponses(chartExecution.insightQueries.plannedQueries, chartExecution.insightQueries.responses, insightAggrObjectNode, insightNodes);
 
-				request.setChartNode(chartNode);
-				responseHandler = responseHandlerFactory.getInstance(chartType);
-				if(insightAggrObjectNode.fields().hasNext()){
-					responseHandler.translate(request, insightAggrObjectNode);
-				}
-				InsightsHandler insightsHandler = insightsHandlerFactory.getInstance(chartType);
-				aggregateDto = insightsHandler.getInsights(aggregateDto, request.getVisualizationCode(), request.getModuleLevel(), insightsConfig,request.getResponseRecorder());
+			String insightVisualizationCode = insightPrefix  + chartExecution.visualizationCode;
+			request.setVisualizationCode(insightVisualizationCode);
+			request.getRequestDate().setStartDate(chartExecution.insightStartDate);
+			request.getRequestDate().setEndDate(chartExecution.insightEndDate);
+
+			request.setChartNode(chartNode);
+			responseHandler = responseHandlerFactory.getInstance(chartType);
+			if(insightAggrObjectNode.fields().hasNext()){
+				responseHandler.translate(request, insightAggrObjectNode);
 			}
+			InsightsHandler insightsHandler = insightsHandlerFactory.getInstance(chartType);
+			aggregateDto = insightsHandler.getInsights(aggregateDto, request.getVisualizationCode(), request.getModuleLevel(), insightsConfig,request.getResponseRecorder());
 		}
 
 		return aggregateDto;
@@ -148,43 +232,118 @@ public class TarentoServiceImpl implements ClientService {
 	}
 
 	/**
-	 * Executes queries and enriches the respons in aggrObjectNode
-	 * @param chartNode The Chart Config defined in ChartApiConfig.json
-	 * @param aggrObjectNode Object in which response is enriched
-	 * @param nodes Don't know why passed as argument should have been defined in function itself
+	 * Builds the ES queries configured for the chart which apply to the module of the request
+	 * @param chartDefinition The compiled Chart Config defined in ChartApiConfig.json
 	 * @param request The API request
 	 * @param interval Interval ( eg: Month) defines in RequestDate in AggregateRequestDto noot needed as seperate argument as it can
 	 *                 be fetched from  AggregateRequestDto
+	 * @return the planned queries, in the order of the chart config
 	 */
-	private void executeConfiguredQueries(ObjectNode chartNode, ObjectNode aggrObjectNode, ObjectNode nodes, AggregateRequestDto request, String interval) {
-		preHandle(request, chartNode, mdmsApiMappings);
+	private ConfiguredQueries buildConfiguredQueries(ChartDefinition chartDefinition, AggregateRequestDto request, String interval) {
+		preHandle(request, chartDefinition.getChartNode(), mdmsApiMappings);
 
-		ArrayNode queries = (ArrayNode) chartNode.get(Constants.JsonPaths.QUERIES);
-		int randIndexCount = 1;
-		for(JsonNode query : queries) {
-			String module = query.get(Constants.JsonPaths.MODULE).asText();
+		ConfiguredQueries configuredQueries = new ConfiguredQueries();
+		for(ChartQueryDefinition query : chartDefinition.getQueries()) {
+			String module = query.getModule();
 			if(request.getModuleLevel().equals(Constants.Modules.HOME_REVENUE) ||
 					request.getModuleLevel().equals(Constants.Modules.HOME_SERVICES) ||
-					query.get(Constants.JsonPaths.MODULE).asText().equals(Constants.Modules.COMMON) ||
+					module.equals(Constants.Modules.COMMON) ||
 					request.getModuleLevel().equals(module)) {
 
-				String indexName = query.get(Constants.JsonPaths.INDEX_NAME).asText();
-				ObjectNode objectNode = queryService.getChartConfigurationQuery(request, query, indexName, interval);
-				try {
-					JsonNode aggrNode = restService.search(indexName,objectNode.toString());
-					if(nodes.has(indexName)) {
-						indexName = indexName + "_" + randIndexCount;
-						randIndexCount += 1;
+				configuredQueries.plannedQueries.add(aggregationBucketCache.plan(request, query, interval,
+						chartDefinition.isIncrementalCacheEnabled(), chartDefinition.getRetainedAggregations()));
+			}
+		}
+		return configuredQueries;
+	}
+
+	/**
+	 * Executes the queries of the charts, for the current and the insight interval, which are not served
+	 * from the aggregation cache in a single ES multi search. Identical queries are sent once and their
+	 * response is shared. The response of each planned query is set on its ConfiguredQueries.
+	 * @param chartExecutions The charts whose queries are executed
+	 */
+	private void executeChartQueries(List<ChartExecution> chartExecutions) {
+		List<ConfiguredQueries> configuredQueries = new ArrayList<>();
+		for(ChartExecution chartExecution : chartExecutions) {
+			configuredQueries.add(chartExecution.currentQueries);
+			if(chartExecution.insightQueries != null) {
+				configuredQueries.add(chartExecution.insightQueries);
+			}
+		}
+
+		List<String> indexNames = new ArrayList<>();
+		List<String> queries = new ArrayList<>();
+		// a query shared by several charts keeps the aggregations read by any of them
+		List<Set<String>> retainedAggregations = new ArrayList<>();
+		Map<String, Integer> positionByQuery = new HashMap<>();
+		for(ConfiguredQueries configured : configuredQueries) {
+			for(PlannedQuery plannedQuery : configured.plannedQueries) {
+				for(String query : plannedQuery.getPendingQueries()) {
+					String key = plannedQuery.getIndexName() + "\n" + query;
+					Integer position = positionByQuery.get(key);
+					if(position == null) {
+						positionByQuery.put(key, queries.size());
+						indexNames.add(plannedQuery.getIndexName());
+						queries.add(query);
+						retainedAggregations.add(plannedQuery.getRetainedAggregations());
+					} else if(retainedAggregations.get(position) != null) {
+						Set<String> retained = null;
+						if(plannedQuery.getRetainedAggregations() != null) {
+							retained = new TreeSet<>(retainedAggregations.get(position));
+							retained.addAll(plannedQuery.getRetainedAggregations());
+						}
+						retainedAggregations.set(position, retained);
 					}
-					nodes.set(indexName,aggrNode.get(Constants.JsonPaths.AGGREGATIONS));
-				}catch (Exception e) {
-					logger.error("Encountered an Exception while Executing the Query : " + e.getMessage());
-					throw new RuntimeException(e);
 				}
-				aggrObjectNode.set(Constants.JsonPaths.AGGREGATIONS, nodes);
+			}
+		}
 
+		List<JsonNode> responses = new ArrayList<>();
+		if(!queries.isEmpty()) {
+			try {
+				responses = restService.multiSearch(indexNames, queries, retainedAggregations);
+			} catch (Exception e) {
+				logger.error("Encountered an Exception while Executing the Query : " + e.getMessage());
+				throw new RuntimeException(e);
 			}
 		}
+
+		boolean[] consumed = new boolean[responses.size()];
+		for(ConfiguredQueries configured : configuredQueries) {
+			for(PlannedQuery plannedQuery : configured.plannedQueries) {
+				List<JsonNode> plannedResponses = new ArrayList<>();
+				for(String query : plannedQuery.getPendingQueries()) {
+					int position = positionByQuery.get(plannedQuery.getIndexName() + "\n" + query);
+					// response handlers enrich the response trees, so a shared response is copied for every further use
+					plannedResponses.add(consumed[position] ? responses.get(position).deepCopy() : responses.get(position));
+					consumed[position] = true;
+				}
+				configured.responses.add(aggregationBucketCache.complete(plannedQuery, plannedResponses));
+			}
+		}
+	}
+
+	/**
+	 * Sets the aggregations of each response under its index name, suffixing repeated index names
+	 * with a running count so that every query keeps its own alias
+	 */
+	private void enrichResponses(List<PlannedQuery> plannedQueries, List<JsonNode> responses, ObjectNode aggrObjectNode, ObjectNode nodes) {
+		int randIndexCount = 1;
+		for(int i = 0; i < responses.size(); i++) {
+			JsonNode aggrNode = responses.get(i);
+			if(aggrNode.has(Constants.JsonPaths.ERROR)) {
+				logger.error("Encountered an Exception while Executing the Query : " + aggrNode.get(Constants.JsonPaths.ERROR));
+				throw new RuntimeException("ES query on " + plannedQueries.get(i).getIndexName() + " failed : " + aggrNode.get(Constants.JsonPaths.ERROR));
+			}
+			String indexName = plannedQueries.get(i).getIndexName();
+			if(nodes.has(indexName)) {
+				indexName = indexName + "_" + randIndexCount;
+				randIndexCount += 1;
+			}
+			nodes.set(indexName,aggrNode.get(Constants.JsonPaths.AGGREGATIONS));
+			aggrObjectNode.set(Constants.JsonPaths.AGGREGATIONS, nodes);
+		}
 	}
 
 	private boolean isFilterForCurrentDayEnabled(ObjectNode chartNode) {
@@ -266,6 +425,34 @@ public class TarentoServiceImpl implements ClientService {
 
 
 
+	/**
+	 * Queries planned for one interval of a chart and, once executed, their responses
+	 */
+	private static class ConfiguredQueries {
+		private final List<PlannedQuery> plannedQueries = new ArrayList<>();
+		private final List<JsonNode> responses = new ArrayList<>();
+	}
+
+	/**
+	 * A chart being rendered: its request, its compiled config, the queries planned for it and
+	 * the dates of its insight interval
+	 */
+	private static class ChartExecution {
+		private final AggregateRequestDto request;
+		private final ChartDefinition chartDefinition;
+		private final String visualizationCode;
+		private ConfiguredQueries currentQueries;
+		private ConfiguredQueries insightQueries;
+		private String insightStartDate;
+		private String insightEndDate;
+
+		private ChartExecution(AggregateRequestDto request, ChartDefinition chartDefinition) {
+			this.request = request;
+			this.chartDefinition = chartDefinition;
+			this.visualizationCode = request.getVisualizationCode();
+		}
+	}
+
 	@Override
 	public List<DashboardHeaderDto> getHeaderData(CummulativeDataRequestDto requestDto, List<RoleDto> roles) throws AINException {
 		// TODO Auto-generated method stub
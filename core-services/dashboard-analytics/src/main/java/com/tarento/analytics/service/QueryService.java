@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.tarento.analytics.dto.AggregateRequestDto;
 import com.tarento.analytics.dto.AggregateRequestDto;
 import com.tarento.analytics.exception.AINException;
+import com.tarento.analytics.model.ChartQueryDefinition;
 
 public interface QueryService {
 /*
@@ -25,6 +26,8 @@ public interface QueryService {
 	Aggregations getAggregateDataV2(AggregateRequestDtoV2 aggregateDto, String orgId) throws AINException, JsonParseException, JsonMappingException, IOException;
 	*/
 	ObjectNode getChartConfigurationQuery(AggregateRequestDto req, JsonNode query, String indexName, String interval);
+
+	ObjectNode getChartConfigurationQuery(AggregateRequestDto req, ChartQueryDefinition query, String interval);
 	
 	
 }
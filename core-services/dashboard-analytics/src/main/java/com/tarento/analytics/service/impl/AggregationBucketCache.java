@@ -0,0 +1,324 @@
+package com.tarento.analytics.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tarento.analytics.constant.Constants;
+import com.tarento.analytics.dto.AggregateRequestDto;
+import com.tarento.analytics.dto.RequestDate;
+import com.tarento.analytics.model.ChartQueryDefinition;
+import com.tarento.analytics.service.QueryService;
+
+/**
+ * Caches the ES aggregations of a chart query by fixed time buckets (day or week).
+ * The requested date range is split into closed buckets, which are served from the cache
+ * once fetched, and the partial or still open ranges at its edges, which are always queried.
+ * The aggregations of all parts are then merged in date order by summing their values bucket by
+ * bucket, so only queries whose aggregations are additive (sums, counts, filters, ranges and
+ * histograms) are split. Queries with terms, cardinality, averages or any other aggregation that
+ * does not add up across ranges are always queried as a whole, even when their chart enables the cache.
+ */
+@Component
+public class AggregationBucketCache {
+
+	public static final Logger logger = LoggerFactory.getLogger(AggregationBucketCache.class);
+
+	public static final String CACHE_NAME = "aggregationBuckets";
+
+	private static final String BUCKETS = "buckets";
+	private static final String KEY = "key";
+	// numeric fields describing a bucket rather than measuring it, kept from the first range
+	private static final List<String> BUCKET_DESCRIPTORS = Arrays.asList(KEY, "from", "to");
+
+	@Value("${dashboard.aggregation.cache.enabled}")
+	private boolean enabled;
+
+	@Value("${dashboard.aggregation.cache.bucket.interval}")
+	private String bucketInterval;
+
+	@Value("${dashboard.aggregation.cache.max.buckets}")
+	private int maxBuckets;
+
+	@Autowired
+	private QueryService queryService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	/**
+	 * Builds the ES queries needed for a configured query of a chart, looking up the closed
+	 * time buckets of the requested range in the cache
+	 * @param request The API request, its RequestDate is restored before returning
+	 * @param query The compiled query of the chart
+	 * @param interval Interval of the chart
+	 * @param incremental Whether the chart allows its aggregations to be merged across time buckets
+	 * @return the cached aggregations and the queries still to be executed
+	 */
+	public PlannedQuery plan(AggregateRequestDto request, ChartQueryDefinition query, String interval, boolean incremental) {
+		return plan(request, query, interval, incremental, null);
+	}
+
+	/**
+	 * Builds the ES queries needed for a configured query of a chart whose responses are pruned to
+	 * the aggregations it reads. Pruned aggregations are cached apart from the whole aggregations
+	 * of the same query.
+	 * @param request The API request, its RequestDate is restored before returning
+	 * @param query The compiled query of the chart
+	 * @param interval Interval of the chart
+	 * @param incremental Whether the chart allows its aggregations to be merged across time buckets
+	 * @param retainedAggregations Names of the aggregations kept in the responses, null to keep them all
+	 * @return the cached aggregations and the queries still to be executed
+	 */
+	public PlannedQuery plan(AggregateRequestDto request, ChartQueryDefinition query, String interval, boolean incremental,
+							 Set<String> retainedAggregations) {
+		if (incremental && enabled && !query.isAdditive()) {
+			logger.debug("Aggregations on " + query.getIndexName() + " are not additive, querying the date range as a whole");
+		}
+		List<long[]> ranges = incremental && enabled && query.isAdditive() ? split(request.getRequestDate(), query) : null;
+		if (ranges == null) {
+			ObjectNode objectNode = queryService.getChartConfigurationQuery(request, query, interval);
+			return new PlannedQuery(query.getIndexName(), retainedAggregations, Collections.singletonList(null),
+					Collections.singletonList(objectNode.toString()), Collections.singletonList(null), false);
+		}
+
+		RequestDate requestDate = request.getRequestDate();
+		String startDate = requestDate.getStartDate();
+		String endDate = requestDate.getEndDate();
+		long openBucketStart = bucketStart(System.currentTimeMillis());
+		Cache cache = cacheManager.getCache(CACHE_NAME);
+
+		// aggregations of each range in date order, null for the ranges still to be queried
+		List<JsonNode> rangeAggregations = new ArrayList<>();
+		List<String> pendingQueries = new ArrayList<>();
+		List<String> pendingCacheKeys = new ArrayList<>();
+		try {
+			for (long[] range : ranges) {
+				requestDate.setStartDate(String.valueOf(range[0]));
+				requestDate.setEndDate(String.valueOf(range[1]));
+				String searchQuery = queryService.getChartConfigurationQuery(request, query, interval).toString();
+				boolean closed = range[0] == bucketStart(range[0]) && range[1] == nextBucketStart(range[0]) - 1
+						&& range[1] < openBucketStart;
+				String cacheKey = closed ? query.getIndexName() + "\n" + retainedAggregations + "\n" + searchQuery : null;
+				JsonNode cached = cacheKey != null && cache != null ? cache.get(cacheKey, JsonNode.class) : null;
+				rangeAggregations.add(cached);
+				if (cached == null) {
+					pendingQueries.add(searchQuery);
+					pendingCacheKeys.add(cacheKey);
+				}
+			}
+		} finally {
+			requestDate.setStartDate(startDate);
+			requestDate.setEndDate(endDate);
+		}
+		return new PlannedQuery(query.getIndexName(), retainedAggregations, rangeAggregations, pendingQueries,
+				pendingCacheKeys, true);
+	}
+
+	/**
+	 * Merges the cached aggregations of a planned query with the responses of its pending queries,
+	 * caching the aggregations of the closed buckets which were fetched
+	 * @param plannedQuery The planned query
+	 * @param responses ES responses of the pending queries, in order
+	 * @return a response holding the merged aggregations, or the first failed response
+	 */
+	public JsonNode complete(PlannedQuery plannedQuery, List<JsonNode> responses) {
+		if (!plannedQuery.merged) {
+			return responses.get(0);
+		}
+		for (JsonNode response : responses) {
+			if (response.has(Constants.JsonPaths.ERROR)) {
+				return response;
+			}
+		}
+
+		Cache cache = cacheManager.getCache(CACHE_NAME);
+		JsonNode aggregations = null;
+		int pending = 0;
+		// ranges are merged in date order, so that buckets new to a range follow the buckets of earlier ranges
+		for (JsonNode cached : plannedQuery.rangeAggregations) {
+			if (cached != null) {
+				aggregations = merge(aggregations, cached);
+				continue;
+			}
+			JsonNode responseAggregations = responses.get(pending).get(Constants.JsonPaths.AGGREGATIONS);
+			String cacheKey = plannedQuery.pendingCacheKeys.get(pending);
+			if (cacheKey != null && cache != null && responseAggregations != null) {
+				cache.put(cacheKey, responseAggregations);
+			}
+			aggregations = merge(aggregations, responseAggregations);
+			pending++;
+		}
+
+		ObjectNode response = JsonNodeFactory.instance.objectNode();
+		response.set(Constants.JsonPaths.AGGREGATIONS, aggregations);
+		return response;
+	}
+
+	/**
+	 * Splits the requested date range into time buckets
+	 * @return the inclusive ranges to query, null when the range is not to be split
+	 */
+	private List<long[]> split(RequestDate requestDate, ChartQueryDefinition query) {
+		if (requestDate == null || StringUtils.isBlank(query.getDateRefField())
+				|| !StringUtils.isNumeric(requestDate.getStartDate()) || !StringUtils.isNumeric(requestDate.getEndDate())) {
+			return null;
+		}
+		long start = Long.parseLong(requestDate.getStartDate());
+		long end = Long.parseLong(requestDate.getEndDate());
+		if (start > end) {
+			return null;
+		}
+
+		List<long[]> ranges = new ArrayList<>();
+		long cursor = start;
+		while (cursor <= end) {
+			long rangeEnd = Math.min(nextBucketStart(bucketStart(cursor)) - 1, end);
+			ranges.add(new long[] {cursor, rangeEnd});
+			cursor = rangeEnd + 1;
+			if (ranges.size() > maxBuckets) {
+				logger.info("Date range spans more than " + maxBuckets + " buckets, querying it as a whole");
+				return null;
+			}
+		}
+		return ranges.size() > 1 ? ranges : null;
+	}
+
+	private long bucketStart(long epoch) {
+		Calendar cal = Calendar.getInstance();
+		cal.setTimeInMillis(epoch);
+		cal.set(Calendar.HOUR_OF_DAY, 0);
+		cal.set(Calendar.MINUTE, 0);
+		cal.set(Calendar.SECOND, 0);
+		cal.set(Calendar.MILLISECOND, 0);
+		if (Constants.Interval.week.toString().equals(bucketInterval)) {
+			cal.set(Calendar.DAY_OF_WEEK, cal.getFirstDayOfWeek());
+			if (cal.getTimeInMillis() > epoch) {
+				cal.add(Calendar.WEEK_OF_YEAR, -1);
+			}
+		}
+		return cal.getTimeInMillis();
+	}
+
+	private long nextBucketStart(long bucketStart) {
+		Calendar cal = Calendar.getInstance();
+		cal.setTimeInMillis(bucketStart);
+		cal.add(Constants.Interval.week.toString().equals(bucketInterval) ? Calendar.WEEK_OF_YEAR : Calendar.DAY_OF_YEAR, 1);
+		return cal.getTimeInMillis();
+	}
+
+	/**
+	 * Merges aggregations of a later time range into the aggregations merged so far. Buckets are
+	 * matched by key, numeric values are summed and everything else is kept from the first range.
+	 */
+	private JsonNode merge(JsonNode merged, JsonNode aggregations) {
+		if (aggregations == null) {
+			return merged;
+		}
+		if (merged == null) {
+			return aggregations.deepCopy();
+		}
+		mergeInto(merged, aggregations);
+		return merged;
+	}
+
+	private JsonNode mergeInto(JsonNode target, JsonNode source) {
+		if (target == null || target.isNull()) {
+			return source.deepCopy();
+		}
+		if (target.isObject() && source.isObject()) {
+			ObjectNode targetObject = (ObjectNode) target;
+			Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				if (BUCKET_DESCRIPTORS.contains(field.getKey()) || field.getValue().isNull()) {
+					continue;
+				}
+				if (BUCKETS.equals(field.getKey()) && field.getValue().isArray() && targetObject.path(BUCKETS).isArray()) {
+					mergeBuckets((ArrayNode) targetObject.get(BUCKETS), (ArrayNode) field.getValue());
+				} else {
+					targetObject.set(field.getKey(), mergeInto(targetObject.get(field.getKey()), field.getValue()));
+				}
+			}
+			return target;
+		}
+		if (target.isNumber() && source.isNumber()) {
+			if (target.isIntegralNumber() && source.isIntegralNumber()) {
+				return JsonNodeFactory.instance.numberNode(target.asLong() + source.asLong());
+			}
+			return JsonNodeFactory.instance.numberNode(target.asDouble() + source.asDouble());
+		}
+		return target;
+	}
+
+	private void mergeBuckets(ArrayNode target, ArrayNode source) {
+		Map<String, JsonNode> bucketsByKey = new HashMap<>();
+		target.forEach(bucket -> bucketsByKey.put(bucket.path(KEY).asText(), bucket));
+		for (JsonNode bucket : source) {
+			JsonNode existing = bucketsByKey.get(bucket.path(KEY).asText());
+			if (existing != null) {
+				mergeInto(existing, bucket);
+			} else {
+				JsonNode copy = bucket.deepCopy();
+				target.add(copy);
+				bucketsByKey.put(bucket.path(KEY).asText(), copy);
+			}
+		}
+	}
+
+	/**
+	 * The cached aggregations of each date range of a configured query and the ES queries still to be executed for it
+	 */
+	public static class PlannedQuery {
+		private final String indexName;
+		private final Set<String> retainedAggregations;
+		private final List<JsonNode> rangeAggregations;
+		private final List<String> pendingQueries;
+		private final List<String> pendingCacheKeys;
+		private final boolean merged;
+
+		private PlannedQuery(String indexName, Set<String> retainedAggregations, List<JsonNode> rangeAggregations,
+							 List<String> pendingQueries, List<String> pendingCacheKeys, boolean merged) {
+			this.indexName = indexName;
+			this.retainedAggregations = retainedAggregations;
+			this.rangeAggregations = rangeAggregations;
+			this.pendingQueries = pendingQueries;
+			this.pendingCacheKeys = pendingCacheKeys;
+			this.merged = merged;
+		}
+
+		public String getIndexName() {
+			return indexName;
+		}
+
+		/**
+		 * @return names of the aggregations kept in the responses of the pending queries, null when all are kept
+		 */
+		public Set<String> getRetainedAggregations() {
+			return retainedAggregations;
+		}
+
+		public List<String> getPendingQueries() {
+			return pendingQueries;
+		}
+	}
+}
@@ -36,6 +36,7 @@ import com.tarento.analytics.dto.AggregateRequestDto;
 import com.tarento.analytics.dto.AggregateRequestDto;
 import com.tarento.analytics.enums.ChartType;
 import com.tarento.analytics.exception.AINException;
+import com.tarento.analytics.model.ChartQueryDefinition;
 import com.tarento.analytics.model.ElasticSearchDictator;
 import com.tarento.analytics.model.KeyData;
 import com.tarento.analytics.model.Query;
@@ -62,6 +63,8 @@ public class QueryServiceImpl implements QueryService {
 	@Autowired
     private ConfigurationLoader configurationLoader;
 
+	private final ObjectMapper mapper = new ObjectMapper();
+
 	private static final Map<Integer, String> WeekDayMap = createMap();
 
 	private static Map<Integer, String> createMap() {
@@ -419,19 +422,27 @@ public class QueryServiceImpl implements QueryService {
 
 	@Override
 	public ObjectNode getChartConfigurationQuery(AggregateRequestDto request, JsonNode query, String indexName, String interval) {
-		String aggrQuery = query.get(Constants.JsonPaths.AGGREGATION_QUERY).asText();
-		if(interval!=null && !interval.isEmpty())
-			aggrQuery = aggrQuery.replace(Constants.JsonPaths.INTERVAL_VAL, interval);
-		String rqMs = query.get(Constants.JsonPaths.REQUEST_QUERY_MAP).asText();
-		String dateReferenceField = query.get(Constants.JsonPaths.DATE_REF_FIELD).asText(); 
-		JsonNode requestQueryMaps = null;
-		ObjectNode objectNode = null; 
-		ObjectMapper mapper = new ObjectMapper();
+		ChartQueryDefinition queryDefinition;
+		try {
+			queryDefinition = ChartQueryDefinition.compile(query, mapper);
+		} catch (Exception ex) {
+			logger.error("Encountered an Exception while parsing the JSON : " + ex.getMessage());
+			throw new RuntimeException(ex);
+		}
+		return buildChartConfigurationQuery(request, queryDefinition, indexName, interval);
+	}
+
+	@Override
+	public ObjectNode getChartConfigurationQuery(AggregateRequestDto request, ChartQueryDefinition query, String interval) {
+		return buildChartConfigurationQuery(request, query, query.getIndexName(), interval);
+	}
+
+	private ObjectNode buildChartConfigurationQuery(AggregateRequestDto request, ChartQueryDefinition query, String indexName, String interval) {
+		ObjectNode objectNode = null;
 		Map<String, Object> esFilterMap = new HashMap<>();
 	    try {
-			requestQueryMaps = new ObjectMapper().readTree(rqMs);
 			request.setEsFilters(esFilterMap);
-			if(query.get(Constants.JsonPaths.MODULE).asText().equals(Constants.Modules.COMMON) && 
+			if(query.getModule().equals(Constants.Modules.COMMON) &&
 					!request.getModuleLevel().equals(Constants.Modules.HOME_REVENUE) &&
 					!request.getModuleLevel().equals(Constants.Modules.HOME_SERVICES)) { 
 				request.getFilters().put(Constants.Filters.MODULE, request.getModuleLevel()); 
@@ -439,20 +450,18 @@ public class QueryServiceImpl implements QueryService {
 			Iterator<Entry<String, Object>> filtersItr = request.getFilters().entrySet().iterator();
 			while(filtersItr.hasNext()) { 
 				Entry<String, Object> entry = filtersItr.next();
-				if(null != requestQueryMaps.get(entry.getKey()) && !String.valueOf(entry.getValue()).equals(Constants.Filters.FILTER_ALL)) {
+				if(null != query.getRequestQueryMap().get(entry.getKey()) && !String.valueOf(entry.getValue()).equals(Constants.Filters.FILTER_ALL)) {
 					// Filters in put filters are added as esfilters usign mapping in requestQueryMap
-					String esQueryKey = requestQueryMaps.get(entry.getKey()).asText();
+					String esQueryKey = query.getRequestQueryMap().get(entry.getKey());
 					request.getEsFilters().put(esQueryKey, entry.getValue());
 				}
 			}
 
-			ElasticSearchDictator dictator = elasticSearchDao.createSearchDictatorV2(request, indexName, "", dateReferenceField);
+			ElasticSearchDictator dictator = elasticSearchDao.createSearchDictatorV2(request, indexName, "", query.getDateRefField());
 
 			SearchRequest searchRequest = elasticSearchDao.buildElasticSearchQuery(dictator);
-			JsonNode querySegment = mapper.readTree(searchRequest.source().toString());
-			objectNode = (ObjectNode) querySegment;
-			JsonNode aggrNode = mapper.readTree(aggrQuery).get(Constants.JsonPaths.AGGS);
-			objectNode.put(Constants.JsonPaths.AGGS, mapper.readTree(aggrQuery).get(Constants.JsonPaths.AGGS));
+			objectNode = (ObjectNode) mapper.readTree(searchRequest.source().toString());
+			objectNode.set(Constants.JsonPaths.AGGS, getAggs(query, interval));
 		} catch (Exception ex) {
 			logger.error("Encountered an Exception while parsing the JSON : " + ex.getMessage());
 			throw new RuntimeException(ex);
@@ -461,4 +470,17 @@ public class QueryServiceImpl implements QueryService {
 		
 	}
 
+	/**
+	 * Returns the aggs of the query, parsing them only when they depend on the interval of the request
+	 */
+	private JsonNode getAggs(ChartQueryDefinition query, String interval) throws IOException {
+		if(!query.isIntervalDependent()) {
+			return query.getAggs() == null ? null : query.getAggs().deepCopy();
+		}
+		String aggrQuery = query.getAggrQuery();
+		if(interval!=null && !interval.isEmpty())
+			aggrQuery = aggrQuery.replace(Constants.JsonPaths.INTERVAL_VAL, interval);
+		return mapper.readTree(aggrQuery).get(Constants.JsonPaths.AGGS);
+	}
+
 }
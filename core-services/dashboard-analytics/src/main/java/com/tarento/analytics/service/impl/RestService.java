@@ -1,7 +1,12 @@
 package com.tarento.analytics.service.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tarento.analytics.constant.Constants;
 import org.apache.tomcat.util.codec.binary.Base64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,7 +21,10 @@ import org.springframework.web.client.RestTemplate;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static javax.servlet.http.HttpServletRequest.BASIC_AUTH;
 import static org.apache.commons.codec.CharEncoding.US_ASCII;
@@ -30,6 +38,8 @@ public class RestService {
     private String indexServiceHost;
     @Value("${egov.services.esindexer.host.search}")
     private String indexServiceHostSearch;
+    @Value("${egov.services.esindexer.host.msearch}")
+    private String indexServiceHostMultiSearch;
     @Value("${services.esindexer.host}")
     private String dssindexServiceHost;
     @Value("${egov.es.username}")
@@ -37,6 +47,17 @@ public class RestService {
     @Value("${egov.es.password}")
     private String password;
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String INDEX = "index";
+    private static final String RESPONSES = "responses";
+    private static final Set<String> RETAINED_FIELDS = new HashSet<>(Arrays.asList(
+            Constants.JsonPaths.AGGREGATIONS, Constants.JsonPaths.ERROR, "status"));
+    private static final String BUCKETS = "buckets";
+    // fields of a bucket read by the response handlers wherever the bucket is
+    private static final Set<String> BUCKET_FIELDS = new HashSet<>(Arrays.asList("key", "key_as_string", "doc_count"));
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
     @Autowired
     private RetryTemplate retryTemplate;
 
@@ -61,8 +82,11 @@ public class RestService {
         JsonNode responseNode = null;
 
         try {
-            ResponseEntity<Object> response = retryTemplate.postForEntity(url, requestEntity);
-            responseNode = new ObjectMapper().convertValue(response.getBody(), JsonNode.class);
+            responseNode = retryTemplate.postForObject(url, requestEntity, response -> {
+                try (JsonParser parser = mapper.getFactory().createParser(response.getBody())) {
+                    return parser.nextToken() == JsonToken.START_OBJECT ? readSearchResponse(parser, null) : null;
+                }
+            });
             //LOGGER.info("RestTemplate response :- "+responseNode);
 
         } catch (HttpClientErrorException e) {
@@ -72,6 +96,158 @@ public class RestService {
         return responseNode;
     }
 
+    /**
+     * Runs several searches on Elastic search in a single _msearch round trip
+     * @param indexes         elastic search index name of each search query
+     * @param searchQueries   search queries, in the same order as the indexes
+     * @return the response of each search query, in request order
+     */
+    public List<JsonNode> multiSearch(List<String> indexes, List<String> searchQueries) {
+        return multiSearch(indexes, searchQueries, null);
+    }
+
+    /**
+     * Runs several searches on Elastic search in a single _msearch round trip, pruning the aggregations
+     * of each response while it is read
+     * @param indexes                elastic search index name of each search query
+     * @param searchQueries          search queries, in the same order as the indexes
+     * @param retainedAggregations   names of the aggregations kept in the response of each search query,
+     *                               null for a query, or for all, whose aggregations are kept whole
+     * @return the response of each search query, in request order
+     */
+    public List<JsonNode> multiSearch(List<String> indexes, List<String> searchQueries, List<Set<String>> retainedAggregations) {
+        String url = indexServiceHost + indexServiceHostMultiSearch;
+        HttpHeaders headers = getHttpHeaders();
+        headers.setContentType(NDJSON);
+
+        StringBuilder requestBody = new StringBuilder();
+        for (int i = 0; i < searchQueries.size(); i++) {
+            requestBody.append(mapper.createObjectNode().put(INDEX, indexes.get(i)).toString()).append('\n');
+            requestBody.append(searchQueries.get(i)).append('\n');
+        }
+        HttpEntity<String> requestEntity = new HttpEntity<>(requestBody.toString(), headers);
+
+        List<JsonNode> responses;
+        try {
+            responses = retryTemplate.postForObject(url, requestEntity, response -> {
+                try (JsonParser parser = mapper.getFactory().createParser(response.getBody())) {
+                    return readMultiSearchResponse(parser, retainedAggregations);
+                }
+            });
+        } catch (HttpClientErrorException e) {
+            LOGGER.error("client error while multi searching ES : " + e.getMessage());
+            throw e;
+        }
+        if (responses.size() != searchQueries.size()) {
+            throw new IllegalStateException("ES returned " + responses.size() + " responses for "
+                    + searchQueries.size() + " search queries");
+        }
+        return responses;
+    }
+
+    /**
+     * Reads the responses of a multi search from the response stream
+     * @param parser parser over the _msearch response body
+     * @param retainedAggregations names of the aggregations kept in each response, null to keep them all
+     * @return the response of each search, holding only the fields kept by readSearchResponse
+     * @throws IOException
+     */
+    private List<JsonNode> readMultiSearchResponse(JsonParser parser, List<Set<String>> retainedAggregations) throws IOException {
+        List<JsonNode> responses = new ArrayList<>();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return responses;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (RESPONSES.equals(fieldName) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    Set<String> retained = retainedAggregations != null && responses.size() < retainedAggregations.size()
+                            ? retainedAggregations.get(responses.size()) : null;
+                    responses.add(readSearchResponse(parser, retained));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Reads a search response token by token, building trees only for the aggregations, error and
+     * status of the search. Hits, shard details and everything else are skipped without being parsed
+     * into objects, so memory scales with the aggregations rather than the raw response.
+     * @param parser parser positioned on the start of the search response object
+     * @param retainedAggregations names of the aggregations kept, null to keep the aggregations whole
+     * @return the kept fields of the search response
+     * @throws IOException
+     */
+    private JsonNode readSearchResponse(JsonParser parser, Set<String> retainedAggregations) throws IOException {
+        ObjectNode responseNode = mapper.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (Constants.JsonPaths.AGGREGATIONS.equals(fieldName) && retainedAggregations != null
+                    && token == JsonToken.START_OBJECT) {
+                responseNode.set(fieldName, readPrunedObject(parser, retainedAggregations));
+            } else if (RETAINED_FIELDS.contains(fieldName)) {
+                responseNode.set(fieldName, mapper.readTree(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return responseNode;
+    }
+
+    /**
+     * Reads an object of the aggregations, building trees only for the retained aggregations, found at
+     * any depth as the response handlers look them up, and for the key and doc count of the buckets
+     * leading to them. Buckets are kept with all their entries, so that bucket positions are those
+     * of the whole response. Objects and arrays left empty are dropped.
+     * @param parser parser positioned on the start of the object
+     * @param retainedAggregations names of the aggregations kept whole
+     * @return the pruned object
+     * @throws IOException
+     */
+    private ObjectNode readPrunedObject(JsonParser parser, Set<String> retainedAggregations) throws IOException {
+        ObjectNode objectNode = mapper.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            boolean buckets = BUCKETS.equals(fieldName);
+            if (retainedAggregations.contains(fieldName) || BUCKET_FIELDS.contains(fieldName)) {
+                objectNode.set(fieldName, mapper.readTree(parser));
+            } else if (token == JsonToken.START_OBJECT) {
+                ObjectNode child = readPrunedObject(parser, retainedAggregations);
+                if (buckets || child.size() > 0) {
+                    objectNode.set(fieldName, child);
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                ArrayNode child = readPrunedArray(parser, retainedAggregations, buckets);
+                if (buckets || child.size() > 0) {
+                    objectNode.set(fieldName, child);
+                }
+            }
+        }
+        return objectNode;
+    }
+
+    private ArrayNode readPrunedArray(JsonParser parser, Set<String> retainedAggregations, boolean buckets) throws IOException {
+        ArrayNode arrayNode = mapper.createArrayNode();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.START_OBJECT) {
+                ObjectNode child = readPrunedObject(parser, retainedAggregations);
+                if (buckets || child.size() > 0) {
+                    arrayNode.add(child);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return arrayNode;
+    }
+
     /**
      * makes a client rest api call of Http POST option
      * @param uri
@@ -96,7 +272,7 @@ public class RestService {
 
         try {
             ResponseEntity<Object> response = retryTemplate.postForEntity(uri,requestEntity);
-            responseNode = new ObjectMapper().convertValue(response.getBody(), JsonNode.class);
+            responseNode = mapper.convertValue(response.getBody(), JsonNode.class);
             LOGGER.info("RestTemplate response :- "+responseNode);
 
         } catch (HttpClientErrorException e) {
@@ -122,7 +298,7 @@ public class RestService {
         JsonNode responseNode = null;
         try {
             ResponseEntity<Object> response = retryTemplate.getForEntity(uri, headerEntity);
-            responseNode = new ObjectMapper().convertValue(response.getBody(), JsonNode.class);
+            responseNode = mapper.convertValue(response.getBody(), JsonNode.class);
             LOGGER.info("RestTemplate response :- "+responseNode);
 
         } catch (HttpClientErrorException e) {
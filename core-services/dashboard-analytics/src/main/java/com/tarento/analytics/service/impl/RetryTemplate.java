@@ -8,6 +8,7 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import javax.naming.ServiceUnavailableException;
 
@@ -27,6 +28,16 @@ public class RetryTemplate {
         return restTemplate.postForEntity(url, request, Object.class);
     }
 
+    /**
+     * Posts the request and hands the response body over to the extractor as a stream
+     */
+    @Retryable(value = {RuntimeException.class, ResourceAccessException.class, ServiceUnavailableException.class},
+            maxAttemptsExpression = "#{${service.retry.maxAttempts}}",
+            backoff = @Backoff(delayExpression = "#{${service.retry.backoff.delay}}"))
+    public <T> T postForObject(String url, Object request, ResponseExtractor<T> responseExtractor) {
+        return restTemplate.execute(url, HttpMethod.POST, restTemplate.httpEntityCallback(request), responseExtractor);
+    }
+
     @Retryable(value = {RuntimeException.class, ResourceAccessException.class, ServiceUnavailableException.class},
             maxAttemptsExpression = "#{${service.retry.maxAttempts}}",
             backoff = @Backoff(delayExpression = "#{${service.retry.backoff.delay}}"))
@@ -0,0 +1,239 @@
+package com.tarento.analytics.org.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tarento.analytics.ConfigurationLoader;
+import com.tarento.analytics.dto.AggregateDto;
+import com.tarento.analytics.dto.AggregateRequestDto;
+import com.tarento.analytics.dto.RequestDate;
+import com.tarento.analytics.enums.ChartType;
+import com.tarento.analytics.handler.IResponseHandler;
+import com.tarento.analytics.handler.InsightsHandler;
+import com.tarento.analytics.handler.InsightsHandlerFactory;
+import com.tarento.analytics.handler.ResponseHandlerFactory;
+import com.tarento.analytics.model.ChartDefinition;
+import com.tarento.analytics.model.ChartQueryDefinition;
+import com.tarento.analytics.service.QueryService;
+import com.tarento.analytics.service.impl.AggregationBucketCache;
+import com.tarento.analytics.service.impl.RestService;
+
+@ExtendWith(MockitoExtension.class)
+class TarentoServiceImplTest {
+
+	private static final String CHART_ID = "totalComplaints";
+
+	private static final String OTHER_CHART_ID = "totalComplaintsByStatus";
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Mock
+	private RestService restService;
+
+	@Mock
+	private QueryService queryService;
+
+	@Mock
+	private ConfigurationLoader configurationLoader;
+
+	@Mock
+	private ResponseHandlerFactory responseHandlerFactory;
+
+	@Mock
+	private InsightsHandlerFactory insightsHandlerFactory;
+
+	@Mock
+	private MdmsApiMappings mdmsApiMappings;
+
+	@Mock
+	private IResponseHandler responseHandler;
+
+	@Mock
+	private InsightsHandler insightsHandler;
+
+	@InjectMocks
+	private TarentoServiceImpl tarentoService;
+
+	@BeforeEach
+	void setUp() {
+		AggregationBucketCache aggregationBucketCache = new AggregationBucketCache();
+		ReflectionTestUtils.setField(aggregationBucketCache, "queryService", queryService);
+		ReflectionTestUtils.setField(tarentoService, "aggregationBucketCache", aggregationBucketCache);
+	}
+
+	@Test
+	void shouldTranslateCurrentIntervalWithRequestedDatesAndInsightWithShiftedDates() throws Exception {
+		stubChart(CHART_ID, "pgr-services", true);
+		Calendar start = Calendar.getInstance();
+		start.set(2024, Calendar.MARCH, 1, 0, 0, 0);
+		Calendar end = Calendar.getInstance();
+		end.set(2024, Calendar.MARCH, 10, 23, 59, 59);
+		Calendar insightStart = (Calendar) start.clone();
+		insightStart.add(Calendar.MONTH, -1);
+		Calendar insightEnd = (Calendar) end.clone();
+		insightEnd.add(Calendar.MONTH, -1);
+		String startDate = String.valueOf(start.getTimeInMillis());
+		String endDate = String.valueOf(end.getTimeInMillis());
+
+		List<String> queriedDates = new ArrayList<>();
+		when(queryService.getChartConfigurationQuery(any(AggregateRequestDto.class), any(ChartQueryDefinition.class), anyString()))
+				.thenAnswer(invocation -> {
+					AggregateRequestDto request = invocation.getArgument(0);
+					queriedDates.add(request.getRequestDate().getStartDate() + "-" + request.getRequestDate().getEndDate());
+					return mapper.createObjectNode().put("range", queriedDates.size());
+				});
+		JsonNode currentResponse = mapper.readTree("{\"aggregations\":{\"Total Complaints\":{\"value\":10}}}");
+		JsonNode insightResponse = mapper.readTree("{\"aggregations\":{\"Total Complaints\":{\"value\":8}}}");
+		when(restService.multiSearch(anyList(), anyList(), anyList())).thenReturn(Arrays.asList(currentResponse, insightResponse));
+
+		List<String> translatedDates = new ArrayList<>();
+		AggregateDto aggregateDto = new AggregateDto();
+		when(responseHandlerFactory.getInstance(ChartType.METRIC)).thenReturn(responseHandler);
+		when(responseHandler.translate(any(AggregateRequestDto.class), any(ObjectNode.class))).thenAnswer(invocation -> {
+			AggregateRequestDto request = invocation.getArgument(0);
+			translatedDates.add(request.getVisualizationCode() + ":" + request.getRequestDate().getStartDate()
+					+ "-" + request.getRequestDate().getEndDate());
+			return aggregateDto;
+		});
+		when(insightsHandlerFactory.getInstance(ChartType.METRIC)).thenReturn(insightsHandler);
+		when(insightsHandler.getInsights(eq(aggregateDto), eq("i" + CHART_ID), any(), any(), any())).thenReturn(aggregateDto);
+
+		AggregateDto result = tarentoService.getAggregatedData(request(startDate, endDate), null);
+
+		String insightDates = insightStart.getTimeInMillis() + "-" + insightEnd.getTimeInMillis();
+		assertSame(aggregateDto, result);
+		assertEquals(Arrays.asList(startDate + "-" + endDate, insightDates), queriedDates);
+		assertEquals(Arrays.asList(CHART_ID + ":" + startDate + "-" + endDate, "i" + CHART_ID + ":" + insightDates), translatedDates);
+	}
+
+	@Test
+	void shouldSendAQuerySharedByTwoChartsOnce() throws Exception {
+		stubChart(CHART_ID, "pgr-services", false);
+		stubChart(OTHER_CHART_ID, "pgr-services", false);
+		when(queryService.getChartConfigurationQuery(any(AggregateRequestDto.class), any(ChartQueryDefinition.class), anyString()))
+				.thenAnswer(invocation -> mapper.createObjectNode().put("query", "complaints"));
+		when(restService.multiSearch(anyList(), anyList(), anyList()))
+				.thenReturn(Collections.singletonList(mapper.readTree("{\"aggregations\":{\"Total Complaints\":{\"value\":10}}}")));
+		when(responseHandlerFactory.getInstance(ChartType.METRIC)).thenReturn(responseHandler);
+		when(responseHandler.translate(any(AggregateRequestDto.class), any(ObjectNode.class))).thenReturn(new AggregateDto());
+
+		List<AggregateDto> results = tarentoService.getAggregatedData(Arrays.asList(request(CHART_ID), request(OTHER_CHART_ID)));
+
+		ArgumentCaptor<List<String>> queries = ArgumentCaptor.forClass(List.class);
+		verify(restService).multiSearch(anyList(), queries.capture(), anyList());
+		assertEquals(Collections.singletonList("{\"query\":\"complaints\"}"), queries.getValue());
+		assertEquals(2, results.size());
+		assertNotNull(results.get(0));
+		assertNotNull(results.get(1));
+	}
+
+	@Test
+	void shouldGiveEveryChartItsOwnCopyOfASharedResponse() throws Exception {
+		stubChart(CHART_ID, "pgr-services", false);
+		stubChart(OTHER_CHART_ID, "pgr-services", false);
+		when(queryService.getChartConfigurationQuery(any(AggregateRequestDto.class), any(ChartQueryDefinition.class), anyString()))
+				.thenAnswer(invocation -> mapper.createObjectNode().put("query", "complaints"));
+		when(restService.multiSearch(anyList(), anyList(), anyList()))
+				.thenReturn(Collections.singletonList(mapper.readTree("{\"aggregations\":{\"Total Complaints\":{\"value\":10}}}")));
+		when(responseHandlerFactory.getInstance(ChartType.METRIC)).thenReturn(responseHandler);
+		Map<String, String> translatedAggregations = new HashMap<>();
+		when(responseHandler.translate(any(AggregateRequestDto.class), any(ObjectNode.class))).thenAnswer(invocation -> {
+			AggregateRequestDto request = invocation.getArgument(0);
+			ObjectNode aggregations = invocation.getArgument(1);
+			translatedAggregations.put(request.getVisualizationCode(), aggregations.toString());
+			// handlers enrich the aggregations they translate
+			((ObjectNode) aggregations.get("aggregations").get("pgr-services").get("Total Complaints")).put("value", 99);
+			return new AggregateDto();
+		});
+
+		tarentoService.getAggregatedData(Arrays.asList(request(CHART_ID), request(OTHER_CHART_ID)));
+
+		String expected = "{\"aggregations\":{\"pgr-services\":{\"Total Complaints\":{\"value\":10}}}}";
+		assertEquals(mapper.readTree(expected), mapper.readTree(translatedAggregations.get(CHART_ID)));
+		assertEquals(mapper.readTree(expected), mapper.readTree(translatedAggregations.get(OTHER_CHART_ID)));
+	}
+
+	@Test
+	void shouldRenderTheOtherChartsWhenTheQueryOfAChartFails() throws Exception {
+		stubChart(CHART_ID, "pgr-services", false);
+		stubChart(OTHER_CHART_ID, "missing-index", false);
+		when(queryService.getChartConfigurationQuery(any(AggregateRequestDto.class), any(ChartQueryDefinition.class), anyString()))
+				.thenAnswer(invocation -> mapper.createObjectNode().put("query", "complaints"));
+		when(restService.multiSearch(anyList(), anyList(), anyList())).thenReturn(Arrays.asList(
+				mapper.readTree("{\"aggregations\":{\"Total Complaints\":{\"value\":10}}}"),
+				mapper.readTree("{\"error\":{\"type\":\"index_not_found_exception\"},\"status\":404}")));
+		AggregateDto aggregateDto = new AggregateDto();
+		when(responseHandlerFactory.getInstance(ChartType.METRIC)).thenReturn(responseHandler);
+		when(responseHandler.translate(any(AggregateRequestDto.class), any(ObjectNode.class))).thenReturn(aggregateDto);
+
+		List<AggregateDto> results = tarentoService.getAggregatedData(Arrays.asList(request(CHART_ID), request(OTHER_CHART_ID)));
+
+		assertEquals(2, results.size());
+		assertSame(aggregateDto, results.get(0));
+		assertNull(results.get(1));
+	}
+
+	/**
+	 * Compiles a metric chart counting complaints on the index, with a monthly insight when asked for
+	 */
+	private void stubChart(String chartId, String indexName, boolean insight) throws Exception {
+		ObjectNode chartNode = mapper.createObjectNode();
+		chartNode.put("chartType", "metric");
+		if(insight) {
+			chartNode.putObject("insight").put("insightInterval", "month");
+		}
+		ObjectNode query = chartNode.putArray("queries").addObject();
+		query.put("module", "COMMON");
+		query.put("indexName", indexName);
+		query.put("aggrQuery", "{\"aggs\":{\"Total Complaints\":{\"value_count\":{\"field\":\"Data.id\"}}}}");
+		query.put("requestQueryMap", "{}");
+		query.put("dateRefField", "Data.@timestamp");
+		when(configurationLoader.getChartDefinition(chartId)).thenReturn(ChartDefinition.compile(chartId, chartNode, mapper));
+	}
+
+	private AggregateRequestDto request(String chartId) {
+		AggregateRequestDto request = request("1709251200000", "1710115199000");
+		request.setVisualizationCode(chartId);
+		return request;
+	}
+
+	private AggregateRequestDto request(String startDate, String endDate) {
+		RequestDate requestDate = new RequestDate();
+		requestDate.setStartDate(startDate);
+		requestDate.setEndDate(endDate);
+		AggregateRequestDto request = new AggregateRequestDto();
+		request.setVisualizationCode(CHART_ID);
+		request.setModuleLevel("PGR");
+		request.setFilters(new HashMap<>());
+		request.setRequestDate(requestDate);
+		return request;
+	}
+}
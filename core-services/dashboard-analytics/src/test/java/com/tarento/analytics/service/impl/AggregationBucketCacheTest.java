@@ -0,0 +1,206 @@
+package com.tarento.analytics.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tarento.analytics.dto.AggregateRequestDto;
+import com.tarento.analytics.dto.RequestDate;
+import com.tarento.analytics.model.ChartQueryDefinition;
+import com.tarento.analytics.service.QueryService;
+import com.tarento.analytics.service.impl.AggregationBucketCache.PlannedQuery;
+
+@ExtendWith(MockitoExtension.class)
+class AggregationBucketCacheTest {
+
+	private static final String ADDITIVE_AGGR_QUERY = "{\"aggs\":{"
+			+ "\"Total Count\":{\"value_count\":{\"field\":\"Data.id\"}},"
+			+ "\"Amount\":{\"sum\":{\"field\":\"Data.amount\"}},"
+			+ "\"Per Day\":{\"date_histogram\":{\"field\":\"Data.@timestamp\",\"interval\":\"intervalvalue\"},"
+			+ "\"aggs\":{\"Amount\":{\"sum\":{\"field\":\"Data.amount\"}}}}}}";
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Mock
+	private QueryService queryService;
+
+	// documents of the fake index, as timestamp and amount
+	private final List<double[]> documents = new ArrayList<>();
+
+	private long startDate;
+
+	private long endDate;
+
+	@BeforeEach
+	void setUp() {
+		Calendar start = Calendar.getInstance();
+		start.set(2024, Calendar.MARCH, 1, 10, 0, 0);
+		start.set(Calendar.MILLISECOND, 0);
+		Calendar end = Calendar.getInstance();
+		end.set(2024, Calendar.MARCH, 5, 15, 0, 0);
+		end.set(Calendar.MILLISECOND, 0);
+		startDate = start.getTimeInMillis();
+		endDate = end.getTimeInMillis();
+
+		Calendar document = Calendar.getInstance();
+		document.set(2024, Calendar.FEBRUARY, 29, 8, 0, 0);
+		double[] amounts = {1.5, 2.25, 10.0};
+		for (int i = 0; i < 40; i++) {
+			documents.add(new double[] {document.getTimeInMillis(), amounts[i % amounts.length]});
+			document.add(Calendar.HOUR_OF_DAY, 3 + i % 5);
+		}
+
+		when(queryService.getChartConfigurationQuery(any(AggregateRequestDto.class), any(ChartQueryDefinition.class), anyString()))
+				.thenAnswer(invocation -> {
+					RequestDate requestDate = ((AggregateRequestDto) invocation.getArgument(0)).getRequestDate();
+					ObjectNode query = mapper.createObjectNode();
+					query.put("start", Long.parseLong(requestDate.getStartDate()));
+					query.put("end", Long.parseLong(requestDate.getEndDate()));
+					return query;
+				});
+	}
+
+	@Test
+	void shouldMergeTimeBucketsIntoTheAggregationsOfTheWholeRange() throws Exception {
+		ChartQueryDefinition query = query(ADDITIVE_AGGR_QUERY);
+		JsonNode uncached = execute(cache(false), query);
+		AggregationBucketCache cache = cache(true);
+
+		PlannedQuery firstPlan = cache.plan(request(), query, "day", true);
+		assertEquals(5, firstPlan.getPendingQueries().size());
+		assertEquals(uncached, cache.complete(firstPlan, search(firstPlan)));
+
+		// the three closed days in the middle of the range are now served from the cache
+		PlannedQuery secondPlan = cache.plan(request(), query, "day", true);
+		assertEquals(2, secondPlan.getPendingQueries().size());
+		assertEquals(uncached, cache.complete(secondPlan, search(secondPlan)));
+	}
+
+	@Test
+	void shouldQueryTheWholeRangeOfNonAdditiveAggregations() throws Exception {
+		List<String> aggrQueries = Arrays.asList(
+				"{\"aggs\":{\"Top Wards\":{\"terms\":{\"field\":\"Data.ward\",\"size\":5}}}}",
+				"{\"aggs\":{\"Wards\":{\"terms\":{\"field\":\"Data.ward\"}}}}",
+				"{\"aggs\":{\"Citizens\":{\"cardinality\":{\"field\":\"Data.citizen\"}}}}",
+				"{\"aggs\":{\"Average Amount\":{\"avg\":{\"field\":\"Data.amount\"}}}}",
+				"{\"aggs\":{\"Per Day\":{\"date_histogram\":{\"field\":\"Data.@timestamp\",\"interval\":\"intervalvalue\"},"
+						+ "\"aggs\":{\"Citizens\":{\"cardinality\":{\"field\":\"Data.citizen\"}}}}}}");
+		AggregationBucketCache cache = cache(true);
+
+		for (String aggrQuery : aggrQueries) {
+			ChartQueryDefinition query = query(aggrQuery);
+			PlannedQuery plannedQuery = cache.plan(request(), query, "day", true);
+
+			assertFalse(query.isAdditive(), aggrQuery);
+			assertEquals(1, plannedQuery.getPendingQueries().size(), aggrQuery);
+			JsonNode pendingQuery = mapper.readTree(plannedQuery.getPendingQueries().get(0));
+			assertEquals(startDate, pendingQuery.get("start").asLong());
+			assertEquals(endDate, pendingQuery.get("end").asLong());
+		}
+		assertTrue(query(ADDITIVE_AGGR_QUERY).isAdditive());
+	}
+
+	private AggregationBucketCache cache(boolean enabled) {
+		AggregationBucketCache cache = new AggregationBucketCache();
+		ReflectionTestUtils.setField(cache, "enabled", enabled);
+		ReflectionTestUtils.setField(cache, "bucketInterval", "day");
+		ReflectionTestUtils.setField(cache, "maxBuckets", 120);
+		ReflectionTestUtils.setField(cache, "queryService", queryService);
+		ReflectionTestUtils.setField(cache, "cacheManager", new ConcurrentMapCacheManager(AggregationBucketCache.CACHE_NAME));
+		return cache;
+	}
+
+	private ChartQueryDefinition query(String aggrQuery) throws Exception {
+		ObjectNode query = mapper.createObjectNode();
+		query.put("module", "PGR");
+		query.put("indexName", "pgr-services");
+		query.put("aggrQuery", aggrQuery);
+		query.put("requestQueryMap", "{}");
+		query.put("dateRefField", "Data.@timestamp");
+		return ChartQueryDefinition.compile(query, mapper);
+	}
+
+	private AggregateRequestDto request() {
+		RequestDate requestDate = new RequestDate();
+		requestDate.setStartDate(String.valueOf(startDate));
+		requestDate.setEndDate(String.valueOf(endDate));
+		AggregateRequestDto request = new AggregateRequestDto();
+		request.setRequestDate(requestDate);
+		return request;
+	}
+
+	private JsonNode execute(AggregationBucketCache cache, ChartQueryDefinition query) throws Exception {
+		PlannedQuery plannedQuery = cache.plan(request(), query, "day", true);
+		assertEquals(1, plannedQuery.getPendingQueries().size());
+		return cache.complete(plannedQuery, search(plannedQuery));
+	}
+
+	private List<JsonNode> search(PlannedQuery plannedQuery) throws Exception {
+		List<JsonNode> responses = new ArrayList<>();
+		for (String pendingQuery : plannedQuery.getPendingQueries()) {
+			JsonNode range = mapper.readTree(pendingQuery);
+			responses.add(search(range.get("start").asLong(), range.get("end").asLong()));
+		}
+		return responses;
+	}
+
+	/**
+	 * Computes the aggregations of ADDITIVE_AGGR_QUERY over the documents of a date range, as ES would
+	 */
+	private JsonNode search(long start, long end) {
+		long count = 0;
+		double amount = 0;
+		Map<Long, double[]> days = new TreeMap<>();
+		for (double[] document : documents) {
+			if (document[0] < start || document[0] > end) {
+				continue;
+			}
+			count++;
+			amount += document[1];
+			Calendar day = Calendar.getInstance();
+			day.setTimeInMillis((long) document[0]);
+			day.set(Calendar.HOUR_OF_DAY, 0);
+			day.set(Calendar.MINUTE, 0);
+			day.set(Calendar.SECOND, 0);
+			day.set(Calendar.MILLISECOND, 0);
+			double[] dayTotals = days.computeIfAbsent(day.getTimeInMillis(), key -> new double[2]);
+			dayTotals[0]++;
+			dayTotals[1] += document[1];
+		}
+
+		ObjectNode response = mapper.createObjectNode();
+		ObjectNode aggregations = response.putObject("aggregations");
+		aggregations.putObject("Total Count").put("value", count);
+		aggregations.putObject("Amount").put("value", amount);
+		ArrayNode buckets = aggregations.putObject("Per Day").putArray("buckets");
+		days.forEach((key, totals) -> {
+			ObjectNode bucket = buckets.addObject();
+			bucket.put("key", key);
+			bucket.put("doc_count", (long) totals[0]);
+			bucket.putObject("Amount").put("value", totals[1]);
+		});
+		return response;
+	}
+}
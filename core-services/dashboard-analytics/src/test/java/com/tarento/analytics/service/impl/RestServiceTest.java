@@ -0,0 +1,107 @@
+package com.tarento.analytics.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResponseExtractor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class RestServiceTest {
+
+	private static final String AGGREGATIONS = "{"
+			+ "\"Districts\":{\"doc_count_error_upper_bound\":0,\"sum_other_doc_count\":0,\"buckets\":["
+			+ "{\"key\":\"D1\",\"doc_count\":4,\"Total Amount\":{\"value\":12.5},\"Other\":{\"value\":3}},"
+			+ "{\"key\":\"D2\",\"doc_count\":2,\"Other\":{\"value\":1}}]},"
+			+ "\"Unrelated\":{\"value\":7},"
+			+ "\"chartSpecificProperty\":{\"startDate\":{\"buckets\":[{\"key\":1709251200000}]}}}";
+
+	private static final String SEARCH_RESPONSE = "{\"took\":3,\"timed_out\":false,"
+			+ "\"_shards\":{\"total\":1,\"successful\":1},"
+			+ "\"hits\":{\"total\":100,\"hits\":[{\"_id\":\"1\",\"_source\":{\"Data\":{\"amount\":12.5}}}]},"
+			+ "\"aggregations\":" + AGGREGATIONS + ",\"status\":200}";
+
+	private static final String ERROR = "{\"root_cause\":[{\"type\":\"index_not_found_exception\"}],"
+			+ "\"type\":\"index_not_found_exception\",\"reason\":\"no such index [missing]\"}";
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Mock
+	private RetryTemplate retryTemplate;
+
+	@Mock
+	private ClientHttpResponse clientHttpResponse;
+
+	@InjectMocks
+	private RestService restService;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(restService, "indexServiceHost", "http://localhost:9200/");
+		ReflectionTestUtils.setField(restService, "indexServiceHostMultiSearch", "_msearch");
+		ReflectionTestUtils.setField(restService, "userName", "elastic");
+		ReflectionTestUtils.setField(restService, "password", "password");
+	}
+
+	@Test
+	void shouldPruneAggregationsToTheRetainedAggregationsAndTheirBuckets() throws Exception {
+		respond("{\"took\":5,\"responses\":[" + SEARCH_RESPONSE + "]}");
+		Set<String> retained = new TreeSet<>(Arrays.asList("Total Amount", "chartSpecificProperty"));
+
+		List<JsonNode> responses = restService.multiSearch(Collections.singletonList("pgr-services"),
+				Collections.singletonList("{}"), Collections.singletonList(retained));
+
+		assertEquals(1, responses.size());
+		assertEquals(mapper.readTree("{"
+				+ "\"Districts\":{\"buckets\":["
+				+ "{\"key\":\"D1\",\"doc_count\":4,\"Total Amount\":{\"value\":12.5}},"
+				+ "{\"key\":\"D2\",\"doc_count\":2}]},"
+				+ "\"chartSpecificProperty\":{\"startDate\":{\"buckets\":[{\"key\":1709251200000}]}}}"),
+				responses.get(0).get("aggregations"));
+		assertEquals(200, responses.get(0).get("status").asInt());
+		assertFalse(responses.get(0).has("hits"));
+	}
+
+	@Test
+	void shouldKeepTheErrorOfAFailedSearchOfAMultiSearch() throws Exception {
+		respond("{\"took\":5,\"responses\":[" + SEARCH_RESPONSE + ",{\"error\":" + ERROR + ",\"status\":404}]}");
+
+		List<JsonNode> responses = restService.multiSearch(Arrays.asList("pgr-services", "missing"),
+				Arrays.asList("{}", "{}"), Arrays.asList(null, Collections.singleton("Total Amount")));
+
+		assertEquals(2, responses.size());
+		assertEquals(mapper.readTree(AGGREGATIONS), responses.get(0).get("aggregations"));
+		assertEquals(mapper.readTree(ERROR), responses.get(1).get("error"));
+		assertEquals(404, responses.get(1).get("status").asInt());
+		assertFalse(responses.get(1).has("aggregations"));
+	}
+
+	private void respond(String body) throws Exception {
+		when(clientHttpResponse.getBody()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+		when(retryTemplate.postForObject(anyString(), any(), any())).thenAnswer(invocation -> {
+			ResponseExtractor<?> responseExtractor = invocation.getArgument(2);
+			return responseExtractor.extractData(clientHttpResponse);
+		});
+	}
+}
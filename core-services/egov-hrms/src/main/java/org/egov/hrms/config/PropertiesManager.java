@@ -135,6 +135,9 @@ public class PropertiesManager {
 	@Value("${egov.hrms.auto.generate.password}")
 	private boolean autoGeneratePassword;
 
+	@Value("${egov.hrms.user.service.pool.size}")
+	private Integer userServicePoolSize;
+
 	@Value("${egov.boundary.host}")
 	private String boundaryServiceHost;
 
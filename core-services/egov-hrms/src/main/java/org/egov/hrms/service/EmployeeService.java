@@ -61,9 +61,16 @@ import org.egov.tracer.kafka.LogAwareKafkaTemplate;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.slf4j.MDC;
 import org.springframework.util.CollectionUtils;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -103,11 +110,28 @@ public class EmployeeService {
 	@Autowired
 	private ObjectMapper objectMapper;
 
+	private ExecutorService userServiceExecutor;
+
+	@PostConstruct
+	public void initUserServiceExecutor() {
+		AtomicInteger threadCount = new AtomicInteger();
+		userServiceExecutor = Executors.newFixedThreadPool(propertiesManager.getUserServicePoolSize(), runnable -> {
+			Thread thread = new Thread(runnable, "hrms-user-service-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void shutdownUserServiceExecutor() {
+		userServiceExecutor.shutdown();
+	}
+
 	/**
 	 * Service method for create employee. Does following:
 	 * 1. Sets ids to all the objects using idgen service.
 	 * 2. Enriches the employee object with required parameters
-	 * 3. Creates user in the egov-user service.
+	 * 3. Creates users in the egov-user service concurrently, leaving out employees whose user could not be created.
 	 * 4. Sends notification upon successful creation
 	 * 
 	 * @param employeeRequest
@@ -117,15 +141,22 @@ public class EmployeeService {
 		RequestInfo requestInfo = employeeRequest.getRequestInfo();
 		Map<String, String> pwdMap = new HashMap<>();
 		idGenService.setIds(employeeRequest);
+		employeeRequest.getEmployees().stream().forEach(employee -> enrichCreateRequest(employee, requestInfo));
+
+		int employeeCount = employeeRequest.getEmployees().size();
+		List<EmployeeError> errors = createUsers(employeeRequest, requestInfo);
+		if (errors.size() == employeeCount)
+			throw new CustomException(ErrorConstants.HRMS_USER_CREATION_FAILED_CODE, ErrorConstants.HRMS_USER_CREATION_FAILED_MSG);
+
 		employeeRequest.getEmployees().stream().forEach(employee -> {
-			enrichCreateRequest(employee, requestInfo);
-			createUser(employee, requestInfo);
 			pwdMap.put(employee.getUuid(), employee.getUser().getPassword());
 			employee.getUser().setPassword(null);
 		});
 		hrmsProducer.push(propertiesManager.getSaveEmployeeTopic(), employeeRequest);
 		notificationService.sendNotification(employeeRequest, pwdMap);
-		return generateResponse(employeeRequest);
+		EmployeeResponse response = generateResponse(employeeRequest);
+		response.setErrors(errors);
+		return response;
 	}
 	
 	/**
@@ -172,20 +203,11 @@ public class EmployeeService {
 		if(!((!CollectionUtils.isEmpty(criteria.getRoles()) || !StringUtils.isEmpty(criteria.getPhone())) && CollectionUtils.isEmpty(criteria.getUuids()))){
 			if(!CollectionUtils.isEmpty(criteria.getNames())) {
 				List<String> userUUIDs = new ArrayList<>();
-				for(String name: criteria.getNames()) {
-					Map<String, Object> userSearchCriteria = new HashMap<>();
-					userSearchCriteria.put(HRMSConstants.HRMS_USER_SERACH_CRITERIA_USERTYPE_CODE, HRMSConstants.HRMS_USER_SERACH_CRITERIA_USERTYPE);
-					userSearchCriteria.put(HRMSConstants.HRMS_USER_SEARCH_CRITERA_TENANTID,criteria.getTenantId());
-					userSearchCriteria.put(HRMSConstants.HRMS_USER_SEARCH_CRITERA_NAME,name);
-					UserResponse userResponse = userService.getUser(requestInfo, userSearchCriteria);
-					userChecked =true;
-					if(!CollectionUtils.isEmpty(userResponse.getUser())) {
-						mapOfUsers.putAll(userResponse.getUser().stream()
-								.collect(Collectors.toMap(User::getUuid, Function.identity())));
-					}
-					List<String> uuids = userResponse.getUser().stream().map(User :: getUuid).collect(Collectors.toList());
-					userUUIDs.addAll(uuids);
+				for(User user: searchUsersByNames(criteria.getNames(), criteria.getTenantId(), requestInfo)) {
+					mapOfUsers.put(user.getUuid(), user);
+					userUUIDs.add(user.getUuid());
 				}
+				userChecked =true;
 				if(!CollectionUtils.isEmpty(criteria.getUuids()))
 					criteria.setUuids(criteria.getUuids().stream().filter(userUUIDs::contains).collect(Collectors.toList()));
 				else
@@ -199,17 +221,18 @@ public class EmployeeService {
             employees = repository.fetchEmployees(criteria, requestInfo);
         List<String> uuids = employees.stream().map(Employee :: getUuid).collect(Collectors.toList());
 		if(!CollectionUtils.isEmpty(uuids)){
-            Map<String, Object> userSearchCriteria = new HashMap<>();
-			userSearchCriteria.put(HRMSConstants.HRMS_USER_SERACH_CRITERIA_USERTYPE_CODE, HRMSConstants.HRMS_USER_SERACH_CRITERIA_USERTYPE);
-            userSearchCriteria.put(HRMSConstants.HRMS_USER_SEARCH_CRITERA_UUID,uuids);
-			userSearchCriteria.put(HRMSConstants.HRMS_USER_SEARCH_CRITERA_TENANTID, criteria.getTenantId());
-			log.info("uuid is available {}", userSearchCriteria);
-            if(mapOfUsers.isEmpty()){
-				log.info("searching in user service");
+			// users resolved by the lookups above are reused, only the remaining ones are searched
+			List<String> unresolvedUuids = uuids.stream().filter(uuid -> !mapOfUsers.containsKey(uuid))
+					.distinct().collect(Collectors.toList());
+            if(!unresolvedUuids.isEmpty()){
+				Map<String, Object> userSearchCriteria = new HashMap<>();
+				userSearchCriteria.put(HRMSConstants.HRMS_USER_SERACH_CRITERIA_USERTYPE_CODE, HRMSConstants.HRMS_USER_SERACH_CRITERIA_USERTYPE);
+				userSearchCriteria.put(HRMSConstants.HRMS_USER_SEARCH_CRITERA_UUID,unresolvedUuids);
+				userSearchCriteria.put(HRMSConstants.HRMS_USER_SEARCH_CRITERA_TENANTID, criteria.getTenantId());
+				log.info("searching in user service {}", userSearchCriteria);
             UserResponse userResponse = userService.getUser(requestInfo, userSearchCriteria);
 			if(!CollectionUtils.isEmpty(userResponse.getUser())) {
-				mapOfUsers = userResponse.getUser().stream()
-						.collect(Collectors.toMap(User :: getUuid, Function.identity()));
+				userResponse.getUser().forEach(user -> mapOfUsers.put(user.getUuid(), user));
             }
             }
             for(Employee employee: employees){
@@ -221,6 +244,117 @@ public class EmployeeService {
 	}
 	
 	
+	/**
+	 * Searches the users of the given names. User search takes a single name, so the distinct names
+	 * are searched concurrently on the user service pool instead of one after the other.
+	 *
+	 * @param names
+	 * @param tenantId
+	 * @param requestInfo
+	 * @return users matching any of the names
+	 */
+	private List<User> searchUsersByNames(List<String> names, String tenantId, RequestInfo requestInfo) {
+		List<String> distinctNames = names.stream().distinct().collect(Collectors.toList());
+		Map<String, String> contextMap = MDC.getCopyOfContextMap();
+		List<CompletableFuture<UserResponse>> futures = distinctNames.stream()
+				.map(name -> {
+					Map<String, Object> userSearchCriteria = new HashMap<>();
+					userSearchCriteria.put(HRMSConstants.HRMS_USER_SERACH_CRITERIA_USERTYPE_CODE, HRMSConstants.HRMS_USER_SERACH_CRITERIA_USERTYPE);
+					userSearchCriteria.put(HRMSConstants.HRMS_USER_SEARCH_CRITERA_TENANTID, tenantId);
+					userSearchCriteria.put(HRMSConstants.HRMS_USER_SEARCH_CRITERA_NAME, name);
+					if (distinctNames.size() == 1)
+						return CompletableFuture.completedFuture(userService.getUser(requestInfo, userSearchCriteria));
+					// user search may swap the user info of the request info, so each call gets its own copy
+					RequestInfo requestInfoCopy = objectMapper.convertValue(requestInfo, RequestInfo.class);
+					return CompletableFuture.supplyAsync(() -> {
+						if (null != contextMap)
+							MDC.setContextMap(contextMap);
+						try {
+							return userService.getUser(requestInfoCopy, userSearchCriteria);
+						} finally {
+							MDC.clear();
+						}
+					}, userServiceExecutor);
+				})
+				.collect(Collectors.toList());
+
+		Map<String, User> users = new LinkedHashMap<>();
+		for (CompletableFuture<UserResponse> future : futures) {
+			UserResponse userResponse = future.join();
+			if (null != userResponse && !CollectionUtils.isEmpty(userResponse.getUser()))
+				userResponse.getUser().forEach(user -> users.putIfAbsent(user.getUuid(), user));
+		}
+		return new ArrayList<>(users.values());
+	}
+
+	/**
+	 * Creates the users of all the employees of the request, up to the configured number at a time.
+	 * Employees whose user could not be created are removed from the request and reported as errors,
+	 * so that the rest of the batch is still created.
+	 *
+	 * @param employeeRequest
+	 * @param requestInfo
+	 * @return errors of the employees whose user could not be created
+	 */
+	private List<EmployeeError> createUsers(EmployeeRequest employeeRequest, RequestInfo requestInfo) {
+		List<Employee> employees = employeeRequest.getEmployees();
+		List<EmployeeError> errors = new ArrayList<>();
+		if (employees.size() == 1) {
+			EmployeeError error = createUserOrError(employees.get(0), requestInfo);
+			if (null != error)
+				errors.add(error);
+			return errors;
+		}
+
+		// the correlation id is carried over to the user service calls made from the pool
+		Map<String, String> contextMap = MDC.getCopyOfContextMap();
+		List<CompletableFuture<EmployeeError>> futures = employees.stream()
+				.map(employee -> CompletableFuture.supplyAsync(() -> {
+					if (null != contextMap)
+						MDC.setContextMap(contextMap);
+					try {
+						return createUserOrError(employee, requestInfo);
+					} finally {
+						MDC.clear();
+					}
+				}, userServiceExecutor))
+				.collect(Collectors.toList());
+
+		List<Employee> createdEmployees = new ArrayList<>();
+		for (int i = 0; i < employees.size(); i++) {
+			EmployeeError error = futures.get(i).join();
+			if (null == error)
+				createdEmployees.add(employees.get(i));
+			else
+				errors.add(error);
+		}
+		employeeRequest.setEmployees(createdEmployees);
+		if (!errors.isEmpty())
+			log.info("Created users of {} employees, {} failed", createdEmployees.size(), errors.size());
+		return errors;
+	}
+
+	private EmployeeError createUserOrError(Employee employee, RequestInfo requestInfo) {
+		try {
+			createUser(employee, requestInfo);
+			return null;
+		} catch (CustomException e) {
+			return buildEmployeeError(employee, e.getCode(), e.getMessage());
+		} catch (Exception e) {
+			log.error("Exception while creating user of employee " + employee.getCode(), e);
+			return buildEmployeeError(employee, ErrorConstants.HRMS_USER_CREATION_FAILED_CODE, ErrorConstants.HRMS_USER_CREATION_FAILED_MSG);
+		}
+	}
+
+	private EmployeeError buildEmployeeError(Employee employee, String errorCode, String message) {
+		return EmployeeError.builder()
+				.code(employee.getCode())
+				.mobileNumber(null != employee.getUser() ? employee.getUser().getMobileNumber() : null)
+				.errorCode(errorCode)
+				.message(message)
+				.build();
+	}
+
 	/**
 	 * Creates user by making call to egov-user.
 	 * 
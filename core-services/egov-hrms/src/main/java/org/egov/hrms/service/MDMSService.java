@@ -2,9 +2,13 @@ package org.egov.hrms.service;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.hrms.utils.HRMSConstants;
@@ -19,6 +23,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.RestTemplate;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -33,46 +39,84 @@ public class MDMSService {
 
 	@Value("${egov.mdms.search.endpoint}")
 	private String mdmsEndpoint;
+
+	@Value("${egov.mdms.cache.ttl.seconds}")
+	private Long masterDataTtlSeconds;
+
+	private final Map<String, MasterDataSnapshot> masterDataSnapshots = new ConcurrentHashMap<>();
+
+	private final Map<String, Object> masterDataLocks = new ConcurrentHashMap<>();
 	
 	
 	/**
-	 * Builds cache for MDMS data, this gets refreshed for every call.
+	 * Returns the HRMS masters of the tenant as sets of valid codes, so that validating an employee is
+	 * a set of lookups. The masters of a tenant are fetched from MDMS once and refreshed after the
+	 * configured time to live; a failed fetch is not cached.
 	 * 
 	 * @param requestInfo
 	 * @param tenantId
 	 * @return
 	 */
-	public Map<String, List<String>> getMDMSData(RequestInfo requestInfo, String tenantId){
-		MdmsResponse response = fetchMDMSData(requestInfo, tenantId);
-		Map<String, List<String>> masterData = new HashMap<>();
+	public Map<String, Set<String>> getMDMSData(RequestInfo requestInfo, String tenantId){
+		MasterDataSnapshot snapshot = masterDataSnapshots.get(tenantId);
+		if(null != snapshot && !snapshot.isExpired())
+			return snapshot.getMasterData();
+
+		// one request per tenant refreshes the masters, concurrent requests use its result
+		synchronized (masterDataLocks.computeIfAbsent(tenantId, key -> new Object())) {
+			snapshot = masterDataSnapshots.get(tenantId);
+			if(null != snapshot && !snapshot.isExpired())
+				return snapshot.getMasterData();
+
+			Map<String, Set<String>> masterData = buildMasterData(fetchMDMSData(requestInfo, tenantId));
+			if(!masterData.isEmpty())
+				masterDataSnapshots.put(tenantId, new MasterDataSnapshot(masterData, System.currentTimeMillis() + masterDataTtlSeconds * 1000));
+			return masterData;
+		}
+	}
+
+	/**
+	 * Precomputes the sets of valid codes of each master from the MDMS response.
+	 *
+	 * @param response
+	 * @return
+	 */
+	private Map<String, Set<String>> buildMasterData(MdmsResponse response){
+		Map<String, Set<String>> masterData = new HashMap<>();
 		Map<String, List<String>> eachMasterMap = new HashMap<>();
 		if(null != response) {
 			if(!CollectionUtils.isEmpty(response.getMdmsRes().keySet())) {
 				if(null != response.getMdmsRes().get(HRMSConstants.HRMS_MDMS_COMMON_MASTERS_CODE)){
 					eachMasterMap = (Map) response.getMdmsRes().get(HRMSConstants.HRMS_MDMS_COMMON_MASTERS_CODE);
-					masterData.put(HRMSConstants.HRMS_MDMS_DEPT_CODE, eachMasterMap.get(HRMSConstants.HRMS_MDMS_DEPT_CODE));
-					masterData.put(HRMSConstants.HRMS_MDMS_DESG_CODE, eachMasterMap.get(HRMSConstants.HRMS_MDMS_DESG_CODE));
+					masterData.put(HRMSConstants.HRMS_MDMS_DEPT_CODE, toCodeSet(eachMasterMap.get(HRMSConstants.HRMS_MDMS_DEPT_CODE)));
+					masterData.put(HRMSConstants.HRMS_MDMS_DESG_CODE, toCodeSet(eachMasterMap.get(HRMSConstants.HRMS_MDMS_DESG_CODE)));
 				}
 				if(null != response.getMdmsRes().get(HRMSConstants.HRMS_MDMS_HR_MASTERS_CODE)) {
 					eachMasterMap = (Map) response.getMdmsRes().get(HRMSConstants.HRMS_MDMS_HR_MASTERS_CODE);
-					masterData.put(HRMSConstants.HRMS_MDMS_EMP_STATUS_CODE, eachMasterMap.get(HRMSConstants.HRMS_MDMS_EMP_STATUS_CODE));
-					masterData.put(HRMSConstants.HRMS_MDMS_EMP_TYPE_CODE, eachMasterMap.get(HRMSConstants.HRMS_MDMS_EMP_TYPE_CODE));
-					masterData.put(HRMSConstants.HRMS_MDMS_QUALIFICATION_CODE, eachMasterMap.get(HRMSConstants.HRMS_MDMS_QUALIFICATION_CODE));
-					masterData.put(HRMSConstants.HRMS_MDMS_STREAMS_CODE, eachMasterMap.get(HRMSConstants.HRMS_MDMS_STREAMS_CODE));
-					masterData.put(HRMSConstants.HRMS_MDMS_DEPT_TEST_CODE, eachMasterMap.get(HRMSConstants.HRMS_MDMS_DEPT_TEST_CODE));
-					masterData.put(HRMSConstants.HRMS_MDMS_DEACT_REASON_CODE, eachMasterMap.get(HRMSConstants.HRMS_MDMS_DEACT_REASON_CODE));
+					masterData.put(HRMSConstants.HRMS_MDMS_EMP_STATUS_CODE, toCodeSet(eachMasterMap.get(HRMSConstants.HRMS_MDMS_EMP_STATUS_CODE)));
+					masterData.put(HRMSConstants.HRMS_MDMS_EMP_TYPE_CODE, toCodeSet(eachMasterMap.get(HRMSConstants.HRMS_MDMS_EMP_TYPE_CODE)));
+					masterData.put(HRMSConstants.HRMS_MDMS_QUALIFICATION_CODE, toCodeSet(eachMasterMap.get(HRMSConstants.HRMS_MDMS_QUALIFICATION_CODE)));
+					masterData.put(HRMSConstants.HRMS_MDMS_STREAMS_CODE, toCodeSet(eachMasterMap.get(HRMSConstants.HRMS_MDMS_STREAMS_CODE)));
+					masterData.put(HRMSConstants.HRMS_MDMS_DEPT_TEST_CODE, toCodeSet(eachMasterMap.get(HRMSConstants.HRMS_MDMS_DEPT_TEST_CODE)));
+					masterData.put(HRMSConstants.HRMS_MDMS_DEACT_REASON_CODE, toCodeSet(eachMasterMap.get(HRMSConstants.HRMS_MDMS_DEACT_REASON_CODE)));
 				}
 				if(null != response.getMdmsRes().get(HRMSConstants.HRMS_AC_ROLES_MASTERS_CODE)) {
 					eachMasterMap = (Map) response.getMdmsRes().get(HRMSConstants.HRMS_AC_ROLES_MASTERS_CODE);
-					masterData.put(HRMSConstants.HRMS_MDMS_ROLES_CODE, eachMasterMap.get(HRMSConstants.HRMS_MDMS_ROLES_CODE));
+					masterData.put(HRMSConstants.HRMS_MDMS_ROLES_CODE, toCodeSet(eachMasterMap.get(HRMSConstants.HRMS_MDMS_ROLES_CODE)));
 				}
 			}
 		}
 
-		return masterData;
+		return Collections.unmodifiableMap(masterData);
 		
 	}
 
+	private Set<String> toCodeSet(List<String> codes) {
+		if(CollectionUtils.isEmpty(codes))
+			return Collections.emptySet();
+		return Collections.unmodifiableSet(new HashSet<>(codes));
+	}
+
 
 
 	/**
@@ -186,4 +230,17 @@ public class MDMSService {
 
 	}
 
+	@Getter
+	@AllArgsConstructor
+	private static class MasterDataSnapshot {
+
+		private final Map<String, Set<String>> masterData;
+
+		private final long expiresAt;
+
+		private boolean isExpired() {
+			return System.currentTimeMillis() >= expiresAt;
+		}
+	}
+
 }
@@ -0,0 +1,37 @@
+package org.egov.hrms.web.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Failure of a single employee of a create request, reported alongside the employees that were created.
+ */
+@Builder
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Setter
+@ToString
+public class EmployeeError {
+
+	@JsonProperty("code")
+	private String code;
+
+	@JsonProperty("mobileNumber")
+	private String mobileNumber;
+
+	@JsonProperty("errorCode")
+	private String errorCode;
+
+	@JsonProperty("message")
+	private String message;
+
+}
@@ -45,6 +45,7 @@ import java.util.List;
 import org.egov.common.contract.response.ResponseInfo;
 import org.egov.hrms.model.Employee;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.AllArgsConstructor;
@@ -69,4 +70,8 @@ public class EmployeeResponse {
 	@JsonProperty("Employees")
 	private List<Employee> employees;
 
+	@JsonProperty("Errors")
+	@JsonInclude(JsonInclude.Include.NON_EMPTY)
+	private List<EmployeeError> errors;
+
 }
\ No newline at end of file
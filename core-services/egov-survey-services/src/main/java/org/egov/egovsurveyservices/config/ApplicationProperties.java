@@ -37,4 +37,10 @@ public class ApplicationProperties {
     @Value("${ss.notification.action.code}")
     private String surveyActionCode;
 
+    @Value("${egov.ss.results.export.fetch.size}")
+    private Integer exportFetchSize;
+
+    @Value("${egov.ss.survey.cache.ttl.seconds}")
+    private Integer surveyCacheTtlSeconds;
+
 }
@@ -1,6 +1,7 @@
 package org.egov.egovsurveyservices.repository;
 
 import lombok.extern.slf4j.Slf4j;
+import org.egov.egovsurveyservices.config.ApplicationProperties;
 import org.egov.egovsurveyservices.repository.querybuilder.SurveyQueryBuilder;
 import org.egov.egovsurveyservices.repository.rowmapper.AnswerRowMapper;
 import org.egov.egovsurveyservices.repository.rowmapper.QuestionRowMapper;
@@ -13,13 +14,20 @@ import org.egov.egovsurveyservices.web.models.SurveySearchCriteria;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
 
+import java.sql.PreparedStatement;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Slf4j
 @Repository
@@ -40,6 +48,9 @@ public class SurveyRepository {
     @Autowired
     private AnswerRowMapper answerRowMapper;
 
+    @Autowired
+    private ApplicationProperties config;
+
     public List<SurveyEntity> fetchSurveys(SurveySearchCriteria criteria){
 
         List<Object> preparedStmtList = new ArrayList<>();
@@ -90,6 +101,57 @@ public class SurveyRepository {
         return jdbcTemplate.query(query, preparedStmtList.toArray(), answerRowMapper);
     }
 
+    public Long fetchRespondentCount(String surveyId) {
+        String query = surveyQueryBuilder.getRespondentCountQuery();
+        return jdbcTemplate.queryForObject(query, new Object[]{surveyId}, Long.class);
+    }
+
+    public Map<String, Long> fetchResponseCounts(String surveyId) {
+        String query = surveyQueryBuilder.getResponseCountsQuery();
+        Map<String, Long> responseCounts = new HashMap<>();
+        jdbcTemplate.query(query, new Object[]{surveyId},
+                (RowCallbackHandler) rs -> responseCounts.put(rs.getString("questionid"), rs.getLong("responsecount")));
+        return responseCounts;
+    }
+
+    public Map<String, Map<String, Long>> fetchOptionCounts(String surveyId, List<String> questionIds) {
+        Map<String, Map<String, Long>> optionCounts = new HashMap<>();
+        if(CollectionUtils.isEmpty(questionIds))
+            return optionCounts;
+
+        List<Object> preparedStmtList = new ArrayList<>();
+        String query = surveyQueryBuilder.getOptionCountsQuery(surveyId, questionIds, preparedStmtList);
+        jdbcTemplate.query(query, preparedStmtList.toArray(), (RowCallbackHandler) rs -> optionCounts
+                .computeIfAbsent(rs.getString("questionid"), questionId -> new LinkedHashMap<>())
+                .put(rs.getString("answeroption"), rs.getLong("optioncount")));
+        return optionCounts;
+    }
+
+    public List<Answer> fetchAnswersPage(SurveyResultsSearchCriteria criteria, List<String> questionIds) {
+        if(CollectionUtils.isEmpty(questionIds))
+            return new ArrayList<>();
+
+        List<Object> preparedStmtList = new ArrayList<>();
+        String query = surveyQueryBuilder.getAnswersPageQuery(criteria, questionIds, preparedStmtList);
+        return jdbcTemplate.query(query, preparedStmtList.toArray(), answerRowMapper);
+    }
+
+    /**
+     * Passes every answer of the survey to the consumer as it is read. Rows are fetched from the
+     * database in chunks, which needs a transaction on postgres, so the answers are never held in
+     * memory all together.
+     */
+    @Transactional(readOnly = true)
+    public void streamSurveyAnswers(String surveyId, Consumer<Answer> consumer) {
+        String query = surveyQueryBuilder.getSurveyAnswersExportQuery();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setFetchSize(config.getExportFetchSize());
+            preparedStatement.setString(1, surveyId);
+            return preparedStatement;
+        }, (RowCallbackHandler) rs -> consumer.accept(answerRowMapper.mapAnswer(rs)));
+    }
+
     public Integer fetchTotalSurveyCount(SurveySearchCriteria criteria) {
         List<Object> preparedStmtList = new ArrayList<>();
 
@@ -32,6 +32,16 @@ public class SurveyQueryBuilder {
 
     public static final String SURVEY_UUIDS_QUERY_WRAPPER = " SELECT uuid FROM ({HELPER_TABLE}) temp ";
 
+    private static final String ANSWER_SELECT_VALUES = " uuid,questionid,surveyid,answer,createdby,lastmodifiedby,createdtime,lastmodifiedtime,citizenid,mobilenumber,emailid,additionalComments,entityId,entityType,additionalDetails ";
+
+    // options of checkbox answers are stored comma separated, the same way AnswerRowMapper splits them
+    private static final String OPTION_COUNTS_QUERY = " SELECT answer.questionid, answeroption, COUNT(*) AS optioncount FROM eg_ss_answer answer " +
+            " CROSS JOIN LATERAL unnest(string_to_array(answer.answer, ',')) AS answeroption WHERE answer.surveyid = ? ";
+
+    private static final String ANSWERS_PAGE_WRAPPER = " SELECT * FROM ( SELECT " + ANSWER_SELECT_VALUES + ", " +
+            " row_number() OVER (PARTITION BY questionid ORDER BY createdtime, uuid) AS answerrownum FROM eg_ss_answer {INTERNAL_QUERY} ) answers " +
+            " WHERE answerrownum > ? AND answerrownum <= ? ORDER BY questionid, answerrownum ";
+
     public String getSurveySearchQuery(SurveySearchCriteria criteria, List<Object> preparedStmtList){
         StringBuilder query = new StringBuilder(SELECT);
         query.append(SURVEY_SELECT_VALUES + ",");
@@ -114,7 +124,7 @@ public class SurveyQueryBuilder {
     }
 
     public String fetchSurveyResultsQuery(SurveyResultsSearchCriteria criteria, List<Object> preparedStmtList) {
-        StringBuilder query = new StringBuilder(" SELECT uuid,questionid,surveyid,answer,createdby,lastmodifiedby,createdtime,lastmodifiedtime,citizenid,mobilenumber,emailid,additionalComments,entityId,entityType,additionalDetails FROM eg_ss_answer  ");
+        StringBuilder query = new StringBuilder(" SELECT" + ANSWER_SELECT_VALUES + "FROM eg_ss_answer  ");
         if(!ObjectUtils.isEmpty(criteria.getSurveyId())){
             addClauseIfRequired(query, preparedStmtList);
             query.append(" surveyid = ? ");
@@ -128,6 +138,49 @@ public class SurveyQueryBuilder {
         return query.toString();
     }
 
+    public String getRespondentCountQuery() {
+        return " SELECT COUNT(DISTINCT citizenid) FROM eg_ss_answer WHERE surveyid = ? ";
+    }
+
+    public String getResponseCountsQuery() {
+        return " SELECT questionid, COUNT(uuid) AS responsecount FROM eg_ss_answer WHERE surveyid = ? GROUP BY questionid ";
+    }
+
+    public String getOptionCountsQuery(String surveyId, List<String> questionIds, List<Object> preparedStmtList) {
+        StringBuilder query = new StringBuilder(OPTION_COUNTS_QUERY);
+        preparedStmtList.add(surveyId);
+        query.append(" AND answer.questionid IN ( ").append(createQuery(questionIds)).append(" ) ");
+        addToPreparedStatement(preparedStmtList, questionIds);
+        query.append(" GROUP BY answer.questionid, answeroption ");
+        return query.toString();
+    }
+
+    /**
+     * Builds the query for a page of the answers of each of the given questions, so that the
+     * answers of every question are paginated in a single query.
+     */
+    public String getAnswersPageQuery(SurveyResultsSearchCriteria criteria, List<String> questionIds, List<Object> preparedStmtList) {
+        StringBuilder query = new StringBuilder(" WHERE surveyid = ? ");
+        preparedStmtList.add(criteria.getSurveyId());
+        query.append(" AND questionid IN ( ").append(createQuery(questionIds)).append(" ) ");
+        addToPreparedStatement(preparedStmtList, questionIds);
+
+        long limit = config.getDefaultLimit();
+        long offset = config.getDefaultOffset();
+        if(criteria.getLimit() != null)
+            limit = Math.min(criteria.getLimit(), config.getMaxSearchLimit());
+        if(criteria.getOffset() != null)
+            offset = criteria.getOffset();
+        preparedStmtList.add(offset);
+        preparedStmtList.add(offset + limit);
+
+        return ANSWERS_PAGE_WRAPPER.replace("{INTERNAL_QUERY}", query.toString());
+    }
+
+    public String getSurveyAnswersExportQuery() {
+        return " SELECT" + ANSWER_SELECT_VALUES + "FROM eg_ss_answer WHERE surveyid = ? ";
+    }
+
     private void addPagination(StringBuilder query,List<Object> preparedStmtList,SurveySearchCriteria criteria){
         int limit = config.getDefaultLimit();
         int offset = config.getDefaultOffset();
@@ -29,44 +29,49 @@ public class AnswerRowMapper implements ResultSetExtractor<List<Answer>> {
             String uuid = rs.getString("uuid");
             Answer answer = answerMap.get(uuid);
 
-            if(answer == null) {
+            if(answer == null)
+                answer = mapAnswer(rs);
 
-                Long lastModifiedTime = rs.getLong("lastmodifiedtime");
-                if (rs.wasNull()) {
-                    lastModifiedTime = null;
-                }
+            answerMap.put(uuid, answer);
+        }
+        return new ArrayList<>(answerMap.values());
+    }
 
-                AuditDetails auditdetails = AuditDetails.builder()
-                        .createdBy(rs.getString("createdby"))
-                        .createdTime(rs.getLong("createdtime"))
-                        .lastModifiedBy(rs.getString("lastmodifiedby"))
-                        .lastModifiedTime(lastModifiedTime)
-                        .build();
+    /**
+     * Maps the current row of the result set to an answer
+     */
+    public Answer mapAnswer(ResultSet rs) throws SQLException {
+        Long lastModifiedTime = rs.getLong("lastmodifiedtime");
+        if (rs.wasNull()) {
+            lastModifiedTime = null;
+        }
 
-                try {
-                    answer = Answer.builder()
-                            .uuid(rs.getString("uuid"))
-                            .questionId(rs.getString("questionid"))
-                            .answer(Arrays.asList(rs.getString("answer").split(",")))
-                            .citizenId(rs.getString("citizenid"))
-                            .mobileNumber(rs.getString("mobilenumber"))
-                            .emailId(rs.getString("emailid"))
-                            .additionalComments(rs.getString("additionalComments"))
-                            .entityId(rs.getString("entityId"))
-                            .entityType(rs.getString("entityType"))
-                            .additionalFields(rs.getString("additionalDetails") == null ? null :
-                                    objectMapper.readValue(rs.getString("additionalDetails"),
-                                            AdditionalFields.class))
-                            .auditDetails(auditdetails)
-                            .build();
-                } catch (JsonProcessingException e) {
-                    throw new RuntimeException(e);
-                }
-            }
+        AuditDetails auditdetails = AuditDetails.builder()
+                .createdBy(rs.getString("createdby"))
+                .createdTime(rs.getLong("createdtime"))
+                .lastModifiedBy(rs.getString("lastmodifiedby"))
+                .lastModifiedTime(lastModifiedTime)
+                .build();
 
-            answerMap.put(uuid, answer);
+        try {
+            return Answer.builder()
+                    .uuid(rs.getString("uuid"))
+                    .questionId(rs.getString("questionid"))
+                    .answer(Arrays.asList(rs.getString("answer").split(",")))
+                    .citizenId(rs.getString("citizenid"))
+                    .mobileNumber(rs.getString("mobilenumber"))
+                    .emailId(rs.getString("emailid"))
+                    .additionalComments(rs.getString("additionalComments"))
+                    .entityId(rs.getString("entityId"))
+                    .entityType(rs.getString("entityType"))
+                    .additionalFields(rs.getString("additionalDetails") == null ? null :
+                            objectMapper.readValue(rs.getString("additionalDetails"),
+                                    AdditionalFields.class))
+                    .auditDetails(auditdetails)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
         }
-        return new ArrayList<>(answerMap.values());
     }
 
 }
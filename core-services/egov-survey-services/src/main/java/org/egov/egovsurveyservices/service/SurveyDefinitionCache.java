@@ -0,0 +1,117 @@
+package org.egov.egovsurveyservices.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.egov.egovsurveyservices.config.ApplicationProperties;
+import org.egov.egovsurveyservices.repository.SurveyRepository;
+import org.egov.egovsurveyservices.web.models.SurveyEntity;
+import org.egov.egovsurveyservices.web.models.SurveySearchCriteria;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.ObjectUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches survey definitions, along with their questions and anonymity setting, so that answer
+ * submissions do not read the survey from the database. Surveys are persisted asynchronously, so an
+ * update or delete through this instance replaces the entry with the updated survey, or with a
+ * tombstone, instead of evicting it and letting a read reload the row the persister has not written yet.
+ * Other instances are not notified: they serve the previous definition until their entry expires
+ * after egov.ss.survey.cache.ttl.seconds. Surveys that are not found are not cached.
+ */
+@Slf4j
+@Component
+public class SurveyDefinitionCache {
+
+    private final Map<String, CachedSurvey> surveys = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SurveyRepository surveyRepository;
+
+    @Autowired
+    private ApplicationProperties config;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Returns the survey with its questions, or null if it does not exist
+     *
+     * @param surveyId
+     * @return
+     */
+    public SurveyEntity getSurvey(String surveyId) {
+        if(ObjectUtils.isEmpty(surveyId))
+            return null;
+
+        CachedSurvey cachedSurvey = surveys.get(surveyId);
+        if(cachedSurvey != null && System.currentTimeMillis() < cachedSurvey.expiresAt)
+            return cachedSurvey.surveyEntity;
+
+        List<SurveyEntity> surveyEntities = surveyRepository.fetchSurveys(SurveySearchCriteria.builder().isCountCall(Boolean.FALSE).uuid(surveyId).build());
+        if(CollectionUtils.isEmpty(surveyEntities)) {
+            surveys.remove(surveyId);
+            return null;
+        }
+
+        SurveyEntity surveyEntity = surveyEntities.get(0);
+        surveys.put(surveyId, new CachedSurvey(surveyEntity, expiresAt()));
+        return surveyEntity;
+    }
+
+    /**
+     * Caches a copy of a survey being updated in place of the stored one, read as it will be once
+     * persisted: questions without a required flag are optional, and the anonymity setting of the
+     * stored survey is kept when the update does not set it.
+     *
+     * @param surveyEntity
+     * @param existingSurveyEntity
+     */
+    public void putUpdated(SurveyEntity surveyEntity, SurveyEntity existingSurveyEntity) {
+        if(ObjectUtils.isEmpty(surveyEntity.getUuid()))
+            return;
+
+        SurveyEntity cachedSurveyEntity = objectMapper.convertValue(surveyEntity, SurveyEntity.class);
+        if(cachedSurveyEntity.getCollectCitizenInfo() == null)
+            cachedSurveyEntity.setCollectCitizenInfo(existingSurveyEntity.getCollectCitizenInfo());
+        if(!CollectionUtils.isEmpty(cachedSurveyEntity.getQuestions())) {
+            cachedSurveyEntity.getQuestions().forEach(question -> {
+                if(question.getRequired() == null)
+                    question.setRequired(Boolean.FALSE);
+            });
+        }
+        surveys.put(surveyEntity.getUuid(), new CachedSurvey(cachedSurveyEntity, expiresAt()));
+    }
+
+    /**
+     * Caches a tombstone for a survey being deleted, so it is not found while its deletion is persisted
+     *
+     * @param surveyId
+     */
+    public void putDeleted(String surveyId) {
+        if(!ObjectUtils.isEmpty(surveyId))
+            surveys.put(surveyId, new CachedSurvey(null, expiresAt()));
+    }
+
+    private long expiresAt() {
+        return System.currentTimeMillis() + config.getSurveyCacheTtlSeconds() * 1000L;
+    }
+
+    private static class CachedSurvey {
+
+        // null for a deleted survey
+        private final SurveyEntity surveyEntity;
+
+        private final long expiresAt;
+
+        private CachedSurvey(SurveyEntity surveyEntity, long expiresAt) {
+            this.surveyEntity = surveyEntity;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
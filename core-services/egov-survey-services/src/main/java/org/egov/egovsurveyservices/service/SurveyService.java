@@ -1,5 +1,7 @@
 package org.egov.egovsurveyservices.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.egovsurveyservices.producer.Producer;
@@ -11,23 +13,32 @@ import org.egov.egovsurveyservices.web.models.AnswerEntity;
 import org.egov.egovsurveyservices.web.models.AnswerRequest;
 import org.egov.egovsurveyservices.web.models.AnswerResponse;
 import org.egov.egovsurveyservices.web.models.Question;
+import org.egov.egovsurveyservices.web.models.QuestionResult;
 import org.egov.egovsurveyservices.web.models.SurveyEntity;
 import org.egov.egovsurveyservices.web.models.SurveyRequest;
+import org.egov.egovsurveyservices.web.models.SurveyResultsAggregateResponse;
 import org.egov.egovsurveyservices.web.models.SurveyResultsSearchCriteria;
 import org.egov.egovsurveyservices.web.models.SurveySearchCriteria;
+import org.egov.egovsurveyservices.web.models.enums.Type;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.egov.egovsurveyservices.utils.SurveyServiceConstants.ACTIVE;
 import static org.egov.egovsurveyservices.utils.SurveyServiceConstants.CITIZEN;
@@ -52,6 +63,14 @@ public class SurveyService {
     @Autowired
     private SurveyUtil surveyUtil;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SurveyDefinitionCache surveyDefinitionCache;
+
+    private static final Set<Type> CHOICE_TYPES = EnumSet.of(Type.MULTIPLE_ANSWER_TYPE, Type.CHECKBOX_ANSWER_TYPE);
+
     public SurveyEntity createSurvey(SurveyRequest surveyRequest) {
 
         SurveyEntity surveyEntity = surveyRequest.getSurveyEntity();
@@ -147,14 +166,15 @@ public class SurveyService {
         // 1. Validate whether userType is citizen or not
         surveyValidator.validateUserTypeForAnsweringSurvey(requestInfo);
         // 2. Validate if survey for which citizen is responding exists
-        if(CollectionUtils.isEmpty(surveyRepository.fetchSurveys(SurveySearchCriteria.builder().isCountCall(Boolean.FALSE).uuid(answerEntity.getSurveyId()).build())))
+        SurveyEntity surveyEntity = surveyDefinitionCache.getSurvey(answerEntity.getSurveyId());
+        if(surveyEntity == null)
             throw new CustomException("EG_SY_DOES_NOT_EXIST_ERR", "The survey for which citizen responded does not exist");
         // 3. Validate if citizen has already responded or not
 //        surveyValidator.validateWhetherCitizenAlreadyResponded(answerEntity, requestInfo.getUserInfo().getUuid());
         // 4. Validate answers
-        surveyValidator.validateAnswers(answerEntity);
+        surveyValidator.validateAnswers(answerEntity, surveyEntity.getQuestions());
         
-        Boolean collectCitizenInfo = fetchSurveyAnonymitySetting(answerEntity.getSurveyId());
+        Boolean collectCitizenInfo = surveyEntity.getCollectCitizenInfo();
 
         // Enrich answer request
         enrichmentService.enrichAnswerEntity(answerRequest, collectCitizenInfo);
@@ -163,12 +183,6 @@ public class SurveyService {
         producer.push("save-ss-answer", answerRequest);
     }
 
-    private Boolean fetchSurveyAnonymitySetting(String surveyId) {
-        if(ObjectUtils.isEmpty(surveyId))
-            throw new CustomException("EG_SY_ANONYMITY_SETTING_FETCH_ERR", "Cannot fetch anonymity setting if surveyId is empty or null");
-        return surveyRepository.fetchAnonymitySetting(surveyId);
-    }
-
     public List<Question> fetchQuestionListBasedOnSurveyId(String surveyId) {
         List<Question> questionList = surveyRepository.fetchQuestionsList(surveyId);
         if(CollectionUtils.isEmpty(questionList))
@@ -208,6 +222,7 @@ public class SurveyService {
 
         // Update survey if it passes all validations
         producer.push("update-ss-survey", Collections.singletonList(surveyRequest.getSurveyEntity()));
+        surveyDefinitionCache.putUpdated(surveyEntity, existingSurveyEntity);
 
         return surveyEntity;
     }
@@ -224,6 +239,7 @@ public class SurveyService {
         surveyEntity.setStatus(INACTIVE);
 
         producer.push("delete-ss-survey", surveyRequest);
+        surveyDefinitionCache.putDeleted(surveyEntity.getUuid());
 
     }
 
@@ -262,6 +278,118 @@ public class SurveyService {
         return response;
     }
 
+    /**
+     * Computes the results of a survey per question in the database: the number of responses of every
+     * question, the number of answers choosing each option of multiple choice and checkbox questions,
+     * and a page of the answers of the other questions.
+     *
+     * @param requestInfo
+     * @param criteria
+     * @return
+     */
+    public SurveyResultsAggregateResponse fetchAggregatedSurveyResults(RequestInfo requestInfo, SurveyResultsSearchCriteria criteria) {
+        SurveyEntity surveyEntity = fetchSurveyForResults(requestInfo, criteria);
+
+        List<Question> questions = fetchQuestionListBasedOnSurveyId(surveyEntity.getUuid());
+        if(!ObjectUtils.isEmpty(criteria.getQuestionId())) {
+            questions = questions.stream().filter(question -> criteria.getQuestionId().equals(question.getUuid())).collect(Collectors.toList());
+            if(CollectionUtils.isEmpty(questions))
+                throw new CustomException("EG_SY_QUESTION_DOES_NOT_EXIST_ERR", "The provided question does not belong to the survey");
+        }
+
+        List<String> choiceQuestionIds = new ArrayList<>();
+        List<String> otherQuestionIds = new ArrayList<>();
+        questions.forEach(question -> {
+            if(CHOICE_TYPES.contains(question.getType()))
+                choiceQuestionIds.add(question.getUuid());
+            else
+                otherQuestionIds.add(question.getUuid());
+        });
+
+        Map<String, Long> responseCounts = surveyRepository.fetchResponseCounts(surveyEntity.getUuid());
+        Map<String, Map<String, Long>> optionCounts = surveyRepository.fetchOptionCounts(surveyEntity.getUuid(), choiceQuestionIds);
+        Map<String, List<Answer>> answersPage = surveyRepository.fetchAnswersPage(criteria, otherQuestionIds).stream()
+                .collect(Collectors.groupingBy(Answer::getQuestionId));
+
+        List<QuestionResult> questionResults = new ArrayList<>();
+        for(Question question : questions) {
+            QuestionResult questionResult = QuestionResult.builder()
+                    .questionId(question.getUuid())
+                    .questionStatement(question.getQuestionStatement())
+                    .type(question.getType())
+                    .options(question.getOptions())
+                    .responseCount(responseCounts.getOrDefault(question.getUuid(), 0L))
+                    .build();
+            if(CHOICE_TYPES.contains(question.getType())) {
+                // options nobody chose are reported with a count of zero
+                Map<String, Long> counts = new LinkedHashMap<>();
+                if(!CollectionUtils.isEmpty(question.getOptions()))
+                    question.getOptions().forEach(option -> counts.put(option, 0L));
+                counts.putAll(optionCounts.getOrDefault(question.getUuid(), Collections.emptyMap()));
+                questionResult.setOptionCounts(counts);
+            } else {
+                questionResult.setAnswers(answersPage.getOrDefault(question.getUuid(), new ArrayList<>()));
+            }
+            questionResults.add(questionResult);
+        }
+
+        return SurveyResultsAggregateResponse.builder()
+                .surveyId(surveyEntity.getUuid())
+                .title(surveyEntity.getTitle())
+                .tenantId(surveyEntity.getTenantId())
+                .description(surveyEntity.getDescription())
+                .totalRespondents(surveyRepository.fetchRespondentCount(surveyEntity.getUuid()))
+                .questionResults(questionResults)
+                .build();
+    }
+
+    /**
+     * Validates that the survey results can be fetched by the user and returns the survey
+     *
+     * @param requestInfo
+     * @param criteria
+     * @return
+     */
+    public SurveyEntity fetchSurveyForResults(RequestInfo requestInfo, SurveyResultsSearchCriteria criteria) {
+        surveyValidator.validateUserTypeForSurveyResults(requestInfo);
+
+        if(ObjectUtils.isEmpty(criteria.getSurveyId()))
+            throw new CustomException("EG_SY_SURVEYID_ERR", "Cannot fetch survey results without surveyId");
+
+        List<SurveyEntity> surveyEntities = surveyRepository.fetchSurveys(SurveySearchCriteria.builder().isCountCall(Boolean.FALSE).uuid(criteria.getSurveyId()).build());
+        if(CollectionUtils.isEmpty(surveyEntities))
+            throw new CustomException("EG_SY_DOES_NOT_EXIST_ERR", "The provided survey does not exist");
+        return surveyEntities.get(0);
+    }
+
+    /**
+     * Writes all the answers of the survey to the output stream as json while they are read from
+     * the database.
+     *
+     * @param surveyEntity
+     * @param outputStream
+     * @throws IOException
+     */
+    public void exportSurveyResults(SurveyEntity surveyEntity, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("tenantId", surveyEntity.getTenantId());
+            generator.writeStringField("surveyId", surveyEntity.getUuid());
+            generator.writeStringField("title", surveyEntity.getTitle());
+            generator.writeArrayFieldStart("answers");
+            surveyRepository.streamSurveyAnswers(surveyEntity.getUuid(), answer -> {
+                try {
+                    generator.writeObject(answer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
     public Integer countTotalSurveys(SurveySearchCriteria criteria) {
         return surveyRepository.fetchTotalSurveyCount(criteria);
     }
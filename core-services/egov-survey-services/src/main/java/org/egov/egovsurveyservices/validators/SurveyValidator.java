@@ -33,6 +33,11 @@ public class SurveyValidator {
             throw new CustomException("EG_SY_ACCESS_ERR", "Survey can only be created/updated/deleted by employees.");
     }
 
+    public void validateUserTypeForSurveyResults(RequestInfo requestInfo) {
+        if(!requestInfo.getUserInfo().getType().equalsIgnoreCase(EMPLOYEE))
+            throw new CustomException("EG_SY_RESULTS_ACCESS_ERR", "Aggregated and exported survey results can only be fetched by employees.");
+    }
+
     public void validateUserTypeForAnsweringSurvey(RequestInfo requestInfo) {
         if(!requestInfo.getUserInfo().getType().equalsIgnoreCase(CITIZEN))
             throw new CustomException("EG_SY_SUBMIT_RESPONSE_ERR", "Survey can only be answered by citizens.");
@@ -98,10 +103,9 @@ public class SurveyValidator {
         });
     }
 
-    public void validateAnswers(AnswerEntity answerEntity) {
+    public void validateAnswers(AnswerEntity answerEntity, List<Question> questionsList) {
         // 1. Validates whether all answered questions belong to the same survey or not
         // 2. Validate whether mandatory questions have been answered or not
-        List<Question> questionsList = surveyService.fetchQuestionListBasedOnSurveyId(answerEntity.getSurveyId());
         HashSet<String> mandatoryQuestionsUuids = new HashSet<>();
         HashSet<String> allQuestionsUuids = new HashSet<>();
         List<String> questionsThatAreAnsweredUuids = new ArrayList<>();
@@ -11,16 +11,19 @@ import org.egov.egovsurveyservices.web.models.AnswerResponse;
 import org.egov.egovsurveyservices.web.models.SurveyEntity;
 import org.egov.egovsurveyservices.web.models.SurveyRequest;
 import org.egov.egovsurveyservices.web.models.SurveyResponse;
+import org.egov.egovsurveyservices.web.models.SurveyResultsAggregateResponse;
 import org.egov.egovsurveyservices.web.models.SurveyResultsSearchRequest;
 import org.egov.egovsurveyservices.web.models.SurveySearchCriteria;
 import org.egov.egovsurveyservices.web.models.SurveySearchRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.Collections;
@@ -103,4 +106,22 @@ public class SurveyController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @RequestMapping(value="/survey/response/_aggregate", method = RequestMethod.POST)
+    public ResponseEntity<SurveyResultsAggregateResponse> responseAggregate(@Valid @RequestBody SurveyResultsSearchRequest surveyResultsSearchRequest) {
+        ResponseInfo responseInfo = responseInfoFactory.createResponseInfoFromRequestInfo(surveyResultsSearchRequest.getRequestInfo(), true);
+        SurveyResultsAggregateResponse response = surveyService.fetchAggregatedSurveyResults(surveyResultsSearchRequest.getRequestInfo(),
+                surveyResultsSearchRequest.getSurveyResultsSearchCriteria());
+        response.setResponseInfo(responseInfo);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @RequestMapping(value="/survey/response/_export", method = RequestMethod.POST)
+    public ResponseEntity<StreamingResponseBody> responseExport(@Valid @RequestBody SurveyResultsSearchRequest surveyResultsSearchRequest) {
+        // validated before the response starts, so that errors are returned as usual
+        SurveyEntity surveyEntity = surveyService.fetchSurveyForResults(surveyResultsSearchRequest.getRequestInfo(),
+                surveyResultsSearchRequest.getSurveyResultsSearchCriteria());
+        StreamingResponseBody body = outputStream -> surveyService.exportSurveyResults(surveyEntity, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
 }
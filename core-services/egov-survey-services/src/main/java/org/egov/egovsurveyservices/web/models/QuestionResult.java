@@ -0,0 +1,48 @@
+package org.egov.egovsurveyservices.web.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.egov.egovsurveyservices.web.models.enums.Type;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QuestionResult {
+
+    @JsonProperty("questionId")
+    private String questionId;
+
+    @JsonProperty("questionStatement")
+    private String questionStatement;
+
+    @JsonProperty("type")
+    private Type type;
+
+    @JsonProperty("options")
+    private List<String> options;
+
+    @JsonProperty("responseCount")
+    private Long responseCount;
+
+    // number of answers choosing each option, for multiple choice and checkbox questions
+    @JsonProperty("optionCounts")
+    private Map<String, Long> optionCounts;
+
+    // a page of the answers, for the other question types
+    @JsonProperty("answers")
+    private List<Answer> answers;
+
+}
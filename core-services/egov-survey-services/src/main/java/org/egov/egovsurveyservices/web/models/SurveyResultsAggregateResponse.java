@@ -0,0 +1,41 @@
+package org.egov.egovsurveyservices.web.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.egov.common.contract.response.ResponseInfo;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SurveyResultsAggregateResponse {
+
+    @JsonProperty("ResponseInfo")
+    private ResponseInfo responseInfo = null;
+
+    @JsonProperty("tenantId")
+    private String tenantId = null;
+
+    @JsonProperty("surveyId")
+    private String surveyId = null;
+
+    @JsonProperty("title")
+    private String title = null;
+
+    @JsonProperty("description")
+    private String description = null;
+
+    @JsonProperty("totalRespondents")
+    private Long totalRespondents = null;
+
+    @JsonProperty("questionResults")
+    private List<QuestionResult> questionResults;
+
+}
@@ -24,6 +24,10 @@ public class SurveyResultsSearchCriteria {
     @JsonProperty("citizensUuids")
     private List<String> citizenUuids;
 
+    // restricts the aggregated results to one question, to page through its answers
+    @JsonProperty("questionId")
+    private String questionId;
+
     @JsonProperty("offset")
     private Long offset;
 
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS index_eg_ss_answer_surveyId_questionId ON eg_ss_answer (surveyid, questionid, createdtime);
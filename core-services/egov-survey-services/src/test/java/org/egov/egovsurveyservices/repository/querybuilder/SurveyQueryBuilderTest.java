@@ -0,0 +1,82 @@
+package org.egov.egovsurveyservices.repository.querybuilder;
+
+import org.egov.egovsurveyservices.config.ApplicationProperties;
+import org.egov.egovsurveyservices.web.models.SurveyResultsSearchCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SurveyQueryBuilderTest {
+
+    private static final String SURVEY_ID = "survey-1";
+
+    private static final List<String> QUESTION_IDS = Arrays.asList("question-1", "question-2");
+
+    private SurveyQueryBuilder surveyQueryBuilder;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties config = new ApplicationProperties();
+        config.setDefaultLimit(10);
+        config.setDefaultOffset(0);
+        config.setMaxSearchLimit(60);
+        surveyQueryBuilder = new SurveyQueryBuilder();
+        ReflectionTestUtils.setField(surveyQueryBuilder, "config", config);
+    }
+
+    @Test
+    void shouldCountOptionsOfTheGivenQuestions() {
+        List<Object> preparedStmtList = new ArrayList<>();
+
+        String query = normalise(surveyQueryBuilder.getOptionCountsQuery(SURVEY_ID, QUESTION_IDS, preparedStmtList));
+
+        assertEquals(Arrays.asList(SURVEY_ID, "question-1", "question-2"), preparedStmtList);
+        assertTrue(query.contains("unnest(string_to_array(answer.answer, ',')) AS answeroption WHERE answer.surveyid = ?"), query);
+        assertTrue(query.contains("AND answer.questionid IN ( ?, ? )"), query);
+        assertTrue(query.endsWith("GROUP BY answer.questionid, answeroption"), query);
+    }
+
+    @Test
+    void shouldBoundTheAnswersOfEachQuestionByOffsetAndLimit() {
+        List<Object> preparedStmtList = new ArrayList<>();
+        SurveyResultsSearchCriteria criteria = SurveyResultsSearchCriteria.builder().surveyId(SURVEY_ID).offset(20L).limit(5L).build();
+
+        String query = normalise(surveyQueryBuilder.getAnswersPageQuery(criteria, QUESTION_IDS, preparedStmtList));
+
+        assertEquals(Arrays.asList(SURVEY_ID, "question-1", "question-2", 20L, 25L), preparedStmtList);
+        assertTrue(query.contains("row_number() OVER (PARTITION BY questionid ORDER BY createdtime, uuid) AS answerrownum"
+                + " FROM eg_ss_answer WHERE surveyid = ? AND questionid IN ( ?, ? )"), query);
+        assertTrue(query.contains("WHERE answerrownum > ? AND answerrownum <= ?"), query);
+    }
+
+    @Test
+    void shouldPageAnswersWithTheDefaultOffsetAndLimit() {
+        List<Object> preparedStmtList = new ArrayList<>();
+        SurveyResultsSearchCriteria criteria = SurveyResultsSearchCriteria.builder().surveyId(SURVEY_ID).build();
+
+        surveyQueryBuilder.getAnswersPageQuery(criteria, QUESTION_IDS, preparedStmtList);
+
+        assertEquals(Arrays.asList(0L, 10L), preparedStmtList.subList(3, 5));
+    }
+
+    @Test
+    void shouldCapTheAnswersOfEachQuestionToTheMaxLimit() {
+        List<Object> preparedStmtList = new ArrayList<>();
+        SurveyResultsSearchCriteria criteria = SurveyResultsSearchCriteria.builder().surveyId(SURVEY_ID).offset(100L).limit(500L).build();
+
+        surveyQueryBuilder.getAnswersPageQuery(criteria, QUESTION_IDS, preparedStmtList);
+
+        assertEquals(Arrays.asList(100L, 160L), preparedStmtList.subList(3, 5));
+    }
+
+    private String normalise(String query) {
+        return query.trim().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,128 @@
+package org.egov.egovsurveyservices.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.egov.egovsurveyservices.config.ApplicationProperties;
+import org.egov.egovsurveyservices.repository.SurveyRepository;
+import org.egov.egovsurveyservices.web.models.Question;
+import org.egov.egovsurveyservices.web.models.SurveyEntity;
+import org.egov.egovsurveyservices.web.models.SurveySearchCriteria;
+import org.egov.egovsurveyservices.web.models.enums.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SurveyDefinitionCacheTest {
+
+    private static final String SURVEY_ID = "survey-1";
+
+    @Mock
+    private SurveyRepository surveyRepository;
+
+    private ApplicationProperties config;
+
+    private SurveyDefinitionCache surveyDefinitionCache;
+
+    @BeforeEach
+    void setUp() {
+        config = new ApplicationProperties();
+        config.setSurveyCacheTtlSeconds(60);
+        surveyDefinitionCache = new SurveyDefinitionCache();
+        ReflectionTestUtils.setField(surveyDefinitionCache, "surveyRepository", surveyRepository);
+        ReflectionTestUtils.setField(surveyDefinitionCache, "config", config);
+        ReflectionTestUtils.setField(surveyDefinitionCache, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void shouldReadASurveyOnceWhileItsEntryIsLive() {
+        SurveyEntity storedSurvey = storedSurvey();
+        when(surveyRepository.fetchSurveys(any(SurveySearchCriteria.class))).thenReturn(Collections.singletonList(storedSurvey));
+
+        assertSame(storedSurvey, surveyDefinitionCache.getSurvey(SURVEY_ID));
+        assertSame(storedSurvey, surveyDefinitionCache.getSurvey(SURVEY_ID));
+
+        verify(surveyRepository, times(1)).fetchSurveys(any(SurveySearchCriteria.class));
+    }
+
+    @Test
+    void shouldReadTheSurveyAgainOnceItsEntryExpires() {
+        config.setSurveyCacheTtlSeconds(0);
+        when(surveyRepository.fetchSurveys(any(SurveySearchCriteria.class))).thenReturn(Collections.singletonList(storedSurvey()));
+
+        surveyDefinitionCache.getSurvey(SURVEY_ID);
+        surveyDefinitionCache.getSurvey(SURVEY_ID);
+
+        verify(surveyRepository, times(2)).fetchSurveys(any(SurveySearchCriteria.class));
+    }
+
+    @Test
+    void shouldNotCacheASurveyWhichIsNotFound() {
+        when(surveyRepository.fetchSurveys(any(SurveySearchCriteria.class))).thenReturn(Collections.emptyList());
+
+        assertNull(surveyDefinitionCache.getSurvey(SURVEY_ID));
+        assertNull(surveyDefinitionCache.getSurvey(SURVEY_ID));
+
+        verify(surveyRepository, times(2)).fetchSurveys(any(SurveySearchCriteria.class));
+    }
+
+    @Test
+    void shouldNotFindADeletedSurveyWhileItsDeletionIsPersisted() {
+        surveyDefinitionCache.putDeleted(SURVEY_ID);
+
+        assertNull(surveyDefinitionCache.getSurvey(SURVEY_ID));
+
+        verify(surveyRepository, never()).fetchSurveys(any(SurveySearchCriteria.class));
+    }
+
+    @Test
+    void shouldCacheAnUpdatedSurveyAsItIsReadOncePersisted() {
+        Question optionalQuestion = Question.builder().uuid("question-1").type(Type.SHORT_ANSWER_TYPE).build();
+        Question requiredQuestion = Question.builder().uuid("question-2").type(Type.SHORT_ANSWER_TYPE).required(Boolean.TRUE).build();
+        SurveyEntity updatedSurvey = SurveyEntity.builder().uuid(SURVEY_ID).title("Updated")
+                .questions(Arrays.asList(optionalQuestion, requiredQuestion)).build();
+
+        surveyDefinitionCache.putUpdated(updatedSurvey, storedSurvey());
+        SurveyEntity cachedSurvey = surveyDefinitionCache.getSurvey(SURVEY_ID);
+
+        verify(surveyRepository, never()).fetchSurveys(any(SurveySearchCriteria.class));
+        assertNotSame(updatedSurvey, cachedSurvey);
+        assertEquals("Updated", cachedSurvey.getTitle());
+        assertEquals(Boolean.TRUE, cachedSurvey.getCollectCitizenInfo());
+        assertEquals(Boolean.FALSE, cachedSurvey.getQuestions().get(0).getRequired());
+        assertEquals(Boolean.TRUE, cachedSurvey.getQuestions().get(1).getRequired());
+        // the update request itself is left as it was sent
+        assertNull(updatedSurvey.getCollectCitizenInfo());
+        assertNull(optionalQuestion.getRequired());
+    }
+
+    @Test
+    void shouldKeepTheAnonymitySettingOfAnUpdate() {
+        SurveyEntity updatedSurvey = SurveyEntity.builder().uuid(SURVEY_ID).collectCitizenInfo(Boolean.FALSE).build();
+
+        surveyDefinitionCache.putUpdated(updatedSurvey, storedSurvey());
+
+        assertEquals(Boolean.FALSE, surveyDefinitionCache.getSurvey(SURVEY_ID).getCollectCitizenInfo());
+    }
+
+    private SurveyEntity storedSurvey() {
+        return SurveyEntity.builder().uuid(SURVEY_ID).title("Stored").collectCitizenInfo(Boolean.TRUE)
+                .questions(Collections.singletonList(Question.builder().uuid("question-1").required(Boolean.FALSE).build()))
+                .build();
+    }
+}
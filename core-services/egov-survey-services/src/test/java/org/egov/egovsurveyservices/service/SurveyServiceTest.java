@@ -0,0 +1,123 @@
+package org.egov.egovsurveyservices.service;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.egovsurveyservices.repository.SurveyRepository;
+import org.egov.egovsurveyservices.validators.SurveyValidator;
+import org.egov.egovsurveyservices.web.models.Answer;
+import org.egov.egovsurveyservices.web.models.Question;
+import org.egov.egovsurveyservices.web.models.QuestionResult;
+import org.egov.egovsurveyservices.web.models.SurveyEntity;
+import org.egov.egovsurveyservices.web.models.SurveyResultsAggregateResponse;
+import org.egov.egovsurveyservices.web.models.SurveyResultsSearchCriteria;
+import org.egov.egovsurveyservices.web.models.SurveySearchCriteria;
+import org.egov.egovsurveyservices.web.models.enums.Type;
+import org.egov.tracer.model.CustomException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SurveyServiceTest {
+
+    private static final String SURVEY_ID = "survey-1";
+
+    private static final String CHOICE_QUESTION_ID = "question-choice";
+
+    private static final String TEXT_QUESTION_ID = "question-text";
+
+    @Mock
+    private SurveyRepository surveyRepository;
+
+    @Mock
+    private SurveyValidator surveyValidator;
+
+    @InjectMocks
+    private SurveyService surveyService;
+
+    @BeforeEach
+    void setUp() {
+        SurveyEntity surveyEntity = SurveyEntity.builder().uuid(SURVEY_ID).tenantId("pb.amritsar").title("Sanitation").build();
+        when(surveyRepository.fetchSurveys(any(SurveySearchCriteria.class))).thenReturn(Collections.singletonList(surveyEntity));
+        when(surveyRepository.fetchQuestionsList(SURVEY_ID)).thenReturn(Arrays.asList(
+                Question.builder().uuid(CHOICE_QUESTION_ID).type(Type.MULTIPLE_ANSWER_TYPE)
+                        .options(Arrays.asList("Yes", "No", "Maybe")).build(),
+                Question.builder().uuid(TEXT_QUESTION_ID).type(Type.SHORT_ANSWER_TYPE).build()));
+    }
+
+    @Test
+    void shouldReportOptionsNobodyChoseWithACountOfZero() {
+        SurveyResultsSearchCriteria criteria = SurveyResultsSearchCriteria.builder().surveyId(SURVEY_ID).build();
+        Map<String, Long> responseCounts = new HashMap<>();
+        responseCounts.put(CHOICE_QUESTION_ID, 3L);
+        Map<String, Long> chosen = new LinkedHashMap<>();
+        chosen.put("No", 2L);
+        chosen.put("Yes", 1L);
+        List<Answer> answers = Arrays.asList(
+                Answer.builder().uuid("answer-1").questionId(TEXT_QUESTION_ID).build(),
+                Answer.builder().uuid("answer-2").questionId(TEXT_QUESTION_ID).build());
+        when(surveyRepository.fetchResponseCounts(SURVEY_ID)).thenReturn(responseCounts);
+        when(surveyRepository.fetchOptionCounts(SURVEY_ID, Collections.singletonList(CHOICE_QUESTION_ID)))
+                .thenReturn(Collections.singletonMap(CHOICE_QUESTION_ID, chosen));
+        when(surveyRepository.fetchAnswersPage(criteria, Collections.singletonList(TEXT_QUESTION_ID))).thenReturn(answers);
+        when(surveyRepository.fetchRespondentCount(SURVEY_ID)).thenReturn(3L);
+
+        SurveyResultsAggregateResponse response = surveyService.fetchAggregatedSurveyResults(new RequestInfo(), criteria);
+
+        assertEquals(Long.valueOf(3L), response.getTotalRespondents());
+        assertEquals(2, response.getQuestionResults().size());
+        QuestionResult choiceResult = response.getQuestionResults().get(0);
+        assertEquals(Long.valueOf(3L), choiceResult.getResponseCount());
+        // options are listed in the order of the question, with the counts read
+        assertEquals(Arrays.asList("Yes", "No", "Maybe"), new ArrayList<>(choiceResult.getOptionCounts().keySet()));
+        assertEquals(Arrays.asList(1L, 2L, 0L), new ArrayList<>(choiceResult.getOptionCounts().values()));
+        assertNull(choiceResult.getAnswers());
+        QuestionResult textResult = response.getQuestionResults().get(1);
+        assertEquals(Long.valueOf(0L), textResult.getResponseCount());
+        assertEquals(answers, textResult.getAnswers());
+        assertNull(textResult.getOptionCounts());
+    }
+
+    @Test
+    void shouldAggregateOnlyTheRequestedQuestion() {
+        SurveyResultsSearchCriteria criteria = SurveyResultsSearchCriteria.builder().surveyId(SURVEY_ID)
+                .questionId(TEXT_QUESTION_ID).offset(10L).limit(10L).build();
+        when(surveyRepository.fetchResponseCounts(SURVEY_ID)).thenReturn(Collections.singletonMap(TEXT_QUESTION_ID, 25L));
+
+        SurveyResultsAggregateResponse response = surveyService.fetchAggregatedSurveyResults(new RequestInfo(), criteria);
+
+        assertEquals(1, response.getQuestionResults().size());
+        assertEquals(TEXT_QUESTION_ID, response.getQuestionResults().get(0).getQuestionId());
+        assertEquals(Long.valueOf(25L), response.getQuestionResults().get(0).getResponseCount());
+        verify(surveyRepository).fetchOptionCounts(SURVEY_ID, Collections.emptyList());
+        verify(surveyRepository).fetchAnswersPage(criteria, Collections.singletonList(TEXT_QUESTION_ID));
+    }
+
+    @Test
+    void shouldRejectAQuestionOfAnotherSurvey() {
+        SurveyResultsSearchCriteria criteria = SurveyResultsSearchCriteria.builder().surveyId(SURVEY_ID)
+                .questionId("question-of-another-survey").build();
+
+        CustomException exception = assertThrows(CustomException.class,
+                () -> surveyService.fetchAggregatedSurveyResults(new RequestInfo(), criteria));
+
+        assertEquals("EG_SY_QUESTION_DOES_NOT_EXIST_ERR", exception.getCode());
+    }
+}
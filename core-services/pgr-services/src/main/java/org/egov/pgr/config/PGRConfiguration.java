@@ -170,6 +170,27 @@ public class PGRConfiguration {
     @Value("${egov.ui.app.host}")
     private String uiAppHost;
 
+    @Value("${pgr.notification.async.enabled}")
+    private Boolean isAsyncNotificationEnabled;
+
+    @Value("${pgr.notification.queue.capacity}")
+    private Integer notificationQueueCapacity;
+
+    @Value("${pgr.notification.queue.offer.timeout.ms}")
+    private Long notificationQueueOfferTimeoutMs;
+
+    @Value("${pgr.notification.batch.size}")
+    private Integer notificationBatchSize;
+
+    @Value("${pgr.notification.batch.linger.ms}")
+    private Long notificationBatchLingerMs;
+
+    @Value("${pgr.notification.workers}")
+    private Integer notificationWorkers;
+
+    @Value("${pgr.notification.shutdown.timeout.ms}")
+    private Long notificationShutdownTimeoutMs;
+
     @Value("${egov.pgr.events.rate.link}")
     private String rateLink;
 
@@ -215,5 +236,28 @@ public class PGRConfiguration {
     @Value("${egov.complaints.category}")
     private String complaintTypes;
 
+    //Statistics
+    @Value("${pgr.statistics.incremental.enabled}")
+    private Boolean isIncrementalStatisticsEnabled;
+
+    @Value("${pgr.statistics.rebuild.roles}")
+    private List<String> statisticsRebuildRoles;
+
+    //Caches
+    @Value("${pgr.cache.localization.ttl.seconds}")
+    private Long localizationCacheTtlSeconds;
+
+    @Value("${pgr.cache.businessservice.ttl.seconds}")
+    private Long businessServiceCacheTtlSeconds;
+
+    @Value("${pgr.cache.warmup.enabled}")
+    private Boolean isCacheWarmupEnabled;
+
+    @Value("${pgr.cache.warmup.tenantids}")
+    private List<String> cacheWarmupTenantIds;
+
+    @Value("${pgr.cache.warmup.locales}")
+    private List<String> cacheWarmupLocales;
+
 
 }
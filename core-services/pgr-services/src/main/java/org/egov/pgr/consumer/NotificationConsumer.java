@@ -3,7 +3,7 @@ package org.egov.pgr.consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.egov.pgr.service.NotificationService;
+import org.egov.pgr.service.NotificationDispatcher;
 import org.egov.pgr.web.models.ServiceRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -17,7 +17,7 @@ import java.util.HashMap;
 @Slf4j
 public class NotificationConsumer {
     @Autowired
-    NotificationService notificationService;
+    NotificationDispatcher notificationDispatcher;
 
     @Autowired
     private ObjectMapper mapper;
@@ -35,7 +35,7 @@ public class NotificationConsumer {
         try {
             ServiceRequest request = mapper.convertValue(record, ServiceRequest.class);
 
-            notificationService.process(request, topic);
+            notificationDispatcher.dispatch(request, topic);
         } catch (Exception ex) {
             StringBuilder builder = new StringBuilder("Error while listening to value: ").append(record)
                     .append("on topic: ").append(topic);
@@ -0,0 +1,45 @@
+package org.egov.pgr.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.egov.pgr.service.StatisticsService;
+import org.egov.pgr.web.models.ServiceRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+
+@Service
+@Slf4j
+public class StatisticsConsumer {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    /**
+     * Consumes the complaint records and updates the complaint statistics of their tenant. It uses its own
+     * consumer group, so that every record also reaches the notification consumer.
+     *
+     * @param record
+     * @param topic
+     */
+    @KafkaListener(topics = { "${pgr.kafka.create.topic}" ,"${pgr.kafka.update.topic}"}, groupId = "${pgr.statistics.consumer.group.id}",
+            autoStartup = "${pgr.statistics.incremental.enabled}")
+    public void listen(final HashMap<String, Object> record, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        try {
+            ServiceRequest request = mapper.convertValue(record, ServiceRequest.class);
+
+            statisticsService.record(request);
+        } catch (Exception ex) {
+            StringBuilder builder = new StringBuilder("Error while updating statistics for value: ").append(record)
+                    .append("on topic: ").append(topic);
+            log.error(builder.toString(), ex);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.egov.pgr.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.egov.pgr.web.models.Service;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.egov.pgr.util.PGRConstants.CLOSED_AFTER_RESOLUTION;
+
+/**
+ * Maintains the complaint statistics of each tenant from complaint create and update events. The
+ * last applied state of every complaint is kept, so that redelivered or out of order events are
+ * ignored and a complaint leaving the resolved state is subtracted again. Events only count what
+ * changed since deploying, so the statistics of a tenant are read only once they were rebuilt from
+ * the stored complaints, which marks them with the time of the rebuild.
+ */
+@Repository
+@Slf4j
+public class StatisticsRepository {
+
+    public static final long DAY_IN_MILLIS = 86400000L;
+
+    private static final String INSERT_COMPLAINT_QUERY = "INSERT INTO eg_pgr_statistics_complaint_v2 (id, tenantid, applicationstatus, createdtime, lastmodifiedtime)" +
+            " VALUES (?, ?, ?, ?, ?) ON CONFLICT (id) DO NOTHING";
+
+    private static final String LOCK_COMPLAINT_QUERY = "SELECT tenantid, applicationstatus, createdtime, lastmodifiedtime FROM eg_pgr_statistics_complaint_v2 WHERE id = ? FOR UPDATE";
+
+    private static final String UPDATE_COMPLAINT_QUERY = "UPDATE eg_pgr_statistics_complaint_v2 SET applicationstatus = ?, createdtime = ?, lastmodifiedtime = ? WHERE id = ?";
+
+    private static final String UPSERT_STATISTICS_QUERY = "INSERT INTO eg_pgr_statistics_v2 (tenantid, resolvedcount, resolutiontime) VALUES (?, ?, ?)" +
+            " ON CONFLICT (tenantid) DO UPDATE SET resolvedcount = eg_pgr_statistics_v2.resolvedcount + EXCLUDED.resolvedcount," +
+            " resolutiontime = eg_pgr_statistics_v2.resolutiontime + EXCLUDED.resolutiontime";
+
+    private static final String UPSERT_DAILY_STATISTICS_QUERY = "INSERT INTO eg_pgr_statistics_daily_v2 (tenantid, day, resolvedcount) VALUES (?, ?, ?)" +
+            " ON CONFLICT (tenantid, day) DO UPDATE SET resolvedcount = eg_pgr_statistics_daily_v2.resolvedcount + EXCLUDED.resolvedcount";
+
+    private static final String STATISTICS_QUERY = "SELECT resolvedcount, resolutiontime FROM eg_pgr_statistics_v2 WHERE tenantid = ? AND rebuilttime IS NOT NULL";
+
+    private static final String RESOLVED_SINCE_QUERY = "SELECT COALESCE(sum(resolvedcount), 0) FROM eg_pgr_statistics_daily_v2 WHERE tenantid = ? AND day >= ?";
+
+    private static final String DELETE_COMPLAINTS_QUERY = "DELETE FROM eg_pgr_statistics_complaint_v2 WHERE tenantid = ?";
+
+    private static final String DELETE_STATISTICS_QUERY = "DELETE FROM eg_pgr_statistics_v2 WHERE tenantid = ?";
+
+    private static final String DELETE_DAILY_STATISTICS_QUERY = "DELETE FROM eg_pgr_statistics_daily_v2 WHERE tenantid = ?";
+
+    private static final String REBUILD_COMPLAINTS_QUERY = "INSERT INTO eg_pgr_statistics_complaint_v2 (id, tenantid, applicationstatus, createdtime, lastmodifiedtime)" +
+            " SELECT id, tenantid, applicationstatus, createdtime, lastmodifiedtime FROM eg_pgr_service_v2 WHERE tenantid = ?";
+
+    // inserts the row of the tenant even when none of its complaints is resolved, as it marks the statistics rebuilt
+    private static final String REBUILD_STATISTICS_QUERY = "INSERT INTO eg_pgr_statistics_v2 (tenantid, resolvedcount, resolutiontime, rebuilttime)" +
+            " SELECT ?, count(*), COALESCE(sum(lastmodifiedtime - createdtime), 0), ? FROM eg_pgr_statistics_complaint_v2" +
+            " WHERE applicationstatus = '" + CLOSED_AFTER_RESOLUTION + "' AND tenantid = ?";
+
+    private static final String REBUILD_DAILY_STATISTICS_QUERY = "INSERT INTO eg_pgr_statistics_daily_v2 (tenantid, day, resolvedcount)" +
+            " SELECT tenantid, floor(lastmodifiedtime / " + DAY_IN_MILLIS + "), count(*) FROM eg_pgr_statistics_complaint_v2" +
+            " WHERE applicationstatus = '" + CLOSED_AFTER_RESOLUTION + "' AND tenantid = ? GROUP BY tenantid, floor(lastmodifiedtime / " + DAY_IN_MILLIS + ")";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public StatisticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Applies the state of the complaint carried by a create or update event to the statistics of its tenant
+     * @param service The complaint as of the event
+     */
+    @Transactional
+    public void record(Service service) {
+        String id = service.getId();
+        String status = service.getApplicationStatus();
+        Long createdTime = service.getAuditDetails().getCreatedTime();
+        Long lastModifiedTime = service.getAuditDetails().getLastModifiedTime();
+
+        int inserted = jdbcTemplate.update(INSERT_COMPLAINT_QUERY, id, service.getTenantId(), status, createdTime, lastModifiedTime);
+        if (inserted == 1) {
+            applyResolution(service.getTenantId(), status, createdTime, lastModifiedTime, 1);
+            return;
+        }
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(LOCK_COMPLAINT_QUERY, id);
+        if (rows.isEmpty())
+            return;
+        Map<String, Object> previous = rows.get(0);
+        Long previousLastModifiedTime = toLong(previous.get("lastmodifiedtime"));
+
+        // the event was applied already, or a later event of the complaint was
+        if (previousLastModifiedTime != null && lastModifiedTime != null && lastModifiedTime <= previousLastModifiedTime)
+            return;
+
+        jdbcTemplate.update(UPDATE_COMPLAINT_QUERY, status, createdTime, lastModifiedTime, id);
+        applyResolution((String) previous.get("tenantid"), (String) previous.get("applicationstatus"),
+                toLong(previous.get("createdtime")), previousLastModifiedTime, -1);
+        applyResolution(service.getTenantId(), status, createdTime, lastModifiedTime, 1);
+    }
+
+    /**
+     * Returns the number of complaints of the tenant resolved at or after the given day, the number of
+     * resolved complaints and their total resolution time, or null when the statistics of the tenant
+     * have not been rebuilt yet
+     */
+    public long[] getStatistics(String tenantId, long fromDay) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(STATISTICS_QUERY, tenantId);
+        if (rows.isEmpty())
+            return null;
+        long resolvedSince = jdbcTemplate.queryForObject(RESOLVED_SINCE_QUERY, new Object[]{tenantId, fromDay}, Long.class);
+        return new long[]{resolvedSince, toLong(rows.get(0).get("resolvedcount")), toLong(rows.get(0).get("resolutiontime"))};
+    }
+
+    /**
+     * Recomputes the statistics of the tenant from the stored complaints and marks them rebuilt
+     * @param tenantId The tenant to rebuild
+     * @return The number of complaints the statistics were rebuilt from
+     */
+    @Transactional
+    public int rebuild(String tenantId) {
+        jdbcTemplate.update(DELETE_COMPLAINTS_QUERY, tenantId);
+        jdbcTemplate.update(DELETE_STATISTICS_QUERY, tenantId);
+        jdbcTemplate.update(DELETE_DAILY_STATISTICS_QUERY, tenantId);
+
+        int complaints = jdbcTemplate.update(REBUILD_COMPLAINTS_QUERY, tenantId);
+        jdbcTemplate.update(REBUILD_STATISTICS_QUERY, tenantId, System.currentTimeMillis(), tenantId);
+        jdbcTemplate.update(REBUILD_DAILY_STATISTICS_QUERY, tenantId);
+
+        log.info("Rebuilt complaint statistics from " + complaints + " complaints of tenant " + tenantId);
+        return complaints;
+    }
+
+    private void applyResolution(String tenantId, String status, Long createdTime, Long lastModifiedTime, int sign) {
+        if (!CLOSED_AFTER_RESOLUTION.equals(status) || createdTime == null || lastModifiedTime == null)
+            return;
+
+        jdbcTemplate.update(UPSERT_STATISTICS_QUERY, tenantId, sign, sign * (lastModifiedTime - createdTime));
+        jdbcTemplate.update(UPSERT_DAILY_STATISTICS_QUERY, tenantId, Math.floorDiv(lastModifiedTime, DAY_IN_MILLIS), sign);
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+}
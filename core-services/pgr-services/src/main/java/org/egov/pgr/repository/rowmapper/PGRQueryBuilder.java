@@ -1,6 +1,7 @@
 package org.egov.pgr.repository.rowmapper;
 
 import org.egov.pgr.config.PGRConfiguration;
+import org.egov.pgr.util.SearchCursor;
 import org.egov.pgr.web.models.RequestSearchCriteria;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +47,10 @@ public class PGRQueryBuilder {
 
 
     public String getPGRSearchQuery(RequestSearchCriteria criteria, List<Object> preparedStmtList) {
+        return getPGRSearchQuery(criteria, preparedStmtList, true);
+    }
+
+    private String getPGRSearchQuery(RequestSearchCriteria criteria, List<Object> preparedStmtList, boolean applyCursor) {
 
         StringBuilder builder = new StringBuilder(QUERY);
 
@@ -152,6 +157,9 @@ public class PGRQueryBuilder {
         }
 
 
+        if (applyCursor)
+            addCursorClause(builder, criteria, preparedStmtList);
+
         addOrderByClause(builder, criteria);
 
         addLimitAndOffset(builder, criteria, preparedStmtList);
@@ -161,35 +169,60 @@ public class PGRQueryBuilder {
 
 
     public String getCountQuery(RequestSearchCriteria criteria, List<Object> preparedStmtList){
-        String query = getPGRSearchQuery(criteria, preparedStmtList);
+        String query = getPGRSearchQuery(criteria, preparedStmtList, false);
         String countQuery = COUNT_WRAPPER.replace("{INTERNAL_QUERY}", query);
         return countQuery;
     }
 
+    /**
+     * Continues the search after the complaint the cursor points to, in the (createdtime, id) order
+     * the search uses by default
+     */
+    private void addCursorClause(StringBuilder builder, RequestSearchCriteria criteria, List<Object> preparedStmtList){
+
+        if(StringUtils.isEmpty(criteria.getCursor()))
+            return;
+
+        if(!StringUtils.isEmpty(criteria.getSortBy()))
+            throw new CustomException("INVALID_SEARCH", "Cursor can only be used when sorting on created time");
+
+        SearchCursor cursor = SearchCursor.decode(criteria.getCursor());
+        addClauseIfRequired(preparedStmtList, builder);
+        if(criteria.getSortOrder()== RequestSearchCriteria.SortOrder.ASC)
+            builder.append(" (ser.createdtime, ser.id) > (?, ?) ");
+        else builder.append(" (ser.createdtime, ser.id) < (?, ?) ");
+        preparedStmtList.add(cursor.getCreatedTime());
+        preparedStmtList.add(cursor.getId());
+    }
+
     private void addOrderByClause(StringBuilder builder, RequestSearchCriteria criteria){
 
+        String sortOrder = criteria.getSortOrder()== RequestSearchCriteria.SortOrder.ASC ? " ASC " : " DESC ";
+
+        // ser.id breaks ties so that the order, and with it paging, is stable
         if(StringUtils.isEmpty(criteria.getSortBy()))
-            builder.append( " ORDER BY ser_createdtime ");
+            builder.append(" ORDER BY ser.createdtime ").append(sortOrder);
 
         else if(criteria.getSortBy()== RequestSearchCriteria.SortBy.locality)
-            builder.append(" ORDER BY ads.locality ");
+            builder.append(" ORDER BY ads.locality ").append(sortOrder);
 
         else if(criteria.getSortBy()== RequestSearchCriteria.SortBy.applicationStatus)
-            builder.append(" ORDER BY ser.applicationStatus ");
+            builder.append(" ORDER BY ser.applicationStatus ").append(sortOrder);
 
         else if(criteria.getSortBy()== RequestSearchCriteria.SortBy.serviceRequestId)
-            builder.append(" ORDER BY ser.serviceRequestId ");
+            builder.append(" ORDER BY ser.serviceRequestId ").append(sortOrder);
 
-        if(criteria.getSortOrder()== RequestSearchCriteria.SortOrder.ASC)
-            builder.append(" ASC ");
-        else builder.append(" DESC ");
+        builder.append(", ser.id ").append(sortOrder);
 
     }
 
     private void addLimitAndOffset(StringBuilder builder, RequestSearchCriteria criteria, List<Object> preparedStmtList){
 
-        builder.append(" OFFSET ? ");
-        preparedStmtList.add(criteria.getOffset());
+        // a cursor takes the place of the offset
+        if(StringUtils.isEmpty(criteria.getCursor())) {
+            builder.append(" OFFSET ? ");
+            preparedStmtList.add(criteria.getOffset());
+        }
 
         builder.append(" LIMIT ? ");
         preparedStmtList.add(criteria.getLimit());
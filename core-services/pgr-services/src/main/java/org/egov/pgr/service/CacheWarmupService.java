@@ -0,0 +1,74 @@
+package org.egov.pgr.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.pgr.config.PGRConfiguration;
+import org.egov.pgr.util.NotificationUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.egov.pgr.util.PGRConstants.COMMON_MODULE;
+import static org.egov.pgr.util.PGRConstants.PGR_MODULE;
+
+/**
+ * Loads the localization messages and workflow business services of the configured tenants into
+ * their caches once the application is ready, so that the first complaints after a deployment do
+ * not all fetch them at the same time.
+ */
+@Service
+@Slf4j
+public class CacheWarmupService {
+
+    private static final List<String> LOCALIZATION_MODULES = Arrays.asList(PGR_MODULE, COMMON_MODULE);
+
+    private PGRConfiguration config;
+
+    private NotificationUtil notificationUtil;
+
+    private WorkflowService workflowService;
+
+    @Autowired
+    public CacheWarmupService(PGRConfiguration config, NotificationUtil notificationUtil, WorkflowService workflowService) {
+        this.config = config;
+        this.notificationUtil = notificationUtil;
+        this.workflowService = workflowService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!Boolean.TRUE.equals(config.getIsCacheWarmupEnabled()))
+            return;
+
+        List<String> failures = new ArrayList<>();
+        for (String tenantId : config.getCacheWarmupTenantIds()) {
+            for (String locale : config.getCacheWarmupLocales()) {
+                try {
+                    List<String> failedModules = notificationUtil.warmUpLocalizationMessages(tenantId, locale, LOCALIZATION_MODULES);
+                    if (!failedModules.isEmpty())
+                        failures.add("localization messages of " + failedModules + " for tenant " + tenantId + " and locale " + locale);
+                } catch (Exception e) {
+                    log.error("Failed to warm up localization messages for tenant " + tenantId + " and locale " + locale, e);
+                    failures.add("localization messages for tenant " + tenantId + " and locale " + locale);
+                }
+            }
+            if (config.getIsWorkflowEnabled()) {
+                try {
+                    workflowService.getBusinessService(tenantId, new RequestInfo());
+                } catch (Exception e) {
+                    log.error("Failed to warm up workflow business service for tenant " + tenantId, e);
+                    failures.add("workflow business service for tenant " + tenantId);
+                }
+            }
+        }
+        if (failures.isEmpty())
+            log.info("Warmed up localization and business service caches for tenants " + config.getCacheWarmupTenantIds());
+        else
+            log.error("Failed to warm up " + failures + ", they are loaded on first use instead");
+    }
+}
@@ -0,0 +1,159 @@
+package org.egov.pgr.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.egov.pgr.config.PGRConfiguration;
+import org.egov.pgr.web.models.Notification.ComplaintEvent;
+import org.egov.pgr.web.models.ServiceRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decouples sending notifications from consuming complaints. Each worker thread has a bounded queue
+ * and sends the notifications of up to a batch of its events at a time. Events are routed to a worker
+ * by their service request id, so that the notifications of a complaint are sent in the order it was
+ * consumed. When the queue stays full the consumer thread sends the notification itself, which slows
+ * down consumption instead of dropping notifications, but may overtake events of the complaint still
+ * queued.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    private PGRConfiguration config;
+
+    private NotificationService notificationService;
+
+    private List<BlockingQueue<ComplaintEvent>> queues;
+
+    private ExecutorService workers;
+
+    private volatile boolean running;
+
+    @Autowired
+    public NotificationDispatcher(PGRConfiguration config, NotificationService notificationService) {
+        this.config = config;
+        this.notificationService = notificationService;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!Boolean.TRUE.equals(config.getIsAsyncNotificationEnabled()))
+            return;
+
+        int workerCount = config.getNotificationWorkers();
+        int queueCapacity = Math.max(1, config.getNotificationQueueCapacity() / workerCount);
+        queues = new ArrayList<>(workerCount);
+        running = true;
+        AtomicInteger threadCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "pgr-notification-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<ComplaintEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            workers.submit(() -> sendBatches(queue));
+        }
+    }
+
+    /**
+     * Queues the notifications of the complaint, or sends them right away when notifications are
+     * sent synchronously or the queue stays full.
+     *
+     * @param request The complaint consumed
+     * @param topic   The topic the complaint was consumed from
+     */
+    public void dispatch(ServiceRequest request, String topic) {
+        if (queues == null) {
+            notificationService.process(request, topic);
+            return;
+        }
+
+        BlockingQueue<ComplaintEvent> queue = queueOf(request);
+        ComplaintEvent complaintEvent = new ComplaintEvent(request, topic);
+        try {
+            if (!queue.offer(complaintEvent, config.getNotificationQueueOfferTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                log.warn("Notification queue is full, sending the notification of " + request.getService().getServiceRequestId() + " from the consumer");
+                notificationService.process(Collections.singletonList(complaintEvent));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            notificationService.process(Collections.singletonList(complaintEvent));
+        }
+    }
+
+    /**
+     * Picks the queue of the worker sending the notifications of the complaint, the same one for all
+     * events of a complaint
+     */
+    private BlockingQueue<ComplaintEvent> queueOf(ServiceRequest request) {
+        String serviceRequestId = request.getService().getServiceRequestId();
+        if (serviceRequestId == null)
+            return queues.get(0);
+        return queues.get(Math.floorMod(serviceRequestId.hashCode(), queues.size()));
+    }
+
+    private void sendBatches(BlockingQueue<ComplaintEvent> queue) {
+        int batchSize = config.getNotificationBatchSize();
+        long lingerMs = config.getNotificationBatchLingerMs();
+        List<ComplaintEvent> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                ComplaintEvent first = queue.poll(lingerMs, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+
+                // wait up to the linger time for the batch to fill up
+                long deadline = System.currentTimeMillis() + lingerMs;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running)
+                        break;
+                    ComplaintEvent next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null)
+                        break;
+                    batch.add(next);
+                }
+
+                notificationService.process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error occured while sending a batch of " + batch.size() + " notifications", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (workers == null)
+            return;
+
+        // workers send the notifications still queued before they stop
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(config.getNotificationShutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+            log.warn(queues.stream().mapToInt(BlockingQueue::size).sum() + " notifications were not sent before shutdown");
+            workers.shutdownNow();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.egov.pgr.util.MDMSUtils;
 import org.egov.pgr.util.NotificationUtil;
 import org.egov.pgr.web.models.Notification.Action;
 import org.egov.pgr.web.models.Notification.ActionItem;
+import org.egov.pgr.web.models.Notification.ComplaintEvent;
 import org.egov.pgr.web.models.Notification.Event;
 import org.egov.pgr.web.models.Notification.EventRequest;
 import org.egov.pgr.web.models.Notification.Recepient;
@@ -103,6 +104,39 @@ public class NotificationService {
     private ObjectMapper mapper;
 
     public void process(ServiceRequest request, String topic) {
+        process(Collections.singletonList(new ComplaintEvent(request, topic)));
+    }
+
+    /**
+     * Builds the notifications of a batch of complaint events and publishes them together. The
+     * employees addressed by the batch are resolved with one user search per tenant.
+     *
+     * @param complaintEvents The complaint events of the batch
+     */
+    public void process(List<ComplaintEvent> complaintEvents) {
+        NotificationRecipients recipients;
+        try {
+            recipients = resolveRecipients(complaintEvents);
+        } catch (Exception ex) {
+            log.error("Error occured while resolving the recipients of a notification batch", ex);
+            recipients = new NotificationRecipients();
+        }
+        List<SMSRequest> smsRequests = new ArrayList<>();
+        List<EventRequest> eventRequests = new ArrayList<>();
+        for (ComplaintEvent complaintEvent : complaintEvents) {
+            buildNotifications(complaintEvent.getRequest(), complaintEvent.getTopic(), recipients, smsRequests, eventRequests);
+        }
+
+        if (!CollectionUtils.isEmpty(smsRequests)) {
+            notificationUtil.sendSMS(smsRequests);
+        }
+        for (EventRequest eventRequest : mergeEventRequests(eventRequests)) {
+            notificationUtil.sendEventNotification(eventRequest);
+        }
+    }
+
+    private void buildNotifications(ServiceRequest request, String topic, NotificationRecipients recipients,
+                                    List<SMSRequest> smsRequestsToSend, List<EventRequest> eventRequestsToSend) {
         try {
             ServiceWrapper serviceWrapper = ServiceWrapper.builder().service(request.getService()).workflow(request.getWorkflow()).build();
             String applicationStatus = request.getService().getApplicationStatus();
@@ -113,7 +147,7 @@ public class NotificationService {
                 return;
             }
 
-            Map<String, List<String>> finalMessage = getFinalMessage(request, topic, applicationStatus);
+            Map<String, List<String>> finalMessage = getFinalMessage(request, topic, applicationStatus, recipients);
             String citizenMobileNumber = request.getService().getUser().getMobileNumber();
             String employeeMobileNumber = null;
 
@@ -136,23 +170,23 @@ public class NotificationService {
                 employeeMobileNumber = processInstance.getAssignes().get(0).getMobileNumber();
             }
             else if ((applicationStatus.equalsIgnoreCase(PENDINGATLME) && action.equalsIgnoreCase(ASSIGN)) || (applicationStatus.equalsIgnoreCase(PENDING_FOR_REASSIGNMENT) && action.equalsIgnoreCase(REASSIGN))){
-                employeeMobileNumber = fetchUserByUUID(request.getWorkflow().getAssignes().get(0), request.getRequestInfo(), request.getService().getTenantId()).getMobileNumber();
+                employeeMobileNumber = resolveUser(recipients, request.getWorkflow().getAssignes().get(0), request).getMobileNumber();
             }
             else if(applicationStatus.equalsIgnoreCase(PENDINGATLME) && action.equalsIgnoreCase(REASSIGN))
             {
-                employeeMobileNumber = fetchUserByUUID(request.getWorkflow().getAssignes().get(0), request.getRequestInfo(), request.getService().getTenantId()).getMobileNumber();
+                employeeMobileNumber = resolveUser(recipients, request.getWorkflow().getAssignes().get(0), request).getMobileNumber();
             }
             else {
-                employeeMobileNumber = fetchUserByUUID(request.getService().getAuditDetails().getCreatedBy(), request.getRequestInfo(), request.getService().getTenantId()).getMobileNumber();
+                employeeMobileNumber = resolveUser(recipients, request.getService().getAuditDetails().getCreatedBy(), request).getMobileNumber();
             }
 
             if(!StringUtils.isEmpty(finalMessage)){
                 if (config.getIsUserEventsNotificationEnabled() != null && config.getIsUserEventsNotificationEnabled()) {
                     for (Map.Entry<String,List<String>> entry : finalMessage.entrySet()) {
                         for(String msg : entry.getValue()) {
-                            EventRequest eventRequest = enrichEventRequest(request, msg);
+                            EventRequest eventRequest = enrichEventRequest(request, msg, recipients);
                             if (eventRequest != null) {
-                                notificationUtil.sendEventNotification(eventRequest);
+                                eventRequestsToSend.add(eventRequest);
                             }
                         }
                     }
@@ -166,7 +200,7 @@ public class NotificationService {
                                 List<SMSRequest> smsRequests = new ArrayList<>();
                                 smsRequests = enrichSmsRequest(citizenMobileNumber, msg);
                                 if (!CollectionUtils.isEmpty(smsRequests)) {
-                                    notificationUtil.sendSMS(smsRequests);
+                                    smsRequestsToSend.addAll(smsRequests);
                                 }
                             }
                         }
@@ -175,7 +209,7 @@ public class NotificationService {
                                 List<SMSRequest> smsRequests = new ArrayList<>();
                                 smsRequests = enrichSmsRequest(employeeMobileNumber, msg);
                                 if (!CollectionUtils.isEmpty(smsRequests)) {
-                                    notificationUtil.sendSMS(smsRequests);
+                                    smsRequestsToSend.addAll(smsRequests);
                                 }
                             }
                         }
@@ -197,9 +231,10 @@ public class NotificationService {
      * @param request PGR Request
      * @param topic Topic Name
      * @param applicationStatus Application Status
+     * @param recipients Users resolved for the batch of the request
      * @return Returns list of SMSRequest
      */
-    private Map<String, List<String>> getFinalMessage(ServiceRequest request, String topic, String applicationStatus) {
+    private Map<String, List<String>> getFinalMessage(ServiceRequest request, String topic, String applicationStatus, NotificationRecipients recipients) {
         String tenantId = request.getService().getTenantId();
         String localizationMessage = notificationUtil.getLocalizationMessages(tenantId, request.getRequestInfo(),PGR_MODULE);
 
@@ -267,7 +302,7 @@ public class NotificationService {
                 messageForCitizen = messageForCitizen.replace("{emp_designation}",reassigneeDetails.get(DESIGNATION));
 
             if (messageForCitizen.contains("{emp_name}"))
-                messageForCitizen = messageForCitizen.replace("{emp_name}", fetchUserByUUID(request.getWorkflow().getAssignes().get(0), request.getRequestInfo(), request.getService().getTenantId()).getName());
+                messageForCitizen = messageForCitizen.replace("{emp_name}", resolveUser(recipients, request.getWorkflow().getAssignes().get(0), request).getName());
 
             if(messageForEmployee.contains("{ulb}")) {
                 String localisationMessageForPlaceholder =  notificationUtil.getLocalizationMessages(request.getService().getTenantId(), request.getRequestInfo(),COMMON_MODULE);
@@ -276,7 +311,7 @@ public class NotificationService {
             }
 
             if (messageForEmployee.contains("{emp_name}"))
-                messageForEmployee = messageForEmployee.replace("{emp_name}", fetchUserByUUID(request.getWorkflow().getAssignes().get(0), request.getRequestInfo(), request.getService().getTenantId()).getName());
+                messageForEmployee = messageForEmployee.replace("{emp_name}", resolveUser(recipients, request.getWorkflow().getAssignes().get(0), request).getName());
 
             if(messageForEmployee.contains("{ao_designation}")){
                 String localisationMessageForPlaceholder =  notificationUtil.getLocalizationMessages(request.getService().getTenantId(), request.getRequestInfo(),COMMON_MODULE);
@@ -327,7 +362,7 @@ public class NotificationService {
                 messageForCitizen = messageForCitizen.replace("{emp_designation}",reassigneeDetails.get(DESIGNATION));
 
             if (messageForCitizen.contains("{emp_name}"))
-                messageForCitizen = messageForCitizen.replace("{emp_name}", fetchUserByUUID(request.getWorkflow().getAssignes().get(0), request.getRequestInfo(), request.getService().getTenantId()).getName());
+                messageForCitizen = messageForCitizen.replace("{emp_name}", resolveUser(recipients, request.getWorkflow().getAssignes().get(0), request).getName());
 
             if(messageForEmployee.contains("{ulb}")) {
                 String localisationMessageForPlaceholder =  notificationUtil.getLocalizationMessages(request.getService().getTenantId(), request.getRequestInfo(),COMMON_MODULE);
@@ -336,7 +371,7 @@ public class NotificationService {
             }
 
             if (messageForEmployee.contains("{emp_name}"))
-                messageForEmployee = messageForEmployee.replace("{emp_name}", fetchUserByUUID(request.getRequestInfo().getUserInfo().getUuid(), request.getRequestInfo(), request.getService().getTenantId()).getName());
+                messageForEmployee = messageForEmployee.replace("{emp_name}", resolveUser(recipients, request.getRequestInfo().getUserInfo().getUuid(), request).getName());
 
             if(messageForEmployee.contains("{ao_designation}")){
                 String localisationMessageForPlaceholder =  notificationUtil.getLocalizationMessages(request.getService().getTenantId(), request.getRequestInfo(),COMMON_MODULE);
@@ -503,7 +538,7 @@ public class NotificationService {
                 messageForCitizen = messageForCitizen.replace("{emp_designation}",reassigneeDetails.get(DESIGNATION));
 
             if (messageForCitizen.contains("{emp_name}"))
-                messageForCitizen = messageForCitizen.replace("{emp_name}", fetchUserByUUID(request.getWorkflow().getAssignes().get(0), request.getRequestInfo(), request.getService().getTenantId()).getName());
+                messageForCitizen = messageForCitizen.replace("{emp_name}", resolveUser(recipients, request.getWorkflow().getAssignes().get(0), request).getName());
 
             if(messageForEmployee.contains("{ulb}")) {
                 String localisationMessageForPlaceholder =  notificationUtil.getLocalizationMessages(request.getService().getTenantId(), request.getRequestInfo(),COMMON_MODULE);
@@ -512,7 +547,7 @@ public class NotificationService {
             }
 
             if (messageForEmployee.contains("{emp_name}"))
-                messageForEmployee = messageForEmployee.replace("{emp_name}", fetchUserByUUID(request.getRequestInfo().getUserInfo().getUuid(), request.getRequestInfo(), request.getService().getTenantId()).getName());
+                messageForEmployee = messageForEmployee.replace("{emp_name}", resolveUser(recipients, request.getRequestInfo().getUserInfo().getUuid(), request).getName());
 
             if(messageForEmployee.contains("{ao_designation}")){
                 String localisationMessageForPlaceholder =  notificationUtil.getLocalizationMessages(request.getService().getTenantId(), request.getRequestInfo(),COMMON_MODULE);
@@ -559,6 +594,109 @@ public class NotificationService {
         return message;
     }
 
+    /**
+     * Returns the user with the given UUID from the users resolved for the batch, searching
+     * the user when it was not resolved.
+     */
+    private User resolveUser(NotificationRecipients recipients, String uuid, ServiceRequest request) {
+        User user = recipients.users.get(uuid);
+        if (user == null) {
+            user = fetchUserByUUID(uuid, request.getRequestInfo(), request.getService().getTenantId());
+            if (user != null)
+                recipients.users.put(uuid, user);
+        }
+        return user;
+    }
+
+    /**
+     * Searches the assignees, creators and updaters of the complaints of a batch with one
+     * user search per tenant.
+     *
+     * @param complaintEvents The complaint events of the batch
+     * @return The users of the batch by UUID
+     */
+    private NotificationRecipients resolveRecipients(List<ComplaintEvent> complaintEvents) {
+        NotificationRecipients recipients = new NotificationRecipients();
+        if (complaintEvents.size() < 2)
+            return recipients;
+
+        Map<String, Set<String>> uuidsByTenant = new HashMap<>();
+        Map<String, RequestInfo> requestInfoByTenant = new HashMap<>();
+        for (ComplaintEvent complaintEvent : complaintEvents) {
+            ServiceRequest request = complaintEvent.getRequest();
+            String tenantId = request.getService().getTenantId();
+            Set<String> uuids = uuidsByTenant.computeIfAbsent(tenantId, key -> new HashSet<>());
+            requestInfoByTenant.putIfAbsent(tenantId, request.getRequestInfo());
+            if (request.getWorkflow() != null && !CollectionUtils.isEmpty(request.getWorkflow().getAssignes()))
+                uuids.add(request.getWorkflow().getAssignes().get(0));
+            if (request.getService().getAuditDetails() != null && request.getService().getAuditDetails().getCreatedBy() != null)
+                uuids.add(request.getService().getAuditDetails().getCreatedBy());
+            if (request.getRequestInfo().getUserInfo() != null && request.getRequestInfo().getUserInfo().getUuid() != null)
+                uuids.add(request.getRequestInfo().getUserInfo().getUuid());
+        }
+
+        for (Map.Entry<String, Set<String>> entry : uuidsByTenant.entrySet()) {
+            if (!entry.getValue().isEmpty())
+                recipients.users.putAll(fetchUsersByUUIDs(entry.getValue(), requestInfoByTenant.get(entry.getKey()), entry.getKey()));
+        }
+        return recipients;
+    }
+
+    /**
+     * Fetches the employees with the given UUIDs with a single user search.
+     *
+     * @param uuids - UUIDs of the users
+     * @param requestInfo - Request Info Object
+     * @param tenantId - Tenant Id
+     * @return - Returns the users found by UUID
+     */
+    private Map<String, User> fetchUsersByUUIDs(Set<String> uuids, RequestInfo requestInfo, String tenantId) {
+        User userInfoCopy = requestInfo.getUserInfo();
+        requestInfo.setUserInfo(getInternalMicroserviceUser(tenantId));
+
+        StringBuilder uri = new StringBuilder();
+        uri.append(config.getUserHost()).append(config.getUserSearchEndpoint());
+        Map<String, Object> userSearchRequest = new HashMap<>();
+        userSearchRequest.put("RequestInfo", requestInfo);
+        userSearchRequest.put("tenantId", tenantId);
+        userSearchRequest.put("userType", "EMPLOYEE");
+        userSearchRequest.put("uuid", uuids);
+        Map<String, User> users = new HashMap<>();
+        try {
+            LinkedHashMap<String, Object> responseMap = (LinkedHashMap<String, Object>) serviceRequestRepository.fetchResult(uri, userSearchRequest);
+            parseResponse(responseMap, "yyyy-MM-dd");
+            List<LinkedHashMap<String, Object>> userMaps = (List<LinkedHashMap<String, Object>>) responseMap.get("user");
+            for (LinkedHashMap<String, Object> userMap : userMaps) {
+                User user = mapper.convertValue(userMap, User.class);
+                users.put(user.getUuid(), user);
+            }
+        } catch (Exception e) {
+            log.error("Exception while searching the users of a notification batch: ", e);
+        } finally {
+            requestInfo.setUserInfo(userInfoCopy);
+        }
+        return users;
+    }
+
+    /**
+     * Combines the events of event requests made with the same user into one event request.
+     */
+    private List<EventRequest> mergeEventRequests(List<EventRequest> eventRequests) {
+        Map<String, EventRequest> eventRequestByUser = new LinkedHashMap<>();
+        for (EventRequest eventRequest : eventRequests) {
+            User userInfo = eventRequest.getRequestInfo() == null ? null : eventRequest.getRequestInfo().getUserInfo();
+            String key = userInfo == null ? "" : String.valueOf(userInfo.getUuid());
+            EventRequest merged = eventRequestByUser.get(key);
+            if (merged == null) {
+                eventRequestByUser.put(key, EventRequest.builder().requestInfo(eventRequest.getRequestInfo())
+                        .events(new ArrayList<>(eventRequest.getEvents())).build());
+            } else {
+                merged.getEvents().addAll(eventRequest.getEvents());
+            }
+        }
+        return new ArrayList<>(eventRequestByUser.values());
+    }
+
     /**
      * Fetches User Object based on the UUID.
      *
@@ -748,11 +886,12 @@ public class NotificationService {
         return smsRequest;
     }
 
-    private EventRequest enrichEventRequest(ServiceRequest request, String finalMessage) {
+    private EventRequest enrichEventRequest(ServiceRequest request, String finalMessage, NotificationRecipients recipients) {
         String tenantId = request.getService().getTenantId();
         String mobileNumber = request.getService().getUser().getMobileNumber();
 
-        Map<String, String> mapOfPhoneNoAndUUIDs = fetchUserUUIDs(mobileNumber, request.getRequestInfo(),tenantId);
+        Map<String, String> mapOfPhoneNoAndUUIDs = recipients.citizenUUIDs.computeIfAbsent(tenantId + "|" + mobileNumber,
+                key -> fetchUserUUIDs(mobileNumber, request.getRequestInfo(), tenantId));
 
         if (CollectionUtils.isEmpty(mapOfPhoneNoAndUUIDs.keySet())) {
             log.info("UUID search failed!");
@@ -842,4 +981,12 @@ public class NotificationService {
         return userInfo;
     }
 
-}
\ No newline at end of file
+    /**
+     * Users resolved for a batch of complaint events
+     */
+    private static class NotificationRecipients {
+        private final Map<String, User> users = new HashMap<>();
+        private final Map<String, Map<String, String>> citizenUUIDs = new HashMap<>();
+    }
+
+}
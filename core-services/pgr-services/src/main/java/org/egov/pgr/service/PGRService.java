@@ -6,6 +6,7 @@ import org.egov.pgr.config.PGRConfiguration;
 import org.egov.pgr.producer.Producer;
 import org.egov.pgr.repository.PGRRepository;
 import org.egov.pgr.util.MDMSUtils;
+import org.egov.pgr.util.SearchCursor;
 import org.egov.pgr.validator.ServiceRequestValidator;
 import org.egov.pgr.web.models.RequestSearchCriteria;
 import org.egov.pgr.web.models.ServiceRequest;
@@ -14,10 +15,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 @org.springframework.stereotype.Service
 public class PGRService {
@@ -42,11 +41,13 @@ public class PGRService {
 
     private MDMSUtils mdmsUtils;
 
+    private StatisticsService statisticsService;
+
 
     @Autowired
     public PGRService(EnrichmentService enrichmentService, UserService userService, WorkflowService workflowService,
                       ServiceRequestValidator serviceRequestValidator, ServiceRequestValidator validator, Producer producer,
-                      PGRConfiguration config, PGRRepository repository, MDMSUtils mdmsUtils) {
+                      PGRConfiguration config, PGRRepository repository, MDMSUtils mdmsUtils, StatisticsService statisticsService) {
         this.enrichmentService = enrichmentService;
         this.userService = userService;
         this.workflowService = workflowService;
@@ -56,6 +57,7 @@ public class PGRService {
         this.config = config;
         this.repository = repository;
         this.mdmsUtils = mdmsUtils;
+        this.statisticsService = statisticsService;
     }
 
 
@@ -93,6 +95,7 @@ public class PGRService {
 
         criteria.setIsPlainSearch(false);
 
+        // complaints are ordered and paged by the database
         List<ServiceWrapper> serviceWrappers = repository.getServiceWrappers(criteria);
 
         if(CollectionUtils.isEmpty(serviceWrappers))
@@ -100,21 +103,7 @@ public class PGRService {
 
         userService.enrichUsers(serviceWrappers);
         List<ServiceWrapper> enrichedServiceWrappers = workflowService.enrichWorkflow(requestInfo,serviceWrappers);
-        Map<Long, List<ServiceWrapper>> sortedWrappers = new TreeMap<>(Collections.reverseOrder());
-        for(ServiceWrapper svc : enrichedServiceWrappers){
-            if(sortedWrappers.containsKey(svc.getService().getAuditDetails().getCreatedTime())){
-                sortedWrappers.get(svc.getService().getAuditDetails().getCreatedTime()).add(svc);
-            }else{
-                List<ServiceWrapper> serviceWrapperList = new ArrayList<>();
-                serviceWrapperList.add(svc);
-                sortedWrappers.put(svc.getService().getAuditDetails().getCreatedTime(), serviceWrapperList);
-            }
-        }
-        List<ServiceWrapper> sortedServiceWrappers = new ArrayList<>();
-        for(Long createdTimeDesc : sortedWrappers.keySet()){
-            sortedServiceWrappers.addAll(sortedWrappers.get(createdTimeDesc));
-        }
-        return sortedServiceWrappers;
+        return enrichedServiceWrappers;
     }
 
 
@@ -167,28 +156,35 @@ public class PGRService {
 
         userService.enrichUsers(serviceWrappers);
         List<ServiceWrapper> enrichedServiceWrappers = workflowService.enrichWorkflow(requestInfo, serviceWrappers);
+        return enrichedServiceWrappers;
+    }
 
-        Map<Long, List<ServiceWrapper>> sortedWrappers = new TreeMap<>(Collections.reverseOrder());
-        for(ServiceWrapper svc : enrichedServiceWrappers){
-            if(sortedWrappers.containsKey(svc.getService().getAuditDetails().getCreatedTime())){
-                sortedWrappers.get(svc.getService().getAuditDetails().getCreatedTime()).add(svc);
-            }else{
-                List<ServiceWrapper> serviceWrapperList = new ArrayList<>();
-                serviceWrapperList.add(svc);
-                sortedWrappers.put(svc.getService().getAuditDetails().getCreatedTime(), serviceWrapperList);
-            }
-        }
-        List<ServiceWrapper> sortedServiceWrappers = new ArrayList<>();
-        for(Long createdTimeDesc : sortedWrappers.keySet()){
-            sortedServiceWrappers.addAll(sortedWrappers.get(createdTimeDesc));
-        }
-        return sortedServiceWrappers;
+
+    /**
+     * Returns the cursor from which the search continues after the given page, or null when the
+     * page is the last one or the search is not sorted on created time
+     * @param criteria The search criteria of the page
+     * @param serviceWrappers The complaints of the page in search order
+     * @return The opaque continuation cursor
+     */
+    public String getNextCursor(RequestSearchCriteria criteria, List<ServiceWrapper> serviceWrappers) {
+        if(criteria.getSortBy() != null || CollectionUtils.isEmpty(serviceWrappers)
+                || criteria.getLimit() == null || serviceWrappers.size() < criteria.getLimit())
+            return null;
+
+        return SearchCursor.of(serviceWrappers.get(serviceWrappers.size() - 1).getService()).encode();
     }
 
 
 	public Map<String, Integer> getDynamicData(String tenantId) {
-		
-		Map<String,Integer> dynamicData = repository.fetchDynamicData(tenantId);
+
+		// statistics maintained from complaint events, aggregated over the complaints until they are built for the tenant
+		Map<String,Integer> dynamicData = null;
+		if(config.getIsIncrementalStatisticsEnabled())
+			dynamicData = statisticsService.getDynamicData(tenantId);
+
+		if(dynamicData == null)
+			dynamicData = repository.fetchDynamicData(tenantId);
 
 		return dynamicData;
 	}
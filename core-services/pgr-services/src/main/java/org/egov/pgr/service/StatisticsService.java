@@ -0,0 +1,85 @@
+package org.egov.pgr.service;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.common.contract.request.Role;
+import org.egov.pgr.config.PGRConfiguration;
+import org.egov.pgr.repository.StatisticsRepository;
+import org.egov.pgr.util.PGRConstants;
+import org.egov.pgr.web.models.ServiceRequest;
+import org.egov.tracer.model.CustomException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.egov.pgr.repository.StatisticsRepository.DAY_IN_MILLIS;
+
+@org.springframework.stereotype.Service
+public class StatisticsService {
+
+    private PGRConfiguration config;
+
+    private StatisticsRepository repository;
+
+    @Autowired
+    public StatisticsService(PGRConfiguration config, StatisticsRepository repository) {
+        this.config = config;
+        this.repository = repository;
+    }
+
+    /**
+     * Applies a complaint create or update event to the statistics of the tenant
+     * @param request The complaint consumed
+     */
+    public void record(ServiceRequest request) {
+        if (request.getService() == null || request.getService().getAuditDetails() == null)
+            return;
+        repository.record(request.getService());
+    }
+
+    /**
+     * Returns the number of complaints resolved in the configured period and the average resolution
+     * time in days of the tenant, read from the maintained statistics
+     * @param tenantId The tenant of the statistics
+     * @return The statistics, with -1 as average resolution time when no complaint was resolved, or null
+     * when the statistics of the tenant have not been rebuilt
+     */
+    public Map<String, Integer> getDynamicData(String tenantId) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DATE, -1 * Integer.valueOf(config.getNumberOfDays()));
+        long fromDay = Math.floorDiv(calendar.getTimeInMillis(), DAY_IN_MILLIS);
+
+        long[] statistics = repository.getStatistics(tenantId, fromDay);
+        if (statistics == null)
+            return null;
+        long resolvedCount = statistics[1];
+        int averageResolutionTime = resolvedCount == 0 ? -1 : (int) Math.round((double) statistics[2] / resolvedCount / DAY_IN_MILLIS);
+
+        Map<String, Integer> dynamicData = new HashMap<>();
+        dynamicData.put(PGRConstants.COMPLAINTS_RESOLVED, (int) statistics[0]);
+        dynamicData.put(PGRConstants.AVERAGE_RESOLUTION_TIME, averageResolutionTime);
+        return dynamicData;
+    }
+
+    /**
+     * Recomputes the statistics of the tenant from the stored complaints, for a user holding one of the
+     * configured rebuild roles
+     * @param requestInfo The request info of the user rebuilding
+     * @param tenantId The tenant to rebuild
+     * @return The number of complaints the statistics were rebuilt from
+     */
+    public int rebuild(RequestInfo requestInfo, String tenantId) {
+        if (StringUtils.isEmpty(tenantId))
+            throw new CustomException("INVALID_TENANT_ID", "The tenantId is mandatory to rebuild complaint statistics");
+
+        List<Role> roles = requestInfo == null || requestInfo.getUserInfo() == null ? null : requestInfo.getUserInfo().getRoles();
+        if (CollectionUtils.isEmpty(roles) || roles.stream().noneMatch(role -> config.getStatisticsRebuildRoles().contains(role.getCode())))
+            throw new CustomException("UNAUTHORIZED", "The user is not authorized to rebuild complaint statistics");
+
+        return repository.rebuild(tenantId);
+    }
+}
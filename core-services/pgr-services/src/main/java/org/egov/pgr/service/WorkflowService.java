@@ -6,6 +6,7 @@ import org.egov.common.contract.request.RequestInfo;
 import org.egov.common.contract.request.User;
 import org.egov.pgr.config.PGRConfiguration;
 import org.egov.pgr.repository.ServiceRequestRepository;
+import org.egov.pgr.util.ExpiringCache;
 import org.egov.pgr.web.models.RequestInfoWrapper;
 import org.egov.pgr.web.models.Service;
 import org.egov.pgr.web.models.ServiceRequest;
@@ -40,12 +41,15 @@ public class WorkflowService {
 
     private ObjectMapper mapper;
 
+    private ExpiringCache<BusinessService> businessServiceCache;
+
 
     @Autowired
     public WorkflowService(PGRConfiguration pgrConfiguration, ServiceRequestRepository repository, ObjectMapper mapper) {
         this.pgrConfiguration = pgrConfiguration;
         this.repository = repository;
         this.mapper = mapper;
+        this.businessServiceCache = new ExpiringCache<>(pgrConfiguration.getBusinessServiceCacheTtlSeconds());
     }
 
     /*
@@ -54,9 +58,23 @@ public class WorkflowService {
      *
      * */
     public BusinessService getBusinessService(ServiceRequest serviceRequest) {
-        String tenantId = serviceRequest.getService().getTenantId();
+        return getBusinessService(serviceRequest.getService().getTenantId(), serviceRequest.getRequestInfo());
+    }
+
+    /**
+     * Returns the PGR business service of the tenant, cached per tenant
+     *
+     * @param tenantId    The tenantId of the business service
+     * @param requestInfo The requestInfo used to search the business service
+     * @return The business service
+     */
+    public BusinessService getBusinessService(String tenantId, RequestInfo requestInfo) {
+        return businessServiceCache.get(tenantId, () -> fetchBusinessService(tenantId, requestInfo));
+    }
+
+    private BusinessService fetchBusinessService(String tenantId, RequestInfo requestInfo) {
         StringBuilder url = getSearchURLWithParams(tenantId, PGR_BUSINESSSERVICE);
-        RequestInfoWrapper requestInfoWrapper = RequestInfoWrapper.builder().requestInfo(serviceRequest.getRequestInfo()).build();
+        RequestInfoWrapper requestInfoWrapper = RequestInfoWrapper.builder().requestInfo(requestInfo).build();
         Object result = repository.fetchResult(url, requestInfoWrapper);
         BusinessServiceResponse response = null;
         try {
@@ -127,8 +145,6 @@ public class WorkflowService {
         // FIX ME FOR BULK SEARCH
         Map<String, List<ServiceWrapper>> tenantIdToServiceWrapperMap = getTenantIdToServiceWrapperMap(serviceWrappers);
 
-        List<ServiceWrapper> enrichedServiceWrappers = new ArrayList<>();
-
         for(String tenantId : tenantIdToServiceWrapperMap.keySet()) {
 
             List<String> serviceRequestIds = new ArrayList<>();
@@ -160,11 +176,10 @@ public class WorkflowService {
             tenantSpecificWrappers.forEach(pgrEntity -> {
                 pgrEntity.setWorkflow(businessIdToWorkflow.get(pgrEntity.getService().getServiceRequestId()));
             });
-
-            enrichedServiceWrappers.addAll(tenantSpecificWrappers);
         }
 
-        return enrichedServiceWrappers;
+        // workflows are set on the wrappers themselves, so the wrappers are returned in search order
+        return serviceWrappers;
 
     }
 
@@ -0,0 +1,107 @@
+package org.egov.pgr.util;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Time-to-live cache for data fetched from other services, such as localization messages and
+ * workflow business services. Concurrent lookups of a missing key share a single load, so a burst
+ * of complaints for the same tenant results in one call to the owning service. Loads returning
+ * null or an empty map or collection are not cached.
+ */
+public class ExpiringCache<V> {
+
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final long ttlMillis;
+
+    public ExpiringCache(long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Returns the cached value for the key, loading it with the given loader when it is absent or has expired.
+     */
+    public V get(String key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired()) {
+            return entry.join();
+        }
+
+        Entry<V> loading = new Entry<>(System.currentTimeMillis() + ttlMillis);
+        boolean owner = entry == null ? entries.putIfAbsent(key, loading) == null : entries.replace(key, entry, loading);
+        if (!owner) {
+            // another thread is loading the key, wait for its value
+            Entry<V> current = entries.get(key);
+            return current != null ? current.join() : get(key, loader);
+        }
+
+        try {
+            V value = loader.get();
+            loading.value.complete(value);
+            if (isEmpty(value)) {
+                entries.remove(key, loading);
+            }
+            return value;
+        } catch (RuntimeException e) {
+            entries.remove(key, loading);
+            loading.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void put(String key, V value) {
+        if (isEmpty(value)) {
+            return;
+        }
+        Entry<V> entry = new Entry<>(System.currentTimeMillis() + ttlMillis);
+        entry.value.complete(value);
+        entries.put(key, entry);
+    }
+
+    private static boolean isEmpty(Object value) {
+        if (value instanceof Map)
+            return ((Map<?, ?>) value).isEmpty();
+        if (value instanceof Collection)
+            return ((Collection<?>) value).isEmpty();
+        return value == null;
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+
+        private final long expiresAt;
+
+        private Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+
+        private V join() {
+            try {
+                return value.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
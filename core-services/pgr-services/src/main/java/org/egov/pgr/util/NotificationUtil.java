@@ -15,6 +15,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -38,7 +39,15 @@ public class NotificationUtil {
     @Autowired
     private RestTemplate restTemplate;
 
+    private ExpiringCache<String> localizationCache;
+
+    @PostConstruct
+    public void initialize() {
+        localizationCache = new ExpiringCache<>(config.getLocalizationCacheTtlSeconds());
+    }
+
     /**
+     * Returns the localization messages of the module, cached per tenant, locale and module
      *
      * @param tenantId Tenant ID
      * @param requestInfo Request Info object
@@ -46,9 +55,40 @@ public class NotificationUtil {
      * @return Return Localisation Message
      */
     public String getLocalizationMessages(String tenantId, RequestInfo requestInfo,String module) {
+        StringBuilder uri = getUri(tenantId, requestInfo, module);
+        String localizationMessages = localizationCache.get(uri.toString(), () -> fetchLocalizationMessages(uri, requestInfo));
+        return localizationMessages != null ? localizationMessages : new JSONObject().toString();
+    }
+
+    /**
+     * Loads the localization messages of the modules for the given tenant and locale into the cache
+     *
+     * @param tenantId Tenant ID
+     * @param locale Locale of the messages
+     * @param modules Module names
+     * @return The modules whose messages could not be loaded
+     */
+    public List<String> warmUpLocalizationMessages(String tenantId, String locale, List<String> modules) {
+        RequestInfo requestInfo = new RequestInfo();
+        requestInfo.setMsgId("pgr-cache-warmup|" + locale);
+        List<String> failedModules = new ArrayList<>();
+        for (String module : modules) {
+            StringBuilder uri = getUri(tenantId, requestInfo, module);
+            String localizationMessages = fetchLocalizationMessages(uri, requestInfo);
+            if (localizationMessages == null)
+                failedModules.add(module);
+            else
+                localizationCache.put(uri.toString(), localizationMessages);
+        }
+        return failedModules;
+    }
+
+    private String fetchLocalizationMessages(StringBuilder uri, RequestInfo requestInfo) {
         @SuppressWarnings("rawtypes")
-        LinkedHashMap responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(getUri(tenantId, requestInfo, module),
-                requestInfo);
+        LinkedHashMap responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(uri, requestInfo);
+        // a failed search comes back as null, and is not cached any more than a bundle without messages
+        if (responseMap == null || CollectionUtils.isEmpty((List) responseMap.get("messages")))
+            return null;
         return new JSONObject(responseMap).toString();
     }
 
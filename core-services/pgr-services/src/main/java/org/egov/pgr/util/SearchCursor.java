@@ -0,0 +1,44 @@
+package org.egov.pgr.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.egov.pgr.web.models.Service;
+import org.egov.tracer.model.CustomException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation cursor of the complaint search. It holds the created time and id of the last
+ * complaint of a page and is handed to clients as an opaque string, from which the next page
+ * continues.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private Long createdTime;
+
+    private String id;
+
+    public static SearchCursor of(Service service) {
+        return new SearchCursor(service.getAuditDetails().getCreatedTime(), service.getId());
+    }
+
+    public String encode() {
+        String cursor = createdTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.indexOf(SEPARATOR);
+            return new SearchCursor(Long.valueOf(decoded.substring(0, separatorIndex)), decoded.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new CustomException("INVALID_CURSOR", "The search cursor: " + cursor + " is not valid");
+        }
+    }
+}
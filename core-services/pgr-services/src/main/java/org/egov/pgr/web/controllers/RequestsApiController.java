@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.egov.common.contract.response.ResponseInfo;
 import org.egov.pgr.service.PGRService;
+import org.egov.pgr.service.StatisticsService;
 import org.egov.pgr.util.PGRConstants;
 import org.egov.pgr.util.ResponseInfoFactory;
 import org.egov.pgr.web.models.CountResponse;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.validation.Valid;
 import java.io.IOException;
@@ -41,12 +43,16 @@ public class RequestsApiController{
 
     private ResponseInfoFactory responseInfoFactory;
 
+    private StatisticsService statisticsService;
+
 
     @Autowired
-    public RequestsApiController(ObjectMapper objectMapper, PGRService pgrService, ResponseInfoFactory responseInfoFactory) {
+    public RequestsApiController(ObjectMapper objectMapper, PGRService pgrService, ResponseInfoFactory responseInfoFactory,
+                                 StatisticsService statisticsService) {
         this.objectMapper = objectMapper;
         this.pgrService = pgrService;
         this.responseInfoFactory = responseInfoFactory;
+        this.statisticsService = statisticsService;
     }
 
 
@@ -74,7 +80,8 @@ public class RequestsApiController{
         
         ResponseInfo responseInfo = responseInfoFactory.createResponseInfoFromRequestInfo(requestInfoWrapper.getRequestInfo(), true);
         ServiceResponse response = ServiceResponse.builder().responseInfo(responseInfo).serviceWrappers(serviceWrappers).complaintsResolved(complaintsResolved)
-        		.averageResolutionTime(averageResolutionTime).complaintTypes(complaintTypes).build();
+        		.averageResolutionTime(averageResolutionTime).complaintTypes(complaintTypes)
+        		.nextCursor(pgrService.getNextCursor(criteria, serviceWrappers)).build();
         return new ResponseEntity<>(response, HttpStatus.OK);
 
     }
@@ -83,7 +90,8 @@ public class RequestsApiController{
     public ResponseEntity<ServiceResponse> requestsPlainSearchPost(@Valid @RequestBody RequestInfoWrapper requestInfoWrapper, @Valid @ModelAttribute RequestSearchCriteria requestSearchCriteria) {
         List<ServiceWrapper> serviceWrappers = pgrService.plainSearch(requestInfoWrapper.getRequestInfo(), requestSearchCriteria);
         ResponseInfo responseInfo = responseInfoFactory.createResponseInfoFromRequestInfo(requestInfoWrapper.getRequestInfo(), true);
-        ServiceResponse response = ServiceResponse.builder().responseInfo(responseInfo).serviceWrappers(serviceWrappers).build();
+        ServiceResponse response = ServiceResponse.builder().responseInfo(responseInfo).serviceWrappers(serviceWrappers)
+                .nextCursor(pgrService.getNextCursor(requestSearchCriteria, serviceWrappers)).build();
         return new ResponseEntity<>(response, HttpStatus.OK);
 
     }
@@ -107,4 +115,14 @@ public class RequestsApiController{
 
     }
 
+    @RequestMapping(value="/request/statistics/_rebuild", method = RequestMethod.POST)
+    public ResponseEntity<CountResponse> requestsStatisticsRebuildPost(@Valid @RequestBody RequestInfoWrapper requestInfoWrapper,
+                                                                       @RequestParam(value = "tenantId") String tenantId) {
+        Integer count = statisticsService.rebuild(requestInfoWrapper.getRequestInfo(), tenantId);
+        ResponseInfo responseInfo = responseInfoFactory.createResponseInfoFromRequestInfo(requestInfoWrapper.getRequestInfo(), true);
+        CountResponse response = CountResponse.builder().responseInfo(responseInfo).count(count).build();
+        return new ResponseEntity<>(response, HttpStatus.OK);
+
+    }
+
 }
@@ -0,0 +1,18 @@
+package org.egov.pgr.web.models.Notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.egov.pgr.web.models.ServiceRequest;
+
+/**
+ * A complaint consumed from the create or update topic, waiting for its notifications to be sent
+ */
+@Getter
+@AllArgsConstructor
+public class ComplaintEvent {
+
+    private ServiceRequest request;
+
+    private String topic;
+
+}
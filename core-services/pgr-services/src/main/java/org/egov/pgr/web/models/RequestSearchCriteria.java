@@ -67,6 +67,10 @@ public class RequestSearchCriteria {
     @JsonProperty("offset")
     private Integer offset;
 
+    @SafeHtml
+    @JsonProperty("cursor")
+    private String cursor;
+
     @JsonIgnore
     private Set<String> userIds;
 
@@ -1,5 +1,6 @@
 package org.egov.pgr.web.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.annotations.ApiModel;
 import lombok.AllArgsConstructor;
@@ -40,6 +41,10 @@ public class ServiceResponse   {
         @JsonProperty("complaintTypes")
         private int complaintTypes;
 
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonProperty("nextCursor")
+        private String nextCursor;
+
 
 }
 
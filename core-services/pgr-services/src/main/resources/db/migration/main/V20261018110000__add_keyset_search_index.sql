@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS index_eg_pgr_service_v2_tenantId_createdtime_id ON eg_pgr_service_v2 (tenantId, createdtime DESC, id DESC);
+CREATE INDEX IF NOT EXISTS index_eg_pgr_service_v2_createdtime_id ON eg_pgr_service_v2 (createdtime DESC, id DESC);
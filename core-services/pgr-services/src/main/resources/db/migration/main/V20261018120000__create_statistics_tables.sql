@@ -0,0 +1,27 @@
+CREATE TABLE IF NOT EXISTS eg_pgr_statistics_complaint_v2(
+id                  CHARACTER VARYING(64) NOT NULL,
+tenantid            CHARACTER VARYING(256) NOT NULL,
+applicationstatus   CHARACTER VARYING(128),
+createdtime         BIGINT,
+lastmodifiedtime    BIGINT,
+
+CONSTRAINT pk_eg_pgr_statistics_complaint_v2 PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS eg_pgr_statistics_v2(
+tenantid            CHARACTER VARYING(256) NOT NULL,
+resolvedcount       BIGINT NOT NULL DEFAULT 0,
+resolutiontime      BIGINT NOT NULL DEFAULT 0,
+
+CONSTRAINT pk_eg_pgr_statistics_v2 PRIMARY KEY (tenantid)
+);
+
+CREATE TABLE IF NOT EXISTS eg_pgr_statistics_daily_v2(
+tenantid            CHARACTER VARYING(256) NOT NULL,
+day                 BIGINT NOT NULL,
+resolvedcount       BIGINT NOT NULL DEFAULT 0,
+
+CONSTRAINT pk_eg_pgr_statistics_daily_v2 PRIMARY KEY (tenantid, day)
+);
+
+CREATE INDEX IF NOT EXISTS index_eg_pgr_statistics_complaint_v2_tenantid ON eg_pgr_statistics_complaint_v2 (tenantid);
@@ -0,0 +1 @@
+ALTER TABLE eg_pgr_statistics_v2 ADD COLUMN IF NOT EXISTS rebuilttime BIGINT;
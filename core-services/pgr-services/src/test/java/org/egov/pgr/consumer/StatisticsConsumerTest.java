@@ -0,0 +1,66 @@
+package org.egov.pgr.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.egov.pgr.service.StatisticsService;
+import org.egov.pgr.web.models.ServiceRequest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatisticsConsumerTest {
+
+    @Mock
+    private StatisticsService statisticsService;
+
+    @Spy
+    private ObjectMapper mapper = new ObjectMapper();
+
+    @InjectMocks
+    private StatisticsConsumer statisticsConsumer;
+
+    @Test
+    public void recordsConsumedComplaint() {
+        statisticsConsumer.listen(record(), "update-pgr-request");
+
+        ArgumentCaptor<ServiceRequest> captor = ArgumentCaptor.forClass(ServiceRequest.class);
+        verify(statisticsService).record(captor.capture());
+        assertEquals("complaint-1", captor.getValue().getService().getId());
+        assertEquals("CLOSEDAFTERRESOLUTION", captor.getValue().getService().getApplicationStatus());
+        assertEquals(Long.valueOf(5000L), captor.getValue().getService().getAuditDetails().getLastModifiedTime());
+    }
+
+    @Test
+    public void keepsConsumingWhenRecordingFails() {
+        doThrow(new RuntimeException("connection refused")).when(statisticsService).record(any(ServiceRequest.class));
+
+        statisticsConsumer.listen(record(), "update-pgr-request");
+
+        verify(statisticsService).record(any(ServiceRequest.class));
+    }
+
+    private HashMap<String, Object> record() {
+        HashMap<String, Object> auditDetails = new HashMap<>();
+        auditDetails.put("createdTime", 1000L);
+        auditDetails.put("lastModifiedTime", 5000L);
+        HashMap<String, Object> service = new HashMap<>();
+        service.put("id", "complaint-1");
+        service.put("tenantId", "pb.amritsar");
+        service.put("applicationStatus", "CLOSEDAFTERRESOLUTION");
+        service.put("auditDetails", auditDetails);
+        HashMap<String, Object> record = new HashMap<>();
+        record.put("service", service);
+        return record;
+    }
+}
@@ -0,0 +1,115 @@
+package org.egov.pgr.repository;
+
+import org.egov.pgr.web.models.AuditDetails;
+import org.egov.pgr.web.models.Service;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.egov.pgr.repository.StatisticsRepository.DAY_IN_MILLIS;
+import static org.egov.pgr.util.PGRConstants.CLOSED_AFTER_RESOLUTION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatisticsRepositoryTest {
+
+    private static final String TENANT_ID = "pb.amritsar";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private StatisticsRepository repository;
+
+    @Before
+    public void setUp() {
+        repository = new StatisticsRepository(jdbcTemplate);
+    }
+
+    @Test
+    public void countsComplaintResolvedOnFirstEvent() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO eg_pgr_statistics_complaint_v2"), any(), any(), any(), any(), any())).thenReturn(1);
+
+        repository.record(service(CLOSED_AFTER_RESOLUTION, 1000L, 1000L + 2 * DAY_IN_MILLIS));
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO eg_pgr_statistics_v2"), eq(TENANT_ID), eq(1), eq(2 * DAY_IN_MILLIS));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO eg_pgr_statistics_daily_v2"), eq(TENANT_ID), eq(Math.floorDiv(1000L + 2 * DAY_IN_MILLIS, DAY_IN_MILLIS)), eq(1));
+    }
+
+    @Test
+    public void ignoresEventNotNewerThanAppliedOne() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO eg_pgr_statistics_complaint_v2"), any(), any(), any(), any(), any())).thenReturn(0);
+        when(jdbcTemplate.queryForList(startsWith("SELECT tenantid, applicationstatus"), eq("complaint-1")))
+                .thenReturn(Collections.singletonList(appliedState(CLOSED_AFTER_RESOLUTION, 1000L, 5000L)));
+
+        repository.record(service(CLOSED_AFTER_RESOLUTION, 1000L, 5000L));
+
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE eg_pgr_statistics_complaint_v2"), any(), any(), any(), any());
+        verify(jdbcTemplate, never()).update(startsWith("INSERT INTO eg_pgr_statistics_v2"), any(), any(), any());
+    }
+
+    @Test
+    public void subtractsComplaintLeavingResolvedState() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO eg_pgr_statistics_complaint_v2"), any(), any(), any(), any(), any())).thenReturn(0);
+        when(jdbcTemplate.queryForList(startsWith("SELECT tenantid, applicationstatus"), eq("complaint-1")))
+                .thenReturn(Collections.singletonList(appliedState(CLOSED_AFTER_RESOLUTION, 1000L, 5000L)));
+
+        repository.record(service("PENDINGATLME", 1000L, 9000L));
+
+        verify(jdbcTemplate).update(startsWith("UPDATE eg_pgr_statistics_complaint_v2"), eq("PENDINGATLME"), eq(1000L), eq(9000L), eq("complaint-1"));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO eg_pgr_statistics_v2"), eq(TENANT_ID), eq(-1), eq(-4000L));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO eg_pgr_statistics_daily_v2"), eq(TENANT_ID), eq(0L), eq(-1));
+    }
+
+    @Test
+    public void returnsNoStatisticsUntilRebuilt() {
+        when(jdbcTemplate.queryForList(eq("SELECT resolvedcount, resolutiontime FROM eg_pgr_statistics_v2 WHERE tenantid = ? AND rebuilttime IS NOT NULL"), eq(TENANT_ID)))
+                .thenReturn(Collections.emptyList());
+
+        assertNull(repository.getStatistics(TENANT_ID, 0L));
+    }
+
+    @Test
+    public void rebuildsOnlyGivenTenantAndMarksItRebuilt() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO eg_pgr_statistics_complaint_v2"), eq(TENANT_ID))).thenReturn(7);
+
+        assertEquals(7, repository.rebuild(TENANT_ID));
+
+        verify(jdbcTemplate).update("DELETE FROM eg_pgr_statistics_complaint_v2 WHERE tenantid = ?", TENANT_ID);
+        verify(jdbcTemplate).update("DELETE FROM eg_pgr_statistics_v2 WHERE tenantid = ?", TENANT_ID);
+        verify(jdbcTemplate).update("DELETE FROM eg_pgr_statistics_daily_v2 WHERE tenantid = ?", TENANT_ID);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO eg_pgr_statistics_v2 (tenantid, resolvedcount, resolutiontime, rebuilttime)"),
+                eq(TENANT_ID), any(Long.class), eq(TENANT_ID));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO eg_pgr_statistics_daily_v2"), eq(TENANT_ID));
+        verify(jdbcTemplate, never()).update(anyString());
+    }
+
+    private Service service(String status, Long createdTime, Long lastModifiedTime) {
+        return Service.builder().id("complaint-1").tenantId(TENANT_ID).applicationStatus(status)
+                .auditDetails(AuditDetails.builder().createdTime(createdTime).lastModifiedTime(lastModifiedTime).build())
+                .build();
+    }
+
+    private Map<String, Object> appliedState(String status, Long createdTime, Long lastModifiedTime) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("tenantid", TENANT_ID);
+        row.put("applicationstatus", status);
+        row.put("createdtime", createdTime);
+        row.put("lastmodifiedtime", lastModifiedTime);
+        return row;
+    }
+}
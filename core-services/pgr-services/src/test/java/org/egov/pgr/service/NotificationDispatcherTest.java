@@ -0,0 +1,191 @@
+package org.egov.pgr.service;
+
+import org.egov.pgr.config.PGRConfiguration;
+import org.egov.pgr.web.models.Notification.ComplaintEvent;
+import org.egov.pgr.web.models.Service;
+import org.egov.pgr.web.models.ServiceRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationDispatcherTest {
+
+    private static final String CREATE_TOPIC = "save-pgr-request";
+
+    private static final String UPDATE_TOPIC = "update-pgr-request";
+
+    @Mock
+    private NotificationService notificationService;
+
+    private PGRConfiguration config;
+
+    private NotificationDispatcher notificationDispatcher;
+
+    private final List<Batch> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private final CountDownLatch sending = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        config = new PGRConfiguration();
+        config.setIsAsyncNotificationEnabled(true);
+        config.setNotificationQueueCapacity(100);
+        config.setNotificationQueueOfferTimeoutMs(10L);
+        config.setNotificationBatchSize(3);
+        config.setNotificationBatchLingerMs(1000L);
+        config.setNotificationWorkers(1);
+        config.setNotificationShutdownTimeoutMs(5000L);
+        notificationDispatcher = new NotificationDispatcher(config, notificationService);
+
+        // records each batch sent, holding the first batch of the workers until released
+        doAnswer(invocation -> {
+            List<ComplaintEvent> complaintEvents = invocation.getArgument(0);
+            batches.add(new Batch(Thread.currentThread().getName(), complaintEvents));
+            if (Thread.currentThread().getName().startsWith("pgr-notification-")) {
+                sending.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(notificationService).process(anyList());
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        release.countDown();
+        notificationDispatcher.stop();
+    }
+
+    @Test
+    public void sendsQueuedEventsInBatches() throws InterruptedException {
+        release.countDown();
+        notificationDispatcher.start();
+
+        notificationDispatcher.dispatch(request("PGR-1"), CREATE_TOPIC);
+        notificationDispatcher.dispatch(request("PGR-2"), CREATE_TOPIC);
+        notificationDispatcher.dispatch(request("PGR-3"), CREATE_TOPIC);
+        notificationDispatcher.stop();
+
+        assertEquals(1, batches.size());
+        assertEquals(Arrays.asList("PGR-1", "PGR-2", "PGR-3"), batches.get(0).serviceRequestIds);
+    }
+
+    @Test
+    public void sendsEventsOfAComplaintInOrderOnOneWorker() throws InterruptedException {
+        config.setNotificationWorkers(4);
+        config.setNotificationQueueCapacity(1000);
+        config.setNotificationBatchSize(2);
+        config.setNotificationBatchLingerMs(10L);
+        release.countDown();
+        notificationDispatcher.start();
+
+        for (int i = 0; i < 10; i++) {
+            for (String serviceRequestId : Arrays.asList("PGR-1", "PGR-2", "PGR-3", "PGR-4", "PGR-5")) {
+                notificationDispatcher.dispatch(request(serviceRequestId), i == 0 ? CREATE_TOPIC : UPDATE_TOPIC + "-" + i);
+            }
+        }
+        notificationDispatcher.stop();
+
+        Map<String, List<String>> topicsByComplaint = new HashMap<>();
+        Map<String, Set<String>> threadsByComplaint = new HashMap<>();
+        for (Batch batch : batches) {
+            for (int i = 0; i < batch.serviceRequestIds.size(); i++) {
+                String serviceRequestId = batch.serviceRequestIds.get(i);
+                topicsByComplaint.computeIfAbsent(serviceRequestId, key -> new ArrayList<>()).add(batch.topics.get(i));
+                threadsByComplaint.computeIfAbsent(serviceRequestId, key -> new HashSet<>()).add(batch.thread);
+            }
+        }
+        List<String> topics = new ArrayList<>();
+        topics.add(CREATE_TOPIC);
+        for (int i = 1; i < 10; i++) {
+            topics.add(UPDATE_TOPIC + "-" + i);
+        }
+        assertEquals(5, topicsByComplaint.size());
+        topicsByComplaint.values().forEach(complaintTopics -> assertEquals(topics, complaintTopics));
+        threadsByComplaint.values().forEach(threads -> assertEquals(1, threads.size()));
+    }
+
+    @Test
+    public void sendsFromTheConsumerWhenTheQueueIsFull() throws InterruptedException {
+        config.setNotificationQueueCapacity(1);
+        config.setNotificationBatchSize(1);
+        notificationDispatcher.start();
+
+        notificationDispatcher.dispatch(request("PGR-1"), CREATE_TOPIC);
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        // the worker is busy with the first event, so the second one fills its queue
+        notificationDispatcher.dispatch(request("PGR-2"), CREATE_TOPIC);
+        notificationDispatcher.dispatch(request("PGR-3"), CREATE_TOPIC);
+
+        assertEquals(2, batches.size());
+        assertEquals(Collections.singletonList("PGR-3"), batches.get(1).serviceRequestIds);
+        assertEquals(Thread.currentThread().getName(), batches.get(1).thread);
+
+        release.countDown();
+        notificationDispatcher.stop();
+
+        assertEquals(3, batches.size());
+        assertEquals(Collections.singletonList("PGR-2"), batches.get(2).serviceRequestIds);
+    }
+
+    @Test
+    public void sendsTheQueuedEventsOnShutdown() throws InterruptedException {
+        config.setNotificationBatchLingerMs(10L);
+        notificationDispatcher.start();
+
+        notificationDispatcher.dispatch(request("PGR-1"), CREATE_TOPIC);
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        for (int i = 2; i <= 8; i++) {
+            notificationDispatcher.dispatch(request("PGR-" + i), CREATE_TOPIC);
+        }
+        release.countDown();
+        notificationDispatcher.stop();
+
+        List<String> sent = batches.stream().flatMap(batch -> batch.serviceRequestIds.stream()).collect(Collectors.toList());
+        assertEquals(Arrays.asList("PGR-1", "PGR-2", "PGR-3", "PGR-4", "PGR-5", "PGR-6", "PGR-7", "PGR-8"), sent);
+        assertTrue(batches.stream().allMatch(batch -> batch.serviceRequestIds.size() <= 3));
+    }
+
+    private ServiceRequest request(String serviceRequestId) {
+        return ServiceRequest.builder().service(Service.builder().serviceRequestId(serviceRequestId).build()).build();
+    }
+
+    private static class Batch {
+
+        private final String thread;
+
+        private final List<String> serviceRequestIds;
+
+        private final List<String> topics;
+
+        private Batch(String thread, List<ComplaintEvent> complaintEvents) {
+            this.thread = thread;
+            this.serviceRequestIds = complaintEvents.stream()
+                    .map(complaintEvent -> complaintEvent.getRequest().getService().getServiceRequestId())
+                    .collect(Collectors.toList());
+            this.topics = complaintEvents.stream().map(ComplaintEvent::getTopic).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.egov.pgr.service;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.common.contract.request.Role;
+import org.egov.common.contract.request.User;
+import org.egov.pgr.config.PGRConfiguration;
+import org.egov.pgr.repository.StatisticsRepository;
+import org.egov.pgr.util.PGRConstants;
+import org.egov.tracer.model.CustomException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.egov.pgr.repository.StatisticsRepository.DAY_IN_MILLIS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatisticsServiceTest {
+
+    @Mock
+    private PGRConfiguration config;
+
+    @Mock
+    private StatisticsRepository repository;
+
+    private StatisticsService statisticsService;
+
+    @Before
+    public void setUp() {
+        statisticsService = new StatisticsService(config, repository);
+    }
+
+    @Test
+    public void rebuildsStatisticsOfTenantForRebuildRole() {
+        when(config.getStatisticsRebuildRoles()).thenReturn(Collections.singletonList("SUPERUSER"));
+        when(repository.rebuild("pb.amritsar")).thenReturn(12);
+
+        assertEquals(12, statisticsService.rebuild(requestInfo("SUPERUSER"), "pb.amritsar"));
+    }
+
+    @Test
+    public void rejectsRebuildWithoutTenant() {
+        assertRebuildRejected(requestInfo("SUPERUSER"), null, "INVALID_TENANT_ID");
+        assertRebuildRejected(requestInfo("SUPERUSER"), "", "INVALID_TENANT_ID");
+    }
+
+    @Test
+    public void rejectsRebuildWithoutRebuildRole() {
+        when(config.getStatisticsRebuildRoles()).thenReturn(Collections.singletonList("SUPERUSER"));
+
+        assertRebuildRejected(requestInfo("GRO"), "pb.amritsar", "UNAUTHORIZED");
+        assertRebuildRejected(RequestInfo.builder().build(), "pb.amritsar", "UNAUTHORIZED");
+    }
+
+    @Test
+    public void returnsNoStatisticsForTenantNotRebuilt() {
+        when(config.getNumberOfDays()).thenReturn("30");
+        when(repository.getStatistics(anyString(), anyLong())).thenReturn(null);
+
+        assertNull(statisticsService.getDynamicData("pb.amritsar"));
+    }
+
+    @Test
+    public void returnsResolvedCountAndAverageResolutionDays() {
+        when(config.getNumberOfDays()).thenReturn("30");
+        when(repository.getStatistics(anyString(), anyLong())).thenReturn(new long[]{3, 4, 10 * DAY_IN_MILLIS});
+
+        Map<String, Integer> dynamicData = statisticsService.getDynamicData("pb.amritsar");
+
+        assertEquals(Integer.valueOf(3), dynamicData.get(PGRConstants.COMPLAINTS_RESOLVED));
+        assertEquals(Integer.valueOf(3), dynamicData.get(PGRConstants.AVERAGE_RESOLUTION_TIME));
+    }
+
+    @Test
+    public void returnsNoAverageResolutionTimeWithoutResolvedComplaints() {
+        when(config.getNumberOfDays()).thenReturn("30");
+        when(repository.getStatistics(anyString(), anyLong())).thenReturn(new long[]{0, 0, 0});
+
+        assertEquals(Integer.valueOf(-1), statisticsService.getDynamicData("pb.amritsar").get(PGRConstants.AVERAGE_RESOLUTION_TIME));
+    }
+
+    private void assertRebuildRejected(RequestInfo requestInfo, String tenantId, String code) {
+        try {
+            statisticsService.rebuild(requestInfo, tenantId);
+            fail("rebuild was not rejected");
+        } catch (CustomException e) {
+            assertEquals(code, e.getCode());
+        }
+        verify(repository, never()).rebuild(anyString());
+    }
+
+    private RequestInfo requestInfo(String roleCode) {
+        Role role = Role.builder().code(roleCode).tenantId("pb").build();
+        return RequestInfo.builder().userInfo(User.builder().roles(Collections.singletonList(role)).build()).build();
+    }
+}
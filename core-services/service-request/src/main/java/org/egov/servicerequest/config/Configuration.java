@@ -61,4 +61,8 @@ public class Configuration {
     @Value("${egov.max.string.input.size}")
     private Integer maxStringInputSize;
 
+    // Compiled service definition cache
+    @Value("${egov.service.definition.cache.ttl.seconds}")
+    private Long serviceDefinitionCacheTtlSeconds;
+
 }
@@ -4,6 +4,7 @@ import org.egov.servicerequest.config.Configuration;
 import org.egov.servicerequest.kafka.Producer;
 import org.egov.servicerequest.repository.ServiceDefinitionRequestRepository;
 import org.egov.servicerequest.validators.ServiceDefinitionRequestValidator;
+import org.egov.servicerequest.validators.ServiceDefinitionValidatorCache;
 import org.egov.servicerequest.web.models.ServiceDefinition;
 import org.egov.servicerequest.web.models.ServiceDefinitionRequest;
 import org.egov.servicerequest.web.models.ServiceDefinitionSearchRequest;
@@ -32,6 +33,9 @@ public class ServiceDefinitionRequestService {
     @Autowired
     private Configuration config;
 
+    @Autowired
+    private ServiceDefinitionValidatorCache serviceDefinitionValidatorCache;
+
     public ServiceDefinition createServiceDefinition(ServiceDefinitionRequest serviceDefinitionRequest) {
 
         ServiceDefinition serviceDefinition = serviceDefinitionRequest.getServiceDefinition();
@@ -70,7 +74,11 @@ public class ServiceDefinitionRequestService {
 
         // TO DO
 
-        return serviceDefinitionRequest.getServiceDefinition();
+        // Service requests must not be validated against the compiled validator of the previous version
+        ServiceDefinition serviceDefinition = serviceDefinitionRequest.getServiceDefinition();
+        serviceDefinitionValidatorCache.evict(serviceDefinition.getTenantId(), serviceDefinition.getId());
+
+        return serviceDefinition;
     }
 
 }
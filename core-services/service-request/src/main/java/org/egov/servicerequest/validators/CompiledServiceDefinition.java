@@ -0,0 +1,212 @@
+package org.egov.servicerequest.validators;
+
+import org.egov.servicerequest.web.models.AttributeDefinition;
+import org.egov.servicerequest.web.models.AttributeValue;
+import org.egov.servicerequest.web.models.Service;
+import org.egov.servicerequest.web.models.ServiceDefinition;
+import org.egov.tracer.model.CustomException;
+import org.springframework.util.CollectionUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.egov.servicerequest.error.ErrorCode.INVALID_SIZE_OF_INPUT_CODE;
+import static org.egov.servicerequest.error.ErrorCode.INVALID_SIZE_OF_TEXT_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_INVALID_DATETIME_VALUE_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_INVALID_MULTI_VALUE_LIST_VALUE_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_INVALID_NUMBER_VALUE_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_INVALID_SINGLE_VALUE_LIST_VALUE_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_INVALID_STRING_VALUE_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_INVALID_TEXT_VALUE_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_CODE;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_MULTIVALUELIST_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_SINGLEVALUELIST_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_VALUES_UNIQUENESS_ERR_CODE;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_ATTRIBUTE_VALUES_UNIQUENESS_ERR_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_REQUIRED_ATTRIBUTE_NOT_PROVIDED_ERR_CODE;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_REQUIRED_ATTRIBUTE_NOT_PROVIDED_ERR_MSG;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_UNRECOGNIZED_ATTRIBUTE_CODE;
+import static org.egov.servicerequest.error.ErrorCode.SERVICE_REQUEST_UNRECOGNIZED_ATTRIBUTE_MSG;
+
+/**
+ * Validator of the attribute values of service requests against one version of a service definition.
+ * The attribute definitions are compiled once into checkers holding the data type and the allowed values
+ * of each attribute, so validating a request does not parse the definition again.
+ * Instances are immutable and shared between requests.
+ */
+public class CompiledServiceDefinition {
+
+    private final String id;
+
+    private final Long version;
+
+    private final Map<String, AttributeChecker> attributeCodeVsChecker;
+
+    private final Set<String> setOfRequiredAttributes;
+
+    private CompiledServiceDefinition(String id, Long version, Map<String, AttributeChecker> attributeCodeVsChecker, Set<String> setOfRequiredAttributes) {
+        this.id = id;
+        this.version = version;
+        this.attributeCodeVsChecker = attributeCodeVsChecker;
+        this.setOfRequiredAttributes = setOfRequiredAttributes;
+    }
+
+    /**
+     * Compiles the attribute definitions of the service definition
+     * @param serviceDefinition The service definition as stored
+     * @param maxStringInputSize The maximum length of string and text values
+     * @return The compiled validator of the service definition
+     */
+    public static CompiledServiceDefinition compile(ServiceDefinition serviceDefinition, Integer maxStringInputSize) {
+        Map<String, AttributeChecker> attributeCodeVsChecker = new HashMap<>();
+        Set<String> setOfRequiredAttributes = new HashSet<>();
+        serviceDefinition.getAttributes().forEach(attributeDefinition -> {
+            attributeCodeVsChecker.put(attributeDefinition.getCode(), new AttributeChecker(attributeDefinition, maxStringInputSize));
+
+            if(attributeDefinition.getRequired())
+                setOfRequiredAttributes.add(attributeDefinition.getCode());
+        });
+
+        return new CompiledServiceDefinition(serviceDefinition.getId(), versionOf(serviceDefinition),
+                Collections.unmodifiableMap(attributeCodeVsChecker), Collections.unmodifiableSet(setOfRequiredAttributes));
+    }
+
+    /**
+     * Returns the version of the service definition, which is the time it was last modified
+     */
+    public static Long versionOf(ServiceDefinition serviceDefinition) {
+        return serviceDefinition.getAuditDetails() == null ? null : serviceDefinition.getAuditDetails().getLastModifiedTime();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Validates the attribute values of the service against the service definition
+     * @param service The service being created
+     */
+    public void validate(Service service) {
+
+        // Check if service has all the attribute values required as part of service definition
+        Set<String> setOfAttributeValues = new HashSet<>();
+        service.getAttributes().forEach(attributeValue -> {
+            if(!attributeCodeVsChecker.containsKey(attributeValue.getAttributeCode())){
+                throw new CustomException(SERVICE_REQUEST_UNRECOGNIZED_ATTRIBUTE_CODE, SERVICE_REQUEST_UNRECOGNIZED_ATTRIBUTE_MSG);
+            }
+
+            if(!setOfAttributeValues.add(attributeValue.getAttributeCode()))
+                throw new CustomException(SERVICE_REQUEST_ATTRIBUTE_VALUES_UNIQUENESS_ERR_CODE, SERVICE_REQUEST_ATTRIBUTE_VALUES_UNIQUENESS_ERR_MSG);
+        });
+
+        // Check if all required attributes have been provided as part of service
+        setOfRequiredAttributes.forEach(requiredAttribute -> {
+            if(!setOfAttributeValues.contains(requiredAttribute))
+                throw new CustomException(SERVICE_REQUEST_REQUIRED_ATTRIBUTE_NOT_PROVIDED_ERR_CODE, SERVICE_REQUEST_REQUIRED_ATTRIBUTE_NOT_PROVIDED_ERR_MSG);
+        });
+
+        // Validate if value being passed is consistent in terms of data type provided as part of service definition
+        service.getAttributes().forEach(attributeValue -> {
+            if (!isSkipped(attributeValue))
+                attributeCodeVsChecker.get(attributeValue.getAttributeCode()).validateType(attributeValue.getValue());
+        });
+
+        // Validate if value provided against attribute definition of single value list and multi value list is the same as the list of values provided during creation
+        service.getAttributes().forEach(attributeValue -> {
+            if (!isSkipped(attributeValue))
+                attributeCodeVsChecker.get(attributeValue.getAttributeCode()).validateAllowedValues(attributeValue.getValue());
+        });
+    }
+
+    private boolean isSkipped(AttributeValue attributeValue) {
+        return attributeValue.getValue() == null && !setOfRequiredAttributes.contains(attributeValue.getAttributeCode());
+    }
+
+    /**
+     * Checks the values provided against a single attribute definition
+     */
+    private static class AttributeChecker {
+
+        private final AttributeDefinition.DataTypeEnum dataType;
+
+        private final Set<String> allowedValues;
+
+        private final Integer maxStringInputSize;
+
+        private AttributeChecker(AttributeDefinition attributeDefinition, Integer maxStringInputSize) {
+            this.dataType = attributeDefinition.getDataType();
+            this.maxStringInputSize = maxStringInputSize;
+
+            if(isListType(dataType))
+                this.allowedValues = CollectionUtils.isEmpty(attributeDefinition.getValues())
+                        ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(attributeDefinition.getValues()));
+            else
+                this.allowedValues = null;
+        }
+
+        private static boolean isListType(AttributeDefinition.DataTypeEnum dataType) {
+            return dataType.equals(AttributeDefinition.DataTypeEnum.SINGLEVALUELIST) || dataType.equals(AttributeDefinition.DataTypeEnum.MULTIVALUELIST);
+        }
+
+        private void validateType(Object value) {
+            switch (dataType) {
+                case NUMBER:
+                    if(!(value instanceof Number))
+                        throw new CustomException(SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_CODE, SERVICE_REQUEST_ATTRIBUTE_INVALID_NUMBER_VALUE_MSG);
+                    break;
+                case STRING:
+                    if(!(value instanceof String))
+                        throw new CustomException(SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_CODE, SERVICE_REQUEST_ATTRIBUTE_INVALID_STRING_VALUE_MSG);
+                    validateText((String) value);
+                    break;
+                case TEXT:
+                    if(!(value instanceof String))
+                        throw new CustomException(SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_CODE, SERVICE_REQUEST_ATTRIBUTE_INVALID_TEXT_VALUE_MSG);
+                    validateText((String) value);
+                    break;
+                case DATETIME:
+                    if(!(value instanceof Long))
+                        throw new CustomException(SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_CODE, SERVICE_REQUEST_ATTRIBUTE_INVALID_DATETIME_VALUE_MSG);
+                    break;
+                case SINGLEVALUELIST:
+                    if(!(value instanceof String))
+                        throw new CustomException(SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_CODE, SERVICE_REQUEST_ATTRIBUTE_INVALID_SINGLE_VALUE_LIST_VALUE_MSG);
+                    break;
+                case MULTIVALUELIST:
+                    if(!(value instanceof List))
+                        throw new CustomException(SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_CODE, SERVICE_REQUEST_ATTRIBUTE_INVALID_MULTI_VALUE_LIST_VALUE_MSG);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void validateText(String value) {
+            if(value.length() > maxStringInputSize)
+                throw new CustomException(INVALID_SIZE_OF_INPUT_CODE, INVALID_SIZE_OF_TEXT_MSG);
+        }
+
+        private void validateAllowedValues(Object value) {
+            if(allowedValues == null)
+                return;
+
+            if(dataType.equals(AttributeDefinition.DataTypeEnum.SINGLEVALUELIST)){
+                if(!allowedValues.contains(value))
+                    throw new CustomException(SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_CODE, SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_SINGLEVALUELIST_MSG);
+            } else {
+                for (Object providedAttributeValue : (List<?>) value) {
+                    if(!allowedValues.contains(providedAttributeValue))
+                        throw new CustomException(SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_CODE, SERVICE_REQUEST_ATTRIBUTE_INVALID_VALUE_MULTIVALUELIST_MSG);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.egov.servicerequest.validators;
+
+import lombok.extern.slf4j.Slf4j;
+import org.egov.servicerequest.config.Configuration;
+import org.egov.servicerequest.repository.ServiceDefinitionRequestRepository;
+import org.egov.servicerequest.web.models.ServiceDefinition;
+import org.egov.servicerequest.web.models.ServiceDefinitionCriteria;
+import org.egov.servicerequest.web.models.ServiceDefinitionSearchRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.ObjectUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the compiled validators of service definitions, so that service requests are validated
+ * without reading and parsing their service definition each time. Entries are kept per tenant and
+ * definition id along with the version they were compiled from, are evicted when the definition is
+ * updated through this instance and expire after the configured time to live. An expired entry is
+ * reloaded and only recompiled when the version of the definition changed. Service definitions that
+ * are not found are not cached.
+ */
+@Slf4j
+@Component
+public class ServiceDefinitionValidatorCache {
+
+    private final Map<String, CachedValidator> validators = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ServiceDefinitionRequestRepository serviceDefinitionRequestRepository;
+
+    @Autowired
+    private Configuration config;
+
+    /**
+     * Returns the compiled validator of the service definition, or null if it does not exist
+     * @param tenantId The tenant of the service definition
+     * @param serviceDefId The id of the service definition
+     * @return The compiled validator of the service definition
+     */
+    public CompiledServiceDefinition getValidator(String tenantId, String serviceDefId) {
+        String key = getKey(tenantId, serviceDefId);
+
+        CachedValidator cachedValidator = validators.get(key);
+        if(cachedValidator != null && System.currentTimeMillis() < cachedValidator.expiresAt)
+            return cachedValidator.validator;
+
+        List<ServiceDefinition> serviceDefinitions = serviceDefinitionRequestRepository.getServiceDefinitions(ServiceDefinitionSearchRequest.builder()
+                .serviceDefinitionCriteria(ServiceDefinitionCriteria.builder().tenantId(tenantId).ids(Arrays.asList(serviceDefId)).build()).build());
+        if(CollectionUtils.isEmpty(serviceDefinitions)) {
+            validators.remove(key);
+            return null;
+        }
+
+        ServiceDefinition serviceDefinition = serviceDefinitions.get(0);
+        CompiledServiceDefinition validator;
+        if(cachedValidator != null && Objects.equals(cachedValidator.validator.getVersion(), CompiledServiceDefinition.versionOf(serviceDefinition)))
+            validator = cachedValidator.validator;
+        else
+            validator = CompiledServiceDefinition.compile(serviceDefinition, config.getMaxStringInputSize());
+
+        validators.put(key, new CachedValidator(validator, System.currentTimeMillis() + config.getServiceDefinitionCacheTtlSeconds() * 1000L));
+        return validator;
+    }
+
+    public void evict(String tenantId, String serviceDefId) {
+        if(!ObjectUtils.isEmpty(serviceDefId))
+            validators.remove(getKey(tenantId, serviceDefId));
+    }
+
+    private String getKey(String tenantId, String serviceDefId) {
+        return tenantId + ":" + serviceDefId;
+    }
+
+    private static class CachedValidator {
+
+        private final CompiledServiceDefinition validator;
+
+        private final long expiresAt;
+
+        private CachedValidator(CompiledServiceDefinition validator, long expiresAt) {
+            this.validator = validator;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
@@ -8,6 +8,7 @@ import org.egov.servicerequest.web.models.AttributeDefinition;
 import org.egov.servicerequest.web.models.ServiceDefinition;
 import org.egov.servicerequest.web.models.ServiceDefinitionSearchRequest;
 import org.egov.servicerequest.web.models.ServiceRequest;
+import org.egov.tracer.model.CustomException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,13 +16,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +47,12 @@ public class ServiceRequestValidatorTest {
     @BeforeEach
     void setUp() {
         lenient().when(configuration.getMaxStringInputSize()).thenReturn(100);
+        lenient().when(configuration.getServiceDefinitionCacheTtlSeconds()).thenReturn(300L);
+
+        ServiceDefinitionValidatorCache serviceDefinitionValidatorCache = new ServiceDefinitionValidatorCache();
+        ReflectionTestUtils.setField(serviceDefinitionValidatorCache, "serviceDefinitionRequestRepository", serviceDefinitionRequestRepository);
+        ReflectionTestUtils.setField(serviceDefinitionValidatorCache, "config", configuration);
+        ReflectionTestUtils.setField(serviceRequestValidator, "serviceDefinitionValidatorCache", serviceDefinitionValidatorCache);
     }
 
     @Test
@@ -70,4 +81,45 @@ public class ServiceRequestValidatorTest {
         assertDoesNotThrow(() -> serviceRequestValidator.validateServiceRequest(serviceRequest));
 
     }
+
+    @Test
+    @DisplayName("should compile service definition once for repeated service requests")
+    void shouldCompileServiceDefinitionOnce() {
+        when(serviceDefinitionRequestRepository.getServiceDefinitions(any(ServiceDefinitionSearchRequest.class)))
+                .thenReturn(Collections.singletonList(getServiceDefinition()));
+
+        assertDoesNotThrow(() -> serviceRequestValidator.validateServiceRequest(ServiceRequestTestBuilder.builder().withServices().withRequestInfo().build()));
+        assertDoesNotThrow(() -> serviceRequestValidator.validateServiceRequest(ServiceRequestTestBuilder.builder().withServices().withRequestInfo().build()));
+
+        verify(serviceDefinitionRequestRepository, times(1)).getServiceDefinitions(any(ServiceDefinitionSearchRequest.class));
+    }
+
+    @Test
+    @DisplayName("should throw exception if service definition does not exist")
+    void shouldThrowExceptionIfServiceDefinitionDoesNotExist() {
+        ServiceRequest serviceRequest = ServiceRequestTestBuilder.builder().withServices().withRequestInfo().build();
+
+        when(serviceDefinitionRequestRepository.getServiceDefinitions(any(ServiceDefinitionSearchRequest.class)))
+                .thenReturn(Collections.emptyList());
+
+        assertThrows(CustomException.class, () -> serviceRequestValidator.validateServiceRequest(serviceRequest));
+    }
+
+    private ServiceDefinition getServiceDefinition() {
+        return ServiceDefinition
+                .builder()
+                .id("id")
+                .tenantId("default")
+                .code("code")
+                .isActive(true)
+                .attributes(Collections.singletonList(AttributeDefinition
+                        .builder()
+                        .id("id")
+                        .tenantId("default")
+                        .order("order")
+                        .dataType(AttributeDefinition.DataTypeEnum.STRING)
+                        .required(false)
+                        .code("code")
+                        .build())).build();
+    }
 }
@@ -1,5 +1,8 @@
 package org.egov.household.repository;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import digit.models.coremodels.AuditDetails;
 import lombok.extern.slf4j.Slf4j;
 import org.egov.common.data.query.builder.GenericQueryBuilder;
 import org.egov.common.data.query.builder.QueryFieldChecker;
@@ -7,12 +10,16 @@ import org.egov.common.data.query.builder.SelectQueryBuilder;
 import org.egov.common.data.query.exception.QueryBuilderException;
 import org.egov.common.data.repository.GenericRepository;
 import org.egov.common.models.core.SearchResponse;
+import org.egov.common.models.household.Address;
 import org.egov.common.models.household.Household;
 import org.egov.common.producer.Producer;
+import org.egov.household.config.HouseholdConfiguration;
 import org.egov.household.repository.rowmapper.HouseholdRowMapper;
 import org.egov.common.models.household.HouseholdSearch;
+import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
@@ -33,14 +40,81 @@ import static org.egov.common.utils.CommonUtils.getIdMethod;
 public class HouseholdRepository extends GenericRepository<Household> {
 
     private final String searchCriteriaWaypointQuery = "WITH cte_search_criteria_waypoint(s_latitude, s_longitude) AS (VALUES(:s_latitude, :s_longitude))\n";
+    private final String insertHouseholdQuery = "INSERT INTO household(id, tenantId, clientReferenceId, numberOfMembers, addressId, additionalDetails, createdBy, lastModifiedBy, createdTime, lastModifiedTime, clientCreatedBy, clientLastModifiedBy, clientCreatedTime, clientLastModifiedTime, rowVersion, isDeleted) " +
+            "VALUES (:id, :tenantId, :clientReferenceId, :numberOfMembers, :addressId, CAST(:additionalDetails AS jsonb), :createdBy, :lastModifiedBy, :createdTime, :lastModifiedTime, :clientCreatedBy, :clientLastModifiedBy, :clientCreatedTime, :clientLastModifiedTime, :rowVersion, :isDeleted)";
+    private final String insertAddressQuery = "INSERT INTO address(id, tenantId, clientReferenceId, doorNo, latitude, longitude, locationAccuracy, type, addressLine1, addressLine2, landmark, city, pincode, buildingName, street, localityCode) " +
+            "VALUES (:id, :tenantId, :clientReferenceId, :doorNo, :latitude, :longitude, :locationAccuracy, :type, :addressLine1, :addressLine2, :landmark, :city, :pincode, :buildingName, :street, :localityCode)";
+    private final ObjectMapper objectMapper;
     private final String calculateDistanceFromTwoWaypointsFormulaQuery = "( 6371.4 * acos (LEAST (GREATEST (cos ( radians(cte_scw.s_latitude) ) * cos( radians(a.latitude) ) * cos( radians(a.longitude) - radians(cte_scw.s_longitude) ) + sin ( radians(cte_scw.s_latitude) ) * sin( radians(a.latitude) ), -1), 1) ) ) AS distance ";
     @Autowired
     protected HouseholdRepository(Producer producer,
                                   NamedParameterJdbcTemplate namedParameterJdbcTemplate,
                                   RedisTemplate<String, Object> redisTemplate,
                                   SelectQueryBuilder selectQueryBuilder,
-                                  HouseholdRowMapper householdRowMapper) {
+                                  HouseholdRowMapper householdRowMapper,
+                                  HouseholdConfiguration householdConfiguration,
+                                  ObjectMapper objectMapper) {
         super(producer, namedParameterJdbcTemplate, redisTemplate, selectQueryBuilder, householdRowMapper, Optional.of("household h"));
+        this.objectMapper = objectMapper;
+        registerBatchWrite(householdConfiguration.getCreateTopic(), insertHouseholdQuery, this::getHouseholdParameters);
+        registerBatchWrite(householdConfiguration.getCreateTopic(), insertAddressQuery, this::getAddressParameters);
+    }
+
+    private MapSqlParameterSource getHouseholdParameters(Household household) {
+        AuditDetails auditDetails = household.getAuditDetails();
+        AuditDetails clientAuditDetails = household.getClientAuditDetails();
+        return new MapSqlParameterSource()
+                .addValue("id", household.getId())
+                .addValue("tenantId", household.getTenantId())
+                .addValue("clientReferenceId", household.getClientReferenceId())
+                .addValue("numberOfMembers", household.getMemberCount())
+                .addValue("addressId", household.getAddress() != null ? household.getAddress().getId() : null)
+                .addValue("additionalDetails", toJson(household.getAdditionalFields()))
+                .addValue("createdBy", auditDetails != null ? auditDetails.getCreatedBy() : null)
+                .addValue("lastModifiedBy", auditDetails != null ? auditDetails.getLastModifiedBy() : null)
+                .addValue("createdTime", auditDetails != null ? auditDetails.getCreatedTime() : null)
+                .addValue("lastModifiedTime", auditDetails != null ? auditDetails.getLastModifiedTime() : null)
+                .addValue("clientCreatedBy", clientAuditDetails != null ? clientAuditDetails.getCreatedBy() : null)
+                .addValue("clientLastModifiedBy", clientAuditDetails != null ? clientAuditDetails.getLastModifiedBy() : null)
+                .addValue("clientCreatedTime", clientAuditDetails != null ? clientAuditDetails.getCreatedTime() : null)
+                .addValue("clientLastModifiedTime", clientAuditDetails != null ? clientAuditDetails.getLastModifiedTime() : null)
+                .addValue("rowVersion", household.getRowVersion())
+                .addValue("isDeleted", household.getIsDeleted());
+    }
+
+    private MapSqlParameterSource getAddressParameters(Household household) {
+        Address address = household.getAddress();
+        if (address == null) {
+            return null;
+        }
+        return new MapSqlParameterSource()
+                .addValue("id", address.getId())
+                .addValue("tenantId", address.getTenantId())
+                .addValue("clientReferenceId", address.getClientReferenceId())
+                .addValue("doorNo", address.getDoorNo())
+                .addValue("latitude", address.getLatitude())
+                .addValue("longitude", address.getLongitude())
+                .addValue("locationAccuracy", address.getLocationAccuracy())
+                .addValue("type", address.getType() != null ? address.getType().toString() : null)
+                .addValue("addressLine1", address.getAddressLine1())
+                .addValue("addressLine2", address.getAddressLine2())
+                .addValue("landmark", address.getLandmark())
+                .addValue("city", address.getCity())
+                .addValue("pincode", address.getPincode())
+                .addValue("buildingName", address.getBuildingName())
+                .addValue("street", address.getStreet())
+                .addValue("localityCode", address.getLocality() != null ? address.getLocality().getCode() : null);
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new CustomException("JSON_PROCESSING_ERROR", "Error while serializing additional fields");
+        }
     }
 
     public SearchResponse<Household> findById(List<String> ids, String columnName, Boolean includeDeleted) {
@@ -3,6 +3,7 @@ package org.egov.household.service;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.egov.common.data.query.exception.QueryBuilderException;
+import org.egov.common.data.repository.PartialWriteException;
 import org.egov.common.ds.Tuple;
 import org.egov.common.models.ErrorDetails;
 import org.egov.common.models.core.SearchResponse;
@@ -29,8 +30,10 @@ import org.springframework.util.ReflectionUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -111,6 +114,16 @@ public class HouseholdService {
                 householdRepository.save(validEntities, householdConfiguration.getCreateTopic());
                 log.info("successfully created {} households", validEntities.size());
             }
+        } catch (PartialWriteException exception) {
+            // households written before the failure are created, only the rest are reported
+            Set<Object> writtenEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+            writtenEntities.addAll(exception.getWrittenObjects());
+            List<Household> unwrittenEntities = validEntities.stream()
+                    .filter(household -> !writtenEntities.contains(household))
+                    .collect(Collectors.toList());
+            log.error("error occurred after creating {} of {} households: {}", writtenEntities.size(),
+                    validEntities.size(), ExceptionUtils.getStackTrace(exception));
+            populateErrorDetails(request, errorDetailsMap, unwrittenEntities, exception, SET_HOUSEHOLDS);
         } catch (Exception exception) {
             log.error("error occurred while creating households: {}", ExceptionUtils.getStackTrace(exception));
             populateErrorDetails(request, errorDetailsMap, validEntities, exception, SET_HOUSEHOLDS);
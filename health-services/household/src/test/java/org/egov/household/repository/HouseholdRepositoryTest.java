@@ -0,0 +1,178 @@
+package org.egov.household.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import digit.models.coremodels.AuditDetails;
+import org.egov.common.data.query.builder.SelectQueryBuilder;
+import org.egov.common.models.core.Boundary;
+import org.egov.common.models.household.Household;
+import org.egov.common.producer.Producer;
+import org.egov.household.config.HouseholdConfiguration;
+import org.egov.household.helper.AddressTestBuilder;
+import org.egov.household.helper.HouseholdTestBuilder;
+import org.egov.household.repository.rowmapper.HouseholdRowMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HouseholdRepositoryTest {
+
+    private static final String CREATE_TOPIC = "save-household-topic";
+
+    private static final Pattern INSERT_COLUMNS = Pattern.compile("INSERT INTO (\\w+)\\(([^)]*)\\)");
+
+    // columns of the address which the search query selects under an alias, as they clash with household columns
+    private static final Map<String, String> ADDRESS_ALIASES = new HashMap<>();
+
+    static {
+        ADDRESS_ALIASES.put("aid", "id");
+        ADDRESS_ALIASES.put("atenantid", "tenantid");
+        ADDRESS_ALIASES.put("aclientreferenceid", "clientreferenceid");
+    }
+
+    @Mock
+    private Producer producer;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private SelectQueryBuilder selectQueryBuilder;
+
+    @Mock
+    private HouseholdConfiguration householdConfiguration;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private HouseholdRepository householdRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(householdConfiguration.getCreateTopic()).thenReturn(CREATE_TOPIC);
+        householdRepository = new HouseholdRepository(producer, namedParameterJdbcTemplate, redisTemplate,
+                selectQueryBuilder, new HouseholdRowMapper(), householdConfiguration, new ObjectMapper());
+        ReflectionTestUtils.setField(householdRepository, "directWriteEnabled", true);
+        ReflectionTestUtils.setField(householdRepository, "transactionTemplate", new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    @DisplayName("should write every column read back by the row mapper when writing directly")
+    void shouldWriteEveryColumnReadBackByTheRowMapperWhenWritingDirectly() throws SQLException {
+        Household household = HouseholdTestBuilder.builder().withHousehold()
+                .withAddress(AddressTestBuilder.builder().withAddress().build()).build();
+        household.setIsDeleted(false);
+        household.setClientAuditDetails(AuditDetails.builder().createdBy("client-user").createdTime(100L)
+                .lastModifiedBy("other-client-user").lastModifiedTime(200L).build());
+        household.getAddress().setClientReferenceId("address-client-reference-id");
+        household.getAddress().setDoorNo("12");
+        household.getAddress().setStreet("street");
+        household.getAddress().setLocality(Boundary.builder().code("locality-code").build());
+
+        householdRepository.save(Collections.singletonList(household), CREATE_TOPIC);
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<SqlParameterSource[]> parameters = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(namedParameterJdbcTemplate, times(2)).batchUpdate(statements.capture(), parameters.capture());
+        Map<String, Object> householdRow = toRow(statements.getAllValues().get(0), parameters.getAllValues().get(0)[0]);
+        Map<String, Object> addressRow = toRow(statements.getAllValues().get(1), parameters.getAllValues().get(1)[0]);
+
+        Household readBack = new HouseholdRowMapper().mapRow(joinedResultSet(householdRow, addressRow), 0);
+
+        assertEquals(household.getId(), readBack.getId());
+        assertEquals(household.getTenantId(), readBack.getTenantId());
+        assertEquals(household.getClientReferenceId(), readBack.getClientReferenceId());
+        assertEquals(household.getMemberCount(), readBack.getMemberCount());
+        assertEquals(household.getRowVersion(), readBack.getRowVersion());
+        assertEquals(household.getIsDeleted(), readBack.getIsDeleted());
+        assertEquals(household.getAdditionalFields(), readBack.getAdditionalFields());
+        assertEquals(household.getAuditDetails(), readBack.getAuditDetails());
+        assertEquals(household.getClientAuditDetails(), readBack.getClientAuditDetails());
+        assertEquals(household.getAddress(), readBack.getAddress());
+    }
+
+    /**
+     * Builds the row inserted by a statement, keyed by lower case column name
+     */
+    private Map<String, Object> toRow(String statement, SqlParameterSource parameters) {
+        Matcher matcher = INSERT_COLUMNS.matcher(statement);
+        assertTrue(matcher.find(), statement);
+        Map<String, Object> row = new HashMap<>();
+        for (String column : matcher.group(2).split(",")) {
+            String name = column.trim();
+            assertTrue(parameters.hasValue(name), "no parameter for column " + name + " of " + matcher.group(1));
+            row.put(name.toLowerCase(), parameters.getValue(name));
+        }
+        return row;
+    }
+
+    /**
+     * Mocks the result set of the household search, which selects every column of both tables and the
+     * clashing address columns under an alias. Reading a column neither statement writes fails.
+     */
+    private ResultSet joinedResultSet(Map<String, Object> householdRow, Map<String, Object> addressRow) {
+        List<String> getters = Arrays.asList("getString", "getLong", "getInt", "getDouble", "getBoolean");
+        return mock(ResultSet.class, invocation -> {
+            if (!getters.contains(invocation.getMethod().getName())) {
+                throw new UnsupportedOperationException(invocation.getMethod().getName());
+            }
+            String column = ((String) invocation.getArgument(0)).toLowerCase();
+            Object value;
+            if (ADDRESS_ALIASES.containsKey(column)) {
+                value = addressRow.get(ADDRESS_ALIASES.get(column));
+            } else if (householdRow.containsKey(column)) {
+                value = householdRow.get(column);
+            } else if (addressRow.containsKey(column)) {
+                value = addressRow.get(column);
+            } else {
+                throw new SQLException("column " + column + " is not written");
+            }
+            Class<?> type = invocation.getMethod().getReturnType();
+            if (type == String.class) {
+                return value == null ? null : value.toString();
+            }
+            if (type == boolean.class) {
+                return value != null && (Boolean) value;
+            }
+            Number number = value == null ? 0 : (Number) value;
+            if (type == long.class) {
+                return number.longValue();
+            }
+            if (type == int.class) {
+                return number.intValue();
+            }
+            return number.doubleValue();
+        });
+    }
+}
@@ -9,6 +9,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Method;
@@ -21,6 +24,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.egov.common.utils.CommonUtils.getIdMethod;
@@ -50,6 +54,17 @@ public abstract class GenericRepository<T> {
     @Value("${spring.cache.redis.time-to-live:60}")
     private String timeToLive;
 
+    @Value("${egov.repository.direct.write.enabled:false}")
+    private boolean directWriteEnabled;
+
+    @Value("${egov.repository.direct.write.batch.size:500}")
+    private int directWriteBatchSize;
+
+    // Statements inserting entities directly, by the topic their events are pushed to
+    private final Map<String, List<BatchWriteStatement<T>>> batchWriteStatements = new HashMap<>();
+
+    private TransactionTemplate transactionTemplate;
+
     protected GenericRepository(Producer producer, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
                                 RedisTemplate<String, Object> redisTemplate,
                                 SelectQueryBuilder selectQueryBuilder, RowMapper<T> rowMapper,
@@ -154,15 +169,22 @@ public abstract class GenericRepository<T> {
     }
 
     /**
-     * Saves entities to Kafka and caches them.
+     * Saves entities to Kafka and caches them. When direct writes are enabled and statements are
+     * registered for the topic, the entities are inserted first, see {@link #registerBatchWrite}.
      *
      * @param objects The list of entities to save.
      * @param topic   The Kafka topic to push the entities to.
      * @return The list of saved entities.
+     * @throws PartialWriteException when a direct write fails after some chunks were written, which are cached.
      */
+    @SuppressWarnings("unchecked")
     public List<T> save(List<T> objects, String topic) {
-        producer.push(topic, objects);
-        log.info("Pushed to kafka");
+        try {
+            push(objects, topic);
+        } catch (PartialWriteException exception) {
+            putInCache((List<T>) exception.getWrittenObjects());
+            throw exception;
+        }
         putInCache(objects);
         log.info("Saved to cache");
         return objects;
@@ -175,15 +197,101 @@ public abstract class GenericRepository<T> {
      * @param topic    The Kafka topic to push the entities to.
      * @param cacheKey The cache key to use for caching the entities.
      * @return The list of saved entities.
+     * @throws PartialWriteException when a direct write fails after some chunks were written, which are cached.
      */
+    @SuppressWarnings("unchecked")
     public List<T> save(List<T> objects, String topic, String cacheKey) {
-        producer.push(topic, objects);
-        log.info("Pushed to kafka");
+        try {
+            push(objects, topic);
+        } catch (PartialWriteException exception) {
+            putInCache((List<T>) exception.getWrittenObjects(), cacheKey);
+            throw exception;
+        }
         putInCache(objects, cacheKey);
         log.info("Saved to cache");
         return objects;
     }
 
+    /**
+     * Registers a statement inserting the entities pushed to the topic directly with a JDBC batch, used
+     * instead of the persister when direct writes are enabled. Statements of a topic are executed in the
+     * order they are registered, in one transaction per chunk of entities.
+     *
+     * @param topic          The Kafka topic the entities are pushed to.
+     * @param sql            The statement with named parameters.
+     * @param parameterMapper Maps an entity to the parameters of the statement, or to null to skip it.
+     */
+    protected void registerBatchWrite(String topic, String sql, Function<T, SqlParameterSource> parameterMapper) {
+        batchWriteStatements.computeIfAbsent(topic, key -> new ArrayList<>())
+                .add(new BatchWriteStatement<>(sql, parameterMapper));
+    }
+
+    /**
+     * Pushes entities to Kafka. When direct writes are enabled and statements are registered for the
+     * topic, each chunk of entities is inserted in its own transaction and pushed once committed, so
+     * downstream consumers get the events of exactly the entities written. The persister must not
+     * consume such topics then.
+     * The parameters of every chunk are mapped before the first chunk is written, so entities that
+     * cannot be mapped fail the save with nothing written. A chunk failing to write is rolled back,
+     * but chunks committed before it stay written: the failure is then a {@link PartialWriteException}
+     * listing them. A chunk whose push fails after its commit is listed as written too.
+     */
+    private void push(List<T> objects, String topic) {
+        List<BatchWriteStatement<T>> statements = batchWriteStatements.get(topic);
+        if (!directWriteEnabled || statements == null || objects.isEmpty()) {
+            producer.push(topic, objects);
+            log.info("Pushed to kafka");
+            return;
+        }
+
+        List<List<T>> chunks = new ArrayList<>();
+        List<List<SqlParameterSource[]>> chunkParameters = new ArrayList<>();
+        for (int from = 0; from < objects.size(); from += directWriteBatchSize) {
+            List<T> chunk = objects.subList(from, Math.min(from + directWriteBatchSize, objects.size()));
+            chunks.add(chunk);
+            chunkParameters.add(statements.stream().map(statement -> statement.getParameters(chunk))
+                    .collect(Collectors.toList()));
+        }
+
+        List<T> writtenObjects = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            List<T> chunk = chunks.get(i);
+            List<SqlParameterSource[]> parameters = chunkParameters.get(i);
+            try {
+                getTransactionTemplate().executeWithoutResult(status -> {
+                    for (int j = 0; j < statements.size(); j++) {
+                        statements.get(j).write(namedParameterJdbcTemplate, parameters.get(j));
+                    }
+                });
+            } catch (RuntimeException exception) {
+                if (writtenObjects.isEmpty()) {
+                    throw exception;
+                }
+                log.error("Write to {} failed after {} of {} entities were written", tableName,
+                        writtenObjects.size(), objects.size());
+                throw new PartialWriteException(writtenObjects, exception);
+            }
+            writtenObjects.addAll(chunk);
+            log.info("Wrote {} entities to {}", chunk.size(), tableName);
+            try {
+                producer.push(topic, chunk);
+            } catch (RuntimeException exception) {
+                // the chunk is committed, only its event is missing
+                log.error("Push to {} failed for {} entities written to {}", topic, chunk.size(), tableName);
+                throw new PartialWriteException(writtenObjects, exception);
+            }
+            log.info("Pushed to kafka");
+        }
+    }
+
+    private TransactionTemplate getTransactionTemplate() {
+        if (transactionTemplate == null) {
+            transactionTemplate = new TransactionTemplate(
+                    new DataSourceTransactionManager(namedParameterJdbcTemplate.getJdbcTemplate().getDataSource()));
+        }
+        return transactionTemplate;
+    }
+
     // Cache objects by key
     protected void cacheByKey(List<T> objects, String fieldName) {
         try{
@@ -310,4 +418,27 @@ public abstract class GenericRepository<T> {
 
         return objFound;
     }
+
+    private static class BatchWriteStatement<T> {
+
+        private final String sql;
+
+        private final Function<T, SqlParameterSource> parameterMapper;
+
+        private BatchWriteStatement(String sql, Function<T, SqlParameterSource> parameterMapper) {
+            this.sql = sql;
+            this.parameterMapper = parameterMapper;
+        }
+
+        private SqlParameterSource[] getParameters(List<T> objects) {
+            return objects.stream().map(parameterMapper)
+                    .filter(Objects::nonNull).toArray(SqlParameterSource[]::new);
+        }
+
+        private void write(NamedParameterJdbcTemplate namedParameterJdbcTemplate, SqlParameterSource[] batchArgs) {
+            if (batchArgs.length > 0) {
+                namedParameterJdbcTemplate.batchUpdate(sql, batchArgs);
+            }
+        }
+    }
 }
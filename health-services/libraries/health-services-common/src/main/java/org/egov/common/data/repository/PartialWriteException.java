@@ -0,0 +1,25 @@
+package org.egov.common.data.repository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when a direct write of entities fails after some of their chunks were already committed
+ * and pushed. Those chunks stay written, so callers report only the remaining entities as failed.
+ */
+public class PartialWriteException extends RuntimeException {
+
+    private final transient List<?> writtenObjects;
+
+    public PartialWriteException(List<?> writtenObjects, Throwable cause) {
+        super(writtenObjects.size() + " entities were written before the write failed: " + cause.getMessage(), cause);
+        this.writtenObjects = Collections.unmodifiableList(writtenObjects);
+    }
+
+    /**
+     * @return the entities committed before the failure, in the order they were saved
+     */
+    public List<?> getWrittenObjects() {
+        return writtenObjects;
+    }
+}
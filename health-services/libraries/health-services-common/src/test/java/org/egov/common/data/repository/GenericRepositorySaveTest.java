@@ -12,20 +12,32 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class GenericRepositorySaveTest {
@@ -41,10 +53,18 @@ class GenericRepositorySaveTest {
     @Mock
     private HashOperations hashOperations;
 
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private List<SomeObject> someObjects;
 
     private static final String TOPIC = "save-topic";
 
+    private static final String INSERT_QUERY = "INSERT INTO some_table(id) VALUES (:id)";
+
     @BeforeEach
     void setUp() {
         someObjects = new ArrayList<>();
@@ -83,4 +103,92 @@ class GenericRepositorySaveTest {
         inOrder.verify(hashOperations, times(1))
                 .putAll(any(String.class), any(Map.class));
     }
+
+    @Test
+    @DisplayName("should write objects in batches and push each batch when direct write is enabled")
+    void shouldWriteObjectsInBatchesAndPushEachBatchWhenDirectWriteIsEnabled() {
+        ReflectionTestUtils.setField(someRepository, "directWriteEnabled", true);
+        ReflectionTestUtils.setField(someRepository, "directWriteBatchSize", 1);
+        ReflectionTestUtils.setField(someRepository, "transactionTemplate", new TransactionTemplate(transactionManager));
+        someRepository.registerBatchWrite(TOPIC, "INSERT INTO some_table(id) VALUES (:id)",
+                someObject -> new MapSqlParameterSource("id", someObject.getId()));
+
+        List<SomeObject> result = someRepository.save(someObjects, TOPIC);
+
+        assertEquals(result, someObjects);
+        InOrder inOrder = inOrder(namedParameterJdbcTemplate, producer);
+        inOrder.verify(namedParameterJdbcTemplate).batchUpdate(eq("INSERT INTO some_table(id) VALUES (:id)"), any(SqlParameterSource[].class));
+        inOrder.verify(producer).push(eq(TOPIC), any(Object.class));
+        inOrder.verify(namedParameterJdbcTemplate).batchUpdate(eq("INSERT INTO some_table(id) VALUES (:id)"), any(SqlParameterSource[].class));
+        inOrder.verify(producer).push(eq(TOPIC), any(Object.class));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("should only push objects when no statement is registered for the topic")
+    void shouldOnlyPushObjectsWhenNoStatementIsRegisteredForTheTopic() {
+        ReflectionTestUtils.setField(someRepository, "directWriteEnabled", true);
+
+        someRepository.save(someObjects, TOPIC);
+
+        verify(producer, times(1)).push(any(String.class), any(Object.class));
+        verify(namedParameterJdbcTemplate, times(0)).batchUpdate(any(String.class), any(SqlParameterSource[].class));
+    }
+
+    @Test
+    @DisplayName("should report the objects written before a later batch fails to write")
+    void shouldReportTheObjectsWrittenBeforeALaterBatchFailsToWrite() {
+        enableDirectWrite();
+        when(namedParameterJdbcTemplate.batchUpdate(eq(INSERT_QUERY), any(SqlParameterSource[].class)))
+                .thenReturn(new int[]{1})
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        PartialWriteException exception = assertThrows(PartialWriteException.class,
+                () -> someRepository.save(someObjects, TOPIC));
+
+        assertEquals(Collections.singletonList(someObjects.get(0)), exception.getWrittenObjects());
+        assertTrue(exception.getCause() instanceof DataIntegrityViolationException);
+        verify(producer, times(1)).push(TOPIC, someObjects.subList(0, 1));
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("should rethrow the failure when the first batch fails to write")
+    void shouldRethrowTheFailureWhenTheFirstBatchFailsToWrite() {
+        enableDirectWrite();
+        when(namedParameterJdbcTemplate.batchUpdate(eq(INSERT_QUERY), any(SqlParameterSource[].class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> someRepository.save(someObjects, TOPIC));
+
+        verify(producer, never()).push(any(String.class), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("should write nothing when any object cannot be mapped to parameters")
+    void shouldWriteNothingWhenAnyObjectCannotBeMappedToParameters() {
+        ReflectionTestUtils.setField(someRepository, "directWriteEnabled", true);
+        ReflectionTestUtils.setField(someRepository, "directWriteBatchSize", 1);
+        ReflectionTestUtils.setField(someRepository, "transactionTemplate", new TransactionTemplate(transactionManager));
+        someRepository.registerBatchWrite(TOPIC, INSERT_QUERY, someObject -> {
+            if (someObject.getIsDeleted()) {
+                throw new IllegalStateException("cannot serialize");
+            }
+            return new MapSqlParameterSource("id", someObject.getId());
+        });
+
+        assertThrows(IllegalStateException.class, () -> someRepository.save(someObjects, TOPIC));
+
+        verify(namedParameterJdbcTemplate, never()).batchUpdate(any(String.class), any(SqlParameterSource[].class));
+        verify(producer, never()).push(any(String.class), any(Object.class));
+    }
+
+    private void enableDirectWrite() {
+        ReflectionTestUtils.setField(someRepository, "directWriteEnabled", true);
+        ReflectionTestUtils.setField(someRepository, "directWriteBatchSize", 1);
+        ReflectionTestUtils.setField(someRepository, "transactionTemplate", new TransactionTemplate(transactionManager));
+        someRepository.registerBatchWrite(TOPIC, INSERT_QUERY,
+                someObject -> new MapSqlParameterSource("id", someObject.getId()));
+    }
 }
@@ -28,6 +28,13 @@ public class Configuration {
     @Value("${egov.mdms.search.endpoint}")
     private String mdmsEndPoint;
 
+    //Boundary
+    @Value("${egov.boundary.service.host}")
+    private String boundaryServiceHost;
+
+    @Value("${egov.boundary.relationship.search.endpoint}")
+    private String boundaryRelationshipSearchEndpoint;
+
 
     //Persister Topic
     @Value("${plan.configuration.create.topic}")
@@ -42,6 +49,9 @@ public class Configuration {
     @Value("${plan.update.topic}")
     private String planUpdateTopic;
 
+    @Value("${plan.bulk.create.failed.topic}")
+    private String planBulkCreateFailedTopic;
+
     @Value("${plan.default.offset}")
     private Integer defaultOffset;
 
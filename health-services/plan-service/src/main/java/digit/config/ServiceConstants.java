@@ -76,6 +76,21 @@ public class ServiceConstants {
     public static final String BOUNDARY_CODE_MAPPING_NOT_FOUND_CODE = "BOUNDARY_CODE_MAPPING_NOT_FOUND";
     public static final String BOUNDARY_CODE_MAPPING_NOT_FOUND_MESSAGE = "Boundary Code Mapping is required column is not found.";
 
+    public static final String BOUNDARY_SEARCH_EXCEPTION_CODE = "BOUNDARY_SEARCH_EXCEPTION";
+    public static final String BOUNDARY_SEARCH_EXCEPTION_MESSAGE = "Exception occurred while searching boundary relationships for tenantId: ";
+
+    public static final String BOUNDARY_CODE_NOT_FOUND_CODE = "BOUNDARY_CODE_NOT_FOUND";
+    public static final String BOUNDARY_CODE_NOT_FOUND_MESSAGE = "Boundary code not found in the boundary hierarchy: ";
+
+    public static final String PLAN_ROLLUP_PLAN_REFERENCE_MISSING_CODE = "PLAN_ROLLUP_PLAN_REFERENCE_MISSING";
+    public static final String PLAN_ROLLUP_PLAN_REFERENCE_MISSING_MESSAGE = "Either plan configuration id or execution plan id is required for plan rollup search";
+
+    public static final String PLAN_ROLLUP_HIERARCHY_TYPE_MISSING_CODE = "PLAN_ROLLUP_HIERARCHY_TYPE_MISSING";
+    public static final String PLAN_ROLLUP_HIERARCHY_TYPE_MISSING_MESSAGE = "Hierarchy type is required when boundary code or boundary type is provided";
+
+    public static final String TENANTID_REPLACER = "{tenantId}";
+    public static final String HIERARCHYTYPE_REPLACER = "{hierarchyType}";
+
     //mdms constants
     public static final String MDMS_PLAN_MODULE_NAME = "hcm-microplanning";
     public static final String MDMS_MASTER_ASSUMPTION = "HypothesisAssumptions";
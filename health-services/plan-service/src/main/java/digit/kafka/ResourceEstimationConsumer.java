@@ -10,6 +10,8 @@ import org.springframework.stereotype.Component;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import digit.service.PlanService;
+import digit.web.models.PlanBulkRequest;
+import digit.web.models.PlanBulkResponse;
 import digit.web.models.PlanRequest;
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,4 +37,16 @@ public class ResourceEstimationConsumer {
             log.error("Error in plan consumer", exception);
         }
     }
+
+	@KafkaListener(topics = {"${resource.config.consumer.plan.bulk.create.topic}"})
+    public void listenBulk(Map<String, Object> consumerRecord, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        try {
+        	PlanBulkRequest planBulkRequest = objectMapper.convertValue(consumerRecord, PlanBulkRequest.class);
+        	PlanBulkResponse planBulkResponse = planService.createPlans(planBulkRequest);
+        	log.info("Created {} of {} plans received on topic {}, {} failed validation", planBulkResponse.getPlans().size(),
+        			planBulkRequest.getPlans().size(), topic, planBulkResponse.getErrors().size());
+        } catch (Exception exception) {
+            log.error("Error in plan bulk consumer", exception);
+        }
+    }
 }
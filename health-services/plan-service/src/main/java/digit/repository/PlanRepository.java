@@ -2,9 +2,12 @@ package digit.repository;
 
 import digit.web.models.Plan;
 import digit.web.models.PlanRequest;
+import digit.web.models.PlanRollup;
+import digit.web.models.PlanRollupSearchCriteria;
 import digit.web.models.PlanSearchCriteria;
 
 import java.util.List;
+import java.util.Map;
 
 public interface PlanRepository {
     public void create(PlanRequest planRequest);
@@ -13,4 +16,6 @@ public interface PlanRepository {
 
     public void update(PlanRequest planRequest);
 
+    public List<PlanRollup> searchRollups(PlanRollupSearchCriteria planRollupSearchCriteria, Map<String, String> rollupBoundaryByLocality);
+
 }
@@ -10,9 +10,13 @@ import digit.web.models.PlanConfiguration;
 import digit.web.models.PlanConfigurationRequest;
 import digit.web.models.PlanConfigurationSearchCriteria;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
@@ -110,7 +114,8 @@ public class PlanConfigurationRepositoryImpl implements PlanConfigurationReposit
     }
 
     /**
-     * Helper method to search for plan configs based on the provided plan config ids.
+     * Helper method to search for plan configs based on the provided plan config ids. The plan configurations and
+     * each of their child collections are fetched with separate queries and assembled in memory.
      * @param planConfigIds
      * @return
      */
@@ -118,7 +123,40 @@ public class PlanConfigurationRepositoryImpl implements PlanConfigurationReposit
         List<Object> preparedStmtList = new ArrayList<>();
         String query = planConfigQueryBuilder.getPlanConfigQuery(planConfigIds, preparedStmtList);
         log.info("Plan Config query: " + query);
-        return jdbcTemplate.query(query, planConfigRowMapper, preparedStmtList.toArray());
+        List<PlanConfiguration> planConfigurations = jdbcTemplate.query(query, planConfigRowMapper, preparedStmtList.toArray());
+
+        if (CollectionUtils.isEmpty(planConfigurations)) {
+            return new ArrayList<>();
+        }
+
+        Map<String, PlanConfiguration> planConfigurationMap = new LinkedHashMap<>();
+        planConfigurations.forEach(planConfiguration -> planConfigurationMap.put(planConfiguration.getId(), planConfiguration));
+        List<String> ids = new ArrayList<>(planConfigurationMap.keySet());
+
+        queryPlanConfigChildren(planConfigQueryBuilder::getPlanConfigFilesQuery, ids,
+                rs -> planConfigRowMapper.addFile(rs, planConfigurationMap));
+        queryPlanConfigChildren(planConfigQueryBuilder::getPlanConfigAssumptionsQuery, ids,
+                rs -> planConfigRowMapper.addAssumption(rs, planConfigurationMap));
+        queryPlanConfigChildren(planConfigQueryBuilder::getPlanConfigOperationsQuery, ids,
+                rs -> planConfigRowMapper.addOperation(rs, planConfigurationMap));
+        queryPlanConfigChildren(planConfigQueryBuilder::getPlanConfigMappingQuery, ids,
+                rs -> planConfigRowMapper.addResourceMapping(rs, planConfigurationMap));
+
+        return planConfigurations;
+    }
+
+    /**
+     * Helper method to query a child collection of the provided plan configs.
+     * @param queryBuilder builds the child collection query for the plan config ids
+     * @param planConfigIds
+     * @param rowCallbackHandler adds each row to its plan config
+     */
+    private void queryPlanConfigChildren(BiFunction<List<String>, List<Object>, String> queryBuilder,
+                                         List<String> planConfigIds, RowCallbackHandler rowCallbackHandler) {
+        List<Object> preparedStmtList = new ArrayList<>();
+        String query = queryBuilder.apply(planConfigIds, preparedStmtList);
+        log.info("Plan Config child query: " + query);
+        jdbcTemplate.query(query, rowCallbackHandler, preparedStmtList.toArray());
     }
 
 }
@@ -7,15 +7,21 @@ import digit.repository.querybuilder.PlanQueryBuilder;
 import digit.repository.rowmapper.PlanRowMapper;
 import digit.web.models.Plan;
 import digit.web.models.PlanRequest;
+import digit.web.models.PlanRollup;
+import digit.web.models.PlanRollupSearchCriteria;
 import digit.web.models.PlanSearchCriteria;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Repository
@@ -88,6 +94,70 @@ public class PlanRepositoryImpl implements PlanRepository {
 		}
 	}
 
+    /**
+     * This method sums up the resource and target estimates of plans per rollup boundary in the database.
+     * @param planRollupSearchCriteria
+     * @param rollupBoundaryByLocality the rollup boundary of every locality to include, or null to sum up all plans
+     *                                 matching the criteria into the boundary code of the criteria
+     * @return
+     */
+    @Override
+    public List<PlanRollup> searchRollups(PlanRollupSearchCriteria planRollupSearchCriteria, Map<String, String> rollupBoundaryByLocality) {
+        Map<String, PlanRollup> rollupByBoundary = new LinkedHashMap<>();
+        if (rollupBoundaryByLocality != null) {
+            rollupBoundaryByLocality.values().forEach(boundaryCode -> getOrCreateRollup(rollupByBoundary, boundaryCode));
+        }
+
+        queryRollup(planQueryBuilder::getPlanRollupCountQuery, planRollupSearchCriteria, rollupBoundaryByLocality,
+                (rollup, key, value) -> rollup.setPlanCount(value.longValue()), rollupByBoundary);
+        queryRollup(planQueryBuilder::getPlanResourceRollupQuery, planRollupSearchCriteria, rollupBoundaryByLocality,
+                (rollup, key, value) -> rollup.getResources().put(key, value), rollupByBoundary);
+        queryRollup(planQueryBuilder::getPlanTargetRollupQuery, planRollupSearchCriteria, rollupBoundaryByLocality,
+                (rollup, key, value) -> rollup.getTargets().put(key, value), rollupByBoundary);
+
+        rollupByBoundary.values().forEach(rollup -> {
+            if (rollup.getPlanCount() == null) {
+                rollup.setPlanCount(0L);
+            }
+        });
+        return new ArrayList<>(rollupByBoundary.values());
+    }
+
+    /**
+     * Helper method to run a rollup query and add its rows to the rollups of their boundaries.
+     * @param queryBuilder
+     * @param planRollupSearchCriteria
+     * @param rollupBoundaryByLocality
+     * @param rollupRowConsumer
+     * @param rollupByBoundary
+     */
+    private void queryRollup(RollupQueryBuilder queryBuilder, PlanRollupSearchCriteria planRollupSearchCriteria,
+                             Map<String, String> rollupBoundaryByLocality, RollupRowConsumer rollupRowConsumer,
+                             Map<String, PlanRollup> rollupByBoundary) {
+        List<Object> preparedStmtList = new ArrayList<>();
+        String query = queryBuilder.build(planRollupSearchCriteria, rollupBoundaryByLocality, preparedStmtList);
+        log.info("Plan rollup query: " + query);
+        jdbcTemplate.query(query, (RowCallbackHandler) rs -> {
+            BigDecimal value = rs.getBigDecimal("rollup_value");
+            rollupRowConsumer.accept(getOrCreateRollup(rollupByBoundary, rs.getString("rollup_boundary")),
+                    rs.getString("rollup_key"), value != null ? value : BigDecimal.ZERO);
+        }, preparedStmtList.toArray());
+    }
+
+    private PlanRollup getOrCreateRollup(Map<String, PlanRollup> rollupByBoundary, String boundaryCode) {
+        return rollupByBoundary.computeIfAbsent(boundaryCode, code -> PlanRollup.builder().boundaryCode(code).build());
+    }
+
+    @FunctionalInterface
+    private interface RollupQueryBuilder {
+        String build(PlanRollupSearchCriteria criteria, Map<String, String> rollupBoundaryByLocality, List<Object> preparedStmtList);
+    }
+
+    @FunctionalInterface
+    private interface RollupRowConsumer {
+        void accept(PlanRollup rollup, String key, BigDecimal value);
+    }
+
     /**
      * Helper method to query database for plan ids based on the provided search criteria.
      * @param planSearchCriteria
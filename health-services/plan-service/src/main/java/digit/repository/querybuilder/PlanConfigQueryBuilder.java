@@ -21,26 +21,35 @@ public class PlanConfigQueryBuilder {
 
     private static final String PLAN_CONFIG_SEARCH_BASE_QUERY = "SELECT id FROM plan_configuration pc ";
 
-    private static final String PLAN_CONFIG_QUERY = "SELECT pc.id as plan_configuration_id, pc.tenant_id as plan_configuration_tenant_id, pc.name as plan_configuration_name, pc.execution_plan_id as plan_configuration_execution_plan_id, pc.status as plan_configuration_status, pc.created_by as plan_configuration_created_by, pc.created_time as plan_configuration_created_time, pc.last_modified_by as plan_configuration_last_modified_by, pc.last_modified_time as plan_configuration_last_modified_time, \n" +
-            "\t   pcf.id as plan_configuration_files_id, pcf.plan_configuration_id as plan_configuration_files_plan_configuration_id, pcf.filestore_id as plan_configuration_files_filestore_id, pcf.input_file_type as plan_configuration_files_input_file_type, pcf.template_identifier as plan_configuration_files_template_identifier, pcf.active as plan_configuration_files_active, pcf.created_by as plan_configuration_files_created_by, pcf.created_time as plan_configuration_files_created_time, pcf.last_modified_by as plan_configuration_files_last_modified_by, pcf.last_modified_time as plan_configuration_files_last_modified_time,\n" +
-            "\t   pca.id as plan_configuration_assumptions_id, pca.key as plan_configuration_assumptions_key, pca.value as plan_configuration_assumptions_value, pca.active as plan_configuration_assumptions_active, pca.plan_configuration_id as plan_configuration_assumptions_plan_configuration_id, pca.created_by as plan_configuration_assumptions_created_by, pca.created_time as plan_configuration_assumptions_created_time, pca.last_modified_by as plan_configuration_assumptions_last_modified_by, pca.last_modified_time as plan_configuration_assumptions_last_modified_time,\n" +
-            "\t   pco.id as plan_configuration_operations_id, pco.input as plan_configuration_operations_input, pco.operator as plan_configuration_operations_operator, pco.assumption_value as plan_configuration_operations_assumption_value, pco.output as plan_configuration_operations_output, pco.active as plan_configuration_operations_active, pco.plan_configuration_id as plan_configuration_operations_plan_configuration_id, pco.created_by as plan_configuration_operations_created_by, pco.created_time as plan_configuration_operations_created_time, pco.last_modified_by as plan_configuration_operations_last_modified_by, pco.last_modified_time as plan_configuration_operations_last_modified_time,\n" +
-            "\t   pcm.id as plan_configuration_mapping_id, pcm.filestore_id as plan_configuration_mapping_filestore_id,  pcm.mapped_from as plan_configuration_mapping_mapped_from, pcm.mapped_to as plan_configuration_mapping_mapped_to, pcm.active as plan_configuration_mapping_active, pcm.plan_configuration_id as plan_configuration_mapping_plan_configuration_id, pcm.created_by as plan_configuration_mapping_created_by, pcm.created_time as plan_configuration_mapping_created_time, pcm.last_modified_by as plan_configuration_mapping_last_modified_by, pcm.last_modified_time as plan_configuration_mapping_last_modified_time\n" +
-            "\t   FROM plan_configuration pc\n" +
-            "\t   LEFT JOIN plan_configuration_files pcf ON pc.id = pcf.plan_configuration_id\n" +
-            "\t   LEFT JOIN plan_configuration_assumptions pca ON pc.id = pca.plan_configuration_id\n" +
-            "\t   LEFT JOIN plan_configuration_operations pco ON pc.id = pco.plan_configuration_id\n" +
-            "\t   LEFT JOIN plan_configuration_mapping pcm ON pc.id = pcm.plan_configuration_id";
+    private static final String PLAN_CONFIG_QUERY = "SELECT pc.id as plan_configuration_id, pc.tenant_id as plan_configuration_tenant_id, pc.name as plan_configuration_name, pc.execution_plan_id as plan_configuration_execution_plan_id, pc.status as plan_configuration_status, pc.created_by as plan_configuration_created_by, pc.created_time as plan_configuration_created_time, pc.last_modified_by as plan_configuration_last_modified_by, pc.last_modified_time as plan_configuration_last_modified_time \n" +
+            "\t   FROM plan_configuration pc";
+
+    private static final String PLAN_CONFIG_FILES_QUERY = "SELECT pcf.id as plan_configuration_files_id, pcf.plan_configuration_id as plan_configuration_files_plan_configuration_id, pcf.filestore_id as plan_configuration_files_filestore_id, pcf.input_file_type as plan_configuration_files_input_file_type, pcf.template_identifier as plan_configuration_files_template_identifier, pcf.active as plan_configuration_files_active, pcf.created_by as plan_configuration_files_created_by, pcf.created_time as plan_configuration_files_created_time, pcf.last_modified_by as plan_configuration_files_last_modified_by, pcf.last_modified_time as plan_configuration_files_last_modified_time\n" +
+            "\t   FROM plan_configuration_files pcf";
+
+    private static final String PLAN_CONFIG_ASSUMPTIONS_QUERY = "SELECT pca.id as plan_configuration_assumptions_id, pca.key as plan_configuration_assumptions_key, pca.value as plan_configuration_assumptions_value, pca.active as plan_configuration_assumptions_active, pca.plan_configuration_id as plan_configuration_assumptions_plan_configuration_id, pca.created_by as plan_configuration_assumptions_created_by, pca.created_time as plan_configuration_assumptions_created_time, pca.last_modified_by as plan_configuration_assumptions_last_modified_by, pca.last_modified_time as plan_configuration_assumptions_last_modified_time\n" +
+            "\t   FROM plan_configuration_assumptions pca";
+
+    private static final String PLAN_CONFIG_OPERATIONS_QUERY = "SELECT pco.id as plan_configuration_operations_id, pco.input as plan_configuration_operations_input, pco.operator as plan_configuration_operations_operator, pco.assumption_value as plan_configuration_operations_assumption_value, pco.output as plan_configuration_operations_output, pco.active as plan_configuration_operations_active, pco.plan_configuration_id as plan_configuration_operations_plan_configuration_id, pco.created_by as plan_configuration_operations_created_by, pco.created_time as plan_configuration_operations_created_time, pco.last_modified_by as plan_configuration_operations_last_modified_by, pco.last_modified_time as plan_configuration_operations_last_modified_time\n" +
+            "\t   FROM plan_configuration_operations pco";
+
+    private static final String PLAN_CONFIG_MAPPING_QUERY = "SELECT pcm.id as plan_configuration_mapping_id, pcm.filestore_id as plan_configuration_mapping_filestore_id,  pcm.mapped_from as plan_configuration_mapping_mapped_from, pcm.mapped_to as plan_configuration_mapping_mapped_to, pcm.active as plan_configuration_mapping_active, pcm.plan_configuration_id as plan_configuration_mapping_plan_configuration_id, pcm.created_by as plan_configuration_mapping_created_by, pcm.created_time as plan_configuration_mapping_created_time, pcm.last_modified_by as plan_configuration_mapping_last_modified_by, pcm.last_modified_time as plan_configuration_mapping_last_modified_time\n" +
+            "\t   FROM plan_configuration_mapping pcm";
 
     private static final String PLAN_CONFIG_SEARCH_QUERY_ORDER_BY_CLAUSE = " ORDER BY pc.last_modified_time DESC";
 
     private static final String PLAN_CONFIG_SEARCH_QUERY_COUNT_WRAPPER = "SELECT COUNT(*) AS total_count FROM ( ";
 
+    /**
+     * Constructs the query fetching the plan configurations with the provided ids, without their child collections.
+     * Each child collection is fetched with its own query keyed on the plan configuration ids, so that the rows
+     * returned grow with the sum and not the product of the child collection sizes.
+     *
+     * @param ids              The plan configuration ids.
+     * @param preparedStmtList A list to store prepared statement parameters.
+     * @return The plan configuration query.
+     */
     public String getPlanConfigQuery(List<String> ids, List<Object> preparedStmtList) {
-        return buildPlanConfigQuery(ids, preparedStmtList);
-    }
-
-    private String buildPlanConfigQuery(List<String> ids, List<Object> preparedStmtList) {
         StringBuilder builder = new StringBuilder(PLAN_CONFIG_QUERY);
 
         if (!CollectionUtils.isEmpty(ids)) {
@@ -49,11 +58,51 @@ public class PlanConfigQueryBuilder {
             QueryUtil.addToPreparedStatement(preparedStmtList, new LinkedHashSet<>(ids));
         }
 
-        addActiveWhereClause(builder, preparedStmtList);
-
         return QueryUtil.addOrderByClause(builder.toString(), PLAN_CONFIG_SEARCH_QUERY_ORDER_BY_CLAUSE);
     }
 
+    public String getPlanConfigFilesQuery(List<String> planConfigIds, List<Object> preparedStmtList) {
+        return buildPlanConfigChildQuery(PLAN_CONFIG_FILES_QUERY, "pcf", planConfigIds, preparedStmtList);
+    }
+
+    public String getPlanConfigAssumptionsQuery(List<String> planConfigIds, List<Object> preparedStmtList) {
+        return buildPlanConfigChildQuery(PLAN_CONFIG_ASSUMPTIONS_QUERY, "pca", planConfigIds, preparedStmtList);
+    }
+
+    public String getPlanConfigOperationsQuery(List<String> planConfigIds, List<Object> preparedStmtList) {
+        return buildPlanConfigChildQuery(PLAN_CONFIG_OPERATIONS_QUERY, "pco", planConfigIds, preparedStmtList);
+    }
+
+    public String getPlanConfigMappingQuery(List<String> planConfigIds, List<Object> preparedStmtList) {
+        return buildPlanConfigChildQuery(PLAN_CONFIG_MAPPING_QUERY, "pcm", planConfigIds, preparedStmtList);
+    }
+
+    /**
+     * Constructs the query fetching the active rows of a plan configuration child table for the provided
+     * plan configuration ids, in the order they were created. Operations are executed in this order.
+     *
+     * @param baseQuery        The select of the child table.
+     * @param alias            The alias of the child table in the base query.
+     * @param planConfigIds    The plan configuration ids.
+     * @param preparedStmtList A list to store prepared statement parameters.
+     * @return The child collection query.
+     */
+    private String buildPlanConfigChildQuery(String baseQuery, String alias, List<String> planConfigIds, List<Object> preparedStmtList) {
+        StringBuilder builder = new StringBuilder(baseQuery);
+
+        if (!CollectionUtils.isEmpty(planConfigIds)) {
+            QueryUtil.addClauseIfRequired(builder, preparedStmtList);
+            builder.append(" ").append(alias).append(".plan_configuration_id IN ( ").append(QueryUtil.createQuery(planConfigIds.size())).append(" )");
+            QueryUtil.addToPreparedStatement(preparedStmtList, new LinkedHashSet<>(planConfigIds));
+        }
+
+        addClauseIfRequired(preparedStmtList, builder);
+        builder.append(" ").append(alias).append(".active = ?");
+        preparedStmtList.add(Boolean.TRUE);
+
+        return QueryUtil.addOrderByClause(builder.toString(), " ORDER BY " + alias + ".created_time, " + alias + ".id");
+    }
+
     /**
      * Constructs a SQL query string for searching PlanConfiguration objects based on the provided search criteria.
      * Also adds an ORDER BY clause and handles pagination.
@@ -162,25 +211,6 @@ public class PlanConfigQueryBuilder {
         return paginatedQuery.toString();
     }
 
-    public void addActiveWhereClause(StringBuilder builder, List<Object> preparedStmtList)
-    {
-        addClauseIfRequired(preparedStmtList, builder);
-        builder.append(" pcf.active = ?");
-        preparedStmtList.add(Boolean.TRUE);
-
-        addClauseIfRequired(preparedStmtList, builder);
-        builder.append(" pca.active = ?");
-        preparedStmtList.add(Boolean.TRUE);
-
-        addClauseIfRequired(preparedStmtList, builder);
-        builder.append(" pco.active = ?");
-        preparedStmtList.add(Boolean.TRUE);
-
-        addClauseIfRequired(preparedStmtList, builder);
-        builder.append(" pcm.active = ?");
-        preparedStmtList.add(Boolean.TRUE);
-    }
-
 
 }
 
@@ -2,12 +2,14 @@ package digit.repository.querybuilder;
 
 import digit.config.Configuration;
 import digit.util.QueryUtil;
+import digit.web.models.PlanRollupSearchCriteria;
 import digit.web.models.PlanSearchCriteria;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class PlanQueryBuilder {
@@ -33,6 +35,14 @@ public class PlanQueryBuilder {
 
     private static final String PLAN_SEARCH_QUERY_ORDER_BY_CLAUSE = " order by plan.last_modified_time desc ";
 
+    private static final String PLAN_ROLLUP_BOUNDARY_JOIN = " JOIN unnest(?::varchar[], ?::varchar[]) AS rollup_boundary_map(locality, rollup_boundary) ON plan.locality = rollup_boundary_map.locality ";
+
+    private static final String PLAN_ROLLUP_COUNT_QUERY = "SELECT {rollupBoundary} AS rollup_boundary, NULL AS rollup_key, COUNT(plan.id) AS rollup_value FROM plan ";
+
+    private static final String PLAN_RESOURCE_ROLLUP_QUERY = "SELECT {rollupBoundary} AS rollup_boundary, plan_resource.resource_type AS rollup_key, SUM(plan_resource.estimated_number) AS rollup_value FROM plan JOIN plan_resource ON plan.id = plan_resource.plan_id ";
+
+    private static final String PLAN_TARGET_ROLLUP_QUERY = "SELECT {rollupBoundary} AS rollup_boundary, plan_target.metric AS rollup_key, SUM(plan_target.metric_value) AS rollup_value FROM plan JOIN plan_target ON plan.id = plan_target.plan_id ";
+
     public String getPlanQuery(List<String> ids, List<Object> preparedStmtList) {
         return buildPlanQuery(ids, preparedStmtList);
     }
@@ -98,6 +108,60 @@ public class PlanQueryBuilder {
         return builder.toString();
     }
 
+    public String getPlanRollupCountQuery(PlanRollupSearchCriteria criteria, Map<String, String> rollupBoundaryByLocality, List<Object> preparedStmtList) {
+        return buildPlanRollupQuery(PLAN_ROLLUP_COUNT_QUERY, " GROUP BY rollup_boundary ", criteria, rollupBoundaryByLocality, preparedStmtList);
+    }
+
+    public String getPlanResourceRollupQuery(PlanRollupSearchCriteria criteria, Map<String, String> rollupBoundaryByLocality, List<Object> preparedStmtList) {
+        return buildPlanRollupQuery(PLAN_RESOURCE_ROLLUP_QUERY, " GROUP BY rollup_boundary, rollup_key ", criteria, rollupBoundaryByLocality, preparedStmtList);
+    }
+
+    public String getPlanTargetRollupQuery(PlanRollupSearchCriteria criteria, Map<String, String> rollupBoundaryByLocality, List<Object> preparedStmtList) {
+        return buildPlanRollupQuery(PLAN_TARGET_ROLLUP_QUERY, " GROUP BY rollup_boundary, rollup_key ", criteria, rollupBoundaryByLocality, preparedStmtList);
+    }
+
+    /**
+     * Method to build a plan rollup query. When a locality to rollup boundary mapping is provided, the plans are
+     * joined with the mapping passed as two arrays and grouped by their rollup boundary, so that only the plans
+     * under the requested boundaries are summed up and only one row per boundary and key is returned. Without a
+     * mapping all plans matching the criteria are summed up into a single boundary.
+     * @param baseQuery
+     * @param groupByClause
+     * @param criteria
+     * @param rollupBoundaryByLocality
+     * @param preparedStmtList
+     * @return
+     */
+    private String buildPlanRollupQuery(String baseQuery, String groupByClause, PlanRollupSearchCriteria criteria,
+                                        Map<String, String> rollupBoundaryByLocality, List<Object> preparedStmtList) {
+        StringBuilder builder = new StringBuilder();
+
+        if (rollupBoundaryByLocality != null) {
+            builder.append(baseQuery.replace("{rollupBoundary}", "rollup_boundary_map.rollup_boundary"));
+            builder.append(PLAN_ROLLUP_BOUNDARY_JOIN);
+            preparedStmtList.add(rollupBoundaryByLocality.keySet().toArray(new String[0]));
+            preparedStmtList.add(rollupBoundaryByLocality.values().toArray(new String[0]));
+        } else {
+            builder.append(baseQuery.replace("{rollupBoundary}", "CAST(? AS varchar)"));
+            preparedStmtList.add(criteria.getBoundaryCode());
+        }
+
+        builder.append(" WHERE plan.tenant_id = ? ");
+        preparedStmtList.add(criteria.getTenantId());
+
+        if (!ObjectUtils.isEmpty(criteria.getPlanConfigurationId())) {
+            builder.append(" AND plan.plan_configuration_id = ? ");
+            preparedStmtList.add(criteria.getPlanConfigurationId());
+        }
+
+        if (!ObjectUtils.isEmpty(criteria.getExecutionPlanId())) {
+            builder.append(" AND plan.execution_plan_id = ? ");
+            preparedStmtList.add(criteria.getExecutionPlanId());
+        }
+
+        return builder.append(groupByClause).toString();
+    }
+
     private String getPaginatedQuery(String query, PlanSearchCriteria planSearchCriteria, List<Object> preparedStmtList) {
         StringBuilder paginatedQuery = new StringBuilder(query);
 
@@ -24,11 +24,6 @@ public class PlanConfigRowMapper implements ResultSetExtractor<List<PlanConfigur
     @Override
     public List<PlanConfiguration> extractData(ResultSet rs) throws SQLException, DataAccessException {
         Map<String, PlanConfiguration> planConfigurationMap = new LinkedHashMap<>();
-        Map<String, File> fileMap = new LinkedHashMap<>();
-        Map<String, Operation> operationMap = new LinkedHashMap<>();
-        Map<String, Assumption> assumptionMap = new LinkedHashMap<>();
-        Map<String, ResourceMapping> resourceMappingMap = new LinkedHashMap<>();
-
 
         while (rs.next()) {
             String planConfigId = rs.getString("plan_configuration_id");
@@ -50,10 +45,6 @@ public class PlanConfigRowMapper implements ResultSetExtractor<List<PlanConfigur
                 planConfigEntry.setAuditDetails(auditDetails);
 
             }
-            addFiles(rs, planConfigEntry, fileMap);
-            addAssumptions(rs, planConfigEntry, assumptionMap);
-            addOperations(rs, planConfigEntry, operationMap);
-            addResourceMappings(rs, planConfigEntry, resourceMappingMap);
 
             planConfigurationMap.put(planConfigId, planConfigEntry);
         }
@@ -61,17 +52,18 @@ public class PlanConfigRowMapper implements ResultSetExtractor<List<PlanConfigur
     }
 
     /**
-     * Adds a File object to the PlanConfiguration entry based on the result set.
+     * Adds a File object to its PlanConfiguration entry based on the current row of the plan configuration
+     * files result set.
      *
-     * @param rs              The ResultSet containing the data.
-     * @param planConfigEntry The PlanConfiguration entry to which the File object will be added.
-     * @param fileMap         A map to keep track of added File objects.
+     * @param rs                   The ResultSet containing the data.
+     * @param planConfigurationMap The PlanConfiguration entries by id.
      * @throws SQLException If an SQL error occurs.
      */
-    private void addFiles(ResultSet rs, PlanConfiguration planConfigEntry, Map<String, File> fileMap) throws SQLException {
+    public void addFile(ResultSet rs, Map<String, PlanConfiguration> planConfigurationMap) throws SQLException {
         String fileId = rs.getString("plan_configuration_files_id");
+        PlanConfiguration planConfigEntry = planConfigurationMap.get(rs.getString("plan_configuration_files_plan_configuration_id"));
 
-        if (ObjectUtils.isEmpty(fileId) || fileMap.containsKey(fileId)) {
+        if (ObjectUtils.isEmpty(fileId) || ObjectUtils.isEmpty(planConfigEntry)) {
             return;
         }
 
@@ -88,23 +80,22 @@ public class PlanConfigRowMapper implements ResultSetExtractor<List<PlanConfigur
         } else {
             planConfigEntry.getFiles().add(file);
         }
-
-        fileMap.put(fileId, file);
     }
 
 
     /**
-     * Adds an Assumption object to the PlanConfiguration entry based on the result set.
+     * Adds an Assumption object to its PlanConfiguration entry based on the current row of the plan configuration
+     * assumptions result set.
      *
-     * @param rs              The ResultSet containing the data.
-     * @param planConfigEntry The PlanConfiguration entry to which the Assumption object will be added.
-     * @param assumptionMap   A map to keep track of added Assumption objects.
+     * @param rs                   The ResultSet containing the data.
+     * @param planConfigurationMap The PlanConfiguration entries by id.
      * @throws SQLException If an SQL error occurs.
      */
-    private void addAssumptions(ResultSet rs, PlanConfiguration planConfigEntry, Map<String, Assumption> assumptionMap) throws SQLException {
+    public void addAssumption(ResultSet rs, Map<String, PlanConfiguration> planConfigurationMap) throws SQLException {
         String assumptionId = rs.getString("plan_configuration_assumptions_id");
+        PlanConfiguration planConfigEntry = planConfigurationMap.get(rs.getString("plan_configuration_assumptions_plan_configuration_id"));
 
-        if (ObjectUtils.isEmpty(assumptionId) || assumptionMap.containsKey(assumptionId)) {
+        if (ObjectUtils.isEmpty(assumptionId) || ObjectUtils.isEmpty(planConfigEntry)) {
             return;
         }
 
@@ -121,22 +112,21 @@ public class PlanConfigRowMapper implements ResultSetExtractor<List<PlanConfigur
         } else {
             planConfigEntry.getAssumptions().add(assumption);
         }
-
-        assumptionMap.put(assumptionId, assumption);
     }
 
     /**
-     * Adds an Operation object to the PlanConfiguration entry based on the result set.
+     * Adds an Operation object to its PlanConfiguration entry based on the current row of the plan configuration
+     * operations result set.
      *
-     * @param rs              The ResultSet containing the data.
-     * @param planConfigEntry The PlanConfiguration entry to which the Operation object will be added.
-     * @param operationMap    A map to keep track of added Operation objects.
+     * @param rs                   The ResultSet containing the data.
+     * @param planConfigurationMap The PlanConfiguration entries by id.
      * @throws SQLException If an SQL error occurs.
      */
-    private void addOperations(ResultSet rs, PlanConfiguration planConfigEntry, Map<String, Operation> operationMap) throws SQLException {
+    public void addOperation(ResultSet rs, Map<String, PlanConfiguration> planConfigurationMap) throws SQLException {
         String operationId = rs.getString("plan_configuration_operations_id");
+        PlanConfiguration planConfigEntry = planConfigurationMap.get(rs.getString("plan_configuration_operations_plan_configuration_id"));
 
-        if (ObjectUtils.isEmpty(operationId) || operationMap.containsKey(operationId)) {
+        if (ObjectUtils.isEmpty(operationId) || ObjectUtils.isEmpty(planConfigEntry)) {
             return;
         }
 
@@ -155,22 +145,21 @@ public class PlanConfigRowMapper implements ResultSetExtractor<List<PlanConfigur
         } else {
             planConfigEntry.getOperations().add(operation);
         }
-
-        operationMap.put(operationId, operation);
     }
 
     /**
-     * Adds a ResourceMapping object to the PlanConfiguration entry based on the result set.
+     * Adds a ResourceMapping object to its PlanConfiguration entry based on the current row of the plan
+     * configuration mapping result set.
      *
-     * @param rs              The ResultSet containing the data.
-     * @param planConfigEntry The PlanConfiguration entry to which the ResourceMapping object will be added.
-     * @param mappingMap      A map to keep track of added ResourceMapping objects.
+     * @param rs                   The ResultSet containing the data.
+     * @param planConfigurationMap The PlanConfiguration entries by id.
      * @throws SQLException If an SQL error occurs.
      */
-    private void addResourceMappings(ResultSet rs, PlanConfiguration planConfigEntry, Map<String, ResourceMapping> mappingMap) throws SQLException {
+    public void addResourceMapping(ResultSet rs, Map<String, PlanConfiguration> planConfigurationMap) throws SQLException {
         String mappingId = rs.getString("plan_configuration_mapping_id");
+        PlanConfiguration planConfigEntry = planConfigurationMap.get(rs.getString("plan_configuration_mapping_plan_configuration_id"));
 
-        if (ObjectUtils.isEmpty(mappingId) || mappingMap.containsKey(mappingId)) {
+        if (ObjectUtils.isEmpty(mappingId) || ObjectUtils.isEmpty(planConfigEntry)) {
             return;
         }
 
@@ -188,8 +177,6 @@ public class PlanConfigRowMapper implements ResultSetExtractor<List<PlanConfigur
         } else {
             planConfigEntry.getResourceMapping().add(mapping);
         }
-
-        mappingMap.put(mappingId, mapping);
     }
 
 }
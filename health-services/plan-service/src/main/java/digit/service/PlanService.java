@@ -1,16 +1,29 @@
 package digit.service;
 
+import digit.config.Configuration;
+import digit.kafka.Producer;
 import digit.repository.PlanRepository;
+import digit.util.BoundaryUtil;
 import digit.web.models.Plan;
+import digit.web.models.PlanBulkRequest;
+import digit.web.models.PlanBulkResponse;
+import digit.web.models.PlanError;
 import digit.web.models.PlanRequest;
 import digit.web.models.PlanResponse;
+import digit.web.models.PlanRollup;
+import digit.web.models.PlanRollupResponse;
+import digit.web.models.PlanRollupSearchCriteria;
+import digit.web.models.PlanRollupSearchRequest;
 import digit.web.models.PlanSearchRequest;
+import digit.web.models.boundary.BoundarySearchResponse;
 import org.egov.common.utils.ResponseInfoUtil;
 import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class PlanService {
@@ -21,10 +34,20 @@ public class PlanService {
 
     private PlanRepository planRepository;
 
-    public PlanService(PlanValidator planValidator, PlanEnricher planEnricher, PlanRepository planRepository) {
+    private BoundaryUtil boundaryUtil;
+
+    private Producer producer;
+
+    private Configuration config;
+
+    public PlanService(PlanValidator planValidator, PlanEnricher planEnricher, PlanRepository planRepository, BoundaryUtil boundaryUtil,
+                       Producer producer, Configuration config) {
         this.planValidator = planValidator;
         this.planEnricher = planEnricher;
         this.planRepository = planRepository;
+        this.boundaryUtil = boundaryUtil;
+        this.producer = producer;
+        this.config = config;
     }
 
     /**
@@ -49,6 +72,44 @@ public class PlanService {
                 .build();
     }
 
+    /**
+     * This method processes chunks of plans published for creation by resource estimation. The chunk is validated
+     * as a whole, after which every valid plan is enriched and handed to the repository. When some plans of the chunk
+     * fail validation, the outcome of the chunk is published on the plan bulk create failed topic.
+     * @param body
+     * @return
+     */
+    public PlanBulkResponse createPlans(PlanBulkRequest body) {
+        // Validate plan bulk create request
+        List<PlanError> planErrors = new ArrayList<>();
+        List<PlanRequest> planRequests = planValidator.validateBulkPlanCreate(body, planErrors);
+
+        List<Plan> planList = new ArrayList<>(planRequests.size());
+        planRequests.forEach(planRequest -> {
+            // Enrich plan create request
+            planEnricher.enrichPlanCreate(planRequest);
+
+            // Delegate creation request to repository
+            planRepository.create(planRequest);
+
+            planList.add(planRequest.getPlan());
+        });
+
+        PlanBulkResponse planBulkResponse = PlanBulkResponse.builder()
+                .responseInfo(ResponseInfoUtil.createResponseInfoFromRequestInfo(body.getRequestInfo(), planErrors.isEmpty()))
+                .plans(planList)
+                .errors(planErrors)
+                .build();
+
+        // Report the plans which failed validation
+        if (!planErrors.isEmpty()) {
+            producer.push(config.getPlanBulkCreateFailedTopic(), planBulkResponse);
+        }
+
+        // Build and return response back to consumer
+        return planBulkResponse;
+    }
+
     /**
      * This method processes the requests that come for searching plans.
      * @param body
@@ -65,6 +126,41 @@ public class PlanService {
                 .build();
     }
 
+    /**
+     * This method processes the requests that come for plan rollups. The boundary hierarchy is resolved once into a
+     * mapping of localities to the boundaries they roll up to, and the estimates are summed up in the database.
+     * @param body
+     * @return
+     */
+    public PlanRollupResponse searchPlanRollups(PlanRollupSearchRequest body) {
+        // Validate plan rollup search request
+        planValidator.validatePlanRollupSearch(body);
+
+        PlanRollupSearchCriteria criteria = body.getPlanRollupSearchCriteria();
+        List<PlanRollup> planRollups = new ArrayList<>();
+
+        // Resolve the boundaries the plan localities roll up to, if a hierarchy is provided
+        Map<String, String> rollupBoundaryByLocality = null;
+        if (!ObjectUtils.isEmpty(criteria.getHierarchyType())) {
+            BoundarySearchResponse boundarySearchResponse = boundaryUtil.fetchBoundaryRelationships(body.getRequestInfo(),
+                    criteria.getTenantId(), criteria.getHierarchyType());
+            rollupBoundaryByLocality = boundaryUtil.getRollupBoundaryByLocality(boundarySearchResponse,
+                    criteria.getBoundaryCode(), criteria.getBoundaryType());
+        }
+
+        // Delegate rollup search request to repository
+        if (rollupBoundaryByLocality == null || !rollupBoundaryByLocality.isEmpty()) {
+            planRollups = planRepository.searchRollups(criteria, rollupBoundaryByLocality);
+            planRollups.forEach(planRollup -> planRollup.setBoundaryType(criteria.getBoundaryType()));
+        }
+
+        // Build and return response back to controller
+        return PlanRollupResponse.builder()
+                .responseInfo(ResponseInfoUtil.createResponseInfoFromRequestInfo(body.getRequestInfo(), Boolean.TRUE))
+                .planRollup(planRollups)
+                .build();
+    }
+
     /**
      * This method processes the requests that come for updating plans.
      * @param body
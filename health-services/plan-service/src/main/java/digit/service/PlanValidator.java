@@ -10,10 +10,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static digit.config.ServiceConstants.INVALID_PLAN_CONFIG_ID_CODE;
@@ -27,6 +30,10 @@ import static digit.config.ServiceConstants.METRIC_NOT_FOUND_IN_MDMS_CODE;
 import static digit.config.ServiceConstants.METRIC_NOT_FOUND_IN_MDMS_MESSAGE;
 import static digit.config.ServiceConstants.METRIC_UNIT_NOT_FOUND_IN_MDMS_CODE;
 import static digit.config.ServiceConstants.METRIC_UNIT_NOT_FOUND_IN_MDMS_MESSAGE;
+import static digit.config.ServiceConstants.PLAN_ROLLUP_HIERARCHY_TYPE_MISSING_CODE;
+import static digit.config.ServiceConstants.PLAN_ROLLUP_HIERARCHY_TYPE_MISSING_MESSAGE;
+import static digit.config.ServiceConstants.PLAN_ROLLUP_PLAN_REFERENCE_MISSING_CODE;
+import static digit.config.ServiceConstants.PLAN_ROLLUP_PLAN_REFERENCE_MISSING_MESSAGE;
 
 @Component
 public class PlanValidator {
@@ -51,11 +58,59 @@ public class PlanValidator {
         String rootTenantId = request.getPlan().getTenantId().split("\\.")[0];
         Object mdmsData = mdmsUtil.fetchMdmsData(request.getRequestInfo(), rootTenantId);
 
+        validatePlanCreate(request, mdmsData, this::planConfigurationExists);
+    }
+
+    /**
+     * This method performs business validations on a chunk of plans to be created. MDMS data is fetched once per
+     * root tenant and every distinct plan configuration is looked up once for the whole chunk. Plans failing
+     * validation are left out of the returned list and added to the provided list of errors.
+     * @param body
+     * @param planErrors collects the plans which failed validation with their error
+     * @return the plan create requests of the plans that passed validation
+     */
+    public List<PlanRequest> validateBulkPlanCreate(PlanBulkRequest body, List<PlanError> planErrors) {
+        Map<String, Object> mdmsDataByRootTenant = new HashMap<>();
+        body.getPlans().forEach(plan -> mdmsDataByRootTenant.computeIfAbsent(plan.getTenantId().split("\\.")[0],
+                rootTenantId -> mdmsUtil.fetchMdmsData(body.getRequestInfo(), rootTenantId)));
+
+        Map<String, Boolean> planConfigExistenceByKey = new HashMap<>();
+        List<PlanRequest> validPlanRequests = new ArrayList<>();
+
+        for (Plan plan : body.getPlans()) {
+            PlanRequest request = PlanRequest.builder()
+                    .requestInfo(body.getRequestInfo())
+                    .plan(plan)
+                    .build();
+            try {
+                Object mdmsData = mdmsDataByRootTenant.get(plan.getTenantId().split("\\.")[0]);
+                validatePlanCreate(request, mdmsData, planToCheck -> planConfigExistenceByKey.computeIfAbsent(
+                        planToCheck.getTenantId() + ":" + planToCheck.getPlanConfigurationId(),
+                        key -> planConfigurationExists(planToCheck)));
+                validPlanRequests.add(request);
+            } catch (CustomException e) {
+                planErrors.add(PlanError.builder()
+                        .plan(plan)
+                        .code(e.getCode())
+                        .message(e.getMessage())
+                        .build());
+            }
+        }
+        return validPlanRequests;
+    }
+
+    /**
+     * This method performs the validations of a plan create request against the provided MDMS data
+     * @param request
+     * @param mdmsData
+     * @param planConfigurationExists checks whether the plan configuration of a plan exists
+     */
+    private void validatePlanCreate(PlanRequest request, Object mdmsData, Predicate<Plan> planConfigurationExists) {
         // Validate activities
         validateActivities(request);
 
         // Validate plan configuration existence
-        validatePlanConfigurationExistence(request);
+        validatePlanConfigurationExistence(request, planConfigurationExists);
 
         // Validate resources
         validateResources(request);
@@ -76,6 +131,23 @@ public class PlanValidator {
         validateMetricDetailUnit(request, mdmsData);
     }
 
+    /**
+     * This method validates plan rollup search requests
+     * @param request
+     */
+    public void validatePlanRollupSearch(PlanRollupSearchRequest request) {
+        PlanRollupSearchCriteria criteria = request.getPlanRollupSearchCriteria();
+
+        if (ObjectUtils.isEmpty(criteria.getPlanConfigurationId()) && ObjectUtils.isEmpty(criteria.getExecutionPlanId())) {
+            throw new CustomException(PLAN_ROLLUP_PLAN_REFERENCE_MISSING_CODE, PLAN_ROLLUP_PLAN_REFERENCE_MISSING_MESSAGE);
+        }
+
+        if (ObjectUtils.isEmpty(criteria.getHierarchyType())
+                && (!ObjectUtils.isEmpty(criteria.getBoundaryCode()) || !ObjectUtils.isEmpty(criteria.getBoundaryType()))) {
+            throw new CustomException(PLAN_ROLLUP_HIERARCHY_TYPE_MISSING_CODE, PLAN_ROLLUP_HIERARCHY_TYPE_MISSING_MESSAGE);
+        }
+    }
+
     /**
      * This validation method validates if the dependent activities are valid and if they form a cycle
      * @param request
@@ -169,17 +241,22 @@ public class PlanValidator {
     /**
      * This method validates if the plan configuration id provided in the request exists
      * @param request
+     * @param planConfigurationExists
      */
-    private void validatePlanConfigurationExistence(PlanRequest request) {
+    private void validatePlanConfigurationExistence(PlanRequest request, Predicate<Plan> planConfigurationExists) {
         // If plan id provided is invalid, throw an exception
-        if(!ObjectUtils.isEmpty(request.getPlan().getPlanConfigurationId()) && CollectionUtils.isEmpty(planConfigurationRepository.search(PlanConfigurationSearchCriteria.builder()
-                .id(request.getPlan().getPlanConfigurationId())
-                .tenantId(request.getPlan().getTenantId())
-                .build()))) {
+        if(!ObjectUtils.isEmpty(request.getPlan().getPlanConfigurationId()) && !planConfigurationExists.test(request.getPlan())) {
             throw new CustomException(INVALID_PLAN_CONFIG_ID_CODE, INVALID_PLAN_CONFIG_ID_MESSAGE);
         }
     }
 
+    private boolean planConfigurationExists(Plan plan) {
+        return !CollectionUtils.isEmpty(planConfigurationRepository.search(PlanConfigurationSearchCriteria.builder()
+                .id(plan.getPlanConfigurationId())
+                .tenantId(plan.getTenantId())
+                .build()));
+    }
+
     /**
      * This method validates the resources provided in the request
      * @param request
@@ -262,7 +339,7 @@ public class PlanValidator {
         validateActivitiesUuidUniqueness(request);
 
         // Validate plan configuration existence
-        validatePlanConfigurationExistence(request);
+        validatePlanConfigurationExistence(request, this::planConfigurationExists);
 
         // Validate resources
         validateResources(request);
@@ -0,0 +1,133 @@
+package digit.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import digit.config.Configuration;
+import digit.repository.ServiceRequestRepository;
+import digit.web.models.boundary.BoundarySearchResponse;
+import digit.web.models.boundary.EnrichedBoundary;
+import lombok.extern.slf4j.Slf4j;
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.tracer.model.CustomException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static digit.config.ServiceConstants.BOUNDARY_CODE_NOT_FOUND_CODE;
+import static digit.config.ServiceConstants.BOUNDARY_CODE_NOT_FOUND_MESSAGE;
+import static digit.config.ServiceConstants.BOUNDARY_SEARCH_EXCEPTION_CODE;
+import static digit.config.ServiceConstants.BOUNDARY_SEARCH_EXCEPTION_MESSAGE;
+import static digit.config.ServiceConstants.HIERARCHYTYPE_REPLACER;
+import static digit.config.ServiceConstants.TENANTID_REPLACER;
+
+@Slf4j
+@Component
+public class BoundaryUtil {
+
+    private Configuration config;
+
+    private ServiceRequestRepository serviceRequestRepository;
+
+    private ObjectMapper mapper;
+
+    public BoundaryUtil(Configuration config, ServiceRequestRepository serviceRequestRepository, ObjectMapper mapper) {
+        this.config = config;
+        this.serviceRequestRepository = serviceRequestRepository;
+        this.mapper = mapper;
+    }
+
+    /**
+     * This method fetches the boundary relationship tree of the given hierarchy type, including children
+     * @param requestInfo
+     * @param tenantId
+     * @param hierarchyType
+     * @return
+     */
+    public BoundarySearchResponse fetchBoundaryRelationships(RequestInfo requestInfo, String tenantId, String hierarchyType) {
+        String uri = config.getBoundaryServiceHost() + config.getBoundaryRelationshipSearchEndpoint();
+        uri = uri.replace(TENANTID_REPLACER, tenantId).replace(HIERARCHYTYPE_REPLACER, hierarchyType);
+        try {
+            Object response = serviceRequestRepository.fetchResult(new StringBuilder(uri),
+                    Collections.singletonMap("RequestInfo", requestInfo));
+            BoundarySearchResponse boundarySearchResponse = mapper.convertValue(response, BoundarySearchResponse.class);
+            if (boundarySearchResponse == null) {
+                throw new IllegalStateException("Empty boundary relationship search response");
+            }
+            return boundarySearchResponse;
+        } catch (Exception e) {
+            log.error("Boundary relationship search failed", e);
+            throw new CustomException(BOUNDARY_SEARCH_EXCEPTION_CODE, BOUNDARY_SEARCH_EXCEPTION_MESSAGE + tenantId);
+        }
+    }
+
+    /**
+     * This method maps every boundary of the subtree rooted at the given boundary code, or of the whole hierarchy
+     * when no boundary code is given, to the boundary of the given boundary type it falls under. Without a boundary
+     * type every boundary of the subtree is mapped to the given boundary code. Boundaries above the given boundary
+     * type are left out.
+     * @param boundarySearchResponse
+     * @param boundaryCode
+     * @param boundaryType
+     * @return the rollup boundary code by boundary code
+     */
+    public Map<String, String> getRollupBoundaryByLocality(BoundarySearchResponse boundarySearchResponse, String boundaryCode, String boundaryType) {
+        List<EnrichedBoundary> roots = new ArrayList<>();
+        if (!CollectionUtils.isEmpty(boundarySearchResponse.getTenantBoundary())) {
+            boundarySearchResponse.getTenantBoundary().forEach(hierarchyRelation -> {
+                if (!CollectionUtils.isEmpty(hierarchyRelation.getBoundary())) {
+                    roots.addAll(hierarchyRelation.getBoundary());
+                }
+            });
+        }
+
+        if (!ObjectUtils.isEmpty(boundaryCode)) {
+            EnrichedBoundary root = findBoundary(roots, boundaryCode);
+            if (root == null) {
+                throw new CustomException(BOUNDARY_CODE_NOT_FOUND_CODE, BOUNDARY_CODE_NOT_FOUND_MESSAGE + boundaryCode);
+            }
+            roots.clear();
+            roots.add(root);
+        }
+
+        Map<String, String> rollupBoundaryByLocality = new LinkedHashMap<>();
+        roots.forEach(root -> addRollupBoundaries(root, ObjectUtils.isEmpty(boundaryType) ? root.getCode() : null,
+                boundaryType, rollupBoundaryByLocality));
+        return rollupBoundaryByLocality;
+    }
+
+    private void addRollupBoundaries(EnrichedBoundary boundary, String rollupBoundary, String boundaryType,
+                                     Map<String, String> rollupBoundaryByLocality) {
+        if (rollupBoundary == null && boundaryType.equalsIgnoreCase(boundary.getBoundaryType())) {
+            rollupBoundary = boundary.getCode();
+        }
+        if (rollupBoundary != null) {
+            rollupBoundaryByLocality.put(boundary.getCode(), rollupBoundary);
+        }
+        if (!CollectionUtils.isEmpty(boundary.getChildren())) {
+            for (EnrichedBoundary child : boundary.getChildren()) {
+                addRollupBoundaries(child, rollupBoundary, boundaryType, rollupBoundaryByLocality);
+            }
+        }
+    }
+
+    private EnrichedBoundary findBoundary(List<EnrichedBoundary> boundaries, String boundaryCode) {
+        if (CollectionUtils.isEmpty(boundaries)) {
+            return null;
+        }
+        for (EnrichedBoundary boundary : boundaries) {
+            if (boundaryCode.equals(boundary.getCode())) {
+                return boundary;
+            }
+            EnrichedBoundary match = findBoundary(boundary.getChildren(), boundaryCode);
+            if (match != null) {
+                return match;
+            }
+        }
+        return null;
+    }
+}
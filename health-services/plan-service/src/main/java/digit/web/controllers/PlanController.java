@@ -46,6 +46,17 @@ public class PlanController {
         return ResponseEntity.status(HttpStatus.OK).body(planResponse);
     }
 
+    /**
+     * Request handler for serving plan rollup search requests
+     * @param body
+     * @return
+     */
+    @RequestMapping(value = "/rollup/_search", method = RequestMethod.POST)
+    public ResponseEntity<PlanRollupResponse> rollupSearchPost(@Valid @RequestBody PlanRollupSearchRequest body) {
+        PlanRollupResponse planRollupResponse = planService.searchPlanRollups(body);
+        return ResponseEntity.status(HttpStatus.OK).body(planRollupResponse);
+    }
+
     /**
      * Request handler for serving plan update requests
      * @param body
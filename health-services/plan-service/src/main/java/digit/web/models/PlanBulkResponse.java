@@ -0,0 +1,35 @@
+package digit.web.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import org.egov.common.contract.response.ResponseInfo;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * PlanBulkResponse
+ */
+@Validated
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PlanBulkResponse {
+
+    @JsonProperty("ResponseInfo")
+    @Valid
+    private ResponseInfo responseInfo = null;
+
+    @JsonProperty("Plans")
+    @Valid
+    private List<Plan> plans = null;
+
+    @JsonProperty("Errors")
+    @Valid
+    private List<PlanError> errors = null;
+
+}
@@ -0,0 +1,31 @@
+package digit.web.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * PlanError
+ */
+@Validated
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PlanError {
+
+    @JsonProperty("Plan")
+    @Valid
+    private Plan plan = null;
+
+    @JsonProperty("code")
+    private String code = null;
+
+    @JsonProperty("message")
+    private String message = null;
+
+}
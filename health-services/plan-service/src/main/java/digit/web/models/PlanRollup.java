@@ -0,0 +1,40 @@
+package digit.web.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.validation.annotation.Validated;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * Resource and target estimates of the plans of a plan configuration summed up to a boundary.
+ */
+@Validated
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PlanRollup {
+
+    @JsonProperty("boundaryCode")
+    private String boundaryCode = null;
+
+    @JsonProperty("boundaryType")
+    private String boundaryType = null;
+
+    @JsonProperty("planCount")
+    private Long planCount = null;
+
+    @JsonProperty("resources")
+    @Builder.Default
+    private Map<String, BigDecimal> resources = new LinkedHashMap<>();
+
+    @JsonProperty("targets")
+    @Builder.Default
+    private Map<String, BigDecimal> targets = new LinkedHashMap<>();
+
+}
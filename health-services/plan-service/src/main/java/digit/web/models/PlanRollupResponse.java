@@ -0,0 +1,31 @@
+package digit.web.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import org.egov.common.contract.response.ResponseInfo;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * PlanRollupResponse
+ */
+@Validated
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PlanRollupResponse {
+
+    @JsonProperty("ResponseInfo")
+    @Valid
+    private ResponseInfo responseInfo = null;
+
+    @JsonProperty("PlanRollup")
+    @Valid
+    private List<PlanRollup> planRollup = null;
+
+}
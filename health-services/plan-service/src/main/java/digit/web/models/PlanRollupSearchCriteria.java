@@ -0,0 +1,44 @@
+package digit.web.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.validation.annotation.Validated;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * PlanRollupSearchCriteria
+ */
+@Validated
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PlanRollupSearchCriteria {
+
+    @JsonProperty("tenantId")
+    @NotNull
+    private String tenantId = null;
+
+    @JsonProperty("planConfigurationId")
+    private String planConfigurationId = null;
+
+    @JsonProperty("executionPlanId")
+    private String executionPlanId = null;
+
+    @JsonProperty("hierarchyType")
+    @Size(max = 64)
+    private String hierarchyType = null;
+
+    @JsonProperty("boundaryCode")
+    @Size(max = 64)
+    private String boundaryCode = null;
+
+    @JsonProperty("boundaryType")
+    @Size(max = 64)
+    private String boundaryType = null;
+
+}
@@ -0,0 +1,37 @@
+package digit.web.models.boundary;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import org.springframework.validation.annotation.Validated;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * EnrichedBoundary
+ */
+@Validated
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EnrichedBoundary {
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("code")
+    @NotNull
+    private String code;
+
+    @JsonProperty("boundaryType")
+    private String boundaryType;
+
+    @JsonProperty("children")
+    @Valid
+    private List<EnrichedBoundary> children = null;
+
+}
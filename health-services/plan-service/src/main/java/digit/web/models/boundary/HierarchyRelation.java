@@ -0,0 +1,32 @@
+package digit.web.models.boundary;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.validation.annotation.Validated;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * HierarchyRelation
+ */
+@Validated
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class HierarchyRelation {
+
+    @JsonProperty("tenantId")
+    private String tenantId = null;
+
+    @JsonProperty("hierarchyType")
+    private String hierarchyType = null;
+
+    @JsonProperty("boundary")
+    @Valid
+    private List<EnrichedBoundary> boundary = null;
+
+}
@@ -0,0 +1,4 @@
+CREATE INDEX IF NOT EXISTS idx_plan_tenant_id_plan_configuration_id ON plan (tenant_id, plan_configuration_id);
+CREATE INDEX IF NOT EXISTS idx_plan_tenant_id_execution_plan_id ON plan (tenant_id, execution_plan_id);
+CREATE INDEX IF NOT EXISTS idx_plan_resource_plan_id ON plan_resource (plan_id);
+CREATE INDEX IF NOT EXISTS idx_plan_target_plan_id ON plan_target (plan_id);
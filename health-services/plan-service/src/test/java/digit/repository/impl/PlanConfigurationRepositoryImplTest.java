@@ -0,0 +1,301 @@
+package digit.repository.impl;
+
+import digit.config.Configuration;
+import digit.repository.querybuilder.PlanConfigQueryBuilder;
+import digit.repository.rowmapper.PlanConfigRowMapper;
+import digit.web.models.PlanConfiguration;
+import digit.web.models.PlanConfigurationSearchCriteria;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Regression tests for plan configuration loading, which must not join the child tables of a plan configuration
+ * into a single result set.
+ */
+public class PlanConfigurationRepositoryImplTest {
+
+    private static final String TENANT_ID = "mz";
+
+    private static final int FILE_COUNT = 5;
+
+    private static final int ASSUMPTION_COUNT = 40;
+
+    private static final int OPERATION_COUNT = 60;
+
+    private static final int MAPPING_COUNT = 80;
+
+    private StubJdbcTemplate jdbcTemplate;
+
+    private PlanConfigurationRepositoryImpl repository;
+
+    private PlanConfigQueryBuilder planConfigQueryBuilder;
+
+    @Before
+    public void setUp() {
+        Configuration config = new Configuration();
+        config.setDefaultOffset(0);
+        config.setDefaultLimit(10);
+        planConfigQueryBuilder = new PlanConfigQueryBuilder(config);
+        jdbcTemplate = new StubJdbcTemplate();
+        repository = new PlanConfigurationRepositoryImpl(null, jdbcTemplate, config, planConfigQueryBuilder,
+                new PlanConfigRowMapper());
+    }
+
+    @Test
+    public void searchLoadsRealisticallySizedConfigurationWithoutJoinExplosion() {
+        jdbcTemplate.addPlanConfiguration("config-1", FILE_COUNT, ASSUMPTION_COUNT, OPERATION_COUNT, MAPPING_COUNT);
+
+        List<PlanConfiguration> planConfigurations = repository.search(criteria());
+
+        assertEquals(1, planConfigurations.size());
+        PlanConfiguration planConfiguration = planConfigurations.get(0);
+        assertEquals(FILE_COUNT, planConfiguration.getFiles().size());
+        assertEquals(ASSUMPTION_COUNT, planConfiguration.getAssumptions().size());
+        assertEquals(OPERATION_COUNT, planConfiguration.getOperations().size());
+        assertEquals(MAPPING_COUNT, planConfiguration.getResourceMapping().size());
+
+        // operations are evaluated in order, so the rows are mapped in the order the query returns them
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            assertEquals("output-" + i, planConfiguration.getOperations().get(i).getOutput());
+        }
+        assertTrue(jdbcTemplate.queries.stream().anyMatch(query -> query.contains("FROM plan_configuration_operations pco")
+                && query.endsWith(" ORDER BY pco.created_time, pco.id")));
+
+        // one row for the id search and the configuration, plus one row per child, instead of their product
+        assertEquals(2 + FILE_COUNT + ASSUMPTION_COUNT + OPERATION_COUNT + MAPPING_COUNT, jdbcTemplate.rowsRead);
+        jdbcTemplate.queries.forEach(query -> assertFalse(query, query.toUpperCase().contains("JOIN")));
+    }
+
+    @Test
+    public void searchAssignsChildrenToTheirOwnConfiguration() {
+        jdbcTemplate.addPlanConfiguration("config-1", 2, 3, 4, 5);
+        jdbcTemplate.addPlanConfiguration("config-2", 1, 0, 2, 0);
+
+        List<PlanConfiguration> planConfigurations = repository.search(criteria());
+
+        assertEquals(2, planConfigurations.size());
+        PlanConfiguration first = planConfigurations.get(0);
+        PlanConfiguration second = planConfigurations.get(1);
+        assertEquals("config-1", first.getId());
+        assertEquals(2, first.getFiles().size());
+        assertEquals(3, first.getAssumptions().size());
+        assertEquals(4, first.getOperations().size());
+        assertEquals(5, first.getResourceMapping().size());
+        assertEquals("config-2", second.getId());
+        assertEquals(1, second.getFiles().size());
+        assertNull(second.getAssumptions());
+        assertEquals(2, second.getOperations().size());
+        assertNull(second.getResourceMapping());
+    }
+
+    @Test
+    public void childQueriesAreKeyedOnPlanConfigurationIdsAndActiveRows() {
+        List<Object> preparedStmtList = new ArrayList<>();
+
+        String query = planConfigQueryBuilder.getPlanConfigOperationsQuery(List.of("config-1", "config-2"), preparedStmtList);
+
+        assertTrue(query.contains("FROM plan_configuration_operations pco"));
+        assertTrue(query.contains("pco.plan_configuration_id IN"));
+        assertTrue(query.contains("pco.active = ?"));
+        assertEquals(List.of("config-1", "config-2", Boolean.TRUE), preparedStmtList);
+    }
+
+    @Test
+    public void childQueriesOrderRowsByCreationSoOperationsKeepTheirOrder() {
+        List<String> planConfigIds = List.of("config-1");
+
+        assertTrue(planConfigQueryBuilder.getPlanConfigFilesQuery(planConfigIds, new ArrayList<>())
+                .endsWith("pcf.active = ? ORDER BY pcf.created_time, pcf.id"));
+        assertTrue(planConfigQueryBuilder.getPlanConfigAssumptionsQuery(planConfigIds, new ArrayList<>())
+                .endsWith("pca.active = ? ORDER BY pca.created_time, pca.id"));
+        assertTrue(planConfigQueryBuilder.getPlanConfigOperationsQuery(planConfigIds, new ArrayList<>())
+                .endsWith("pco.active = ? ORDER BY pco.created_time, pco.id"));
+        assertTrue(planConfigQueryBuilder.getPlanConfigMappingQuery(planConfigIds, new ArrayList<>())
+                .endsWith("pcm.active = ? ORDER BY pcm.created_time, pcm.id"));
+    }
+
+    private static PlanConfigurationSearchCriteria criteria() {
+        return PlanConfigurationSearchCriteria.builder().tenantId(TENANT_ID).build();
+    }
+
+    /**
+     * Serves the rows of in-memory plan configuration tables to the queries issued by the repository.
+     */
+    private static class StubJdbcTemplate extends JdbcTemplate {
+
+        private final List<Map<String, Object>> planConfigRows = new ArrayList<>();
+
+        private final List<Map<String, Object>> fileRows = new ArrayList<>();
+
+        private final List<Map<String, Object>> assumptionRows = new ArrayList<>();
+
+        private final List<Map<String, Object>> operationRows = new ArrayList<>();
+
+        private final List<Map<String, Object>> mappingRows = new ArrayList<>();
+
+        private final List<String> queries = new ArrayList<>();
+
+        private int rowsRead;
+
+        private void addPlanConfiguration(String id, int files, int assumptions, int operations, int mappings) {
+            Map<String, Object> planConfig = new HashMap<>();
+            planConfig.put("plan_configuration_id", id);
+            planConfig.put("plan_configuration_tenant_id", TENANT_ID);
+            planConfig.put("plan_configuration_name", "Microplan " + id);
+            planConfig.put("plan_configuration_execution_plan_id", "execution-plan");
+            planConfig.put("plan_configuration_status", "DRAFT");
+            planConfig.put("plan_configuration_created_time", 1L);
+            planConfig.put("plan_configuration_last_modified_time", 1L);
+            planConfigRows.add(planConfig);
+
+            for (int i = 0; i < files; i++) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("plan_configuration_files_id", id + "-file-" + i);
+                row.put("plan_configuration_files_plan_configuration_id", id);
+                row.put("plan_configuration_files_filestore_id", "filestore-" + i);
+                row.put("plan_configuration_files_input_file_type", "EXCEL");
+                row.put("plan_configuration_files_template_identifier", "Population");
+                row.put("plan_configuration_files_active", Boolean.TRUE);
+                fileRows.add(row);
+            }
+            for (int i = 0; i < assumptions; i++) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("plan_configuration_assumptions_id", id + "-assumption-" + i);
+                row.put("plan_configuration_assumptions_plan_configuration_id", id);
+                row.put("plan_configuration_assumptions_key", "assumption-" + i);
+                row.put("plan_configuration_assumptions_value", BigDecimal.valueOf(i));
+                row.put("plan_configuration_assumptions_active", Boolean.TRUE);
+                assumptionRows.add(row);
+            }
+            for (int i = 0; i < operations; i++) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("plan_configuration_operations_id", id + "-operation-" + i);
+                row.put("plan_configuration_operations_plan_configuration_id", id);
+                row.put("plan_configuration_operations_input", i == 0 ? "population" : "output-" + (i - 1));
+                row.put("plan_configuration_operations_operator", "*");
+                row.put("plan_configuration_operations_assumption_value", "assumption-" + (i % Math.max(1, assumptions)));
+                row.put("plan_configuration_operations_output", "output-" + i);
+                row.put("plan_configuration_operations_active", Boolean.TRUE);
+                operationRows.add(row);
+            }
+            for (int i = 0; i < mappings; i++) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("plan_configuration_mapping_id", id + "-mapping-" + i);
+                row.put("plan_configuration_mapping_plan_configuration_id", id);
+                row.put("plan_configuration_mapping_filestore_id", "filestore-" + (i % Math.max(1, files)));
+                row.put("plan_configuration_mapping_mapped_from", "column-" + i);
+                row.put("plan_configuration_mapping_mapped_to", "attribute-" + i);
+                row.put("plan_configuration_mapping_active", Boolean.TRUE);
+                mappingRows.add(row);
+            }
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            queries.add(sql);
+            List<T> result = new ArrayList<>();
+            try {
+                ResultSet rs = resultSet(idRows());
+                int rowNum = 0;
+                while (rs.next()) {
+                    result.add(rowMapper.mapRow(rs, rowNum++));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return result;
+        }
+
+        @Override
+        public <T> T query(String sql, ResultSetExtractor<T> rse, Object... args) {
+            queries.add(sql);
+            try {
+                return rse.extractData(resultSet(planConfigRows));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            queries.add(sql);
+            try {
+                ResultSet rs = resultSet(childRows(sql));
+                while (rs.next()) {
+                    rch.processRow(rs);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private List<Map<String, Object>> idRows() {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            planConfigRows.forEach(planConfig -> rows.add(Map.of("id", planConfig.get("plan_configuration_id"))));
+            return rows;
+        }
+
+        private List<Map<String, Object>> childRows(String sql) {
+            if (sql.contains("FROM plan_configuration_files")) {
+                return fileRows;
+            } else if (sql.contains("FROM plan_configuration_assumptions")) {
+                return assumptionRows;
+            } else if (sql.contains("FROM plan_configuration_operations")) {
+                return operationRows;
+            } else if (sql.contains("FROM plan_configuration_mapping")) {
+                return mappingRows;
+            }
+            throw new IllegalArgumentException("Unexpected query: " + sql);
+        }
+
+        private ResultSet resultSet(List<Map<String, Object>> rows) throws SQLException {
+            ResultSet rs = mock(ResultSet.class);
+            int[] cursor = {-1};
+            when(rs.next()).thenAnswer(invocation -> {
+                cursor[0]++;
+                if (cursor[0] < rows.size()) {
+                    rowsRead++;
+                    return true;
+                }
+                return false;
+            });
+            when(rs.getString(anyString())).thenAnswer(invocation -> (String) value(rows, cursor, invocation.getArgument(0)));
+            when(rs.getObject(1)).thenAnswer(invocation -> rows.get(cursor[0]).get("id"));
+            when(rs.getString(1)).thenAnswer(invocation -> (String) rows.get(cursor[0]).get("id"));
+            when(rs.getLong(anyString())).thenAnswer(invocation -> {
+                Object value = value(rows, cursor, invocation.getArgument(0));
+                return value == null ? 0L : (Long) value;
+            });
+            when(rs.getBoolean(anyString())).thenAnswer(invocation -> Boolean.TRUE.equals(value(rows, cursor, invocation.getArgument(0))));
+            when(rs.getBigDecimal(anyString())).thenAnswer(invocation -> (BigDecimal) value(rows, cursor, invocation.getArgument(0)));
+            ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+            when(metaData.getColumnCount()).thenReturn(1);
+            when(rs.getMetaData()).thenReturn(metaData);
+            return rs;
+        }
+
+        private static Object value(List<Map<String, Object>> rows, int[] cursor, String column) {
+            return rows.get(cursor[0]).get(column);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package digit.service;
+
+import digit.config.Configuration;
+import digit.kafka.Producer;
+import digit.repository.PlanRepository;
+import digit.util.BoundaryUtil;
+import digit.web.models.Plan;
+import digit.web.models.PlanBulkRequest;
+import digit.web.models.PlanBulkResponse;
+import digit.web.models.PlanError;
+import digit.web.models.PlanRequest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.egov.common.contract.request.RequestInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the creation of the chunks of plans published by resource estimation.
+ */
+public class PlanServiceTest {
+
+    private static final String FAILED_TOPIC = "plan-bulk-create-failed-topic";
+
+    private PlanValidator planValidator;
+
+    private PlanRepository planRepository;
+
+    private Producer producer;
+
+    private PlanService planService;
+
+    @Before
+    public void setUp() {
+        planValidator = mock(PlanValidator.class);
+        planRepository = mock(PlanRepository.class);
+        producer = mock(Producer.class);
+        Configuration config = new Configuration();
+        config.setPlanBulkCreateFailedTopic(FAILED_TOPIC);
+        planService = new PlanService(planValidator, mock(PlanEnricher.class), planRepository, mock(BoundaryUtil.class),
+                producer, config);
+    }
+
+    @Test
+    public void createPlansPersistsValidPlansAndReportsInvalidOnes() {
+        Plan valid = Plan.builder().tenantId("mz").locality("L1").build();
+        Plan invalid = Plan.builder().tenantId("mz").locality("L2").build();
+        PlanBulkRequest body = PlanBulkRequest.builder()
+                .requestInfo(new RequestInfo())
+                .plans(Arrays.asList(valid, invalid))
+                .build();
+        when(planValidator.validateBulkPlanCreate(any(PlanBulkRequest.class), anyList())).thenAnswer(invocation -> {
+            List<PlanError> planErrors = invocation.getArgument(1);
+            planErrors.add(PlanError.builder().plan(invalid).code("INVALID_PLAN_CONFIG_ID").message("Plan config id provided is invalid").build());
+            return Collections.singletonList(PlanRequest.builder().requestInfo(body.getRequestInfo()).plan(valid).build());
+        });
+
+        PlanBulkResponse response = planService.createPlans(body);
+
+        ArgumentCaptor<PlanRequest> persisted = ArgumentCaptor.forClass(PlanRequest.class);
+        verify(planRepository, times(1)).create(persisted.capture());
+        assertSame(valid, persisted.getValue().getPlan());
+        assertEquals(Collections.singletonList(valid), response.getPlans());
+        assertEquals(1, response.getErrors().size());
+        assertSame(invalid, response.getErrors().get(0).getPlan());
+        assertEquals("INVALID_PLAN_CONFIG_ID", response.getErrors().get(0).getCode());
+        verify(producer).push(FAILED_TOPIC, response);
+    }
+
+    @Test
+    public void createPlansReportsNothingWhenEveryPlanIsValid() {
+        Plan valid = Plan.builder().tenantId("mz").locality("L1").build();
+        PlanBulkRequest body = PlanBulkRequest.builder()
+                .requestInfo(new RequestInfo())
+                .plans(Collections.singletonList(valid))
+                .build();
+        when(planValidator.validateBulkPlanCreate(any(PlanBulkRequest.class), anyList()))
+                .thenReturn(Collections.singletonList(PlanRequest.builder().requestInfo(body.getRequestInfo()).plan(valid).build()));
+
+        PlanBulkResponse response = planService.createPlans(body);
+
+        assertTrue(response.getErrors().isEmpty());
+        verify(producer, never()).push(anyString(), any());
+    }
+}
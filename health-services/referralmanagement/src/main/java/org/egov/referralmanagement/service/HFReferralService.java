@@ -20,6 +20,8 @@ import org.egov.referralmanagement.Constants;
 import org.egov.referralmanagement.config.ReferralManagementConfiguration;
 import org.egov.referralmanagement.repository.HFReferralRepository;
 import org.egov.referralmanagement.service.enrichment.HFReferralEnrichmentService;
+import org.egov.referralmanagement.service.lookup.ReferenceLookup;
+import org.egov.referralmanagement.service.lookup.ReferenceLookupBroker;
 import org.egov.referralmanagement.validator.hfreferral.HfrExistentEntityValidator;
 import org.egov.referralmanagement.validator.hfreferral.HfrIsDeletedValidator;
 import org.egov.referralmanagement.validator.hfreferral.HfrNonExistentEntityValidator;
@@ -58,6 +60,8 @@ public class HFReferralService {
     private final HFReferralEnrichmentService hfReferralEnrichmentService;
     private final List<Validator<HFReferralBulkRequest, HFReferral>> validators;
 
+    private final ReferenceLookupBroker referenceLookupBroker;
+
     // Predicates to determine which validators are applicable for create, update, and delete operations
     private final Predicate<Validator<HFReferralBulkRequest, HFReferral>> isApplicableForCreate = validator ->
             validator.getClass().equals(HfrProjectIdValidator.class)
@@ -86,16 +90,19 @@ public class HFReferralService {
      * @param referralManagementConfiguration The configuration for referral management.
      * @param hfReferralEnrichmentService    The service for enriching HFReferral entities.
      * @param validators                    The list of validators for HFReferral entities.
+     * @param referenceLookupBroker         The broker sharing referenced entities across validators.
      */
     public HFReferralService(IdGenService idGenService, HFReferralRepository hfReferralRepository,
                              ReferralManagementConfiguration referralManagementConfiguration,
                              HFReferralEnrichmentService hfReferralEnrichmentService,
-                             List<Validator<HFReferralBulkRequest, HFReferral>> validators) {
+                             List<Validator<HFReferralBulkRequest, HFReferral>> validators,
+                             ReferenceLookupBroker referenceLookupBroker) {
         this.idGenService = idGenService;
         this.hfReferralRepository = hfReferralRepository;
         this.referralManagementConfiguration = referralManagementConfiguration;
         this.hfReferralEnrichmentService = hfReferralEnrichmentService;
         this.validators = validators;
+        this.referenceLookupBroker = referenceLookupBroker;
     }
 
     // Method to create a single HFReferral
@@ -250,9 +257,13 @@ public class HFReferralService {
             boolean isBulk
     ) {
         log.info("Validating request");
-        Map<HFReferral, ErrorDetails> errorDetailsMap = CommonUtils.validate(validators,
-                isApplicable, request,
-                Constants.SET_HF_REFERRALS);
+        Map<HFReferral, ErrorDetails> errorDetailsMap;
+        // validators share the entities referenced by the request, searched once per request
+        try (ReferenceLookup referenceLookup = referenceLookupBroker.open(request)) {
+            errorDetailsMap = CommonUtils.validate(validators,
+                    isApplicable, request,
+                    Constants.SET_HF_REFERRALS);
+        }
         if (!errorDetailsMap.isEmpty() && !isBulk) {
             log.error("Validation error occurred. Error details: {}", errorDetailsMap.values());
             throw new CustomException(Constants.VALIDATION_ERROR, errorDetailsMap.values().toString());
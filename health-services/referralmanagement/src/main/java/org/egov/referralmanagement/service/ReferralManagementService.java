@@ -23,6 +23,8 @@ import org.egov.referralmanagement.Constants;
 import org.egov.referralmanagement.config.ReferralManagementConfiguration;
 import org.egov.referralmanagement.repository.ReferralRepository;
 import org.egov.referralmanagement.service.enrichment.ReferralManagementEnrichmentService;
+import org.egov.referralmanagement.service.lookup.ReferenceLookup;
+import org.egov.referralmanagement.service.lookup.ReferenceLookupBroker;
 import org.egov.referralmanagement.validator.RmExistentEntityValidator;
 import org.egov.referralmanagement.validator.RmIsDeletedValidator;
 import org.egov.referralmanagement.validator.RmNonExistentEntityValidator;
@@ -61,6 +63,8 @@ public class ReferralManagementService {
 
     private final List<Validator<ReferralBulkRequest, Referral>> validators;
 
+    private final ReferenceLookupBroker referenceLookupBroker;
+
     private final Predicate<Validator<ReferralBulkRequest, Referral>> isApplicableForCreate = validator ->
             validator.getClass().equals(RmProjectBeneficiaryIdValidator.class)
                 || validator.getClass().equals(RmExistentEntityValidator.class)
@@ -85,12 +89,13 @@ public class ReferralManagementService {
                 || validator.getClass().equals(RmRowVersionValidator.class);
 
 
-    public ReferralManagementService(IdGenService idGenService, ReferralRepository referralRepository, ReferralManagementConfiguration referralManagementConfiguration, ReferralManagementEnrichmentService referralManagementEnrichmentService, List<Validator<ReferralBulkRequest, Referral>> validators) {
+    public ReferralManagementService(IdGenService idGenService, ReferralRepository referralRepository, ReferralManagementConfiguration referralManagementConfiguration, ReferralManagementEnrichmentService referralManagementEnrichmentService, List<Validator<ReferralBulkRequest, Referral>> validators, ReferenceLookupBroker referenceLookupBroker) {
         this.idGenService = idGenService;
         this.referralRepository = referralRepository;
         this.referralManagementConfiguration = referralManagementConfiguration;
         this.referralManagementEnrichmentService = referralManagementEnrichmentService;
         this.validators = validators;
+        this.referenceLookupBroker = referenceLookupBroker;
     }
 
     public Referral create(ReferralRequest request) {
@@ -233,9 +238,13 @@ public class ReferralManagementService {
             boolean isBulk
     ) {
         log.info("validating request");
-        Map<Referral, ErrorDetails> errorDetailsMap = CommonUtils.validate(validators,
-                isApplicable, request,
-                Constants.SET_REFERRALS);
+        Map<Referral, ErrorDetails> errorDetailsMap;
+        // validators share the entities referenced by the request, searched once per request
+        try (ReferenceLookup referenceLookup = referenceLookupBroker.open(request)) {
+            errorDetailsMap = CommonUtils.validate(validators,
+                    isApplicable, request,
+                    Constants.SET_REFERRALS);
+        }
         if (!errorDetailsMap.isEmpty() && !isBulk) {
             log.error("validation error occurred. error details: {}", errorDetailsMap.values().toString());
             throw new CustomException(Constants.VALIDATION_ERROR, errorDetailsMap.values().toString());
@@ -21,6 +21,8 @@ import org.egov.referralmanagement.Constants;
 import org.egov.referralmanagement.config.ReferralManagementConfiguration;
 import org.egov.referralmanagement.repository.SideEffectRepository;
 import org.egov.referralmanagement.service.enrichment.SideEffectEnrichmentService;
+import org.egov.referralmanagement.service.lookup.ReferenceLookup;
+import org.egov.referralmanagement.service.lookup.ReferenceLookupBroker;
 import org.egov.referralmanagement.validator.sideeffect.SeExistentEntityValidator;
 import org.egov.referralmanagement.validator.sideeffect.SeIsDeletedValidator;
 import org.egov.referralmanagement.validator.sideeffect.SeNonExistentEntityValidator;
@@ -59,6 +61,8 @@ public class SideEffectService {
 
     private final List<Validator<SideEffectBulkRequest, SideEffect>> validators;
 
+    private final ReferenceLookupBroker referenceLookupBroker;
+
     private final Predicate<Validator<SideEffectBulkRequest, SideEffect>> isApplicableForCreate = validator ->
             validator.getClass().equals(SeProjectTaskIdValidator.class)
                 || validator.getClass().equals(SeExistentEntityValidator.class)
@@ -82,12 +86,14 @@ public class SideEffectService {
             SideEffectRepository sideEffectRepository,
             ReferralManagementConfiguration referralManagementConfiguration,
             SideEffectEnrichmentService sideEffectEnrichmentService,
-            List<Validator<SideEffectBulkRequest, SideEffect>> validators
+            List<Validator<SideEffectBulkRequest, SideEffect>> validators,
+            ReferenceLookupBroker referenceLookupBroker
     ) {
         this.sideEffectRepository = sideEffectRepository;
         this.referralManagementConfiguration = referralManagementConfiguration;
         this.sideEffectEnrichmentService = sideEffectEnrichmentService;
         this.validators = validators;
+        this.referenceLookupBroker = referenceLookupBroker;
     }
 
     /**
@@ -285,9 +291,13 @@ public class SideEffectService {
             boolean isBulk
     ) {
         log.info("validating request");
-        Map<SideEffect, ErrorDetails> errorDetailsMap = CommonUtils.validate(validators,
-                isApplicable, request,
-                Constants.SET_SIDE_EFFECTS);
+        Map<SideEffect, ErrorDetails> errorDetailsMap;
+        // validators share the entities referenced by the request, searched once per request
+        try (ReferenceLookup referenceLookup = referenceLookupBroker.open(request)) {
+            errorDetailsMap = CommonUtils.validate(validators,
+                    isApplicable, request,
+                    Constants.SET_SIDE_EFFECTS);
+        }
         if (!errorDetailsMap.isEmpty() && !isBulk) {
             log.error("validation error occurred. error details: {}", errorDetailsMap.values().toString());
             throw new CustomException(Constants.VALIDATION_ERROR, errorDetailsMap.values().toString());
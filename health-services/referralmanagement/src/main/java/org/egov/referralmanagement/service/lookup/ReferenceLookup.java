@@ -0,0 +1,177 @@
+package org.egov.referralmanagement.service.lookup;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.common.models.project.Project;
+import org.egov.common.models.project.ProjectBeneficiary;
+import org.egov.common.models.project.ProjectFacility;
+import org.egov.common.models.project.Task;
+
+/**
+ * References of one bulk request to entities of the project, facility and user services, along with
+ * the entities found for them. Each type of entity is searched once per tenant, for the references of
+ * all entities of the request, the first time a validator asks for it, and the result is shared by
+ * all validators of the request. Failed searches are not kept, so that the next validator asking
+ * searches again.
+ */
+public class ReferenceLookup implements AutoCloseable {
+
+    private final ReferenceLookupBroker broker;
+
+    private final Object request;
+
+    private final RequestInfo requestInfo;
+
+    private final ReferenceLookup previous;
+
+    private final Map<String, References> tenantIdReferencesMap = new HashMap<>();
+
+    private final Set<String> staffIds = new LinkedHashSet<>();
+
+    private final Map<String, List<ProjectBeneficiary>> projectBeneficiaries = new HashMap<>();
+
+    private final Map<String, List<Task>> tasks = new HashMap<>();
+
+    private final Map<String, List<Project>> projects = new HashMap<>();
+
+    private final Map<String, List<ProjectFacility>> projectFacilities = new HashMap<>();
+
+    private final Map<String, List<String>> facilityIds = new HashMap<>();
+
+    private List<String> existingStaffIds;
+
+    ReferenceLookup(ReferenceLookupBroker broker, Object request, RequestInfo requestInfo, ReferenceLookup previous) {
+        this.broker = broker;
+        this.request = request;
+        this.requestInfo = requestInfo;
+        this.previous = previous;
+    }
+
+    boolean isFor(Object request) {
+        return this.request == request;
+    }
+
+    ReferenceLookup getPrevious() {
+        return previous;
+    }
+
+    /**
+     * @param tenantId tenant of the referencing entities
+     * @return the project beneficiaries referenced by id or client reference id
+     */
+    public List<ProjectBeneficiary> getProjectBeneficiaries(String tenantId) {
+        return projectBeneficiaries.computeIfAbsent(tenantId, key -> broker.searchProjectBeneficiaries(key,
+                getReferences(key).projectBeneficiaryIds, getReferences(key).projectBeneficiaryClientReferenceIds, requestInfo));
+    }
+
+    /**
+     * @param tenantId tenant of the referencing entities
+     * @return the project tasks referenced by id or client reference id
+     */
+    public List<Task> getTasks(String tenantId) {
+        return tasks.computeIfAbsent(tenantId, key -> broker.searchTasks(key,
+                getReferences(key).taskIds, getReferences(key).taskClientReferenceIds, requestInfo));
+    }
+
+    /**
+     * @param tenantId tenant of the referencing entities
+     * @return the projects referenced by id
+     */
+    public List<Project> getProjects(String tenantId) {
+        return projects.computeIfAbsent(tenantId, key -> broker.searchProjects(key, getReferences(key).projectIds, requestInfo));
+    }
+
+    /**
+     * @param tenantId tenant of the referencing entities
+     * @return the project facilities referenced by id
+     */
+    public List<ProjectFacility> getProjectFacilities(String tenantId) {
+        return projectFacilities.computeIfAbsent(tenantId, key -> broker.searchProjectFacilities(key,
+                getReferences(key).projectFacilityIds, requestInfo));
+    }
+
+    /**
+     * @param tenantId tenant of the referencing entities
+     * @return the ids of the referenced facilities that exist
+     */
+    public List<String> getFacilityIds(String tenantId) {
+        return facilityIds.computeIfAbsent(tenantId, key -> broker.searchFacilityIds(key, getReferences(key).facilityIds, requestInfo));
+    }
+
+    /**
+     * @return the uuids of the referenced staff that exist
+     */
+    public List<String> getStaffIds() {
+        if (existingStaffIds == null) {
+            existingStaffIds = broker.searchStaffIds(staffIds, requestInfo);
+        }
+        return existingStaffIds;
+    }
+
+    void addProjectBeneficiary(String tenantId, String id, String clientReferenceId) {
+        References references = getReferences(tenantId);
+        addIgnoreNull(references.projectBeneficiaryIds, id);
+        addIgnoreNull(references.projectBeneficiaryClientReferenceIds, clientReferenceId);
+    }
+
+    void addTask(String tenantId, String id, String clientReferenceId) {
+        References references = getReferences(tenantId);
+        addIgnoreNull(references.taskIds, id);
+        addIgnoreNull(references.taskClientReferenceIds, clientReferenceId);
+    }
+
+    void addProject(String tenantId, String id) {
+        addIgnoreNull(getReferences(tenantId).projectIds, id);
+    }
+
+    void addProjectFacility(String tenantId, String id) {
+        addIgnoreNull(getReferences(tenantId).projectFacilityIds, id);
+    }
+
+    void addFacility(String tenantId, String id) {
+        addIgnoreNull(getReferences(tenantId).facilityIds, id);
+    }
+
+    void addStaff(String id) {
+        addIgnoreNull(staffIds, id);
+    }
+
+    private References getReferences(String tenantId) {
+        return tenantIdReferencesMap.computeIfAbsent(tenantId, key -> new References());
+    }
+
+    private void addIgnoreNull(Set<String> set, String item) {
+        if (Objects.nonNull(item)) set.add(item);
+    }
+
+    /**
+     * Ends the lookup of the request, restoring the lookup of the enclosing request if any
+     */
+    @Override
+    public void close() {
+        broker.close(this);
+    }
+
+    private static class References {
+
+        private final Set<String> projectBeneficiaryIds = new LinkedHashSet<>();
+
+        private final Set<String> projectBeneficiaryClientReferenceIds = new LinkedHashSet<>();
+
+        private final Set<String> taskIds = new LinkedHashSet<>();
+
+        private final Set<String> taskClientReferenceIds = new LinkedHashSet<>();
+
+        private final Set<String> projectIds = new LinkedHashSet<>();
+
+        private final Set<String> projectFacilityIds = new LinkedHashSet<>();
+
+        private final Set<String> facilityIds = new LinkedHashSet<>();
+    }
+}
@@ -0,0 +1,239 @@
+package org.egov.referralmanagement.service.lookup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import digit.models.coremodels.UserSearchRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.common.http.client.ServiceRequestClient;
+import org.egov.common.models.project.BeneficiaryBulkResponse;
+import org.egov.common.models.project.BeneficiarySearchRequest;
+import org.egov.common.models.project.Project;
+import org.egov.common.models.project.ProjectBeneficiary;
+import org.egov.common.models.project.ProjectBeneficiarySearch;
+import org.egov.common.models.project.ProjectFacility;
+import org.egov.common.models.project.ProjectFacilityBulkResponse;
+import org.egov.common.models.project.ProjectFacilitySearch;
+import org.egov.common.models.project.ProjectFacilitySearchRequest;
+import org.egov.common.models.project.ProjectRequest;
+import org.egov.common.models.project.ProjectResponse;
+import org.egov.common.models.project.Task;
+import org.egov.common.models.project.TaskBulkResponse;
+import org.egov.common.models.project.TaskSearch;
+import org.egov.common.models.project.TaskSearchRequest;
+import org.egov.common.models.referralmanagement.ReferralBulkRequest;
+import org.egov.common.models.referralmanagement.hfreferral.HFReferralBulkRequest;
+import org.egov.common.models.referralmanagement.sideeffect.SideEffectBulkRequest;
+import org.egov.common.service.UserService;
+import org.egov.referralmanagement.config.ReferralManagementConfiguration;
+import org.egov.referralmanagement.service.FacilityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import static org.egov.referralmanagement.Constants.FACILITY;
+import static org.egov.referralmanagement.Constants.STAFF;
+
+/**
+ * Hands out the reference lookup of a bulk request to its validators, so that the project
+ * beneficiaries, tasks, projects, project facilities, facilities and staff referenced by the request
+ * are searched once per request instead of once per validator.
+ *
+ * The services open a lookup around running the validators of a request, which makes it the lookup of
+ * the current thread until it is closed. Validators get the lookup of the request they validate, which
+ * is a new one when they are run for a request no lookup was opened for.
+ */
+@Component
+@Slf4j
+public class ReferenceLookupBroker {
+
+    private final ThreadLocal<ReferenceLookup> currentLookup = new ThreadLocal<>();
+
+    private final ServiceRequestClient serviceRequestClient;
+
+    private final ReferralManagementConfiguration referralManagementConfiguration;
+
+    private final FacilityService facilityService;
+
+    private final UserService userService;
+
+    @Autowired
+    public ReferenceLookupBroker(ServiceRequestClient serviceRequestClient, ReferralManagementConfiguration referralManagementConfiguration,
+                                 FacilityService facilityService, UserService userService) {
+        this.serviceRequestClient = serviceRequestClient;
+        this.referralManagementConfiguration = referralManagementConfiguration;
+        this.facilityService = facilityService;
+        this.userService = userService;
+    }
+
+    public ReferenceLookup open(ReferralBulkRequest request) {
+        return open(collect(request, currentLookup.get()));
+    }
+
+    public ReferenceLookup open(SideEffectBulkRequest request) {
+        return open(collect(request, currentLookup.get()));
+    }
+
+    public ReferenceLookup open(HFReferralBulkRequest request) {
+        return open(collect(request, currentLookup.get()));
+    }
+
+    public ReferenceLookup get(ReferralBulkRequest request) {
+        ReferenceLookup lookup = currentLookup.get();
+        return lookup != null && lookup.isFor(request) ? lookup : collect(request, null);
+    }
+
+    public ReferenceLookup get(SideEffectBulkRequest request) {
+        ReferenceLookup lookup = currentLookup.get();
+        return lookup != null && lookup.isFor(request) ? lookup : collect(request, null);
+    }
+
+    public ReferenceLookup get(HFReferralBulkRequest request) {
+        ReferenceLookup lookup = currentLookup.get();
+        return lookup != null && lookup.isFor(request) ? lookup : collect(request, null);
+    }
+
+    private ReferenceLookup open(ReferenceLookup lookup) {
+        currentLookup.set(lookup);
+        return lookup;
+    }
+
+    void close(ReferenceLookup lookup) {
+        if (currentLookup.get() != lookup)
+            return;
+        if (lookup.getPrevious() == null)
+            currentLookup.remove();
+        else
+            currentLookup.set(lookup.getPrevious());
+    }
+
+    private ReferenceLookup collect(ReferralBulkRequest request, ReferenceLookup previous) {
+        ReferenceLookup lookup = new ReferenceLookup(this, request, request.getRequestInfo(), previous);
+        request.getReferrals().forEach(referral -> {
+            lookup.addProjectBeneficiary(referral.getTenantId(), referral.getProjectBeneficiaryId(), referral.getProjectBeneficiaryClientReferenceId());
+            lookup.addStaff(referral.getReferrerId());
+            if (STAFF.equals(referral.getRecipientType()))
+                lookup.addStaff(referral.getRecipientId());
+            else if (FACILITY.equals(referral.getRecipientType()))
+                lookup.addFacility(referral.getTenantId(), referral.getRecipientId());
+        });
+        return lookup;
+    }
+
+    private ReferenceLookup collect(SideEffectBulkRequest request, ReferenceLookup previous) {
+        ReferenceLookup lookup = new ReferenceLookup(this, request, request.getRequestInfo(), previous);
+        request.getSideEffects().forEach(sideEffect -> {
+            lookup.addProjectBeneficiary(sideEffect.getTenantId(), sideEffect.getProjectBeneficiaryId(), sideEffect.getProjectBeneficiaryClientReferenceId());
+            lookup.addTask(sideEffect.getTenantId(), sideEffect.getTaskId(), sideEffect.getTaskClientReferenceId());
+        });
+        return lookup;
+    }
+
+    private ReferenceLookup collect(HFReferralBulkRequest request, ReferenceLookup previous) {
+        ReferenceLookup lookup = new ReferenceLookup(this, request, request.getRequestInfo(), previous);
+        request.getHfReferrals().forEach(hfReferral -> {
+            lookup.addProject(hfReferral.getTenantId(), hfReferral.getProjectId());
+            lookup.addProjectFacility(hfReferral.getTenantId(), hfReferral.getProjectFacilityId());
+        });
+        return lookup;
+    }
+
+    List<ProjectBeneficiary> searchProjectBeneficiaries(String tenantId, Set<String> ids, Set<String> clientReferenceIds, RequestInfo requestInfo) {
+        if (ids.isEmpty() && clientReferenceIds.isEmpty())
+            return Collections.emptyList();
+
+        log.info("searching {} project beneficiaries of tenant {}", ids.size() + clientReferenceIds.size(), tenantId);
+        ProjectBeneficiarySearch projectBeneficiarySearch = ProjectBeneficiarySearch.builder()
+                .id(ids.isEmpty() ? null : new ArrayList<>(ids))
+                .clientReferenceId(clientReferenceIds.isEmpty() ? null : new ArrayList<>(clientReferenceIds))
+                .build();
+        BeneficiaryBulkResponse beneficiaryBulkResponse = serviceRequestClient.fetchResult(
+                new StringBuilder(referralManagementConfiguration.getProjectHost()
+                        + referralManagementConfiguration.getProjectBeneficiarySearchUrl()
+                        + "?limit=" + (ids.size() + clientReferenceIds.size())
+                        + "&offset=0&tenantId=" + tenantId),
+                BeneficiarySearchRequest.builder().requestInfo(requestInfo).projectBeneficiary(projectBeneficiarySearch).build(),
+                BeneficiaryBulkResponse.class
+        );
+        return beneficiaryBulkResponse.getProjectBeneficiaries();
+    }
+
+    List<Task> searchTasks(String tenantId, Set<String> ids, Set<String> clientReferenceIds, RequestInfo requestInfo) {
+        if (ids.isEmpty() && clientReferenceIds.isEmpty())
+            return Collections.emptyList();
+
+        log.info("searching {} project tasks of tenant {}", ids.size() + clientReferenceIds.size(), tenantId);
+        TaskSearch taskSearch = TaskSearch.builder()
+                .id(ids.isEmpty() ? null : new ArrayList<>(ids))
+                .clientReferenceId(clientReferenceIds.isEmpty() ? null : new ArrayList<>(clientReferenceIds))
+                .build();
+        TaskBulkResponse taskBulkResponse = serviceRequestClient.fetchResult(
+                new StringBuilder(referralManagementConfiguration.getProjectHost()
+                        + referralManagementConfiguration.getProjectTaskSearchUrl()
+                        + "?limit=" + (ids.size() + clientReferenceIds.size())
+                        + "&offset=0&tenantId=" + tenantId),
+                TaskSearchRequest.builder().requestInfo(requestInfo).task(taskSearch).build(),
+                TaskBulkResponse.class
+        );
+        return taskBulkResponse.getTasks();
+    }
+
+    List<Project> searchProjects(String tenantId, Set<String> ids, RequestInfo requestInfo) {
+        if (ids.isEmpty())
+            return Collections.emptyList();
+
+        log.info("searching {} projects of tenant {}", ids.size(), tenantId);
+        List<Project> projects = ids.stream().map(id -> Project.builder().id(id).tenantId(tenantId).build())
+                .collect(Collectors.toList());
+        ProjectResponse projectResponse = serviceRequestClient.fetchResult(
+                new StringBuilder(referralManagementConfiguration.getProjectHost()
+                        + referralManagementConfiguration.getProjectSearchUrl()
+                        + "?limit=" + ids.size()
+                        + "&offset=0&tenantId=" + tenantId),
+                ProjectRequest.builder().requestInfo(requestInfo).projects(projects).build(),
+                ProjectResponse.class
+        );
+        return projectResponse.getProject();
+    }
+
+    List<ProjectFacility> searchProjectFacilities(String tenantId, Set<String> ids, RequestInfo requestInfo) {
+        if (ids.isEmpty())
+            return Collections.emptyList();
+
+        log.info("searching {} project facilities of tenant {}", ids.size(), tenantId);
+        ProjectFacilityBulkResponse projectFacilityBulkResponse = serviceRequestClient.fetchResult(
+                new StringBuilder(referralManagementConfiguration.getProjectHost()
+                        + referralManagementConfiguration.getProjectFacilitySearchUrl()
+                        + "?limit=" + ids.size()
+                        + "&offset=0&tenantId=" + tenantId),
+                ProjectFacilitySearchRequest.builder()
+                        .requestInfo(requestInfo)
+                        .projectFacility(ProjectFacilitySearch.builder().id(new ArrayList<>(ids)).build())
+                        .build(),
+                ProjectFacilityBulkResponse.class
+        );
+        return projectFacilityBulkResponse.getProjectFacilities();
+    }
+
+    List<String> searchFacilityIds(String tenantId, Set<String> ids, RequestInfo requestInfo) {
+        if (ids.isEmpty())
+            return Collections.emptyList();
+
+        log.info("searching {} facilities of tenant {}", ids.size(), tenantId);
+        return facilityService.searchFacilityIds(new ArrayList<>(ids), tenantId, requestInfo);
+    }
+
+    List<String> searchStaffIds(Set<String> uuids, RequestInfo requestInfo) {
+        if (uuids.isEmpty())
+            return Collections.emptyList();
+
+        log.info("searching {} staff", uuids.size());
+        UserSearchRequest userSearchRequest = new UserSearchRequest();
+        userSearchRequest.setRequestInfo(requestInfo);
+        userSearchRequest.setUuid(new ArrayList<>(uuids));
+        return userService.search(userSearchRequest).stream().map(user -> user.getUuid()).collect(Collectors.toList());
+    }
+}
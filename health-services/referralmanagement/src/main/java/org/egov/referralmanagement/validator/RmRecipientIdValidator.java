@@ -1,14 +1,14 @@
 package org.egov.referralmanagement.validator;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.egov.common.ds.Tuple;
 import org.egov.common.models.Error;
 import org.egov.common.models.referralmanagement.Referral;
 import org.egov.common.models.referralmanagement.ReferralBulkRequest;
-import org.egov.common.service.UserService;
 import org.egov.common.validator.Validator;
-import org.egov.referralmanagement.service.FacilityService;
-import org.egov.referralmanagement.util.ValidatorUtil;
+import org.egov.referralmanagement.service.lookup.ReferenceLookup;
+import org.egov.referralmanagement.service.lookup.ReferenceLookupBroker;
 import org.egov.tracer.model.CustomException;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 
 import static org.egov.common.utils.CommonUtils.notHavingErrors;
 import static org.egov.common.utils.CommonUtils.populateErrorDetails;
+import static org.egov.common.utils.ValidatorUtils.getErrorForEntityWithNetworkError;
 import static org.egov.common.utils.ValidatorUtils.getErrorForNonExistentEntity;
 import static org.egov.referralmanagement.Constants.FACILITY;
 import static org.egov.referralmanagement.Constants.INVALID_RECIPIENT_TYPE;
@@ -34,12 +35,10 @@ import static org.egov.referralmanagement.Constants.STAFF;
 @Order(value = 3)
 @Slf4j
 public class RmRecipientIdValidator implements Validator<ReferralBulkRequest, Referral> {
-    private final FacilityService facilityService;
-    private final UserService userService;
+    private final ReferenceLookupBroker referenceLookupBroker;
 
-    public RmRecipientIdValidator(FacilityService facilityService, UserService userService) {
-        this.facilityService = facilityService;
-        this.userService = userService;
+    public RmRecipientIdValidator(ReferenceLookupBroker referenceLookupBroker) {
+        this.referenceLookupBroker = referenceLookupBroker;
     }
 
     /**
@@ -51,10 +50,11 @@ public class RmRecipientIdValidator implements Validator<ReferralBulkRequest, Re
         log.info("validating recipient id");
         Map<Referral, List<Error>> errorDetailsMap = new HashMap<>();
         List<Referral> entities = request.getReferrals();
+        ReferenceLookup referenceLookup = referenceLookupBroker.get(request);
         Map<String, List<Referral>> tenantIdReferralMap = entities.stream().collect(Collectors.groupingBy(Referral::getTenantId));
         tenantIdReferralMap.forEach((tenantId, referralList) -> {
 
-            Tuple<List<String>, List<String>> tuple = getInvalidStaffAndFacilityId(request, entities, tenantId, referralList, errorDetailsMap);
+            Tuple<List<String>, List<String>> tuple = getInvalidStaffAndFacilityId(referenceLookup, entities, tenantId, referralList, errorDetailsMap);
             // validate and populate error if found.
             validateAndPopulateErrors(entities, tuple.getX(), tuple.getY(), errorDetailsMap);
         });
@@ -65,7 +65,7 @@ public class RmRecipientIdValidator implements Validator<ReferralBulkRequest, Re
         if(Objects.nonNull(item)) list.add(item);
     }
 
-    private Tuple<List<String>, List<String>> getInvalidStaffAndFacilityId(ReferralBulkRequest request, List<Referral> entities, String tenantId, List<Referral> referralList, Map<Referral, List<Error>> errorDetailsMap) {
+    private Tuple<List<String>, List<String>> getInvalidStaffAndFacilityId(ReferenceLookup referenceLookup, List<Referral> entities, String tenantId, List<Referral> referralList, Map<Referral, List<Error>> errorDetailsMap) {
         final List<String> projectStaffUuidList = new ArrayList<>();
         final List<String> facilityIdList = new ArrayList<>();
         referralList.forEach(referral -> {
@@ -83,13 +83,19 @@ public class RmRecipientIdValidator implements Validator<ReferralBulkRequest, Re
 
         List<String> invalidStaffIds = new ArrayList<>(projectStaffUuidList);
         // fetch valid identifiers and remove it from invalidStaffIds
-        ValidatorUtil.validateAndEnrichStaffIds(request.getRequestInfo(), userService, projectStaffUuidList, invalidStaffIds);
+        if (!projectStaffUuidList.isEmpty())
+            invalidStaffIds.removeAll(referenceLookup.getStaffIds());
 
         // fetch valid facilities and remove it from invalidfacilityIds
         List<String> invalidFacilityIds = new ArrayList<>(facilityIdList);
-        List<String> validFacilityIds = facilityService.validateFacilityIds(facilityIdList, entities, tenantId,
-                errorDetailsMap, request.getRequestInfo());
-        invalidFacilityIds.removeAll(validFacilityIds);
+        if (!facilityIdList.isEmpty()) {
+            try {
+                invalidFacilityIds.removeAll(referenceLookup.getFacilityIds(tenantId));
+            } catch (Exception e) {
+                log.error("error while fetching facility list: {}", ExceptionUtils.getStackTrace(e));
+                entities.forEach(entity -> populateErrorDetails(entity, getErrorForEntityWithNetworkError(), errorDetailsMap));
+            }
+        }
 
         return new Tuple<>(invalidStaffIds, invalidFacilityIds);
     }
@@ -4,10 +4,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.egov.common.models.Error;
 import org.egov.common.models.referralmanagement.Referral;
 import org.egov.common.models.referralmanagement.ReferralBulkRequest;
-import org.egov.common.service.UserService;
 import org.egov.common.validator.Validator;
-import org.egov.referralmanagement.service.FacilityService;
-import org.egov.referralmanagement.util.ValidatorUtil;
+import org.egov.referralmanagement.service.lookup.ReferenceLookup;
+import org.egov.referralmanagement.service.lookup.ReferenceLookupBroker;
 import org.egov.tracer.model.CustomException;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -31,12 +30,10 @@ import static org.egov.common.utils.ValidatorUtils.getErrorForNonExistentEntity;
 @Slf4j
 public class RmReferrerIdValidator implements Validator<ReferralBulkRequest, Referral> {
 
-    private final FacilityService facilityService;
-    private final UserService userService;
+    private final ReferenceLookupBroker referenceLookupBroker;
 
-    public RmReferrerIdValidator(FacilityService facilityService, UserService userService) {
-        this.facilityService = facilityService;
-        this.userService = userService;
+    public RmReferrerIdValidator(ReferenceLookupBroker referenceLookupBroker) {
+        this.referenceLookupBroker = referenceLookupBroker;
     }
 
     @Override
@@ -45,11 +42,12 @@ public class RmReferrerIdValidator implements Validator<ReferralBulkRequest, Ref
 
         Map<Referral, List<Error>> errorDetailsMap = new HashMap<>();
         List<Referral> entities = request.getReferrals();
+        ReferenceLookup referenceLookup = referenceLookupBroker.get(request);
 
         Map<String, List<Referral>> tenantIdReferralMap = entities.stream().collect(Collectors.groupingBy(Referral::getTenantId));
 
         tenantIdReferralMap.forEach((tenantId, referralList) -> {
-            List<String> invalidStaffIds = getInvalidStaffIds(referralList, request);
+            List<String> invalidStaffIds = getInvalidStaffIds(referralList, referenceLookup);
             validateAndPopulateError(entities, invalidStaffIds, errorDetailsMap);
         });
 
@@ -59,13 +57,14 @@ public class RmReferrerIdValidator implements Validator<ReferralBulkRequest, Ref
         if(Objects.nonNull(item)) list.add(item);
     }
 
-    private List<String> getInvalidStaffIds(List<Referral> referralList, ReferralBulkRequest request) {
+    private List<String> getInvalidStaffIds(List<Referral> referralList, ReferenceLookup referenceLookup) {
         final List<String> projectStaffUuidList = new ArrayList<>();
         referralList.forEach(referral -> addIgnoreNull(projectStaffUuidList, referral.getReferrerId()));
 
         List<String> invalidStaffIds = new ArrayList<>(projectStaffUuidList);
         try {
-            ValidatorUtil.validateAndEnrichStaffIds(request.getRequestInfo(), userService, projectStaffUuidList, invalidStaffIds);
+            // staff referenced by all the referrals of the request, searched once per request.
+            invalidStaffIds.removeAll(referenceLookup.getStaffIds());
         } catch (Exception e) {
             throw new CustomException("Project Staff failed to fetch", "Exception : "+e.getMessage());
         }
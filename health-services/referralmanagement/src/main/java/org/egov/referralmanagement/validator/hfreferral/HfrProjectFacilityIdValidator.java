@@ -8,16 +8,13 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
-import org.egov.common.http.client.ServiceRequestClient;
 import org.egov.common.models.Error;
 import org.egov.common.models.project.ProjectFacility;
-import org.egov.common.models.project.ProjectFacilityBulkResponse;
-import org.egov.common.models.project.ProjectFacilitySearch;
-import org.egov.common.models.project.ProjectFacilitySearchRequest;
 import org.egov.common.models.referralmanagement.hfreferral.HFReferral;
 import org.egov.common.models.referralmanagement.hfreferral.HFReferralBulkRequest;
 import org.egov.common.validator.Validator;
-import org.egov.referralmanagement.config.ReferralManagementConfiguration;
+import org.egov.referralmanagement.service.lookup.ReferenceLookup;
+import org.egov.referralmanagement.service.lookup.ReferenceLookupBroker;
 import org.egov.tracer.model.CustomException;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -36,12 +33,10 @@ import static org.egov.common.utils.ValidatorUtils.getErrorForNonExistentEntity;
 @Slf4j
 public class HfrProjectFacilityIdValidator implements Validator<HFReferralBulkRequest, HFReferral> {
 
-    private final ServiceRequestClient serviceRequestClient;
-    private final ReferralManagementConfiguration referralManagementConfiguration;
+    private final ReferenceLookupBroker referenceLookupBroker;
 
-    public HfrProjectFacilityIdValidator(ServiceRequestClient serviceRequestClient, ReferralManagementConfiguration referralManagementConfiguration) {
-        this.serviceRequestClient = serviceRequestClient;
-        this.referralManagementConfiguration = referralManagementConfiguration;
+    public HfrProjectFacilityIdValidator(ReferenceLookupBroker referenceLookupBroker) {
+        this.referenceLookupBroker = referenceLookupBroker;
     }
 
     /**
@@ -55,12 +50,13 @@ public class HfrProjectFacilityIdValidator implements Validator<HFReferralBulkRe
         log.info("Validating project facility IDs");
         Map<HFReferral, List<Error>> errorDetailsMap = new HashMap<>();
         List<HFReferral> entities = request.getHfReferrals();
+        ReferenceLookup referenceLookup = referenceLookupBroker.get(request);
 
         // Grouping HFReferrals by tenantId to fetch project facilities for each tenant
         Map<String, List<HFReferral>> tenantIdReferralMap = entities.stream().collect(Collectors.groupingBy(HFReferral::getTenantId));
         tenantIdReferralMap.forEach((tenantId, hfReferralList) -> {
             // Get all the existing project facilities in the HFReferral list from Project Service
-            List<ProjectFacility> existingProjectFacilities = getExistingProjects(tenantId, hfReferralList, request);
+            List<ProjectFacility> existingProjectFacilities = getExistingProjects(tenantId, referenceLookup);
             // Validate project facilities and populate error map if invalid entities are found
             validateAndPopulateErrors(existingProjectFacilities, entities, errorDetailsMap);
         });
@@ -68,46 +64,13 @@ public class HfrProjectFacilityIdValidator implements Validator<HFReferralBulkRe
         return errorDetailsMap;
     }
 
-    // Helper method to add an item to a list if it is not null
-    private void addIgnoreNull(List<String> list, String item) {
-        if(Objects.nonNull(item)) list.add(item);
-    }
-
-    // Fetches existing project facilities from Project Service based on their IDs
-    private List<ProjectFacility> getExistingProjects(String tenantId, List<HFReferral> hfReferrals, HFReferralBulkRequest request) {
-        List<ProjectFacility> existingProjectFacilities = new ArrayList<>();
-        final List<String> projectFacilityIdList = new ArrayList<>();
-
-        // Collecting project facility IDs from HFReferrals
-        hfReferrals.forEach(hfReferral -> {
-            addIgnoreNull(projectFacilityIdList, hfReferral.getProjectFacilityId());
-        });
-
-        if(!projectFacilityIdList.isEmpty()) {
-            ProjectFacilitySearch projectFacilitySearch = ProjectFacilitySearch.builder()
-                    .id(!projectFacilityIdList.isEmpty()? projectFacilityIdList : null)
-                    .build();
-
-            try {
-                // Using project facility search and fetching the valid IDs.
-                ProjectFacilityBulkResponse projectFacilityBulkResponse = serviceRequestClient.fetchResult(
-                        new StringBuilder(referralManagementConfiguration.getProjectHost()
-                                + referralManagementConfiguration.getProjectFacilitySearchUrl()
-                                +"?limit=" + hfReferrals.size()
-                                + "&offset=0&tenantId=" + tenantId),
-                        ProjectFacilitySearchRequest.builder()
-                                .requestInfo(request.getRequestInfo())
-                                .projectFacility(projectFacilitySearch)
-                                .build(),
-                        ProjectFacilityBulkResponse.class
-                );
-                existingProjectFacilities = projectFacilityBulkResponse.getProjectFacilities();
-            } catch (Exception e) {
-                throw new CustomException("Project Facilities failed to fetch", "Exception : "+e.getMessage());
-            }
+    // Fetches existing project facilities referenced by all the HFReferrals of the request, searched once per request
+    private List<ProjectFacility> getExistingProjects(String tenantId, ReferenceLookup referenceLookup) {
+        try {
+            return referenceLookup.getProjectFacilities(tenantId);
+        } catch (Exception e) {
+            throw new CustomException("Project Facilities failed to fetch", "Exception : " + e.getMessage());
         }
-
-        return existingProjectFacilities;
     }
 
     // Validates project facilities and populates the error map if invalid entities are found
@@ -8,15 +8,13 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
-import org.egov.common.http.client.ServiceRequestClient;
 import org.egov.common.models.Error;
 import org.egov.common.models.project.Project;
-import org.egov.common.models.project.ProjectRequest;
-import org.egov.common.models.project.ProjectResponse;
 import org.egov.common.models.referralmanagement.hfreferral.HFReferral;
 import org.egov.common.models.referralmanagement.hfreferral.HFReferralBulkRequest;
 import org.egov.common.validator.Validator;
-import org.egov.referralmanagement.config.ReferralManagementConfiguration;
+import org.egov.referralmanagement.service.lookup.ReferenceLookup;
+import org.egov.referralmanagement.service.lookup.ReferenceLookupBroker;
 import org.egov.tracer.model.CustomException;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -35,12 +33,10 @@ import static org.egov.common.utils.ValidatorUtils.getErrorForNonExistentEntity;
 @Slf4j
 public class HfrProjectIdValidator implements Validator<HFReferralBulkRequest, HFReferral> {
 
-    private final ServiceRequestClient serviceRequestClient;
-    private final ReferralManagementConfiguration referralManagementConfiguration;
+    private final ReferenceLookupBroker referenceLookupBroker;
 
-    public HfrProjectIdValidator(ServiceRequestClient serviceRequestClient, ReferralManagementConfiguration referralManagementConfiguration) {
-        this.serviceRequestClient = serviceRequestClient;
-        this.referralManagementConfiguration = referralManagementConfiguration;
+    public HfrProjectIdValidator(ReferenceLookupBroker referenceLookupBroker) {
+        this.referenceLookupBroker = referenceLookupBroker;
     }
 
     /**
@@ -54,12 +50,13 @@ public class HfrProjectIdValidator implements Validator<HFReferralBulkRequest, H
         log.info("Validating project IDs");
         Map<HFReferral, List<Error>> errorDetailsMap = new HashMap<>();
         List<HFReferral> entities = request.getHfReferrals();
+        ReferenceLookup referenceLookup = referenceLookupBroker.get(request);
 
         // Grouping HFReferrals by tenantId to fetch projects for each tenant
         Map<String, List<HFReferral>> tenantIdReferralMap = entities.stream().collect(Collectors.groupingBy(HFReferral::getTenantId));
         tenantIdReferralMap.forEach((tenantId, hfReferralList) -> {
             // Get all the existing projects in the hfReferral list from Project Service
-            List<Project> existingProjects = getExistingProjects(tenantId, hfReferralList, request);
+            List<Project> existingProjects = getExistingProjects(tenantId, referenceLookup);
             // Validate projects and populate error map if invalid entities are found
             validateAndPopulateErrors(existingProjects, entities, errorDetailsMap);
         });
@@ -67,45 +64,13 @@ public class HfrProjectIdValidator implements Validator<HFReferralBulkRequest, H
         return errorDetailsMap;
     }
 
-    // Helper method to add an item to a list if it is not null
-    private void addIgnoreNull(List<String> list, String item) {
-        if (Objects.nonNull(item)) list.add(item);
-    }
-
-    // Fetches existing projects from Project Service based on their IDs
-    private List<Project> getExistingProjects(String tenantId, List<HFReferral> hfReferrals, HFReferralBulkRequest request) {
-        List<Project> existingProjects = null;
-        final List<String> projectIdList = new ArrayList<>();
-
-        // Collecting project IDs from HFReferrals
-        hfReferrals.forEach(hfReferral -> {
-            addIgnoreNull(projectIdList, hfReferral.getProjectId());
-        });
-
-        if (!projectIdList.isEmpty()) {
-            List<Project> projects = new ArrayList<>();
-            projectIdList.forEach(projectId -> projects.add(Project.builder().id(projectId).tenantId(tenantId).build()));
-
-            try {
-                // Using project search and fetching the valid IDs.
-                ProjectResponse projectResponse = serviceRequestClient.fetchResult(
-                        new StringBuilder(referralManagementConfiguration.getProjectHost()
-                                + referralManagementConfiguration.getProjectSearchUrl()
-                                + "?limit=" + hfReferrals.size()
-                                + "&offset=0&tenantId=" + tenantId),
-                        ProjectRequest.builder()
-                                .requestInfo(request.getRequestInfo())
-                                .projects(projects)
-                                .build(),
-                        ProjectResponse.class
-                );
-                existingProjects = projectResponse.getProject();
-            } catch (Exception e) {
-                throw new CustomException("Projects failed to fetch", "Exception : " + e.getMessage());
-            }
+    // Fetches existing projects referenced by all the HFReferrals of the request, searched once per request
+    private List<Project> getExistingProjects(String tenantId, ReferenceLookup referenceLookup) {
+        try {
+            return referenceLookup.getProjects(tenantId);
+        } catch (Exception e) {
+            throw new CustomException("Projects failed to fetch", "Exception : " + e.getMessage());
         }
-
-        return existingProjects;
     }
 
     // Validates projects and populates the error map if invalid entities are found
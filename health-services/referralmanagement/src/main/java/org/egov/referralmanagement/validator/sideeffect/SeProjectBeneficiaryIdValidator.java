@@ -8,16 +8,13 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
-import org.egov.common.http.client.ServiceRequestClient;
 import org.egov.common.models.Error;
-import org.egov.common.models.project.BeneficiaryBulkResponse;
-import org.egov.common.models.project.BeneficiarySearchRequest;
 import org.egov.common.models.project.ProjectBeneficiary;
-import org.egov.common.models.project.ProjectBeneficiarySearch;
 import org.egov.common.models.referralmanagement.sideeffect.SideEffect;
 import org.egov.common.models.referralmanagement.sideeffect.SideEffectBulkRequest;
 import org.egov.common.validator.Validator;
-import org.egov.referralmanagement.config.ReferralManagementConfiguration;
+import org.egov.referralmanagement.service.lookup.ReferenceLookup;
+import org.egov.referralmanagement.service.lookup.ReferenceLookupBroker;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
@@ -34,13 +31,11 @@ import static org.egov.common.utils.ValidatorUtils.getErrorForNonExistentEntity;
 @Order(value = 3)
 @Slf4j
 public class SeProjectBeneficiaryIdValidator implements Validator<SideEffectBulkRequest, SideEffect> {
-    private final ServiceRequestClient serviceRequestClient;
-    private final ReferralManagementConfiguration referralManagementConfiguration;
+    private final ReferenceLookupBroker referenceLookupBroker;
 
     @Autowired
-    public SeProjectBeneficiaryIdValidator(ServiceRequestClient serviceRequestClient, ReferralManagementConfiguration referralManagementConfiguration) {
-        this.serviceRequestClient = serviceRequestClient;
-        this.referralManagementConfiguration = referralManagementConfiguration;
+    public SeProjectBeneficiaryIdValidator(ReferenceLookupBroker referenceLookupBroker) {
+        this.referenceLookupBroker = referenceLookupBroker;
     }
 
     /**
@@ -53,31 +48,15 @@ public class SeProjectBeneficiaryIdValidator implements Validator<SideEffectBulk
         log.info("validating project task id");
         Map<SideEffect, List<Error>> errorDetailsMap = new HashMap<>();
         List<SideEffect> entities = request.getSideEffects();
+        ReferenceLookup referenceLookup = referenceLookupBroker.get(request);
         Map<String, List<SideEffect>> tenantIdSideEffectMap = entities.stream().collect(Collectors.groupingBy(SideEffect::getTenantId));
         tenantIdSideEffectMap.forEach((tenantId, sideEffects) -> {
             List<SideEffect> sideEffectList = tenantIdSideEffectMap.get(tenantId);
             if (!sideEffectList.isEmpty()) {
                 List<ProjectBeneficiary> existingProjectBeneficiaries = null;
-                final List<String> projectBeneficiaryIdList = new ArrayList<>();
-                final List<String> projectBeneficiaryClientReferenceIdList = new ArrayList<>();
-                sideEffectList.forEach(sideEffect -> {
-                    addIgnoreNull(projectBeneficiaryIdList, sideEffect.getProjectBeneficiaryId());
-                    addIgnoreNull(projectBeneficiaryClientReferenceIdList, sideEffect.getProjectBeneficiaryClientReferenceId());
-                });
-                ProjectBeneficiarySearch projectBeneficiarySearch = ProjectBeneficiarySearch.builder()
-                        .id(projectBeneficiaryIdList.isEmpty() ? null : projectBeneficiaryIdList)
-                        .clientReferenceId(projectBeneficiaryClientReferenceIdList.isEmpty() ? null : projectBeneficiaryClientReferenceIdList)
-                        .build();
                 try {
-                    BeneficiaryBulkResponse beneficiaryBulkResponse = serviceRequestClient.fetchResult(
-                            new StringBuilder(referralManagementConfiguration.getProjectHost()
-                                    + referralManagementConfiguration.getProjectBeneficiarySearchUrl()
-                                    +"?limit=" + entities.size()
-                                    + "&offset=0&tenantId=" + tenantId),
-                            BeneficiarySearchRequest.builder().requestInfo(request.getRequestInfo()).projectBeneficiary(projectBeneficiarySearch).build(),
-                            BeneficiaryBulkResponse.class
-                    );
-                    existingProjectBeneficiaries = beneficiaryBulkResponse.getProjectBeneficiaries();
+                    // project beneficiaries referenced by all the side effects of the request, searched once per request.
+                    existingProjectBeneficiaries = referenceLookup.getProjectBeneficiaries(tenantId);
                 } catch (Exception e) {
                     throw new CustomException("Project Beneficiaries failed to fetch", "Exception : "+e.getMessage());
                 }
@@ -105,7 +84,4 @@ public class SeProjectBeneficiaryIdValidator implements Validator<SideEffectBulk
         });
         return errorDetailsMap;
     }
-    private void addIgnoreNull(List<String> list, String item) {
-        if(Objects.nonNull(item)) list.add(item);
-    }
 }
@@ -8,19 +8,15 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
-import org.egov.common.http.client.ServiceRequestClient;
 import org.egov.common.models.Error;
 import org.egov.common.models.project.Task;
-import org.egov.common.models.project.TaskBulkResponse;
-import org.egov.common.models.project.TaskSearch;
-import org.egov.common.models.project.TaskSearchRequest;
 import org.egov.common.models.referralmanagement.sideeffect.SideEffect;
 import org.egov.common.models.referralmanagement.sideeffect.SideEffectBulkRequest;
 import org.egov.common.validator.Validator;
-import org.egov.referralmanagement.config.ReferralManagementConfiguration;
+import org.egov.referralmanagement.service.lookup.ReferenceLookup;
+import org.egov.referralmanagement.service.lookup.ReferenceLookupBroker;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
@@ -35,13 +31,11 @@ import lombok.extern.slf4j.Slf4j;
 @Order(value = 3)
 @Slf4j
 public class SeProjectTaskIdValidator implements Validator<SideEffectBulkRequest, SideEffect> {
-    private final ServiceRequestClient serviceRequestClient;
-    private final ReferralManagementConfiguration referralManagementConfiguration;
+    private final ReferenceLookupBroker referenceLookupBroker;
 
     @Autowired
-    public SeProjectTaskIdValidator(ServiceRequestClient serviceRequestClient, ReferralManagementConfiguration referralManagementConfiguration) {
-        this.serviceRequestClient = serviceRequestClient;
-        this.referralManagementConfiguration = referralManagementConfiguration;
+    public SeProjectTaskIdValidator(ReferenceLookupBroker referenceLookupBroker) {
+        this.referenceLookupBroker = referenceLookupBroker;
     }
 
 
@@ -57,31 +51,16 @@ public class SeProjectTaskIdValidator implements Validator<SideEffectBulkRequest
         log.info("validating project task id");
         Map<SideEffect, List<Error>> errorDetailsMap = new HashMap<>();
         List<SideEffect> entities = request.getSideEffects();
+        ReferenceLookup referenceLookup = referenceLookupBroker.get(request);
         Map<String, List<SideEffect>> tenantIdSideEffectMap = entities.stream().collect(Collectors.groupingBy(SideEffect::getTenantId));
         List<String> tenantIds = new ArrayList<>(tenantIdSideEffectMap.keySet());
         tenantIds.forEach(tenantId -> {
             List<SideEffect> sideEffectList = tenantIdSideEffectMap.get(tenantId);
             if (!sideEffectList.isEmpty()) {
                 List<Task> existingTasks = null;
-                final List<String> taskIdList = new ArrayList<>();
-                final List<String> taskClientReferenceIdList = new ArrayList<>();
-                sideEffectList.forEach(sideEffect -> {
-                    addIgnoreNull(taskIdList, sideEffect.getTaskId());
-                    addIgnoreNull(taskClientReferenceIdList, sideEffect.getTaskClientReferenceId());
-                });
-                TaskSearch taskSearch = TaskSearch.builder()
-                        .id(taskIdList.isEmpty() ? null : taskIdList)
-                        .clientReferenceId(taskClientReferenceIdList.isEmpty() ? null : taskClientReferenceIdList).build();
                 try {
-                    TaskBulkResponse taskBulkResponse = serviceRequestClient.fetchResult(
-                            new StringBuilder(referralManagementConfiguration.getProjectHost()
-                                    + referralManagementConfiguration.getProjectTaskSearchUrl()
-                                    +"?limit=" + entities.size()
-                                    + "&offset=0&tenantId=" + tenantId),
-                            TaskSearchRequest.builder().requestInfo(request.getRequestInfo()).task(taskSearch).build(),
-                            TaskBulkResponse.class
-                    );
-                    existingTasks = taskBulkResponse.getTasks();
+                    // project tasks referenced by all the side effects of the request, searched once per request.
+                    existingTasks = referenceLookup.getTasks(tenantId);
                 } catch (Exception e) {
                     throw new CustomException("Project Task failed to fetch", "Exception : "+e.getMessage());
                 }
@@ -101,8 +80,4 @@ public class SeProjectTaskIdValidator implements Validator<SideEffectBulkRequest
 
         return errorDetailsMap;
     }
-
-    private void addIgnoreNull(List<String> list, String item) {
-        if(Objects.nonNull(item)) list.add(item);
-    }
 }
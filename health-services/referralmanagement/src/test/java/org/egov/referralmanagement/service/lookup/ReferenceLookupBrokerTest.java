@@ -0,0 +1,154 @@
+package org.egov.referralmanagement.service.lookup;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.common.helper.RequestInfoTestBuilder;
+import org.egov.common.http.client.ServiceRequestClient;
+import org.egov.common.models.project.BeneficiaryBulkResponse;
+import org.egov.common.models.project.BeneficiarySearchRequest;
+import org.egov.common.models.project.Task;
+import org.egov.common.models.project.TaskBulkResponse;
+import org.egov.common.models.project.TaskSearchRequest;
+import org.egov.common.models.referralmanagement.sideeffect.SideEffect;
+import org.egov.common.models.referralmanagement.sideeffect.SideEffectBulkRequest;
+import org.egov.common.service.UserService;
+import org.egov.referralmanagement.config.ReferralManagementConfiguration;
+import org.egov.referralmanagement.service.FacilityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceLookupBrokerTest {
+
+    private static final String TENANT_ID = "some-tenant-id";
+
+    private static final String OTHER_TENANT_ID = "other-tenant-id";
+
+    @Mock
+    private ServiceRequestClient serviceRequestClient;
+
+    @Mock
+    private FacilityService facilityService;
+
+    @Mock
+    private UserService userService;
+
+    private ReferenceLookupBroker referenceLookupBroker;
+
+    @BeforeEach
+    void setUp() {
+        ReferralManagementConfiguration referralManagementConfiguration = new ReferralManagementConfiguration();
+        referralManagementConfiguration.setProjectHost("http://project/");
+        referralManagementConfiguration.setProjectBeneficiarySearchUrl("beneficiary/v1/_search");
+        referralManagementConfiguration.setProjectTaskSearchUrl("task/v1/_search");
+        referenceLookupBroker = new ReferenceLookupBroker(serviceRequestClient, referralManagementConfiguration,
+                facilityService, userService);
+    }
+
+    @Test
+    @DisplayName("should search each type of entity once per tenant for all validators of a request")
+    void shouldSearchEachTypeOncePerTenantForAllValidatorsOfARequest() {
+        SideEffectBulkRequest request = request(
+                sideEffect(TENANT_ID, "beneficiary-1", "task-1"),
+                sideEffect(TENANT_ID, "beneficiary-2", "task-2"),
+                sideEffect(OTHER_TENANT_ID, "beneficiary-3", "task-3"));
+        when(serviceRequestClient.fetchResult(any(StringBuilder.class), any(BeneficiarySearchRequest.class), eq(BeneficiaryBulkResponse.class)))
+                .thenReturn(BeneficiaryBulkResponse.builder().projectBeneficiaries(new ArrayList<>()).build());
+        when(serviceRequestClient.fetchResult(any(StringBuilder.class), any(TaskSearchRequest.class), eq(TaskBulkResponse.class)))
+                .thenReturn(TaskBulkResponse.builder().tasks(new ArrayList<>()).build());
+
+        try (ReferenceLookup lookup = referenceLookupBroker.open(request)) {
+            // each validator gets the lookup of the request it validates
+            assertSame(lookup, referenceLookupBroker.get(request));
+            referenceLookupBroker.get(request).getProjectBeneficiaries(TENANT_ID);
+            referenceLookupBroker.get(request).getProjectBeneficiaries(TENANT_ID);
+            referenceLookupBroker.get(request).getTasks(TENANT_ID);
+            referenceLookupBroker.get(request).getTasks(TENANT_ID);
+            referenceLookupBroker.get(request).getProjectBeneficiaries(OTHER_TENANT_ID);
+        }
+
+        ArgumentCaptor<BeneficiarySearchRequest> beneficiarySearches = ArgumentCaptor.forClass(BeneficiarySearchRequest.class);
+        verify(serviceRequestClient, times(2)).fetchResult(any(StringBuilder.class), beneficiarySearches.capture(),
+                eq(BeneficiaryBulkResponse.class));
+        verify(serviceRequestClient, times(1)).fetchResult(any(StringBuilder.class), any(TaskSearchRequest.class),
+                eq(TaskBulkResponse.class));
+        assertEquals(Arrays.asList("beneficiary-1", "beneficiary-2"),
+                beneficiarySearches.getAllValues().get(0).getProjectBeneficiary().getId());
+        assertEquals(Collections.singletonList("beneficiary-3"),
+                beneficiarySearches.getAllValues().get(1).getProjectBeneficiary().getId());
+    }
+
+    @Test
+    @DisplayName("should restore the lookup of the enclosing request when a nested lookup is closed")
+    void shouldRestoreTheLookupOfTheEnclosingRequestWhenANestedLookupIsClosed() {
+        SideEffectBulkRequest outerRequest = request(sideEffect(TENANT_ID, "beneficiary-1", "task-1"));
+        SideEffectBulkRequest innerRequest = request(sideEffect(TENANT_ID, "beneficiary-2", "task-2"));
+
+        try (ReferenceLookup outerLookup = referenceLookupBroker.open(outerRequest)) {
+            try (ReferenceLookup innerLookup = referenceLookupBroker.open(innerRequest)) {
+                assertSame(innerLookup, referenceLookupBroker.get(innerRequest));
+                assertNotSame(outerLookup, referenceLookupBroker.get(outerRequest));
+            }
+            assertSame(outerLookup, referenceLookupBroker.get(outerRequest));
+            assertNotSame(outerLookup, referenceLookupBroker.get(innerRequest));
+        }
+    }
+
+    @Test
+    @DisplayName("should give a new lookup for a request once its lookup is closed")
+    void shouldGiveANewLookupForARequestOnceItsLookupIsClosed() {
+        SideEffectBulkRequest request = request(sideEffect(TENANT_ID, "beneficiary-1", "task-1"));
+
+        ReferenceLookup lookup = referenceLookupBroker.open(request);
+        lookup.close();
+
+        assertNotSame(lookup, referenceLookupBroker.get(request));
+    }
+
+    @Test
+    @DisplayName("should search again after a failed search")
+    void shouldSearchAgainAfterAFailedSearch() {
+        SideEffectBulkRequest request = request(sideEffect(TENANT_ID, "beneficiary-1", "task-1"));
+        List<Task> tasks = Collections.singletonList(Task.builder().id("task-1").build());
+        when(serviceRequestClient.fetchResult(any(StringBuilder.class), any(TaskSearchRequest.class), eq(TaskBulkResponse.class)))
+                .thenThrow(new RuntimeException("project service unavailable"))
+                .thenReturn(TaskBulkResponse.builder().tasks(tasks).build());
+
+        try (ReferenceLookup lookup = referenceLookupBroker.open(request)) {
+            assertThrows(RuntimeException.class, () -> lookup.getTasks(TENANT_ID));
+            assertEquals(tasks, lookup.getTasks(TENANT_ID));
+            assertEquals(tasks, lookup.getTasks(TENANT_ID));
+        }
+
+        verify(serviceRequestClient, times(2)).fetchResult(any(StringBuilder.class), any(TaskSearchRequest.class),
+                eq(TaskBulkResponse.class));
+    }
+
+    private SideEffectBulkRequest request(SideEffect... sideEffects) {
+        RequestInfo requestInfo = RequestInfoTestBuilder.builder().withCompleteRequestInfo().build();
+        return SideEffectBulkRequest.builder().requestInfo(requestInfo).sideEffects(Arrays.asList(sideEffects)).build();
+    }
+
+    private SideEffect sideEffect(String tenantId, String projectBeneficiaryId, String taskId) {
+        return SideEffect.builder().tenantId(tenantId).projectBeneficiaryId(projectBeneficiaryId).taskId(taskId).build();
+    }
+}
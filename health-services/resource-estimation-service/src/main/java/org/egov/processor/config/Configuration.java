@@ -59,6 +59,19 @@ public class Configuration {
 	@Value("${resource.microplan.create.topic}")
 	private String resourceMicroplanCreateTopic;
 
+	@Value("${resource.microplan.bulk.create.enabled:false}")
+	private boolean isPlanBulkCreateEnabled;
+
+	@Value("${resource.microplan.bulk.create.topic}")
+	private String resourceMicroplanBulkCreateTopic;
+
+	@Value("${resource.microplan.bulk.create.chunk.size:500}")
+	private int planBulkCreateChunkSize;
+
+	// kept below the 1 MB default max.request.size of the producer, leaving room for the record headers
+	@Value("${resource.microplan.bulk.create.max.bytes:900000}")
+	private int planBulkCreateMaxBytes;
+
 	@Value("${integrate.with.admin.console}")
 	private boolean isIntegrateWithAdminConsole;
 
@@ -77,4 +90,10 @@ public class Configuration {
 	@Value("${egov.locale.search.endpoint}")
 	private String egovLocaleSearchEndpoint;
 
+	@Value("${resource.estimation.excel.streaming.enabled:false}")
+	private boolean isExcelStreamingEnabled;
+
+	@Value("${resource.estimation.excel.streaming.row.window.size:100}")
+	private int excelStreamingRowWindowSize;
+
 }
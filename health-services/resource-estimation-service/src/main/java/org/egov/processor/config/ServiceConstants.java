@@ -38,6 +38,8 @@ public class ServiceConstants {
     
     public static final String BOUNDARY_CODE = "boundaryCode";
     public static final String ERROR_WHILE_FETCHING_FROM_PLAN_SERVICE_FOR_LOCALITY = "Exception occurred while fetching plan configuration from plan service for Locality ";
+
+    public static final String ERROR_WHILE_PUSHING_PLANS_FOR_PLAN_CONFIG = "Exception occurred while pushing plans for plan configuration ";
     
     public static final String ERROR_WHILE_SEARCHING_CAMPAIGN = "Exception occurred while searching/updating campaign.";
     public static final String FILE_NAME = "output.xls";
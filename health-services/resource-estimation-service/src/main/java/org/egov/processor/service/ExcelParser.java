@@ -6,17 +6,22 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+
+import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.egov.processor.config.Configuration;
 import org.egov.processor.config.ServiceConstants;
 import org.egov.processor.util.BoundaryUtil;
+import org.egov.processor.util.CalculationPlan;
 import org.egov.processor.util.CalculationUtil;
 import org.egov.processor.util.CampaignIntegrationUtil;
 import org.egov.processor.util.FilestoreUtil;
@@ -24,13 +29,13 @@ import org.egov.processor.util.LocaleUtil;
 import org.egov.processor.util.MdmsUtil;
 import org.egov.processor.util.ParsingUtil;
 import org.egov.processor.util.PlanUtil;
+import org.egov.processor.util.StreamedRowWriter;
+import org.egov.processor.util.StreamingWorkbookReader;
 import org.egov.processor.web.models.Locale;
 import org.egov.processor.web.models.LocaleResponse;
-import org.egov.processor.web.models.Operation;
 import org.egov.processor.web.models.PlanConfiguration;
 import org.egov.processor.web.models.PlanConfiguration.StatusEnum;
 import org.egov.processor.web.models.PlanConfigurationRequest;
-import org.egov.processor.web.models.ResourceMapping;
 import org.egov.processor.web.models.boundary.BoundarySearchResponse;
 import org.egov.processor.web.models.boundary.EnrichedBoundary;
 import org.egov.processor.web.models.campaignManager.Boundary;
@@ -39,6 +44,7 @@ import org.egov.processor.web.models.campaignManager.CampaignResponse;
 import org.egov.tracer.model.CustomException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.xml.sax.SAXException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
@@ -126,6 +132,8 @@ public class ExcelParser implements FileParser {
 	 */
 	private String processExcelFile(PlanConfigurationRequest planConfigurationRequest, File file, String fileStoreId,
 			Object campaignResponse) {
+		if (config.isExcelStreamingEnabled())
+			return processExcelFileStreaming(planConfigurationRequest, file, fileStoreId, campaignResponse);
 		PlanConfiguration planConfig = planConfigurationRequest.getPlanConfiguration();
 		try (Workbook workbook = new XSSFWorkbook(file)) {
 			List<Boundary> campaignBoundaryList = new ArrayList<>();
@@ -149,6 +157,140 @@ public class ExcelParser implements FileParser {
 		}
 	}
 
+	/**
+	 * Processes an Excel file row by row without loading it into memory.
+	 * Rows are read with the SAX event API, processed as they are read and
+	 * written to a streaming workbook that keeps only a window of rows in
+	 * memory, so memory use does not grow with the number of rows. Cells are
+	 * written with their style and formula, so they are validated and read
+	 * as they are when the workbook is loaded.
+	 *
+	 * @param planConfigurationRequest The plan configuration request containing
+	 *                                 necessary information for processing the
+	 *                                 file.
+	 * @param file                     The Excel file to be processed.
+	 * @param fileStoreId              The ID of the file in the file store.
+	 * @param campaignResponse         The response object to be updated with
+	 *                                 processed data.
+	 * @return The ID of the uploaded file.
+	 */
+	private String processExcelFileStreaming(PlanConfigurationRequest planConfigurationRequest, File file,
+			String fileStoreId, Object campaignResponse) {
+		PlanConfiguration planConfig = planConfigurationRequest.getPlanConfiguration();
+		SXSSFWorkbook workbook = new SXSSFWorkbook(config.getExcelStreamingRowWindowSize());
+		try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+			List<Boundary> campaignBoundaryList = new ArrayList<>();
+			List<CampaignResources> campaignResourcesList = new ArrayList<>();
+			StreamingSheetProcessor sheetProcessor = new StreamingSheetProcessor(planConfigurationRequest,
+					fileStoreId, campaignResponse, workbook, campaignBoundaryList);
+			StreamingWorkbookReader.read(pkg, sheetProcessor);
+			return uploadFileAndIntegrateCampaign(planConfigurationRequest, campaignResponse, planConfig, workbook,
+					campaignBoundaryList, campaignResourcesList);
+		} catch (InvalidFormatException e) {
+			log.error("Invalid format: {}", e.getMessage());
+			throw new CustomException("InvalidFormat", "The file format is not supported.");
+		} catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+			log.error("Error processing Excel file: {}", e);
+			throw new CustomException(Integer.toString(HttpStatus.INTERNAL_SERVER_ERROR.value()),
+					"Error processing Excel file");
+		} finally {
+			workbook.dispose();
+		}
+	}
+
+	/**
+	 * Processes the rows of a workbook as they are streamed, writing every row
+	 * to the output workbook and running the row level calculations on the
+	 * sheets that are allowed to be processed.
+	 */
+	private class StreamingSheetProcessor implements StreamingWorkbookReader.RowHandler {
+
+		private final PlanConfigurationRequest planConfigurationRequest;
+
+		private final PlanConfiguration planConfig;
+
+		private final String fileStoreId;
+
+		private final SXSSFWorkbook workbook;
+
+		private final List<Boundary> campaignBoundaryList;
+
+		private final LocaleResponse localeResponse;
+
+		private final Map<String, Object> attributeNameVsDataTypeMap;
+
+		private final List<String> boundaryCodeList;
+
+		private final StreamedRowWriter rowWriter;
+
+		private final DataFormatter dataFormatter = new DataFormatter();
+
+		private Sheet sheet;
+
+		private boolean processSheet;
+
+		private Row firstRow;
+
+		private CalculationPlan calculationPlan;
+
+		private Integer indexOfBoundaryCode;
+
+		private StreamingSheetProcessor(PlanConfigurationRequest planConfigurationRequest, String fileStoreId,
+				Object campaignResponse, SXSSFWorkbook workbook, List<Boundary> campaignBoundaryList) {
+			this.planConfigurationRequest = planConfigurationRequest;
+			this.planConfig = planConfigurationRequest.getPlanConfiguration();
+			this.fileStoreId = fileStoreId;
+			this.workbook = workbook;
+			this.rowWriter = new StreamedRowWriter(workbook);
+			this.campaignBoundaryList = campaignBoundaryList;
+			this.localeResponse = localeUtil.searchLocale(planConfigurationRequest);
+			CampaignResponse campaign = parseCampaignResponse(campaignResponse);
+			this.attributeNameVsDataTypeMap = prepareAttributeVsIndexMap(planConfigurationRequest, fileStoreId,
+					campaign, planConfig);
+			this.boundaryCodeList = getBoundaryCodeList(planConfigurationRequest, campaign, planConfig);
+		}
+
+		@Override
+		public void startSheet(String sheetName) {
+			sheet = workbook.createSheet(sheetName);
+			processSheet = isSheetAlloedToProcess(planConfigurationRequest, sheetName, localeResponse);
+			firstRow = null;
+			calculationPlan = null;
+			indexOfBoundaryCode = null;
+		}
+
+		@Override
+		public void row(int rowNum, List<StreamingWorkbookReader.CellData> cells) {
+			Row row = rowWriter.write(sheet, rowNum, cells);
+			if (!processSheet || isRowEmpty(row))
+				return;
+
+			if (rowNum == 0) {
+				firstRow = row;
+				Map<String, Integer> mapOfColumnNameAndIndex = parsingUtil.getAttributeNameIndexFromExcel(sheet);
+				parsingUtil.validateColumnNames(mapOfColumnNameAndIndex.keySet().stream().toList(), planConfig,
+						fileStoreId);
+				calculationPlan = calculationUtil.compileCalculationPlan(planConfig, fileStoreId,
+						mapOfColumnNameAndIndex);
+				indexOfBoundaryCode = campaignIntegrationUtil.getIndexOfBoundaryCode(0,
+						calculationPlan.getSortedColumnList(), calculationPlan.getMappedValues());
+				return;
+			}
+			if (calculationPlan == null)
+				throw new CustomException(Integer.toString(HttpStatus.INTERNAL_SERVER_ERROR.value()),
+						"Column header row not found at sheet - " + sheet.getSheetName());
+
+			processRow(planConfigurationRequest, sheet, row, firstRow, dataFormatter, calculationPlan,
+					indexOfBoundaryCode, campaignBoundaryList, attributeNameVsDataTypeMap, boundaryCodeList);
+		}
+
+		@Override
+		public void endSheet(String sheetName) {
+			sheet = null;
+			firstRow = null;
+		}
+	}
+
 	/**
 	 * Uploads a converted file and integrates campaign details if configured to do so.
 	 * 
@@ -298,8 +440,9 @@ public class ExcelParser implements FileParser {
 
 	/**
 	 * Performs row-level calculations and processing on each row in the sheet.
-	 * Validates rows, maps resource values, converts assumptions, creates feature nodes,
-	 * calculates operations results, updates campaign boundaries, and creates plan entities.
+	 * Compiles the calculation plan for the sheet once, then validates rows,
+	 * creates feature nodes, evaluates the plan, updates campaign boundaries,
+	 * and creates plan entities for every row.
 	 *
 	 * @param planConfigurationRequest The request containing configuration details including tenant ID.
 	 * @param sheet The sheet from which rows are processed.
@@ -315,6 +458,11 @@ public class ExcelParser implements FileParser {
 			DataFormatter dataFormatter, String fileStoreId, List<Boundary> campaignBoundaryList,
 			PlanConfiguration planConfig, Map<String, Object> attributeNameVsDataTypeMap, List<String> boundaryCodeList,
 			Row firstRow)  {
+		CalculationPlan calculationPlan = calculationUtil.compileCalculationPlan(planConfig, fileStoreId,
+				parsingUtil.getAttributeNameIndexFromExcel(sheet));
+		Integer indexOfBoundaryCode = campaignIntegrationUtil.getIndexOfBoundaryCode(0,
+				calculationPlan.getSortedColumnList(), calculationPlan.getMappedValues());
+
 		for (Row row : sheet) {
 			if(isRowEmpty(row))
 				continue;
@@ -324,30 +472,46 @@ public class ExcelParser implements FileParser {
 				continue;
 			}
 
-			Map<String, BigDecimal> resultMap = new HashMap<>();
-			Map<String, String> mappedValues = planConfig.getResourceMapping().stream()
-					.filter(f -> f.getFilestoreId().equals(fileStoreId))
-					.collect(Collectors.toMap(ResourceMapping::getMappedTo, ResourceMapping::getMappedFrom));
-			Map<String, BigDecimal> assumptionValueMap = calculationUtil
-					.convertAssumptionsToMap(planConfig.getAssumptions());
-			Map<String, Integer> mapOfColumnNameAndIndex = parsingUtil.getAttributeNameIndexFromExcel(sheet);
-
-			Integer indexOfBoundaryCode = campaignIntegrationUtil.getIndexOfBoundaryCode(0,
-					campaignIntegrationUtil.sortColumnByIndex(mapOfColumnNameAndIndex), mappedValues);
-			validateRows(indexOfBoundaryCode, row, firstRow, attributeNameVsDataTypeMap, mappedValues, mapOfColumnNameAndIndex,
-					planConfigurationRequest, boundaryCodeList, sheet);
-			JsonNode feature = createFeatureNodeFromRow(row, dataFormatter, mapOfColumnNameAndIndex);
-			performCalculationsOnOperations(sheet, planConfig, row, resultMap, mappedValues,
-					assumptionValueMap, feature);
-			if (config.isIntegrateWithAdminConsole())
-				campaignIntegrationUtil.updateCampaignBoundary(planConfig, feature, assumptionValueMap, mappedValues,
-						mapOfColumnNameAndIndex, campaignBoundaryList, resultMap);
-			planUtil.create(planConfigurationRequest, feature, resultMap, mappedValues);
-			// TODO: remove after testing
-			printRow(sheet, row);
+			processRow(planConfigurationRequest, sheet, row, firstRow, dataFormatter, calculationPlan,
+					indexOfBoundaryCode, campaignBoundaryList, attributeNameVsDataTypeMap, boundaryCodeList);
 		}
 	}
 
+	/**
+	 * Validates a data row, evaluates the calculation plan for it, updates
+	 * campaign boundaries and creates the plan entity for the row.
+	 *
+	 * @param planConfigurationRequest The request containing configuration details including tenant ID.
+	 * @param sheet The sheet the row belongs to.
+	 * @param row The data row to process.
+	 * @param firstRow The column header row of the sheet.
+	 * @param dataFormatter The data formatter for formatting cell values.
+	 * @param calculationPlan The calculation plan compiled for the sheet.
+	 * @param indexOfBoundaryCode The index of the boundary code column.
+	 * @param campaignBoundaryList List of boundary objects related to the campaign.
+	 * @param attributeNameVsDataTypeMap Mapping of attribute names to their data types.
+	 * @param boundaryCodeList List of boundary codes.
+	 */
+	private void processRow(PlanConfigurationRequest planConfigurationRequest, Sheet sheet, Row row, Row firstRow,
+			DataFormatter dataFormatter, CalculationPlan calculationPlan, Integer indexOfBoundaryCode,
+			List<Boundary> campaignBoundaryList, Map<String, Object> attributeNameVsDataTypeMap,
+			List<String> boundaryCodeList) {
+		PlanConfiguration planConfig = planConfigurationRequest.getPlanConfiguration();
+		Map<String, String> mappedValues = calculationPlan.getMappedValues();
+		Map<String, Integer> mapOfColumnNameAndIndex = calculationPlan.getMapOfColumnNameAndIndex();
+		validateRows(indexOfBoundaryCode, row, firstRow, attributeNameVsDataTypeMap, mappedValues, mapOfColumnNameAndIndex,
+				planConfigurationRequest, boundaryCodeList, sheet);
+		JsonNode feature = createFeatureNodeFromRow(row, dataFormatter, mapOfColumnNameAndIndex);
+		Map<String, BigDecimal> resultMap = performCalculationsOnOperations(sheet, calculationPlan, row,
+				dataFormatter);
+		if (config.isIntegrateWithAdminConsole())
+			campaignIntegrationUtil.updateCampaignBoundary(planConfig, feature, calculationPlan.getAssumptionValueMap(),
+					mappedValues, mapOfColumnNameAndIndex, campaignBoundaryList, resultMap);
+		planUtil.create(planConfigurationRequest, feature, resultMap, mappedValues);
+		if (log.isDebugEnabled())
+			printRow(sheet, row);
+	}
+
 	/**
 	 * Checks if a given row is empty.
 	 *
@@ -370,36 +534,30 @@ public class ExcelParser implements FileParser {
 
 	/**
 	 * Performs calculations on operations for a specific row in the sheet.
-	 * Calculates results based on plan configuration operations, updates result map, and sets cell values.
+	 * Evaluates the compiled calculation plan for the row and sets the results as cell values.
 	 *
 	 * @param sheet The sheet where calculations are performed.
-	 * @param planConfig The configuration details for the plan.
+	 * @param calculationPlan The calculation plan compiled for the sheet.
 	 * @param row The row in the sheet where calculations are applied.
-	 * @param resultMap The map to store calculation results.
-	 * @param mappedValues Mapping of values needed for calculations.
-	 * @param assumptionValueMap Map of assumption values used in calculations.
-	 * @param feature JSON node containing additional features or data for calculations.
+	 * @param dataFormatter The data formatter for formatting cell values.
+	 * @return The map of operation outputs to calculated results.
 	 */
-	private void performCalculationsOnOperations(Sheet sheet, PlanConfiguration planConfig, Row row,
-			Map<String, BigDecimal> resultMap, Map<String, String> mappedValues,
-			Map<String, BigDecimal> assumptionValueMap, JsonNode feature) {
+	private Map<String, BigDecimal> performCalculationsOnOperations(Sheet sheet, CalculationPlan calculationPlan,
+			Row row, DataFormatter dataFormatter) {
 		int columnIndex = row.getLastCellNum(); // Get the index of the last cell in the row
+		BigDecimal[] results = calculationPlan.evaluate(row, dataFormatter);
+		List<CalculationPlan.Step> steps = calculationPlan.getSteps();
 
-		for (Operation operation : planConfig.getOperations()) {
-			BigDecimal result = calculationUtil.calculateResult(operation, feature, mappedValues,
-					assumptionValueMap, resultMap);
-			String output = operation.getOutput();
-			resultMap.put(output, result);
-
+		for (int i = 0; i < steps.size(); i++) {
 			Cell cell = row.createCell(columnIndex++);
-			cell.setCellValue(result.doubleValue());
+			cell.setCellValue(results[i].doubleValue());
 
 			if (row.getRowNum() == 1) {
 				Cell headerCell = sheet.getRow(0).createCell(row.getLastCellNum() - 1);
-				headerCell.setCellValue(output);
+				headerCell.setCellValue(steps.get(i).getOutput());
 			}
 		}
-		
+		return calculationPlan.toResultMap(results);
 	}
 
 	/**
@@ -1,24 +1,25 @@
 package org.egov.processor.service;
 
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
-import java.math.BigDecimal;
+import java.io.IOException;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.egov.processor.util.CalculationPlan;
 import org.egov.processor.util.CalculationUtil;
 import org.egov.processor.util.FilestoreUtil;
+import org.egov.processor.util.GeoJsonFeatureWriter;
 import org.egov.processor.util.ParsingUtil;
 import org.egov.processor.web.models.PlanConfiguration;
 import org.egov.processor.web.models.PlanConfigurationRequest;
-import org.egov.processor.web.models.ResourceMapping;
 
+import org.egov.tracer.model.CustomException;
 import org.springframework.stereotype.Service;
 
 
@@ -26,6 +27,8 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class GeoJsonParser implements FileParser {
 
+    private static final String OUTPUT_FILE_NAME = "processed.geojson";
+
     private ObjectMapper objectMapper;
 
     private ParsingUtil parsingUtil;
@@ -43,9 +46,10 @@ public class GeoJsonParser implements FileParser {
 
     /**
      * Parses the file data based on the provided plan configuration and file store ID.
-     * Converts the byte array data to a GeoJSON string, then to a JSON node.
-     * Calculates resources based on the operations defined in the plan configuration.
-     * Writes the updated JSON node to a file and uploads it to the file store.
+     * Streams the features of the GeoJSON file one at a time, calculates resources for
+     * each feature based on the operations defined in the plan configuration and writes
+     * the updated feature to the output file before reading the next one.
+     * The output file is then uploaded to the file store.
      *
      * @param planConfigurationRequest  The plan configuration containing mapping and operation details.
      * @param fileStoreId The file store ID of the GeoJSON file to be parsed.
@@ -54,25 +58,58 @@ public class GeoJsonParser implements FileParser {
     @Override
     public Object parseFileData(PlanConfigurationRequest planConfigurationRequest, String fileStoreId, Object campaignResponse) {
     	PlanConfiguration planConfig = planConfigurationRequest.getPlanConfiguration();
-        String geoJSON = parsingUtil.convertByteArrayToString(planConfig, fileStoreId);
-
-        JsonNode jsonNode = parsingUtil.parseJson(geoJSON, objectMapper);
-
-        List<String> columnNamesList = parsingUtil.fetchAttributeNamesFromJson(jsonNode);
-        parsingUtil.validateColumnNames(columnNamesList, planConfig, fileStoreId);
-
-        Map<String, BigDecimal> resultMap = new HashMap<>();
-        Map<String, String> mappedValues = planConfig.getResourceMapping().stream()
-        		.filter(f-> f.getFilestoreId().equals(fileStoreId))
-                .collect(Collectors.toMap(ResourceMapping::getMappedTo, ResourceMapping::getMappedFrom));
-        Map<String, BigDecimal> assumptionValueMap = calculationUtil.convertAssumptionsToMap(planConfig.getAssumptions());
-
-        calculationUtil.calculateResources(jsonNode, planConfigurationRequest, resultMap, mappedValues, assumptionValueMap);
-
-        File outputFile = parsingUtil.writeToFile(jsonNode, objectMapper);
+        byte[] geoJSON = filestoreUtil.getFile(planConfig.getTenantId(), fileStoreId);
+
+        File outputFile = new File(OUTPUT_FILE_NAME);
+        boolean featuresFound = false;
+        try (JsonParser parser = objectMapper.createParser(geoJSON);
+             GeoJsonFeatureWriter writer = new GeoJsonFeatureWriter(objectMapper, outputFile)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new CustomException("JSON_PARSE_ERROR", "Error parsing JSON: GeoJSON is not an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if ("features".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                    featuresFound = true;
+                    writer.startFeatures();
+                    processFeatures(parser, writer, planConfigurationRequest, fileStoreId);
+                    writer.endFeatures();
+                } else {
+                    writer.writeField(fieldName, parser.readValueAsTree());
+                }
+            }
+        } catch (IOException e) {
+            log.error(e.getMessage());
+            throw new CustomException("JSON_PARSE_ERROR", "Error parsing JSON: " + e.getMessage());
+        }
+        if (!featuresFound)
+            throw new CustomException("No Features found in geojson", " ");
 
         return filestoreUtil.uploadFile(outputFile, planConfig.getTenantId());
 
     }
 
-}
\ No newline at end of file
+    /**
+     * Reads the features array element by element. The column names of the first feature
+     * are validated against the plan configuration and used to compile the calculation plan
+     * applied to every feature.
+     */
+    private void processFeatures(JsonParser parser, GeoJsonFeatureWriter writer,
+                                 PlanConfigurationRequest planConfigurationRequest, String fileStoreId) throws IOException {
+        PlanConfiguration planConfig = planConfigurationRequest.getPlanConfiguration();
+        CalculationPlan calculationPlan = null;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            JsonNode feature = parser.readValueAsTree();
+            if (calculationPlan == null) {
+                List<String> columnNamesList = parsingUtil.fetchAttributeNamesFromFeature(feature);
+                parsingUtil.validateColumnNames(columnNamesList, planConfig, fileStoreId);
+                calculationPlan = calculationUtil.compileCalculationPlan(planConfig, fileStoreId,
+                        parsingUtil.getAttributeNameIndex(columnNamesList));
+            }
+            calculationUtil.calculateResources(feature, planConfigurationRequest, calculationPlan);
+            writer.writeFeature(feature);
+        }
+    }
+
+}
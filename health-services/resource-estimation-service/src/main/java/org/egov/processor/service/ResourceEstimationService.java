@@ -8,6 +8,7 @@ import org.egov.processor.config.Configuration;
 import org.egov.processor.config.ServiceConstants;
 import org.egov.processor.repository.ServiceRequestRepository;
 import org.egov.processor.util.CampaignIntegrationUtil;
+import org.egov.processor.util.PlanUtil;
 import org.egov.processor.web.models.File;
 import org.egov.processor.web.models.PlanConfiguration;
 import org.egov.processor.web.models.PlanConfigurationRequest;
@@ -26,20 +27,23 @@ public class ResourceEstimationService {
     private CampaignIntegrationUtil campaignIntegrationUtil;
 	private ServiceRequestRepository serviceRequestRepository;
 	private Configuration config;
+	private PlanUtil planUtil;
 
 	public ResourceEstimationService(FileParser excelParser, FileParser geoJsonParser, FileParser shapeFileParser,CampaignIntegrationUtil campaignIntegrationUtil
     		,ServiceRequestRepository serviceRequestRepository,
-    		Configuration config) {
+    		Configuration config, PlanUtil planUtil) {
         this.excelParser = excelParser;
         this.geoJsonParser = geoJsonParser;
         this.shapeFileParser = shapeFileParser;
         this.campaignIntegrationUtil= campaignIntegrationUtil;
     	this.serviceRequestRepository=serviceRequestRepository;
     	this.config=config;
+    	this.planUtil=planUtil;
     }
 
 	/**
 	 * Estimates resources required for the plan configuration by parsing files and fetching campaign search results.
+	 * Plans still buffered for bulk creation are published once all files have been processed.
 	 *
 	 * @param planConfigurationRequest The plan configuration request containing necessary information for estimating resources.
 	 */
@@ -48,7 +52,11 @@ public class ResourceEstimationService {
 
         Map<File.InputFileTypeEnum, FileParser> parserMap = getInputFileTypeMap();
         Object campaignSearchResponse = performCampaignSearch(planConfigurationRequest);
-        processFiles(planConfigurationRequest, planConfiguration, parserMap, campaignSearchResponse);
+        try {
+            processFiles(planConfigurationRequest, planConfiguration, parserMap, campaignSearchResponse);
+        } finally {
+            planUtil.flush(planConfigurationRequest);
+        }
     }
 
     /**
@@ -1,29 +1,31 @@
 package org.egov.processor.service;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.egov.processor.util.CalculationPlan;
 import org.egov.processor.util.CalculationUtil;
 import org.egov.processor.util.FilestoreUtil;
+import org.egov.processor.util.GeoJsonFeatureWriter;
 import org.egov.processor.util.ParsingUtil;
 import org.egov.processor.web.models.PlanConfiguration;
 import org.egov.processor.web.models.PlanConfigurationRequest;
-import org.egov.processor.web.models.ResourceMapping;
 import org.egov.tracer.model.CustomException;
 import org.geotools.api.data.DataStore;
 import org.geotools.api.data.DataStoreFinder;
 import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.geojson.feature.FeatureJSON;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,6 +33,8 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class ShapeFileParser implements FileParser {
 
+    private static final String OUTPUT_FILE_NAME = "processed.geojson";
+
     private ParsingUtil parsingUtil;
 
     private FilestoreUtil filestoreUtil;
@@ -48,8 +52,10 @@ public class ShapeFileParser implements FileParser {
 
     /**
      * Parses the file data based on the provided plan configuration and file store ID.
-     * Converts a Shapefile to GeoJSON format, calculates resources based on the operations
-     * defined in the plan configuration, and uploads the updated GeoJSON file to the file store.
+     * Iterates the features of the Shapefile one at a time, calculates resources for each
+     * feature based on the operations defined in the plan configuration and writes the
+     * feature as GeoJSON to the output file before reading the next one. The output file
+     * is then uploaded to the file store.
      *
      * @param planConfigurationRequest  The plan configuration containing mapping and operation details.
      * @param fileStoreId The file store ID of the Shapefile to be converted and parsed.
@@ -58,34 +64,6 @@ public class ShapeFileParser implements FileParser {
     @Override
     public Object parseFileData(PlanConfigurationRequest planConfigurationRequest, String fileStoreId, Object campaignResponse) {
     	PlanConfiguration planConfig = planConfigurationRequest.getPlanConfiguration();
-        File geojsonFile = convertShapefileToGeoJson(planConfig, fileStoreId);
-        String geoJSONString = parsingUtil.convertFileToJsonString(geojsonFile);
-        JsonNode jsonNode = parsingUtil.parseJson(geoJSONString, objectMapper);
-
-        List<String> columnNamesList = parsingUtil.fetchAttributeNamesFromJson(jsonNode);
-        parsingUtil.validateColumnNames(columnNamesList, planConfig, fileStoreId);
-
-        Map<String, BigDecimal> resultMap = new HashMap<>();
-        Map<String, String> mappedValues = planConfig.getResourceMapping().stream()
-        		.filter(f-> f.getFilestoreId().equals(fileStoreId))
-        		.collect(Collectors.toMap(ResourceMapping::getMappedTo, ResourceMapping::getMappedFrom));
-        Map<String, BigDecimal> assumptionValueMap = calculationUtil.convertAssumptionsToMap(planConfig.getAssumptions());
-
-        calculationUtil.calculateResources(jsonNode, planConfigurationRequest, resultMap, mappedValues, assumptionValueMap);
-
-        File updatedGeojsonFile = parsingUtil.writeToFile(jsonNode, objectMapper);
-
-        return filestoreUtil.uploadFile(updatedGeojsonFile, planConfig.getTenantId());
-    }
-
-    /**
-     * Converts a Shapefile to GeoJSON format and writes it to a GeoJSON file.
-     *
-     * @param planConfig  The plan configuration containing mapping details.
-     * @param fileStoreId The file store ID of the Shapefile to be converted.
-     * @return The GeoJSON file containing the converted data.
-     */
-    public File convertShapefileToGeoJson(PlanConfiguration planConfig, String fileStoreId) {
         File shapefile = null;
         try {
             shapefile = parsingUtil.extractShapeFilesFromZip(planConfig, fileStoreId, "shapefile");
@@ -93,21 +71,27 @@ public class ShapeFileParser implements FileParser {
             log.error(exception.getMessage());
         }
 
-        File geojsonFile = new File("geojsonfile.geojson");
-
-        SimpleFeatureSource featureSource = null;
-        DataStore dataStore;
+        File geojsonFile = new File(OUTPUT_FILE_NAME);
+        DataStore dataStore = getDataStore(shapefile);
         try {
-            dataStore = getDataStore(shapefile);
             String typeName = dataStore.getTypeNames()[0];
-            featureSource = dataStore.getFeatureSource(typeName);
+            SimpleFeatureSource featureSource = dataStore.getFeatureSource(typeName);
+
+            List<String> columnNamesList = featureSource.getSchema().getAttributeDescriptors().stream()
+                    .map(AttributeDescriptor::getLocalName)
+                    .collect(Collectors.toList());
+            parsingUtil.validateColumnNames(columnNamesList, planConfig, fileStoreId);
+            CalculationPlan calculationPlan = calculationUtil.compileCalculationPlan(planConfig, fileStoreId,
+                    parsingUtil.getAttributeNameIndex(columnNamesList));
 
-            writeFeaturesToGeoJson(featureSource, geojsonFile);
+            writeFeaturesToGeoJson(featureSource, geojsonFile, planConfigurationRequest, calculationPlan);
         } catch (IOException e) {
             throw new CustomException("ERROR_IN_SHAPE_FILE_PARSER_WHILE_CONVERTING_SHAPE_FILE_TO_GEOJSON_IN_METHOD_CONVERTSHAPEFILETOGEOJSON",e.getMessage());
+        } finally {
+            dataStore.dispose();
         }
 
-        return geojsonFile;
+        return filestoreUtil.uploadFile(geojsonFile, planConfig.getTenantId());
     }
 
     /**
@@ -129,15 +113,26 @@ public class ShapeFileParser implements FileParser {
     }
 
     /**
-     * Writes features from a SimpleFeatureSource to a GeoJSON file.
+     * Streams features from a SimpleFeatureSource to a GeoJSON file, calculating
+     * resources for each feature on the way.
      *
-     * @param featureSource The SimpleFeatureSource containing the features to write.
-     * @param geojsonFile   The GeoJSON file to write the features to.
-     * @throws IOException If an I/O error occurs.
+     * @param featureSource            The SimpleFeatureSource containing the features to write.
+     * @param geojsonFile              The GeoJSON file to write the features to.
+     * @param planConfigurationRequest The plan configuration request.
+     * @param calculationPlan          The calculation plan compiled for the Shapefile attributes.
      */
-    private void writeFeaturesToGeoJson(SimpleFeatureSource featureSource, File geojsonFile)  {
-        try (FileOutputStream geojsonStream = new FileOutputStream(geojsonFile)) {
-            new FeatureJSON().writeFeatureCollection(featureSource.getFeatures(), geojsonStream);
+    private void writeFeaturesToGeoJson(SimpleFeatureSource featureSource, File geojsonFile,
+                                        PlanConfigurationRequest planConfigurationRequest, CalculationPlan calculationPlan) {
+        FeatureJSON featureJSON = new FeatureJSON();
+        try (SimpleFeatureIterator features = featureSource.getFeatures().features();
+             GeoJsonFeatureWriter writer = new GeoJsonFeatureWriter(objectMapper, geojsonFile)) {
+            writer.writeField("type", TextNode.valueOf("FeatureCollection"));
+            writer.startFeatures();
+            while (features.hasNext()) {
+                JsonNode feature = objectMapper.readTree(featureJSON.toString(features.next()));
+                calculationUtil.calculateResources(feature, planConfigurationRequest, calculationPlan);
+                writer.writeFeature(feature);
+            }
         } catch (IOException e) {
             throw new CustomException("Failed to write feature to GeoJson",e.getMessage());
         }
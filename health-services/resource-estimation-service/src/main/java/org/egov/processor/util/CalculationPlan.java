@@ -0,0 +1,218 @@
+package org.egov.processor.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.egov.processor.web.models.Operation;
+import org.egov.processor.web.models.PlanConfiguration;
+import org.egov.processor.web.models.ResourceMapping;
+import org.egov.tracer.model.CustomException;
+
+import lombok.Getter;
+
+/**
+ * Row calculation plan compiled once per sheet from a plan configuration.
+ * Resource mappings, assumption values and column indexes are resolved up
+ * front, and every operation is bound either to a column of the sheet or to
+ * the output of an earlier operation, so evaluating a row only reads cells and
+ * applies operators.
+ */
+@Getter
+public class CalculationPlan {
+
+    private static final short GENERAL_FORMAT = 0;
+
+    // General switches to scientific notation from 11 digits on
+    private static final double MAX_GENERAL_WHOLE_NUMBER = 1e10;
+
+    private final Map<String, String> mappedValues;
+
+    private final Map<String, BigDecimal> assumptionValueMap;
+
+    private final Map<String, Integer> mapOfColumnNameAndIndex;
+
+    private final List<Map.Entry<String, Integer>> sortedColumnList;
+
+    private final List<Step> steps;
+
+    private final CalculationUtil calculationUtil;
+
+    private CalculationPlan(Map<String, String> mappedValues, Map<String, BigDecimal> assumptionValueMap,
+                            Map<String, Integer> mapOfColumnNameAndIndex, List<Step> steps,
+                            CalculationUtil calculationUtil) {
+        this.mappedValues = Collections.unmodifiableMap(mappedValues);
+        this.assumptionValueMap = Collections.unmodifiableMap(assumptionValueMap);
+        this.mapOfColumnNameAndIndex = Collections.unmodifiableMap(mapOfColumnNameAndIndex);
+        this.sortedColumnList = mapOfColumnNameAndIndex.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toUnmodifiableList());
+        this.steps = Collections.unmodifiableList(steps);
+        this.calculationUtil = calculationUtil;
+    }
+
+    /**
+     * Compiles the operations of the plan configuration against the columns of a sheet.
+     *
+     * @param planConfig              The plan configuration holding mappings, assumptions and operations.
+     * @param fileStoreId             The ID of the file whose resource mappings apply.
+     * @param mapOfColumnNameAndIndex The header column names of the sheet and their indexes.
+     * @param calculationUtil         The utility applying operators.
+     * @return The compiled calculation plan.
+     */
+    public static CalculationPlan compile(PlanConfiguration planConfig, String fileStoreId,
+                                          Map<String, Integer> mapOfColumnNameAndIndex, CalculationUtil calculationUtil) {
+        Map<String, String> mappedValues = planConfig.getResourceMapping().stream()
+                .filter(f -> f.getFilestoreId().equals(fileStoreId))
+                .collect(Collectors.toMap(ResourceMapping::getMappedTo, ResourceMapping::getMappedFrom));
+        Map<String, BigDecimal> assumptionValueMap = calculationUtil.convertAssumptionsToMap(planConfig.getAssumptions());
+
+        List<Step> steps = new ArrayList<>();
+        Map<String, Integer> stepIndexByOutput = new HashMap<>();
+        for (Operation operation : planConfig.getOperations()) {
+            String input = operation.getInput();
+            // outputs of earlier operations take precedence over sheet columns, as they do when
+            // results are looked up in the per-row result map
+            Integer inputStep = stepIndexByOutput.get(input);
+            String columnName = mappedValues.get(input);
+            Integer columnIndex = columnName != null ? mapOfColumnNameAndIndex.get(columnName) : null;
+            steps.add(new Step(input, operation.getOutput(), operation.getOperator(),
+                    assumptionValueMap.get(operation.getAssumptionValue()), operation.getAssumptionValue(),
+                    inputStep != null ? inputStep : -1, columnName, columnIndex != null ? columnIndex : -1));
+            stepIndexByOutput.put(operation.getOutput(), steps.size() - 1);
+        }
+        return new CalculationPlan(mappedValues, assumptionValueMap, mapOfColumnNameAndIndex, steps, calculationUtil);
+    }
+
+    /**
+     * Evaluates every operation of the plan for a sheet row.
+     *
+     * @param row           The row to evaluate.
+     * @param dataFormatter The data formatter giving the displayed text of cells.
+     * @return The operation results, in operation order.
+     */
+    public BigDecimal[] evaluate(Row row, DataFormatter dataFormatter) {
+        return evaluateSteps(step -> step.columnIndex >= 0
+                ? readNumericCell(row.getCell(step.columnIndex), dataFormatter)
+                : null);
+    }
+
+    /**
+     * Evaluates every operation of the plan for a record whose values are
+     * looked up by column name, such as the properties of a GeoJSON feature.
+     *
+     * @param valueByColumnName Returns the value of a column, or null when the
+     *                          record has no such column.
+     * @return The operation results, in operation order.
+     */
+    public BigDecimal[] evaluate(Function<String, BigDecimal> valueByColumnName) {
+        return evaluateSteps(step -> step.columnName != null ? valueByColumnName.apply(step.columnName) : null);
+    }
+
+    private BigDecimal[] evaluateSteps(StepInputReader inputReader) {
+        BigDecimal[] results = new BigDecimal[steps.size()];
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            BigDecimal inputValue = step.inputStep >= 0 ? results[step.inputStep] : inputReader.read(step);
+            if (inputValue == null) {
+                throw new CustomException("INPUT_VALUE_NOT_FOUND", "Input value not found: " + step.input);
+            }
+            results[i] = apply(step, inputValue);
+        }
+        return results;
+    }
+
+    /**
+     * Converts evaluated results into a map keyed by operation output.
+     *
+     * @param results The results returned by an evaluation of this plan.
+     * @return The map of outputs to results.
+     */
+    public Map<String, BigDecimal> toResultMap(BigDecimal[] results) {
+        Map<String, BigDecimal> resultMap = new HashMap<>();
+        for (int i = 0; i < steps.size(); i++) {
+            resultMap.put(steps.get(i).output, results[i]);
+        }
+        return resultMap;
+    }
+
+    private BigDecimal apply(Step step, BigDecimal inputValue) {
+        if (step.assumptionValue == null) {
+            throw new CustomException("ASSUMPTION_VALUE_NOT_FOUND",
+                    "Assumption value not found: " + step.assumptionKey);
+        }
+        return calculationUtil.calculateOutputValue(inputValue, step.operator, step.assumptionValue);
+    }
+
+    /**
+     * Reads a cell as the excel parser always has, by parsing the text the cell
+     * displays, so percentages read as 50 rather than 0.5 and decimals keep the
+     * rounding of their number format. Whole numbers in the General format
+     * display exactly as stored, so only those are read without formatting.
+     */
+    private BigDecimal readNumericCell(Cell cell, DataFormatter dataFormatter) {
+        if (cell == null || cell.getCellType() == CellType.BLANK) {
+            return BigDecimal.ZERO;
+        }
+        if (cell.getCellType() == CellType.NUMERIC && cell.getCellStyle().getDataFormat() == GENERAL_FORMAT) {
+            double value = cell.getNumericCellValue();
+            if (value == Math.rint(value) && Math.abs(value) < MAX_GENERAL_WHOLE_NUMBER) {
+                return BigDecimal.valueOf((long) value);
+            }
+        }
+        return calculationUtil.parseNumericValue(dataFormatter.formatCellValue(cell));
+    }
+
+    @FunctionalInterface
+    private interface StepInputReader {
+
+        BigDecimal read(Step step);
+    }
+
+    /**
+     * A single compiled operation. The input is read from the result of step
+     * {@code inputStep} when it is non negative, otherwise from column
+     * {@code columnIndex}.
+     */
+    @Getter
+    public static final class Step {
+
+        private final String input;
+
+        private final String output;
+
+        private final Operation.OperatorEnum operator;
+
+        private final BigDecimal assumptionValue;
+
+        private final String assumptionKey;
+
+        private final int inputStep;
+
+        private final String columnName;
+
+        private final int columnIndex;
+
+        private Step(String input, String output, Operation.OperatorEnum operator, BigDecimal assumptionValue,
+                     String assumptionKey, int inputStep, String columnName, int columnIndex) {
+            this.input = input;
+            this.output = output;
+            this.operator = operator;
+            this.assumptionValue = assumptionValue;
+            this.assumptionKey = assumptionKey;
+            this.inputStep = inputStep;
+            this.columnName = columnName;
+            this.columnIndex = columnIndex;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.math.RoundingMode;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.egov.processor.config.ServiceConstants;
@@ -21,6 +22,8 @@ import static org.egov.processor.config.ServiceConstants.PROPERTIES;
 
 @Component
 public class CalculationUtil {
+
+    private static final Pattern NON_NUMERIC_CHARACTERS = Pattern.compile("[^\\d.\\-E]");
 	
 	private PlanUtil planUtil;
 	
@@ -61,26 +64,26 @@ public class CalculationUtil {
     }
 
     /**
-     * Calculates resources based on the provided JSON node, list of operations, and assumption values.
+     * Calculates resources for a single GeoJSON feature with a compiled calculation plan,
+     * adds the results to the feature properties and creates a plan for the feature.
      *
-     * @param jsonNode           The JSON node containing the data.
-     * @param resultMap          The map to store the results.
-     * @param mappedValues       The mapped values for inputs.
-     * @param assumptionValueMap The assumption values map.
+     * @param feature                  The GeoJSON feature.
+     * @param planConfigurationRequest The plan configuration request.
+     * @param calculationPlan          The calculation plan compiled for the file.
      */
-    public void calculateResources(JsonNode jsonNode, PlanConfigurationRequest planConfigurationRequest, Map<String, BigDecimal> resultMap,
-                                Map<String, String> mappedValues, Map<String, BigDecimal> assumptionValueMap) {
-    	PlanConfiguration planConfig = planConfigurationRequest.getPlanConfiguration();
-        for (JsonNode feature : jsonNode.get("features")) {
-            for (Operation operation : planConfig.getOperations()) {
-                BigDecimal result = calculateResult(operation, feature, mappedValues, assumptionValueMap, resultMap);
-                String output = operation.getOutput();
-                resultMap.put(output, result);
-                ((ObjectNode) feature.get("properties")).put(output, result);
-            }
-            planUtil.create(planConfigurationRequest,feature,resultMap,mappedValues);
-            
+    public void calculateResources(JsonNode feature, PlanConfigurationRequest planConfigurationRequest,
+                                   CalculationPlan calculationPlan) {
+        JsonNode properties = feature.get(PROPERTIES);
+        BigDecimal[] results = calculationPlan.evaluate(columnName -> {
+            JsonNode value = properties.get(columnName);
+            return value != null ? parseNumericValue(String.valueOf(value)) : null;
+        });
+        Map<String, BigDecimal> resultMap = calculationPlan.toResultMap(results);
+        List<CalculationPlan.Step> steps = calculationPlan.getSteps();
+        for (int i = 0; i < steps.size(); i++) {
+            ((ObjectNode) properties).put(steps.get(i).getOutput(), results[i]);
         }
+        planUtil.create(planConfigurationRequest, feature, resultMap, calculationPlan.getMappedValues());
     }
 
     /**
@@ -97,26 +100,45 @@ public class CalculationUtil {
             return resultMap.get(input);
         } else {
             if (feature.get(PROPERTIES).get(columnName) != null) {
-                try {
-                    String cellValue = String.valueOf(feature.get(PROPERTIES).get(columnName));
-                    BigDecimal value;
-                    // Handle scientific notation
-                    if (cellValue.contains(ServiceConstants.SCIENTIFIC_NOTATION_INDICATOR)) {
-                        value = new BigDecimal(cellValue);
-                    } else {
-                        String cleanedValue = cellValue.replaceAll("[^\\d.\\-E]", "");
-                        value = new BigDecimal(cleanedValue);
-                    }
-                    return value;
-                } catch (NumberFormatException | NullPointerException e) {
-                    return BigDecimal.ZERO;
-                }
+                return parseNumericValue(String.valueOf(feature.get(PROPERTIES).get(columnName)));
             } else {
                 throw new CustomException("INPUT_VALUE_NOT_FOUND", "Input value not found: " + input);
             }
         }
     }
 
+    /**
+     * Parses a numeric value from its textual representation, stripping any
+     * non numeric characters unless the value is in scientific notation.
+     *
+     * @param cellValue The textual value.
+     * @return The parsed value, or zero if it is not numeric.
+     */
+    public BigDecimal parseNumericValue(String cellValue) {
+        try {
+            // Handle scientific notation
+            if (cellValue.contains(ServiceConstants.SCIENTIFIC_NOTATION_INDICATOR)) {
+                return new BigDecimal(cellValue);
+            }
+            return new BigDecimal(NON_NUMERIC_CHARACTERS.matcher(cellValue).replaceAll(""));
+        } catch (NumberFormatException | NullPointerException e) {
+            return BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Compiles the operations of a plan configuration into a calculation plan for a sheet.
+     *
+     * @param planConfig              The plan configuration.
+     * @param fileStoreId             The ID of the file being processed.
+     * @param mapOfColumnNameAndIndex The header column names of the sheet and their indexes.
+     * @return The compiled calculation plan.
+     */
+    public CalculationPlan compileCalculationPlan(PlanConfiguration planConfig, String fileStoreId,
+                                                  Map<String, Integer> mapOfColumnNameAndIndex) {
+        return CalculationPlan.compile(planConfig, fileStoreId, mapOfColumnNameAndIndex, this);
+    }
+
     /**
      * Calculates a result based on the provided operation and inputs.
      *
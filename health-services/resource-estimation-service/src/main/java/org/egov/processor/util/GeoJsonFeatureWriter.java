@@ -0,0 +1,63 @@
+package org.egov.processor.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes a GeoJSON feature collection to a file one feature at a time, so
+ * that the collection never has to be held in memory as a whole.
+ */
+public class GeoJsonFeatureWriter implements Closeable {
+
+    private final ObjectMapper objectMapper;
+
+    private final JsonGenerator generator;
+
+    private boolean writingFeatures;
+
+    public GeoJsonFeatureWriter(ObjectMapper objectMapper, File outputFile) throws IOException {
+        this.objectMapper = objectMapper;
+        this.generator = objectMapper.getFactory().createGenerator(outputFile, JsonEncoding.UTF8);
+        this.generator.writeStartObject();
+    }
+
+    /**
+     * Writes a top level member of the feature collection other than its features.
+     */
+    public void writeField(String name, JsonNode value) throws IOException {
+        generator.writeFieldName(name);
+        objectMapper.writeTree(generator, value);
+    }
+
+    public void startFeatures() throws IOException {
+        generator.writeArrayFieldStart("features");
+        writingFeatures = true;
+    }
+
+    public void writeFeature(JsonNode feature) throws IOException {
+        objectMapper.writeTree(generator, feature);
+    }
+
+    public void endFeatures() throws IOException {
+        generator.writeEndArray();
+        writingFeatures = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (writingFeatures) {
+                endFeatures();
+            }
+            generator.writeEndObject();
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -54,8 +54,19 @@ public class ParsingUtil {
     {
         if(jsonNode.get("features") == null)
             throw new CustomException("No Features found in geojson", " ");
-        List<String> columnNames = new ArrayList<>();       
-        JsonNode propertiesNode = jsonNode.get("features").get(0).get("properties");
+        return fetchAttributeNamesFromFeature(jsonNode.get("features").get(0));
+    }
+
+    /**
+     * Extracts the property names of a single GeoJSON feature.
+     *
+     * @param feature The GeoJSON feature.
+     * @return The names of the feature properties, in document order.
+     */
+    public List<String> fetchAttributeNamesFromFeature(JsonNode feature)
+    {
+        List<String> columnNames = new ArrayList<>();
+        JsonNode propertiesNode = feature.get("properties");
         Iterator<String> fieldNames = propertiesNode.fieldNames();
         while (fieldNames.hasNext()) {
             String columnName = fieldNames.next();
@@ -107,6 +118,20 @@ public class ParsingUtil {
         return sortedMap;
     }
 
+    /**
+     * Maps column names to their position in the given list.
+     *
+     * @param columnNames The column names, in order.
+     * @return A map of column names to their positions.
+     */
+    public Map<String, Integer> getAttributeNameIndex(List<String> columnNames) {
+        Map<String, Integer> columnIndexMap = new LinkedHashMap<>();
+        for (int i = 0; i < columnNames.size(); i++) {
+            columnIndexMap.putIfAbsent(columnNames.get(i), i);
+        }
+        return columnIndexMap;
+    }
+
     /**
      * Converts a byte array to a File object.
      *
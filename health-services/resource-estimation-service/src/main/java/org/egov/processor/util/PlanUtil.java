@@ -1,6 +1,7 @@
 package org.egov.processor.util;
 
 import static org.egov.processor.config.ServiceConstants.ERROR_WHILE_FETCHING_FROM_PLAN_SERVICE_FOR_LOCALITY;
+import static org.egov.processor.config.ServiceConstants.ERROR_WHILE_PUSHING_PLANS_FOR_PLAN_CONFIG;
 import static org.egov.processor.config.ServiceConstants.PROPERTIES;
 
 import java.math.BigDecimal;
@@ -16,6 +17,7 @@ import org.egov.processor.repository.ServiceRequestRepository;
 import org.egov.processor.kafka.Producer;
 import org.egov.processor.web.models.Activity;
 import org.egov.processor.web.models.Plan;
+import org.egov.processor.web.models.PlanBulkRequest;
 import org.egov.processor.web.models.PlanConfiguration;
 import org.egov.processor.web.models.PlanConfigurationRequest;
 import org.egov.processor.web.models.PlanConfigurationResponse;
@@ -24,6 +26,7 @@ import org.egov.processor.web.models.Resource;
 import org.egov.tracer.model.CustomException;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -38,14 +41,22 @@ public class PlanUtil {
 	
 	private Producer producer;
 
-	public PlanUtil(ServiceRequestRepository serviceRequestRepository, Configuration config, Producer producer) {
+	private ObjectMapper mapper;
+
+	private final Map<String, PendingPlans> pendingPlansByPlanConfigId = new HashMap<>();
+
+	public PlanUtil(ServiceRequestRepository serviceRequestRepository, Configuration config, Producer producer, ObjectMapper mapper) {
 		this.serviceRequestRepository = serviceRequestRepository;
 		this.config = config;
 		this.producer = producer;
+		this.mapper = mapper;
 	}
 
 	/**
 	 * Creates a plan configuration request, builds a plan request from it, and pushes it to the messaging system for further processing.
+	 * When bulk plan creation is enabled, the plan is buffered with the other plans of the same plan configuration
+	 * and published as part of a chunk of at most {@code resource.microplan.bulk.create.chunk.size} plans, whose
+	 * serialized size stays within {@code resource.microplan.bulk.create.max.bytes}.
 	 * 
 	 * @param planConfigurationRequest The plan configuration request.
 	 * @param feature The feature JSON node.
@@ -55,6 +66,10 @@ public class PlanUtil {
 	public void create(PlanConfigurationRequest planConfigurationRequest, JsonNode feature,
 			Map<String, BigDecimal> resultMap, Map<String, String> mappedValues) {
 		PlanRequest planRequest = buildPlanRequest(planConfigurationRequest, feature, resultMap, mappedValues);
+		if (config.isPlanBulkCreateEnabled()) {
+			bufferPlan(planConfigurationRequest, planRequest.getPlan());
+			return;
+		}
 		try {			
 			producer.push(config.getResourceMicroplanCreateTopic(), planRequest);
 		} catch (Exception e) {
@@ -62,6 +77,86 @@ public class PlanUtil {
 		}
 	}
 
+	/**
+	 * Publishes the plans still buffered for the plan configuration of the request. Must be called once all files
+	 * of a plan configuration have been processed.
+	 *
+	 * @param planConfigurationRequest The plan configuration request.
+	 */
+	public void flush(PlanConfigurationRequest planConfigurationRequest) {
+		PendingPlans pendingPlans;
+		synchronized (pendingPlansByPlanConfigId) {
+			pendingPlans = pendingPlansByPlanConfigId.remove(getPlanConfigKey(planConfigurationRequest));
+		}
+		if (pendingPlans != null) {
+			publishPlans(planConfigurationRequest, pendingPlans.plans);
+		}
+	}
+
+	/**
+	 * Adds a plan to the buffer of its plan configuration. The buffer is published before the plan is added when the
+	 * plan would take the message over the byte limit of a chunk, and after it is added once it holds a full chunk.
+	 *
+	 * @param planConfigurationRequest The plan configuration request.
+	 * @param plan The plan to buffer.
+	 */
+	private void bufferPlan(PlanConfigurationRequest planConfigurationRequest, Plan plan) {
+		int planBytes = serializedSize(plan);
+		List<List<Plan>> chunks = new ArrayList<>(2);
+		synchronized (pendingPlansByPlanConfigId) {
+			String key = getPlanConfigKey(planConfigurationRequest);
+			PendingPlans pendingPlans = pendingPlansByPlanConfigId.get(key);
+			if (pendingPlans != null && pendingPlans.bytes + planBytes > config.getPlanBulkCreateMaxBytes()) {
+				chunks.add(pendingPlans.plans);
+				pendingPlans = null;
+			}
+			if (pendingPlans == null) {
+				pendingPlans = new PendingPlans(serializedSize(PlanBulkRequest.builder()
+						.requestInfo(planConfigurationRequest.getRequestInfo())
+						.plans(new ArrayList<>())
+						.build()));
+				pendingPlansByPlanConfigId.put(key, pendingPlans);
+				if (pendingPlans.bytes + planBytes > config.getPlanBulkCreateMaxBytes()) {
+					log.warn("Plan for locality {} does not fit in {} bytes, publishing it on its own", plan.getLocality(),
+							config.getPlanBulkCreateMaxBytes());
+				}
+			}
+			pendingPlans.add(plan, planBytes);
+			if (pendingPlans.plans.size() >= Math.max(1, config.getPlanBulkCreateChunkSize())) {
+				chunks.add(pendingPlansByPlanConfigId.remove(key).plans);
+			}
+		}
+		chunks.forEach(chunk -> publishPlans(planConfigurationRequest, chunk));
+	}
+
+	private void publishPlans(PlanConfigurationRequest planConfigurationRequest, List<Plan> plans) {
+		if (plans == null || plans.isEmpty()) {
+			return;
+		}
+		PlanBulkRequest planBulkRequest = PlanBulkRequest.builder()
+				.requestInfo(planConfigurationRequest.getRequestInfo())
+				.plans(plans)
+				.build();
+		try {
+			producer.push(config.getResourceMicroplanBulkCreateTopic(), planBulkRequest);
+		} catch (Exception e) {
+			log.error(ERROR_WHILE_PUSHING_PLANS_FOR_PLAN_CONFIG + getPlanConfigKey(planConfigurationRequest), e);
+		}
+	}
+
+	private int serializedSize(Object value) {
+		try {
+			return mapper.writeValueAsBytes(value).length;
+		} catch (JsonProcessingException e) {
+			throw new CustomException("JSON_PROCESSING_ERROR", "Failed to serialize plan: " + e.getMessage());
+		}
+	}
+
+	private String getPlanConfigKey(PlanConfigurationRequest planConfigurationRequest) {
+		PlanConfiguration planConfig = planConfigurationRequest.getPlanConfiguration();
+		return planConfig.getId() != null ? planConfig.getId() : planConfig.getExecutionPlanId();
+	}
+
 	/**
 	 * Builds a PlanRequest object using the provided plan configuration request, feature JSON node,
 	 * result map, mapped values, and assumption value map.
@@ -129,4 +224,22 @@ public class PlanUtil {
 			log.error(ServiceConstants.ERROR_WHILE_UPDATING_PLAN_CONFIG); 
 		}
 	}
+
+	/**
+	 * Plans buffered for a plan configuration with the serialized size of the bulk message holding them, separators included.
+	 */
+	private static class PendingPlans {
+		private final List<Plan> plans = new ArrayList<>();
+
+		private int bytes;
+
+		private PendingPlans(int emptyMessageBytes) {
+			this.bytes = emptyMessageBytes;
+		}
+
+		private void add(Plan plan, int planBytes) {
+			bytes += planBytes + (plans.isEmpty() ? 0 : 1);
+			plans.add(plan);
+		}
+	}
 }
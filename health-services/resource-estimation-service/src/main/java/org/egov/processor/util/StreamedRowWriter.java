@@ -0,0 +1,69 @@
+package org.egov.processor.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * Writes the rows read by {@link StreamingWorkbookReader} to a workbook, with
+ * the style, formula and cached value of every cell, so that cell types and
+ * formatted values are the same as in the source workbook. Each source style is
+ * copied to the target workbook once.
+ */
+public class StreamedRowWriter {
+
+    private final Workbook workbook;
+
+    private final Map<Integer, CellStyle> stylesBySourceIndex = new HashMap<>();
+
+    public StreamedRowWriter(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * Creates a row of the sheet holding the cells read.
+     *
+     * @param sheet  The sheet to write to.
+     * @param rowNum The index of the row.
+     * @param cells  The cells of the row, null for missing cells.
+     * @return The row created.
+     */
+    public Row write(Sheet sheet, int rowNum, List<StreamingWorkbookReader.CellData> cells) {
+        Row row = sheet.createRow(rowNum);
+        for (int i = 0; i < cells.size(); i++) {
+            StreamingWorkbookReader.CellData cellData = cells.get(i);
+            if (cellData != null)
+                writeCell(row.createCell(i), cellData);
+        }
+        return row;
+    }
+
+    private void writeCell(Cell cell, StreamingWorkbookReader.CellData cellData) {
+        if (cellData.getStyle() != null)
+            cell.setCellStyle(stylesBySourceIndex.computeIfAbsent(cellData.getStyleIndex(), index -> {
+                CellStyle style = workbook.createCellStyle();
+                style.cloneStyleFrom(cellData.getStyle());
+                return style;
+            }));
+
+        // the value is set first, so that it is kept as the cached result of a formula
+        Object value = cellData.getValue();
+        if (cellData.getError() != null)
+            cell.setCellErrorValue(cellData.getError().getCode());
+        else if (value instanceof String stringValue)
+            cell.setCellValue(stringValue);
+        else if (value instanceof Double doubleValue)
+            cell.setCellValue(doubleValue);
+        else if (value instanceof Boolean booleanValue)
+            cell.setCellValue(booleanValue);
+
+        if (cellData.getFormula() != null)
+            cell.setCellFormula(cellData.getFormula());
+    }
+}
@@ -0,0 +1,343 @@
+package org.egov.processor.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.formula.FormulaParser;
+import org.apache.poi.ss.formula.FormulaRenderer;
+import org.apache.poi.ss.formula.FormulaType;
+import org.apache.poi.ss.formula.SharedFormula;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFEvaluationWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Reads an xlsx workbook sheet by sheet and row by row with the POI SAX event
+ * API, so that only the row being read, the shared strings table and the
+ * styles table are held in memory. Cells are handed over as {@link CellData},
+ * with {@code null} for missing cells, keeping their style and formula so
+ * that a row written back with {@link StreamedRowWriter} reads as it does in
+ * the workbook.
+ */
+public class StreamingWorkbookReader {
+
+    private StreamingWorkbookReader() {
+    }
+
+    /**
+     * Receives the rows of every sheet of a workbook in document order.
+     */
+    public interface RowHandler {
+
+        void startSheet(String sheetName);
+
+        void row(int rowNum, List<CellData> cells);
+
+        void endSheet(String sheetName);
+    }
+
+    /**
+     * A cell as read from the sheet. The value is a {@link String},
+     * {@link Double}, {@link Boolean} or {@code null}, the cached result for
+     * formula cells.
+     */
+    public static final class CellData {
+
+        private final Object value;
+
+        private final FormulaError error;
+
+        private final String formula;
+
+        private final int styleIndex;
+
+        private final XSSFCellStyle style;
+
+        private CellData(Object value, FormulaError error, String formula, int styleIndex, XSSFCellStyle style) {
+            this.value = value;
+            this.error = error;
+            this.formula = formula;
+            this.styleIndex = styleIndex;
+            this.style = style;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public FormulaError getError() {
+            return error;
+        }
+
+        public String getFormula() {
+            return formula;
+        }
+
+        public int getStyleIndex() {
+            return styleIndex;
+        }
+
+        /**
+         * @return The style of the cell in the source workbook, null for the default style.
+         */
+        public XSSFCellStyle getStyle() {
+            return style;
+        }
+    }
+
+    /**
+     * Streams all sheets of the package to the handler.
+     *
+     * @param pkg     The opened xlsx package.
+     * @param handler The handler receiving sheets and rows.
+     */
+    public static void read(OPCPackage pkg, RowHandler handler)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+        XSSFReader xssfReader = new XSSFReader(pkg);
+        StylesTable styles = xssfReader.getStylesTable();
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+        try (SharedFormulaConverter sharedFormulaConverter = new SharedFormulaConverter(pkg)) {
+            int sheetIndex = 0;
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = sheets.next()) {
+                    String sheetName = sheets.getSheetName();
+                    handler.startSheet(sheetName);
+                    XMLReader xmlReader = XMLHelper.newXMLReader();
+                    xmlReader.setContentHandler(new SheetHandler(sharedStrings, styles, sharedFormulaConverter,
+                            sheetIndex++, handler));
+                    xmlReader.parse(new InputSource(sheetStream));
+                    handler.endSheet(sheetName);
+                }
+            }
+        }
+    }
+
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+
+        private final StylesTable styles;
+
+        private final SharedFormulaConverter sharedFormulaConverter;
+
+        private final int sheetIndex;
+
+        private final RowHandler rowHandler;
+
+        private final StringBuilder text = new StringBuilder();
+
+        private final StringBuilder formulaText = new StringBuilder();
+
+        // master formula and range of each shared formula of the sheet, by shared index
+        private final Map<String, SharedFormulaMaster> sharedFormulas = new HashMap<>();
+
+        private List<CellData> cells;
+
+        private int rowNum = -1;
+
+        private int columnIndex = -1;
+
+        private String cellType;
+
+        private int styleIndex;
+
+        private boolean formula;
+
+        private String sharedIndex;
+
+        private String sharedRange;
+
+        private StringBuilder collecting;
+
+        private SheetHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles,
+                SharedFormulaConverter sharedFormulaConverter, int sheetIndex, RowHandler rowHandler) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.sharedFormulaConverter = sharedFormulaConverter;
+            this.sheetIndex = sheetIndex;
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String rowRef = attributes.getValue("r");
+                    rowNum = rowRef != null ? Integer.parseInt(rowRef) - 1 : rowNum + 1;
+                    columnIndex = -1;
+                    cells = new ArrayList<>();
+                }
+                case "c" -> {
+                    String cellRef = attributes.getValue("r");
+                    columnIndex = cellRef != null ? new CellReference(cellRef).getCol() : columnIndex + 1;
+                    cellType = attributes.getValue("t");
+                    String styleRef = attributes.getValue("s");
+                    styleIndex = styleRef != null ? Integer.parseInt(styleRef) : 0;
+                    formula = false;
+                    sharedIndex = null;
+                    sharedRange = null;
+                    text.setLength(0);
+                    formulaText.setLength(0);
+                }
+                case "f" -> {
+                    formula = true;
+                    if ("shared".equals(attributes.getValue("t"))) {
+                        sharedIndex = attributes.getValue("si");
+                        sharedRange = attributes.getValue("ref");
+                    }
+                    collecting = formulaText;
+                }
+                case "v", "t" -> collecting = text;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting != null) {
+                collecting.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v", "t", "f" -> collecting = null;
+                case "c" -> setCell(columnIndex, toCellData());
+                case "row" -> {
+                    rowHandler.row(rowNum, cells);
+                    cells = null;
+                }
+                default -> {
+                }
+            }
+        }
+
+        private CellData toCellData() throws SAXException {
+            String raw = text.toString();
+            FormulaError error = null;
+            Object value = null;
+            if (cellType == null || cellType.equals("n")) {
+                value = raw.isEmpty() ? null : Double.valueOf(raw);
+            } else {
+                switch (cellType) {
+                    case "s" -> value = raw.isEmpty() ? null : sharedStrings.getItemAt(Integer.parseInt(raw)).getString();
+                    case "b" -> value = "1".equals(raw);
+                    case "e" -> error = FormulaError.forString(raw);
+                    default -> value = raw;
+                }
+            }
+            XSSFCellStyle style = styleIndex > 0 && styles != null ? styles.getStyleAt(styleIndex) : null;
+            if (value == null && error == null && !formula && style == null) {
+                return null;
+            }
+            return new CellData(value, error, formula ? readFormula() : null, styleIndex, style);
+        }
+
+        /**
+         * Returns the formula of the cell, converting the master formula of a shared formula to the
+         * cell as POI does when loading the workbook
+         */
+        private String readFormula() throws SAXException {
+            if (sharedIndex == null) {
+                return formulaText.toString();
+            }
+            if (sharedRange != null) {
+                sharedFormulas.put(sharedIndex,
+                        new SharedFormulaMaster(formulaText.toString(), CellRangeAddress.valueOf(sharedRange)));
+                return formulaText.toString();
+            }
+            SharedFormulaMaster master = sharedFormulas.get(sharedIndex);
+            if (master == null) {
+                throw new SAXException("Shared formula " + sharedIndex + " used before it is defined at "
+                        + new CellReference(rowNum, columnIndex).formatAsString());
+            }
+            return sharedFormulaConverter.convert(master, sheetIndex, rowNum, columnIndex);
+        }
+
+        private void setCell(int index, CellData cell) {
+            while (cells.size() <= index) {
+                cells.add(null);
+            }
+            cells.set(index, cell);
+        }
+    }
+
+    private record SharedFormulaMaster(String formula, CellRangeAddress range) {
+    }
+
+    /**
+     * Shifts shared formulas to the cells using them. Formulas are parsed against an empty workbook
+     * holding the sheet names of the package, created the first time a shared formula is used.
+     */
+    private static final class SharedFormulaConverter implements AutoCloseable {
+
+        private final OPCPackage pkg;
+
+        private XSSFWorkbook sheetNamesWorkbook;
+
+        private XSSFEvaluationWorkbook evaluationWorkbook;
+
+        private SharedFormulaConverter(OPCPackage pkg) {
+            this.pkg = pkg;
+        }
+
+        private String convert(SharedFormulaMaster master, int sheetIndex, int rowIndex, int columnIndex)
+                throws SAXException {
+            try {
+                XSSFEvaluationWorkbook workbook = getEvaluationWorkbook();
+                Ptg[] ptgs = FormulaParser.parse(master.formula(), workbook, FormulaType.CELL, sheetIndex, rowIndex);
+                Ptg[] shifted = new SharedFormula(SpreadsheetVersion.EXCEL2007).convertSharedFormulas(ptgs,
+                        rowIndex - master.range().getFirstRow(), columnIndex - master.range().getFirstColumn());
+                return FormulaRenderer.toFormulaString(workbook, shifted);
+            } catch (IOException | OpenXML4JException | RuntimeException e) {
+                throw new SAXException("Shared formula " + master.formula() + " could not be read at "
+                        + new CellReference(rowIndex, columnIndex).formatAsString(), e);
+            }
+        }
+
+        private XSSFEvaluationWorkbook getEvaluationWorkbook() throws IOException, OpenXML4JException {
+            if (evaluationWorkbook == null) {
+                sheetNamesWorkbook = new XSSFWorkbook();
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+                while (sheets.hasNext()) {
+                    sheets.next().close();
+                    sheetNamesWorkbook.createSheet(sheets.getSheetName());
+                }
+                evaluationWorkbook = XSSFEvaluationWorkbook.create(sheetNamesWorkbook);
+            }
+            return evaluationWorkbook;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (sheetNamesWorkbook != null) {
+                sheetNamesWorkbook.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.egov.processor.util;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.egov.processor.web.models.Assumption;
+import org.egov.processor.web.models.Operation;
+import org.egov.processor.web.models.PlanConfiguration;
+import org.egov.processor.web.models.ResourceMapping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Compares the per-row calculation path of the excel parser, which rebuilds
+ * mappings, assumptions and column indexes for every row, with evaluating a
+ * {@link CalculationPlan} compiled once for a 100k row microplan sheet.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=org.egov.processor.util.CalculationPlanBenchmark -Dexec.classpathScope=test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CalculationPlanBenchmark {
+
+    private static final int ROW_COUNT = 100_000;
+
+    private static final String FILE_STORE_ID = "benchmark-file";
+
+    private static final String[] COLUMNS = {"Province", "District", "Boundary Code", "Total Population",
+            "Total Households", "Children Under 5"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final DataFormatter dataFormatter = new DataFormatter();
+
+    private final CalculationUtil calculationUtil = new CalculationUtil(null);
+
+    private Workbook workbook;
+
+    private Sheet sheet;
+
+    private PlanConfiguration planConfig;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workbook = new XSSFWorkbook();
+        sheet = workbook.createSheet("Microplan");
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            header.createCell(i).setCellValue(COLUMNS[i]);
+        }
+        for (int r = 1; r <= ROW_COUNT; r++) {
+            Row row = sheet.createRow(r);
+            row.createCell(0).setCellValue("Province " + (r % 10));
+            row.createCell(1).setCellValue("District " + (r % 100));
+            row.createCell(2).setCellValue("BOUNDARY_" + r);
+            row.createCell(3).setCellValue(1000 + (r % 5000));
+            row.createCell(4).setCellValue(200 + (r % 1000));
+            row.createCell(5).setCellValue(150 + (r % 700));
+        }
+
+        List<ResourceMapping> mappings = new ArrayList<>();
+        mappings.add(mapping("boundaryCode", "Boundary Code"));
+        mappings.add(mapping("totalPopulation", "Total Population"));
+        mappings.add(mapping("totalHouseholds", "Total Households"));
+        mappings.add(mapping("childrenUnder5", "Children Under 5"));
+
+        List<Assumption> assumptions = new ArrayList<>();
+        assumptions.add(Assumption.builder().key("netsPerPerson").value(new BigDecimal("1.80")).build());
+        assumptions.add(Assumption.builder().key("bufferPercent").value(new BigDecimal("1.10")).build());
+        assumptions.add(Assumption.builder().key("netsPerBale").value(new BigDecimal("50")).build());
+        assumptions.add(Assumption.builder().key("spaqPerChild").value(new BigDecimal("4")).build());
+
+        List<Operation> operations = new ArrayList<>();
+        operations.add(operation("totalPopulation", Operation.OperatorEnum.SLASH, "netsPerPerson", "netsRequired"));
+        operations.add(operation("netsRequired", Operation.OperatorEnum.STAR, "bufferPercent", "netsWithBuffer"));
+        operations.add(operation("netsWithBuffer", Operation.OperatorEnum.SLASH, "netsPerBale", "balesRequired"));
+        operations.add(operation("childrenUnder5", Operation.OperatorEnum.STAR, "spaqPerChild", "spaqRequired"));
+        operations.add(operation("totalHouseholds", Operation.OperatorEnum.STAR, "bufferPercent", "householdsToVisit"));
+
+        planConfig = PlanConfiguration.builder()
+                .resourceMapping(mappings)
+                .assumptions(assumptions)
+                .operations(operations)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public void perRowRebuild(Blackhole blackhole) {
+        for (Row row : sheet) {
+            if (row.getRowNum() == 0) {
+                continue;
+            }
+            Map<String, BigDecimal> resultMap = new HashMap<>();
+            Map<String, String> mappedValues = planConfig.getResourceMapping().stream()
+                    .filter(f -> f.getFilestoreId().equals(FILE_STORE_ID))
+                    .collect(Collectors.toMap(ResourceMapping::getMappedTo, ResourceMapping::getMappedFrom));
+            Map<String, BigDecimal> assumptionValueMap = calculationUtil.convertAssumptionsToMap(planConfig.getAssumptions());
+            Map<String, Integer> columnIndexMap = columnIndexes();
+            JsonNode feature = featureFromRow(row, columnIndexMap);
+            for (Operation operation : planConfig.getOperations()) {
+                resultMap.put(operation.getOutput(),
+                        calculationUtil.calculateResult(operation, feature, mappedValues, assumptionValueMap, resultMap));
+            }
+            blackhole.consume(resultMap);
+        }
+    }
+
+    @Benchmark
+    public void compiledPlan(Blackhole blackhole) {
+        CalculationPlan plan = calculationUtil.compileCalculationPlan(planConfig, FILE_STORE_ID, columnIndexes());
+        for (Row row : sheet) {
+            if (row.getRowNum() == 0) {
+                continue;
+            }
+            blackhole.consume(plan.toResultMap(plan.evaluate(row, dataFormatter)));
+        }
+    }
+
+    private Map<String, Integer> columnIndexes() {
+        Map<String, Integer> columnIndexMap = new HashMap<>();
+        Row header = sheet.getRow(0);
+        for (int i = 0; i < header.getLastCellNum(); i++) {
+            columnIndexMap.put(dataFormatter.formatCellValue(header.getCell(i)), i);
+        }
+        return columnIndexMap;
+    }
+
+    private JsonNode featureFromRow(Row row, Map<String, Integer> columnIndexMap) {
+        ObjectNode featureNode = objectMapper.createObjectNode();
+        ObjectNode propertiesNode = featureNode.putObject("properties");
+        for (Map.Entry<String, Integer> entry : columnIndexMap.entrySet()) {
+            Cell cell = row.getCell(entry.getValue());
+            propertiesNode.put(entry.getKey(), dataFormatter.formatCellValue(cell));
+        }
+        return featureNode;
+    }
+
+    private static ResourceMapping mapping(String mappedTo, String mappedFrom) {
+        ResourceMapping mapping = new ResourceMapping();
+        mapping.setFilestoreId(FILE_STORE_ID);
+        mapping.setMappedTo(mappedTo);
+        mapping.setMappedFrom(mappedFrom);
+        return mapping;
+    }
+
+    private static Operation operation(String input, Operation.OperatorEnum operator, String assumption, String output) {
+        return Operation.builder()
+                .input(input)
+                .operator(operator)
+                .assumptionValue(assumption)
+                .output(output)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CalculationPlanBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
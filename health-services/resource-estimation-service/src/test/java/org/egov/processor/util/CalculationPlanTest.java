@@ -0,0 +1,156 @@
+package org.egov.processor.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.egov.processor.web.models.Assumption;
+import org.egov.processor.web.models.Operation;
+import org.egov.processor.web.models.PlanConfiguration;
+import org.egov.processor.web.models.ResourceMapping;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Checks that the compiled plan reads sheet cells as the excel parser did before it, by parsing the formatted
+ * text of every cell put in a feature node.
+ */
+class CalculationPlanTest {
+
+    private static final String FILE_STORE_ID = "test-file";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final DataFormatter dataFormatter = new DataFormatter();
+
+    private final CalculationUtil calculationUtil = new CalculationUtil(null);
+
+    private Workbook workbook;
+
+    private Sheet sheet;
+
+    private final Map<String, Integer> mapOfColumnNameAndIndex = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        workbook = new XSSFWorkbook();
+        sheet = workbook.createSheet("Microplan");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Test
+    void shouldReadPercentCellsAsDisplayed() {
+        assertSameAsFormattedText("0%", 0.5, 0.05, 1, 1.2);
+        assertSameAsFormattedText("0.0%", 0.125, 0.3333);
+    }
+
+    @Test
+    void shouldReadDecimalCellsWithTheRoundingOfTheirFormat() {
+        assertSameAsFormattedText("0.00", 1.23456, 2.5, 7, -3.14159);
+        assertSameAsFormattedText("General", 0.1 + 0.2, 1234.5678, -0.75);
+    }
+
+    @Test
+    void shouldReadWholeNumberCells() {
+        assertSameAsFormattedText("General", 125, -40, 0, 9_999_999_999d);
+        assertSameAsFormattedText("#,##0", 12345, 1_000_000, 2.6);
+        assertSameAsFormattedText("0", 42, 41.5);
+    }
+
+    @Test
+    void shouldReadBlankAndTextCells() {
+        Row row = sheet.createRow(sheet.getLastRowNum() + 1);
+        row.createCell(0).setCellValue("42");
+        row.createCell(1).setCellValue("1,250 people");
+        row.createCell(2).setBlank();
+        row.createCell(3).setCellValue("n/a");
+        // column 4 has no cell at all
+
+        assertSameAsFeatureNode(row, 5);
+    }
+
+    /**
+     * Writes each value in a cell of the given format and compares the plan results with the old feature node path
+     */
+    private void assertSameAsFormattedText(String format, double... values) {
+        CellStyle style = workbook.createCellStyle();
+        style.setDataFormat(workbook.createDataFormat().getFormat(format));
+        Row row = sheet.createRow(sheet.getLastRowNum() + 1);
+        for (int i = 0; i < values.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(values[i]);
+            cell.setCellStyle(style);
+        }
+        assertSameAsFeatureNode(row, values.length);
+    }
+
+    private void assertSameAsFeatureNode(Row row, int columnCount) {
+        CalculationPlan calculationPlan = compile(columnCount);
+        JsonNode feature = createFeatureNodeFromRow(row);
+
+        BigDecimal[] results = calculationPlan.evaluate(row, dataFormatter);
+
+        for (int i = 0; i < columnCount; i++) {
+            BigDecimal expected = calculationUtil.getInputValueFromJsonFeature(Collections.emptyMap(), feature,
+                    "input" + i, "Column " + i);
+            assertEquals(expected, results[i], "column " + i + " displayed as '"
+                    + dataFormatter.formatCellValue(row.getCell(i)) + "'");
+        }
+    }
+
+    /**
+     * Builds the feature node of a row as the excel parser did before rows were evaluated with a compiled plan
+     */
+    private JsonNode createFeatureNodeFromRow(Row row) {
+        ObjectNode featureNode = objectMapper.createObjectNode();
+        ObjectNode propertiesNode = featureNode.putObject("properties");
+        for (Map.Entry<String, Integer> entry : mapOfColumnNameAndIndex.entrySet()) {
+            propertiesNode.put(entry.getKey(), dataFormatter.formatCellValue(row.getCell(entry.getValue())));
+        }
+        return featureNode;
+    }
+
+    /**
+     * Compiles a plan adding zero to every column, so each result is the value read from its cell
+     */
+    private CalculationPlan compile(int columnCount) {
+        List<ResourceMapping> mappings = new ArrayList<>();
+        List<Operation> operations = new ArrayList<>();
+        mapOfColumnNameAndIndex.clear();
+        for (int i = 0; i < columnCount; i++) {
+            mapOfColumnNameAndIndex.put("Column " + i, i);
+            mappings.add(ResourceMapping.builder().filestoreId(FILE_STORE_ID).mappedFrom("Column " + i)
+                    .mappedTo("input" + i).build());
+            operations.add(Operation.builder().input("input" + i).operator(Operation.OperatorEnum.PLUS)
+                    .assumptionValue("zero").output("output" + i).build());
+        }
+        PlanConfiguration planConfig = PlanConfiguration.builder()
+                .resourceMapping(mappings)
+                .assumptions(Collections.singletonList(Assumption.builder().key("zero").value(BigDecimal.ZERO).build()))
+                .operations(operations)
+                .build();
+        return CalculationPlan.compile(planConfig, FILE_STORE_ID, mapOfColumnNameAndIndex, calculationUtil);
+    }
+}
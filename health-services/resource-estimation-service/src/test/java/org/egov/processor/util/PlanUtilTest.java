@@ -0,0 +1,201 @@
+package org.egov.processor.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.processor.config.Configuration;
+import org.egov.processor.config.ServiceConstants;
+import org.egov.processor.kafka.Producer;
+import org.egov.processor.repository.ServiceRequestRepository;
+import org.egov.processor.web.models.Plan;
+import org.egov.processor.web.models.PlanBulkRequest;
+import org.egov.processor.web.models.PlanConfiguration;
+import org.egov.processor.web.models.PlanConfigurationRequest;
+import org.egov.processor.web.models.PlanRequest;
+import org.egov.processor.web.models.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+@ExtendWith(MockitoExtension.class)
+class PlanUtilTest {
+
+	private static final String CREATE_TOPIC = "resource-microplan-create-topic";
+
+	private static final String BULK_CREATE_TOPIC = "resource-microplan-bulk-create-topic";
+
+	private static final Map<String, String> MAPPED_VALUES = Collections.singletonMap(ServiceConstants.BOUNDARY_CODE, "code");
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Mock
+	private ServiceRequestRepository serviceRequestRepository;
+
+	@Mock
+	private Producer producer;
+
+	private Configuration config;
+
+	private PlanUtil planUtil;
+
+	@BeforeEach
+	void setUp() {
+		config = new Configuration();
+		config.setResourceMicroplanCreateTopic(CREATE_TOPIC);
+		config.setResourceMicroplanBulkCreateTopic(BULK_CREATE_TOPIC);
+		config.setPlanBulkCreateChunkSize(500);
+		config.setPlanBulkCreateMaxBytes(900000);
+		planUtil = new PlanUtil(serviceRequestRepository, config, producer, mapper);
+	}
+
+	@Test
+	void shouldPushEachPlanOnItsOwnWhenBulkCreateIsDisabled() {
+		PlanConfigurationRequest request = request();
+
+		for (int i = 0; i < 3; i++) {
+			planUtil.create(request, feature(i), resources(), MAPPED_VALUES);
+		}
+		planUtil.flush(request);
+
+		ArgumentCaptor<PlanRequest> planRequests = ArgumentCaptor.forClass(PlanRequest.class);
+		verify(producer, times(3)).push(eq(CREATE_TOPIC), planRequests.capture());
+		verify(producer, never()).push(eq(BULK_CREATE_TOPIC), any());
+		assertEquals(List.of("L00", "L01", "L02"), planRequests.getAllValues().stream()
+				.map(planRequest -> planRequest.getPlan().getLocality()).collect(Collectors.toList()));
+	}
+
+	@Test
+	void shouldPublishChunksOfAtMostChunkSizePlansAndFlushTheRemainder() {
+		config.setPlanBulkCreateEnabled(true);
+		config.setPlanBulkCreateChunkSize(4);
+		PlanConfigurationRequest request = request();
+
+		for (int i = 0; i < 10; i++) {
+			planUtil.create(request, feature(i), resources(), MAPPED_VALUES);
+		}
+		assertEquals(List.of(4, 4), chunkSizes());
+
+		planUtil.flush(request);
+
+		assertEquals(List.of(4, 4, 2), chunkSizes());
+		verify(producer, never()).push(eq(CREATE_TOPIC), any());
+		assertEquals(localities(10), publishedPlans().stream().map(Plan::getLocality).collect(Collectors.toList()));
+	}
+
+	@Test
+	void shouldKeepEveryChunkWithinTheMaxBytes() throws Exception {
+		config.setPlanBulkCreateEnabled(true);
+		PlanConfigurationRequest request = request();
+		int emptyMessageBytes = mapper.writeValueAsBytes(PlanBulkRequest.builder()
+				.requestInfo(request.getRequestInfo()).plans(new ArrayList<>()).build()).length;
+		int planBytes = mapper.writeValueAsBytes(plan(request, 0)).length;
+		// room for three plans and the two commas between them
+		config.setPlanBulkCreateMaxBytes(emptyMessageBytes + 3 * planBytes + 2);
+
+		for (int i = 0; i < 10; i++) {
+			planUtil.create(request, feature(i), resources(), MAPPED_VALUES);
+		}
+		planUtil.flush(request);
+
+		assertEquals(List.of(3, 3, 3, 1), chunkSizes());
+		for (PlanBulkRequest chunk : publishedChunks()) {
+			assertTrue(mapper.writeValueAsBytes(chunk).length <= config.getPlanBulkCreateMaxBytes());
+		}
+		assertEquals(localities(10), publishedPlans().stream().map(Plan::getLocality).collect(Collectors.toList()));
+	}
+
+	@Test
+	void shouldBufferThePlansOfEachPlanConfigurationSeparately() {
+		config.setPlanBulkCreateEnabled(true);
+		PlanConfigurationRequest first = request();
+		PlanConfigurationRequest second = request();
+		second.getPlanConfiguration().setId("plan-config-2");
+
+		planUtil.create(first, feature(0), resources(), MAPPED_VALUES);
+		planUtil.create(second, feature(1), resources(), MAPPED_VALUES);
+		planUtil.flush(first);
+
+		assertEquals(List.of(1), chunkSizes());
+		assertEquals("L00", publishedPlans().get(0).getLocality());
+	}
+
+	private List<PlanBulkRequest> publishedChunks() {
+		ArgumentCaptor<PlanBulkRequest> chunks = ArgumentCaptor.forClass(PlanBulkRequest.class);
+		verify(producer, atLeast(0)).push(anyString(), chunks.capture());
+		return chunks.getAllValues();
+	}
+
+	private List<Integer> chunkSizes() {
+		return publishedChunks().stream().map(chunk -> chunk.getPlans().size()).collect(Collectors.toList());
+	}
+
+	private List<Plan> publishedPlans() {
+		return publishedChunks().stream().flatMap(chunk -> chunk.getPlans().stream()).collect(Collectors.toList());
+	}
+
+	private List<String> localities(int count) {
+		List<String> localities = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			localities.add(String.format("L%02d", i));
+		}
+		return localities;
+	}
+
+	private PlanConfigurationRequest request() {
+		PlanConfiguration planConfiguration = new PlanConfiguration();
+		planConfiguration.setId("plan-config-1");
+		planConfiguration.setTenantId("mz");
+		planConfiguration.setExecutionPlanId("execution-plan-1");
+		return PlanConfigurationRequest.builder()
+				.requestInfo(new RequestInfo())
+				.planConfiguration(planConfiguration)
+				.build();
+	}
+
+	private JsonNode feature(int index) {
+		ObjectNode feature = mapper.createObjectNode();
+		feature.putObject(ServiceConstants.PROPERTIES).put("code", String.format("L%02d", index));
+		return feature;
+	}
+
+	private Map<String, BigDecimal> resources() {
+		return Collections.singletonMap("BEDNETS", new BigDecimal("125"));
+	}
+
+	/**
+	 * Builds the plan created for a feature, as published by PlanUtil
+	 */
+	private Plan plan(PlanConfigurationRequest request, int index) {
+		PlanConfiguration planConfiguration = request.getPlanConfiguration();
+		return Plan.builder()
+				.tenantId(planConfiguration.getTenantId())
+				.executionPlanId(planConfiguration.getExecutionPlanId())
+				.locality(String.format("L%02d", index))
+				.resources(List.of(Resource.builder().resourceType("BEDNETS").estimatedNumber(new BigDecimal("125")).build()))
+				.activities(new ArrayList<>())
+				.targets(new ArrayList<>())
+				.build();
+	}
+}
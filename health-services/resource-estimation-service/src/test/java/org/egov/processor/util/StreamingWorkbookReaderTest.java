@@ -0,0 +1,244 @@
+package org.egov.processor.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.egov.processor.web.models.Assumption;
+import org.egov.processor.web.models.Operation;
+import org.egov.processor.web.models.PlanConfiguration;
+import org.egov.processor.web.models.ResourceMapping;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that rows streamed and written back to a streaming workbook read as the rows of the
+ * workbook loaded in memory, so that both ways of parsing an excel file compute the same plans.
+ */
+class StreamingWorkbookReaderTest {
+
+    private static final String FILE_STORE_ID = "test-file";
+
+    private static final String[] FORMATS = {"0%", "0.0%", "0.00", "#,##0", "General"};
+
+    private static final double[][] VALUES = {
+            {0.5, 0.125, 1.23456, 12345.6, 0.1 + 0.2},
+            {1.2, 0.3333, -3.14159, 2.5, 1234.5678},
+            {0.05, 1, 7, 1_000_000, 125}};
+
+    // columns after the formatted numbers: a formula, a string formula, an error, a text and a styled blank cell
+    private static final int FORMULA_COLUMN = FORMATS.length;
+
+    private final DataFormatter dataFormatter = new DataFormatter();
+
+    private final CalculationUtil calculationUtil = new CalculationUtil(null);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReadFormattedCellsAsTheWorkbookLoadedInMemory() throws Exception {
+        File file = writeWorkbook();
+
+        assertStreamedSameAsLoaded(file);
+    }
+
+    @Test
+    void shouldShiftSharedFormulasToTheCellsUsingThem() throws Exception {
+        File file = shareFormulas(writeWorkbook());
+
+        List<String> formulas = new ArrayList<>();
+        assertStreamedSameAsLoaded(file, formulas);
+
+        assertEquals(List.of("A2*2", "A3*2", "A4*2"), formulas);
+    }
+
+    private void assertStreamedSameAsLoaded(File file) throws Exception {
+        assertStreamedSameAsLoaded(file, new ArrayList<>());
+    }
+
+    /**
+     * Streams the file to a streaming workbook and compares every cell and the plan results of
+     * every data row with the workbook loaded in memory, collecting the formulas of the formula column
+     */
+    private void assertStreamedSameAsLoaded(File file, List<String> formulas) throws Exception {
+        CalculationPlan calculationPlan = compile();
+        try (XSSFWorkbook loaded = new XSSFWorkbook(OPCPackage.open(file, PackageAccess.READ));
+                OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            SXSSFWorkbook streamed = new SXSSFWorkbook(100);
+            try {
+                StreamedRowWriter rowWriter = new StreamedRowWriter(streamed);
+                StreamingWorkbookReader.read(pkg, new StreamingWorkbookReader.RowHandler() {
+
+                    private Sheet sheet;
+
+                    private Sheet loadedSheet;
+
+                    @Override
+                    public void startSheet(String sheetName) {
+                        sheet = streamed.createSheet(sheetName);
+                        loadedSheet = loaded.getSheet(sheetName);
+                    }
+
+                    @Override
+                    public void row(int rowNum, List<StreamingWorkbookReader.CellData> cells) {
+                        Row row = rowWriter.write(sheet, rowNum, cells);
+                        Row loadedRow = loadedSheet.getRow(rowNum);
+                        assertSameCells(loadedRow, row);
+                        if (rowNum > 0) {
+                            assertArrayEquals(calculationPlan.evaluate(loadedRow, dataFormatter),
+                                    calculationPlan.evaluate(row, dataFormatter), "row " + rowNum);
+                            formulas.add(row.getCell(FORMULA_COLUMN).getCellFormula());
+                        }
+                    }
+
+                    @Override
+                    public void endSheet(String sheetName) {
+                        sheet = null;
+                    }
+                });
+            } finally {
+                streamed.dispose();
+                streamed.close();
+            }
+        }
+    }
+
+    private void assertSameCells(Row loadedRow, Row row) {
+        assertEquals(loadedRow.getLastCellNum(), row.getLastCellNum());
+        for (int i = 0; i < loadedRow.getLastCellNum(); i++) {
+            Cell loadedCell = loadedRow.getCell(i);
+            Cell cell = row.getCell(i);
+            String description = "cell " + i + " of row " + loadedRow.getRowNum();
+            if (loadedCell == null) {
+                assertNull(cell, description);
+                continue;
+            }
+            assertNotNull(cell, description);
+            assertEquals(loadedCell.getCellType(), cell.getCellType(), description);
+            if (loadedCell.getCellType() == CellType.FORMULA) {
+                assertEquals(loadedCell.getCachedFormulaResultType(), cell.getCachedFormulaResultType(), description);
+            }
+            assertEquals(loadedCell.getCellStyle().getDataFormatString(), cell.getCellStyle().getDataFormatString(),
+                    description);
+            assertEquals(dataFormatter.formatCellValue(loadedCell), dataFormatter.formatCellValue(cell), description);
+        }
+    }
+
+    /**
+     * Writes a sheet with a header row and rows of numbers in every format, followed by a numeric
+     * formula, a string formula, an error, a text and a styled blank cell
+     */
+    private File writeWorkbook() throws IOException {
+        File file = tempDir.resolve("microplan.xlsx").toFile();
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Microplan");
+            List<CellStyle> styles = new ArrayList<>();
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < FORMATS.length; i++) {
+                CellStyle style = workbook.createCellStyle();
+                style.setDataFormat(workbook.createDataFormat().getFormat(FORMATS[i]));
+                styles.add(style);
+                header.createCell(i).setCellValue("Column " + i);
+            }
+            for (int r = 0; r < VALUES.length; r++) {
+                Row row = sheet.createRow(r + 1);
+                for (int i = 0; i < FORMATS.length; i++) {
+                    Cell cell = row.createCell(i);
+                    cell.setCellValue(VALUES[r][i]);
+                    cell.setCellStyle(styles.get(i));
+                }
+                Cell formula = row.createCell(FORMULA_COLUMN);
+                formula.setCellFormula("A" + (r + 2) + "*2");
+                formula.setCellValue(VALUES[r][0] * 2);
+                formula.setCellStyle(styles.get(0));
+                Cell stringFormula = row.createCell(FORMULA_COLUMN + 1);
+                stringFormula.setCellFormula("\"row \"&" + (r + 1));
+                stringFormula.setCellValue("row " + (r + 1));
+                row.createCell(FORMULA_COLUMN + 2).setCellErrorValue(FormulaError.DIV0.getCode());
+                row.createCell(FORMULA_COLUMN + 3).setCellValue("1,250 people");
+                row.createCell(FORMULA_COLUMN + 4).setCellStyle(styles.get(2));
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    /**
+     * Rewrites the formulas of the formula column as one shared formula, as excel saves a filled column
+     */
+    private File shareFormulas(File file) throws IOException {
+        File shared = tempDir.resolve("shared.xlsx").toFile();
+        String range = "F2:F" + (VALUES.length + 1);
+        try (ZipFile zip = new ZipFile(file); ZipOutputStream out = new ZipOutputStream(new FileOutputStream(shared))) {
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                try (InputStream in = zip.getInputStream(entry)) {
+                    if (!entry.getName().equals("xl/worksheets/sheet1.xml")) {
+                        in.transferTo(out);
+                        continue;
+                    }
+                    String xml = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                    xml = xml.replace("<f>A2*2</f>", "<f t=\"shared\" ref=\"" + range + "\" si=\"0\">A2*2</f>");
+                    for (int r = 1; r < VALUES.length; r++) {
+                        xml = xml.replace("<f>A" + (r + 2) + "*2</f>", "<f t=\"shared\" si=\"0\"/>");
+                    }
+                    out.write(xml.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Compiles a plan adding zero to every formatted column, so each result is the value read from its cell
+     */
+    private CalculationPlan compile() {
+        Map<String, Integer> mapOfColumnNameAndIndex = new HashMap<>();
+        List<ResourceMapping> mappings = new ArrayList<>();
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < FORMATS.length; i++) {
+            mapOfColumnNameAndIndex.put("Column " + i, i);
+            mappings.add(ResourceMapping.builder().filestoreId(FILE_STORE_ID).mappedFrom("Column " + i)
+                    .mappedTo("input" + i).build());
+            operations.add(Operation.builder().input("input" + i).operator(Operation.OperatorEnum.PLUS)
+                    .assumptionValue("zero").output("output" + i).build());
+        }
+        PlanConfiguration planConfig = PlanConfiguration.builder()
+                .resourceMapping(mappings)
+                .assumptions(Collections.singletonList(Assumption.builder().key("zero").value(BigDecimal.ZERO).build()))
+                .operations(operations)
+                .build();
+        return CalculationPlan.compile(planConfig, FILE_STORE_ID, mapOfColumnNameAndIndex, calculationUtil);
+    }
+}
@@ -4,6 +4,9 @@ import org.egov.tracer.config.TracerConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@EnableScheduling
 @Import({ TracerConfiguration.class })
 @SpringBootApplication
 public class TransformerApplication {
@@ -0,0 +1,36 @@
+package org.egov.transformer.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CacheStats {
+
+    private final String name;
+
+    private final int size;
+
+    private final int maxSize;
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long evictions;
+
+    private final long expirations;
+
+    private final long invalidations;
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("cache=%s size=%d/%d hits=%d misses=%d hitRate=%.3f evictions=%d expirations=%d invalidations=%d",
+                name, size, maxSize, hits, misses, getHitRate(), evictions, expirations, invalidations);
+    }
+}
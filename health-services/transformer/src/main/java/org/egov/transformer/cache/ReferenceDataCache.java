@@ -0,0 +1,170 @@
+package org.egov.transformer.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size bounded, time-to-live cache for reference data (projects, facilities, service definitions)
+ * looked up while transforming records. Entries are evicted in least-recently-used order once
+ * {@code maxSize} is reached and are treated as absent once they are older than {@code ttl}.
+ */
+@Slf4j
+public class ReferenceDataCache<V> {
+
+    private final String name;
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    private final LinkedHashMap<String, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    public ReferenceDataCache(String name, int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive for cache " + name);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() > ReferenceDataCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the cached value for the key, or null when it is absent or has expired.
+     */
+    public V get(String key) {
+        if (key == null) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Returns the cached value for the key or loads it with the given loader. The loader runs
+     * outside the cache lock so a slow lookup does not block readers of other keys; null results
+     * are not cached.
+     */
+    public V get(String key, Function<String, V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void put(String key, V value) {
+        if (key == null || value == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public void invalidate(String key) {
+        if (key == null) {
+            return;
+        }
+        synchronized (entries) {
+            if (entries.remove(key) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    /**
+     * Drops all expired entries, so that memory held by stale data is released even for keys
+     * that are never looked up again.
+     */
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isExpired(now)) {
+                    iterator.remove();
+                    expirations.increment();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(name, size(), maxSize, hits.sum(), misses.sum(), evictions.sum(),
+                expirations.sum(), invalidations.sum());
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.egov.transformer.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates and keeps track of the reference data caches used by the transformer, periodically
+ * purging expired entries and logging hit rates for each of them.
+ */
+@Component
+@Slf4j
+public class ReferenceDataCacheManager {
+
+    private final Map<String, ReferenceDataCache<?>> caches = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <V> ReferenceDataCache<V> getOrCreate(String name, int maxSize, long ttlSeconds) {
+        return (ReferenceDataCache<V>) caches.computeIfAbsent(name,
+                cacheName -> new ReferenceDataCache<V>(cacheName, maxSize, Duration.ofSeconds(ttlSeconds)));
+    }
+
+    public List<CacheStats> getStats() {
+        return caches.values().stream()
+                .map(ReferenceDataCache::getStats)
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${transformer.cache.maintenance.interval.ms:300000}",
+            initialDelayString = "${transformer.cache.maintenance.interval.ms:300000}")
+    public void maintain() {
+        caches.values().forEach(cache -> {
+            cache.removeExpired();
+            log.info("reference data cache stats: {}", cache.getStats());
+        });
+    }
+}
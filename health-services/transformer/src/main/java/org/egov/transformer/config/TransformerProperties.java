@@ -86,4 +86,34 @@ public class TransformerProperties {
     @Value("${egov.boundary.hierarchy.name}")
     private String boundaryHierarchyName;
 
+    @Value("${transformer.cache.project.max.size:5000}")
+    private Integer projectCacheMaxSize;
+
+    @Value("${transformer.cache.project.ttl.seconds:3600}")
+    private Long projectCacheTtlSeconds;
+
+    @Value("${transformer.cache.facility.max.size:10000}")
+    private Integer facilityCacheMaxSize;
+
+    @Value("${transformer.cache.facility.ttl.seconds:3600}")
+    private Long facilityCacheTtlSeconds;
+
+    @Value("${transformer.cache.service.definition.max.size:1000}")
+    private Integer serviceDefinitionCacheMaxSize;
+
+    @Value("${transformer.cache.service.definition.ttl.seconds:3600}")
+    private Long serviceDefinitionCacheTtlSeconds;
+
+    @Value("${transformer.parallel.transformation.enabled:false}")
+    private Boolean parallelTransformationEnabled;
+
+    @Value("${transformer.transformation.pool.size:8}")
+    private Integer transformationPoolSize;
+
+    @Value("${transformer.transformation.queue.capacity:1000}")
+    private Integer transformationQueueCapacity;
+
+    @Value("${transformer.producer.max.chunk.size:500}")
+    private Integer producerMaxChunkSize;
+
 }
@@ -3,8 +3,6 @@ package org.egov.transformer.service;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +12,8 @@ import org.egov.common.contract.request.User;
 import org.egov.common.models.facility.Facility;
 import org.egov.common.models.facility.FacilitySearch;
 import org.egov.common.models.facility.FacilitySearchRequest;
+import org.egov.transformer.cache.ReferenceDataCache;
+import org.egov.transformer.cache.ReferenceDataCacheManager;
 import org.egov.transformer.config.TransformerProperties;
 import org.egov.common.http.client.ServiceRequestClient;
 import org.springframework.stereotype.Service;
@@ -26,21 +26,28 @@ public class FacilityService {
 
     private final ServiceRequestClient serviceRequestClient;
 
-    private static final Map<String, Facility> facilityMap = new ConcurrentHashMap<>();
+    private final ReferenceDataCache<Facility> facilityCache;
 
     private final ObjectMapper objectMapper;
 
-    public FacilityService(TransformerProperties stockConfiguration, ServiceRequestClient serviceRequestClient, ObjectMapper objectMapper) {
+    public FacilityService(TransformerProperties stockConfiguration, ServiceRequestClient serviceRequestClient,
+                           ObjectMapper objectMapper, ReferenceDataCacheManager cacheManager) {
         this.properties = stockConfiguration;
         this.serviceRequestClient = serviceRequestClient;
         this.objectMapper = objectMapper;
+        this.facilityCache = cacheManager.getOrCreate("facility",
+                stockConfiguration.getFacilityCacheMaxSize(), stockConfiguration.getFacilityCacheTtlSeconds());
     }
 
     public void updateFacilitiesInCache(List<Facility> facilities) {
-        facilities.forEach(facility -> facilityMap.put(facility.getId(), facility));
+        facilities.forEach(facility -> facilityCache.put(facility.getId(), facility));
     }
 
     public Facility findFacilityById(String facilityId, String tenantId) {
+        return facilityCache.get(facilityId, id -> searchFacility(id, tenantId));
+    }
+
+    private Facility searchFacility(String facilityId, String tenantId) {
 
         FacilitySearchRequest facilitySearchRequest = FacilitySearchRequest.builder()
                 .facility(FacilitySearch.builder().id(Collections.singletonList(facilityId)).build())
@@ -60,7 +67,6 @@ public class FacilityService {
                     facilitySearchRequest,
                     JsonNode.class);
             List<Facility> facilities = Arrays.asList(objectMapper.convertValue(response.get("Facilities"), Facility[].class));
-            updateFacilitiesInCache(facilities);
             return facilities.isEmpty() ? null : facilities.get(0);
         } catch (Exception e) {
             log.error("error while fetching facility", e);
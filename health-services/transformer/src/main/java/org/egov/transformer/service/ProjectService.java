@@ -6,7 +6,6 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -24,6 +23,8 @@ import org.egov.common.models.project.Project;
 import org.egov.common.models.project.ProjectRequest;
 import org.egov.common.models.project.ProjectResponse;
 import org.egov.tracer.model.CustomException;
+import org.egov.transformer.cache.ReferenceDataCache;
+import org.egov.transformer.cache.ReferenceDataCacheManager;
 import org.egov.transformer.config.TransformerProperties;
 import org.egov.common.http.client.ServiceRequestClient;
 import org.egov.transformer.models.boundary.BoundarySearchResponse;
@@ -47,48 +48,44 @@ public class ProjectService {
 
     private final MdmsService mdmsService;
 
-    private static final Map<String, Project> projectMap = new ConcurrentHashMap<>();
+    private final ReferenceDataCache<Project> projectCache;
+
+    private final ReferenceDataCache<Project> projectByNameCache;
 
     public ProjectService(TransformerProperties transformerProperties,
                           ServiceRequestClient serviceRequestClient,
-                          ObjectMapper objectMapper, MdmsService mdmsService) {
+                          ObjectMapper objectMapper, MdmsService mdmsService,
+                          ReferenceDataCacheManager cacheManager) {
         this.transformerProperties = transformerProperties;
         this.serviceRequestClient = serviceRequestClient;
         this.objectMapper = objectMapper;
         this.mdmsService = mdmsService;
+        this.projectCache = cacheManager.getOrCreate("project",
+                transformerProperties.getProjectCacheMaxSize(), transformerProperties.getProjectCacheTtlSeconds());
+        this.projectByNameCache = cacheManager.getOrCreate("projectByName",
+                transformerProperties.getProjectCacheMaxSize(), transformerProperties.getProjectCacheTtlSeconds());
     }
 
 
     public void updateProjectsInCache(ProjectRequest projectRequest) {
-        projectRequest.getProjects().forEach(project -> projectMap.put(project.getId(), project));
+        projectRequest.getProjects().forEach(project -> {
+            projectCache.put(project.getId(), project);
+            projectByNameCache.put(project.getName(), project);
+        });
     }
 
     public Project getProject(String projectId, String tenantId) {
-        if (projectMap.containsKey(projectId)) {
-            log.info("getting project {} from cache", projectId);
-            return projectMap.get(projectId);
-        }
-        List<Project> projects = searchProject(projectId, tenantId);
-        Project project = null;
-        if (!projects.isEmpty()) {
-            project = projects.get(0);
-            projectMap.put(projectId, project);
-        }
-        return project;
+        return projectCache.get(projectId, id -> {
+            List<Project> projects = searchProject(id, tenantId);
+            return projects.isEmpty() ? null : projects.get(0);
+        });
     }
 
     public Project getProjectByName(String projectName, String tenantId) {
-        if (projectMap.containsKey(projectName)) {
-            log.info("getting project {} from cache", projectName);
-            return projectMap.get(projectName);
-        }
-        List<Project> projects = searchProjectByName(projectName, tenantId);
-        Project project = null;
-        if (!projects.isEmpty()) {
-            project = projects.get(0);
-            projectMap.put(projectName, project);
-        }
-        return project;
+        return projectByNameCache.get(projectName, name -> {
+            List<Project> projects = searchProjectByName(name, tenantId);
+            return projects.isEmpty() ? null : projects.get(0);
+        });
     }
 
     public Map<String, String> getBoundaryCodeToNameMapByProjectId(String projectId, String tenantId) {
@@ -5,12 +5,10 @@ import org.egov.common.models.project.ProjectStaff;
 import org.egov.transformer.config.TransformerProperties;
 import org.egov.transformer.enums.Operation;
 import org.egov.transformer.models.downstream.ProjectStaffIndexV1;
-import org.egov.common.producer.Producer;
 import org.egov.transformer.service.transformer.Transformer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -20,29 +18,27 @@ import java.util.stream.Collectors;
 public abstract class ProjectStaffTransformationService implements TransformationService<ProjectStaff> {
     protected final ProjectStaffIndexV1Transformer transformer;
 
-    protected final Producer producer;
-
     protected final TransformerProperties properties;
 
+    protected final TransformationExecutor transformationExecutor;
+
     @Autowired
     protected ProjectStaffTransformationService(ProjectStaffIndexV1Transformer transformer,
-                                                Producer producer, TransformerProperties properties) {
+                                                TransformerProperties properties,
+                                                TransformationExecutor transformationExecutor) {
         this.transformer = transformer;
-        this.producer = producer;
         this.properties = properties;
+        this.transformationExecutor = transformationExecutor;
     }
 
     @Override
     public void transform(List<ProjectStaff> payloadList) {
         log.info("transforming for ids {}", payloadList.stream()
                 .map(ProjectStaff::getId).collect(Collectors.toList()));
-        List<ProjectStaffIndexV1> transformedPayloadList = payloadList.stream()
-                .map(transformer::transform)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        List<ProjectStaffIndexV1> transformedPayloadList = transformationExecutor
+                .transform(payloadList, ProjectStaff::getId, transformer);
         log.info("transformation successful");
-        producer.push(getTopic(),
-                transformedPayloadList);
+        transformationExecutor.publish(getTopic(), transformedPayloadList);
     }
 
     public abstract String getTopic();
@@ -5,12 +5,10 @@ import org.egov.common.models.project.Task;
 import org.egov.transformer.config.TransformerProperties;
 import org.egov.transformer.enums.Operation;
 import org.egov.transformer.models.downstream.ProjectTaskIndexV1;
-import org.egov.common.producer.Producer;
 import org.egov.transformer.service.transformer.Transformer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -19,29 +17,27 @@ import java.util.stream.Collectors;
 public abstract class ProjectTaskTransformationService implements TransformationService<Task> {
     protected final ProjectTaskIndexV1Transformer transformer;
 
-    protected final Producer producer;
-
     protected final TransformerProperties properties;
 
+    protected final TransformationExecutor transformationExecutor;
+
     @Autowired
     protected ProjectTaskTransformationService(ProjectTaskIndexV1Transformer transformer,
-                                               Producer producer, TransformerProperties properties) {
+                                               TransformerProperties properties,
+                                               TransformationExecutor transformationExecutor) {
         this.transformer = transformer;
-        this.producer = producer;
         this.properties = properties;
+        this.transformationExecutor = transformationExecutor;
     }
 
     @Override
     public void transform(List<Task> payloadList) {
         log.info("transforming for ids {}", payloadList.stream()
                 .map(Task::getId).collect(Collectors.toList()));
-        List<ProjectTaskIndexV1> transformedPayloadList = payloadList.stream()
-                .map(transformer::transform)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        List<ProjectTaskIndexV1> transformedPayloadList = transformationExecutor
+                .transform(payloadList, Task::getId, transformer);
         log.info("transformation successful");
-        producer.push(getTopic(),
-                transformedPayloadList);
+        transformationExecutor.publish(getTopic(), transformedPayloadList);
     }
 
     public abstract String getTopic();
@@ -6,12 +6,10 @@ import org.egov.common.models.project.Target;
 import org.egov.transformer.config.TransformerProperties;
 import org.egov.transformer.enums.Operation;
 import org.egov.transformer.models.downstream.ProjectIndexV1;
-import org.egov.common.producer.Producer;
 import org.egov.transformer.service.transformer.Transformer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -21,29 +19,27 @@ import java.util.stream.Collectors;
 public abstract class ProjectTransformationService implements TransformationService<Project> {
     protected final ProjectIndexV1Transformer transformer;
 
-    protected final Producer producer;
-
     protected final TransformerProperties properties;
 
+    protected final TransformationExecutor transformationExecutor;
+
     @Autowired
     protected ProjectTransformationService(ProjectIndexV1Transformer transformer,
-                                           Producer producer, TransformerProperties properties) {
+                                           TransformerProperties properties,
+                                           TransformationExecutor transformationExecutor) {
         this.transformer = transformer;
-        this.producer = producer;
         this.properties = properties;
+        this.transformationExecutor = transformationExecutor;
     }
 
     @Override
     public void transform(List<Project> payloadList) {
         log.info("transforming for ids {}", payloadList.stream()
                 .map(Project::getId).collect(Collectors.toList()));
-        List<ProjectIndexV1> transformedPayloadList = payloadList.stream()
-                .map(transformer::transform)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        List<ProjectIndexV1> transformedPayloadList = transformationExecutor
+                .transform(payloadList, Project::getId, transformer);
         log.info("transformation successful");
-        producer.push(getTopic(),
-                transformedPayloadList);
+        transformationExecutor.publish(getTopic(), transformedPayloadList);
     }
 
     public abstract String getTopic();
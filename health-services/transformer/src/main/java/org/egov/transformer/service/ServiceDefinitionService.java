@@ -2,13 +2,13 @@ package org.egov.transformer.service;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.extern.slf4j.Slf4j;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.common.contract.request.User;
 import org.egov.tracer.model.CustomException;
+import org.egov.transformer.cache.ReferenceDataCache;
+import org.egov.transformer.cache.ReferenceDataCacheManager;
 import org.egov.transformer.config.TransformerProperties;
 import org.egov.common.http.client.ServiceRequestClient;
 import org.egov.transformer.models.upstream.ServiceDefinition;
@@ -24,30 +24,27 @@ public class ServiceDefinitionService {
 
     private final TransformerProperties transformerProperties;
     private final ServiceRequestClient serviceRequestClient;
-    private static final Map<String, ServiceDefinition> serviceMap = new ConcurrentHashMap<>();
+    private final ReferenceDataCache<ServiceDefinition> serviceDefinitionCache;
 
 
-    public ServiceDefinitionService( TransformerProperties transformerProperties, ServiceRequestClient serviceRequestClient) {
+    public ServiceDefinitionService( TransformerProperties transformerProperties, ServiceRequestClient serviceRequestClient,
+                                     ReferenceDataCacheManager cacheManager) {
 
 
         this.transformerProperties = transformerProperties;
 
         this.serviceRequestClient = serviceRequestClient;
+
+        this.serviceDefinitionCache = cacheManager.getOrCreate("serviceDefinition",
+                transformerProperties.getServiceDefinitionCacheMaxSize(),
+                transformerProperties.getServiceDefinitionCacheTtlSeconds());
     }
 
     public ServiceDefinition getServiceDefinition(String serviceDefId, String tenantId) {
-
-        if (serviceMap.containsKey(serviceDefId)) {
-            log.info("getting project {} from cache",serviceDefId);
-            return serviceMap.get(serviceDefId);
-        }
-        List<ServiceDefinition> serviceDefinitionList = searchServiceDefinition(serviceDefId, tenantId);
-        ServiceDefinition serviceDefinition=null;
-        if (!serviceDefinitionList.isEmpty()) {
-            serviceDefinition = serviceDefinitionList.get(0);
-            serviceMap.put(serviceDefId, serviceDefinition);
-        }
-        return serviceDefinition;
+        return serviceDefinitionCache.get(serviceDefId, id -> {
+            List<ServiceDefinition> serviceDefinitionList = searchServiceDefinition(id, tenantId);
+            return serviceDefinitionList.isEmpty() ? null : serviceDefinitionList.get(0);
+        });
     }
 
     private List<ServiceDefinition> searchServiceDefinition(String serviceDefId, String tenantId) {
@@ -3,7 +3,6 @@ package org.egov.transformer.service;
 import lombok.extern.slf4j.Slf4j;
 import org.egov.transformer.config.TransformerProperties;
 import org.egov.transformer.models.upstream.Service;
-import org.egov.common.producer.Producer;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -13,8 +12,9 @@ import java.util.List;
 public class ServiceTaskIndexV1TransformationService extends ServiceTaskTransformationService {
 
 
-    protected ServiceTaskIndexV1TransformationService(ServiceTaskIndexV1Transformer transformer, Producer producer, TransformerProperties properties) {
-        super(transformer, producer, properties);
+    protected ServiceTaskIndexV1TransformationService(ServiceTaskIndexV1Transformer transformer, TransformerProperties properties,
+                                                      TransformationExecutor transformationExecutor) {
+        super(transformer, properties, transformationExecutor);
     }
 
     @Override
@@ -7,12 +7,10 @@ import org.egov.transformer.enums.Operation;
 import org.egov.transformer.models.downstream.ServiceIndexV1;
 import org.egov.transformer.models.upstream.Service;
 import org.egov.transformer.models.upstream.ServiceDefinition;
-import org.egov.common.producer.Producer;
 import org.egov.transformer.service.transformer.Transformer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -22,29 +20,27 @@ public abstract class ServiceTaskTransformationService implements Transformation
 
     protected final ServiceTaskIndexV1Transformer transformer;
 
-    protected final Producer producer;
-
     protected final TransformerProperties properties;
 
+    protected final TransformationExecutor transformationExecutor;
+
     @Autowired
     protected ServiceTaskTransformationService(ServiceTaskTransformationService.ServiceTaskIndexV1Transformer transformer,
-                                                Producer producer, TransformerProperties properties) {
+                                                TransformerProperties properties,
+                                               TransformationExecutor transformationExecutor) {
         this.transformer = transformer;
-        this.producer = producer;
         this.properties = properties;
+        this.transformationExecutor = transformationExecutor;
     }
 
     @Override
     public void transform(List<Service> payloadList) {
         log.info("transforming for ids {}", payloadList.stream()
                 .map(Service::getId).collect(Collectors.toList()));
-        List<ServiceIndexV1> transformedPayloadList = payloadList.stream()
-                .map(transformer::transform)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        List<ServiceIndexV1> transformedPayloadList = transformationExecutor
+                .transform(payloadList, Service::getId, transformer);
         log.info("transformation successful");
-        producer.push(getTopic(),
-                transformedPayloadList);
+        transformationExecutor.publish(getTopic(), transformedPayloadList);
     }
 
     public abstract String getTopic();
@@ -3,7 +3,6 @@ package org.egov.transformer.service;
 import lombok.extern.slf4j.Slf4j;
 import org.egov.common.models.stock.Stock;
 import org.egov.transformer.config.TransformerProperties;
-import org.egov.common.producer.Producer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -15,8 +14,9 @@ public class StockIndexV1TransformationService extends StockTransformationServic
 
     @Autowired
     protected StockIndexV1TransformationService(StockIndexV1Transformer transformer,
-                                                Producer producer, TransformerProperties properties) {
-        super(transformer, producer, properties);
+                                                TransformerProperties properties,
+                                                TransformationExecutor transformationExecutor) {
+        super(transformer, properties, transformationExecutor);
     }
 
     @Override
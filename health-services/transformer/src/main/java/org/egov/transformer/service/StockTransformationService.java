@@ -8,11 +8,9 @@ import org.egov.common.models.stock.Stock;
 import org.egov.transformer.config.TransformerProperties;
 import org.egov.transformer.enums.Operation;
 import org.egov.transformer.models.downstream.StockIndexV1;
-import org.egov.common.producer.Producer;
 import org.egov.transformer.service.transformer.Transformer;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -24,29 +22,26 @@ import static org.egov.transformer.Constants.PROJECT;
 public abstract class StockTransformationService implements TransformationService<Stock>{
     protected final StockTransformationService.StockIndexV1Transformer transformer;
 
-    protected final Producer producer;
-
     protected final TransformerProperties properties;
 
+    protected final TransformationExecutor transformationExecutor;
+
     protected StockTransformationService(StockIndexV1Transformer transformer,
-                                         Producer producer,
-                                         TransformerProperties properties) {
+                                         TransformerProperties properties,
+                                         TransformationExecutor transformationExecutor) {
         this.transformer = transformer;
-        this.producer = producer;
         this.properties = properties;
+        this.transformationExecutor = transformationExecutor;
     }
 
     @Override
     public void transform(List<Stock> payloadList) {
         log.info("transforming for ids {}", payloadList.stream()
                 .map(Stock::getId).collect(Collectors.toList()));
-        List<StockIndexV1> transformedPayloadList = payloadList.stream()
-                .map(transformer::transform)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        List<StockIndexV1> transformedPayloadList = transformationExecutor
+                .transform(payloadList, Stock::getId, transformer);
         log.info("transformation successful");
-        producer.push(getTopic(),
-                transformedPayloadList);
+        transformationExecutor.publish(getTopic(), transformedPayloadList);
     }
 
     @Override
@@ -0,0 +1,117 @@
+package org.egov.transformer.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.egov.common.producer.Producer;
+import org.egov.transformer.config.TransformerProperties;
+import org.egov.transformer.service.transformer.Transformer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a {@link Transformer} over a consumed batch and publishes the resulting index documents.
+ *
+ * <p>When parallel transformation is enabled, payloads are grouped by key and every group is
+ * transformed on a bounded worker pool, so records sharing a key are still transformed one after
+ * the other while independent records no longer wait on each other's enrichment lookups. The
+ * transformed documents are always returned in the order of the consumed batch and are pushed in
+ * chunks of at most {@code transformer.producer.max.chunk.size} documents.</p>
+ */
+@Component
+@Slf4j
+public class TransformationExecutor {
+
+    private final Producer producer;
+
+    private final TransformerProperties properties;
+
+    private final ThreadPoolExecutor workerPool;
+
+    public TransformationExecutor(Producer producer, TransformerProperties properties) {
+        this.producer = producer;
+        this.properties = properties;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workerPool = new ThreadPoolExecutor(properties.getTransformationPoolSize(),
+                properties.getTransformationPoolSize(), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getTransformationQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "transformer-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // when the queue is full the consumer thread transforms the group itself, which
+                // throttles consumption instead of buffering an unbounded amount of work
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public <T, R> List<R> transform(List<T> payloadList, Function<T, String> keyExtractor,
+                                    Transformer<T, R> transformer) {
+        if (!Boolean.TRUE.equals(properties.getParallelTransformationEnabled()) || payloadList.size() <= 1) {
+            List<R> transformedPayloadList = new ArrayList<>();
+            payloadList.forEach(payload -> transformedPayloadList.addAll(transformer.transform(payload)));
+            return transformedPayloadList;
+        }
+
+        Map<String, List<Integer>> indexesByKey = new LinkedHashMap<>();
+        for (int i = 0; i < payloadList.size(); i++) {
+            String key = keyExtractor.apply(payloadList.get(i));
+            indexesByKey.computeIfAbsent(key != null ? key : "index-" + i, k -> new ArrayList<>()).add(i);
+        }
+
+        List<List<R>> resultsByIndex = new ArrayList<>(Collections.nCopies(payloadList.size(), null));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(indexesByKey.size());
+        indexesByKey.values().forEach(indexes -> futures.add(CompletableFuture.runAsync(() -> {
+            for (Integer index : indexes) {
+                List<R> result = transformer.transform(payloadList.get(index));
+                synchronized (resultsByIndex) {
+                    resultsByIndex.set(index, result);
+                }
+            }
+        }, workerPool)));
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        List<R> transformedPayloadList = new ArrayList<>();
+        synchronized (resultsByIndex) {
+            resultsByIndex.forEach(transformedPayloadList::addAll);
+        }
+        return transformedPayloadList;
+    }
+
+    public <R> void publish(String topic, List<R> transformedPayloadList) {
+        int chunkSize = properties.getProducerMaxChunkSize() != null ? properties.getProducerMaxChunkSize() : 0;
+        if (chunkSize <= 0 || transformedPayloadList.size() <= chunkSize) {
+            producer.push(topic, transformedPayloadList);
+            return;
+        }
+        for (int start = 0; start < transformedPayloadList.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, transformedPayloadList.size());
+            producer.push(topic, new ArrayList<>(transformedPayloadList.subList(start, end)));
+        }
+        log.info("published {} documents to {} in chunks of {}", transformedPayloadList.size(), topic, chunkSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+}